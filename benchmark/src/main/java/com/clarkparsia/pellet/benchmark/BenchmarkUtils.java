@@ -0,0 +1,93 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.benchmark;
+
+import aterm.ATermAppl;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.jena.JenaLoader;
+import org.mindswap.pellet.utils.ATermUtils;
+
+/**
+ * <p>
+ * Title: Benchmark Utilities
+ * </p>
+ * <p>
+ * Description: Loads the ontologies of the test module from the classpath so the benchmarks do not depend on the working directory.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class BenchmarkUtils
+{
+	/**
+	 * Classpath location of the test ontologies
+	 */
+	public static final String BASE = "test/data/";
+
+	/**
+	 * TBox heavy ontology used for satisfiability benchmarks
+	 */
+	public static final String PIZZA = "misc/pizza.owl";
+
+	/**
+	 * Small TBox with some individuals
+	 */
+	public static final String FOOD = "misc/food.owl";
+
+	/**
+	 * ABox with SWRL rules
+	 */
+	public static final String FAMILY_RULES = "swrl-test/misc/family.swrl.owl";
+
+	/**
+	 * Loads the given ontology from the classpath into a new KB and checks its consistency.
+	 *
+	 * @param ontology path of the ontology relative to {@link #BASE}
+	 * @return the consistent knowledge base
+	 */
+	public static KnowledgeBase loadKB(final String ontology) throws IOException
+	{
+		final JenaLoader loader = new JenaLoader();
+
+		try (final InputStream in = BenchmarkUtils.class.getClassLoader().getResourceAsStream(BASE + ontology))
+		{
+			if (in == null)
+				throw new FileNotFoundException("Ontology not found on the classpath: " + BASE + ontology);
+
+			loader.getModel().read(in, "file:" + BASE + ontology);
+		}
+		loader.load();
+
+		final KnowledgeBase kb = loader.getKB();
+		kb.ensureConsistency();
+
+		return kb;
+	}
+
+	/**
+	 * Returns the named classes of the KB without TOP and BOTTOM in a fixed order.
+	 */
+	public static List<ATermAppl> getNamedClasses(final KnowledgeBase kb)
+	{
+		final List<ATermAppl> classes = new ArrayList<>();
+		for (final ATermAppl c : kb.getClasses())
+			if (!c.equals(ATermUtils.TOP) && !c.equals(ATermUtils.BOTTOM))
+				classes.add(c);
+		classes.sort((c1, c2) -> c1.getName().compareTo(c2.getName()));
+
+		return classes;
+	}
+}
@@ -0,0 +1,96 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.benchmark;
+
+import aterm.ATermAppl;
+import com.clarkparsia.pellet.expressivity.Expressivity;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mindswap.pellet.ABox;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.tableau.completion.CompletionStrategy;
+import org.mindswap.pellet.tableau.completion.SROIQStrategy;
+import org.mindswap.pellet.utils.ATermUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>
+ * Title: Completion Benchmark
+ * </p>
+ * <p>
+ * Description: Measures {@link CompletionStrategy#complete(Expressivity)} in isolation. Before each invocation a fresh concept satisfiability ABox is built for
+ * every named class, the same way {@link ABox#isSatisfiable(ATermAppl)} does, so only the expansion of the completion graphs is timed.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CompletionBenchmark
+{
+	@Param({ BenchmarkUtils.PIZZA, BenchmarkUtils.FOOD })
+	public String ontology;
+
+	private KnowledgeBase _kb;
+
+	private List<ATermAppl> _classes;
+
+	private final List<CompletionStrategy> _strategies = new ArrayList<>();
+
+	@Setup
+	public void setup() throws IOException
+	{
+		_kb = BenchmarkUtils.loadKB(ontology);
+		_classes = BenchmarkUtils.getNamedClasses(_kb);
+	}
+
+	@Setup(Level.Invocation)
+	public void createABoxes()
+	{
+		_strategies.clear();
+		for (final ATermAppl c : _classes)
+		{
+			final ABox abox = _kb.getABox().copy(ATermUtils.CONCEPT_SAT_IND, false);
+			abox.addType(ATermUtils.CONCEPT_SAT_IND, ATermUtils.normalize(c));
+
+			_strategies.add(new SROIQStrategy(abox));
+		}
+	}
+
+	@Benchmark
+	public void complete(final Blackhole bh)
+	{
+		final Expressivity expr = _kb.getExpressivity();
+		for (final CompletionStrategy strategy : _strategies)
+		{
+			strategy.complete(expr);
+			bh.consume(strategy.getABox().isClosed());
+		}
+	}
+}
@@ -0,0 +1,107 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.benchmark;
+
+import aterm.ATermAppl;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.tableau.cache.CachedNode;
+import org.mindswap.pellet.tableau.cache.ConceptCacheLRU;
+import org.mindswap.pellet.utils.ATermUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>
+ * Title: Concept Cache Benchmark
+ * </p>
+ * <p>
+ * Description: Measures put and get on {@link ConceptCacheLRU}. The cached nodes are the ones built while classifying the ontology. Besides the named classes
+ * the keys contain conjunctions of named classes so that the LRU part of the cache is used, and evicts entries when the maximum size is smaller than the
+ * number of keys.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ConceptCacheBenchmark
+{
+	@Param({ BenchmarkUtils.PIZZA })
+	public String ontology;
+
+	@Param({ "100", "100000" })
+	public int maxSize;
+
+	private ConceptCacheLRU _cache;
+
+	private final List<ATermAppl> _keys = new ArrayList<>();
+
+	private final List<CachedNode> _values = new ArrayList<>();
+
+	@Setup
+	public void setup() throws IOException
+	{
+		final KnowledgeBase kb = BenchmarkUtils.loadKB(ontology);
+		kb.classify();
+
+		final List<CachedNode> nodes = new ArrayList<>();
+		for (final Map.Entry<ATermAppl, CachedNode> entry : kb.getABox().getCache().entrySet())
+		{
+			_keys.add(entry.getKey());
+			_values.add(entry.getValue());
+			nodes.add(entry.getValue());
+		}
+
+		final List<ATermAppl> classes = BenchmarkUtils.getNamedClasses(kb);
+		for (int i = 0; i < classes.size(); i++)
+			for (int j = i + 1; j < classes.size() && j < i + 10; j++)
+			{
+				_keys.add(ATermUtils.makeAnd(classes.get(i), classes.get(j)));
+				_values.add(nodes.get(_keys.size() % nodes.size()));
+			}
+
+		_cache = new ConceptCacheLRU(kb, maxSize);
+		put();
+	}
+
+	@Benchmark
+	public void put()
+	{
+		for (int i = 0, n = _keys.size(); i < n; i++)
+			_cache.put(_keys.get(i), _values.get(i));
+	}
+
+	@Benchmark
+	public void get(final Blackhole bh)
+	{
+		for (final ATermAppl key : _keys)
+			bh.consume(_cache.get(key));
+	}
+}
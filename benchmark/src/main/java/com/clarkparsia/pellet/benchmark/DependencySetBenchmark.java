@@ -0,0 +1,107 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.mindswap.pellet.DependencySet;
+import org.mindswap.pellet.PelletOptions;
+import org.mindswap.pellet.PelletOptions.IntSetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>
+ * Title: Dependency Set Benchmark
+ * </p>
+ * <p>
+ * Description: Measures {@link DependencySet#union(DependencySet, boolean)} for each {@link IntSetType}. The branch numbers are either dense, as in a deep
+ * tableau where most branches are dependencies, or sparse, as in a wide tableau where few of the branches are.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DependencySetBenchmark
+{
+	private static final int PAIRS = 1000;
+
+	@Param({ "ARRAY", "ADAPTIVE", "BIT", "HASH", "TREE" })
+	public IntSetType type;
+
+	@Param({ "8", "64", "512" })
+	public int size;
+
+	@Param({ "true", "false" })
+	public boolean dense;
+
+	private IntSetType _oldType;
+
+	private DependencySet[] _first;
+
+	private DependencySet[] _second;
+
+	@Setup
+	public void setup()
+	{
+		_oldType = PelletOptions.INT_SET_TYPE;
+		PelletOptions.INT_SET_TYPE = type;
+
+		final Random random = new Random(42);
+		final int range = dense ? 2 * size : 1000 * size;
+
+		_first = new DependencySet[PAIRS];
+		_second = new DependencySet[PAIRS];
+		for (int i = 0; i < PAIRS; i++)
+		{
+			_first[i] = create(random, range);
+			_second[i] = create(random, range);
+		}
+	}
+
+	private DependencySet create(final Random random, final int range)
+	{
+		final DependencySet ds = new DependencySet(random.nextInt(range));
+		for (int i = 1; i < size; i++)
+			ds.add(random.nextInt(range));
+
+		return ds;
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		PelletOptions.INT_SET_TYPE = _oldType;
+	}
+
+	@Benchmark
+	public void union(final Blackhole bh)
+	{
+		for (int i = 0; i < PAIRS; i++)
+			bh.consume(_first[i].union(_second[i], false));
+	}
+}
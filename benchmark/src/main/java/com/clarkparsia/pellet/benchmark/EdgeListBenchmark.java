@@ -0,0 +1,85 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mindswap.pellet.EdgeList;
+import org.mindswap.pellet.Individual;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>
+ * Title: Edge List Benchmark
+ * </p>
+ * <p>
+ * Description: Measures {@link EdgeList#getEdges(Role)} by looking up the outgoing and incoming edges of every individual of the completed ABox for every
+ * object property.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EdgeListBenchmark
+{
+	@Param({ BenchmarkUtils.FAMILY_RULES, BenchmarkUtils.FOOD })
+	public String ontology;
+
+	private final List<EdgeList> _edgeLists = new ArrayList<>();
+
+	private final List<Role> _roles = new ArrayList<>();
+
+	@Setup
+	public void setup() throws IOException
+	{
+		final KnowledgeBase kb = BenchmarkUtils.loadKB(ontology);
+
+		for (final Iterator<Individual> i = kb.getABox().getIndIterator(); i.hasNext();)
+		{
+			final Individual ind = i.next();
+			_edgeLists.add(ind.getOutEdges());
+			_edgeLists.add(ind.getInEdges());
+		}
+
+		for (final Role role : kb.getRBox().getRoles())
+			if (role.isObjectRole())
+				_roles.add(role);
+	}
+
+	@Benchmark
+	public void getEdges(final Blackhole bh)
+	{
+		for (final EdgeList edges : _edgeLists)
+			for (final Role role : _roles)
+				bh.consume(edges.getEdges(role));
+	}
+}
@@ -0,0 +1,76 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.benchmark;
+
+import aterm.ATerm;
+import aterm.ATermAppl;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.utils.ATermUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>
+ * Title: Normalize Benchmark
+ * </p>
+ * <p>
+ * Description: Measures {@link ATermUtils#normalize(ATermAppl)} over the class expressions of the asserted subclass and equivalent class axioms of an
+ * ontology.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NormalizeBenchmark
+{
+	@Param({ BenchmarkUtils.PIZZA, BenchmarkUtils.FOOD })
+	public String ontology;
+
+	private final List<ATermAppl> _terms = new ArrayList<>();
+
+	@Setup
+	public void setup() throws IOException
+	{
+		final KnowledgeBase kb = BenchmarkUtils.loadKB(ontology);
+
+		for (final ATermAppl axiom : kb.getTBox().getAssertedAxioms())
+			if (axiom.getAFun().equals(ATermUtils.SUBFUN) || axiom.getAFun().equals(ATermUtils.EQCLASSFUN))
+				for (final ATerm arg : axiom.getArgumentArray())
+					if (!ATermUtils.isPrimitive((ATermAppl) arg))
+						_terms.add((ATermAppl) arg);
+	}
+
+	@Benchmark
+	public void normalize(final Blackhole bh)
+	{
+		for (final ATermAppl term : _terms)
+			bh.consume(ATermUtils.normalize(term));
+	}
+}
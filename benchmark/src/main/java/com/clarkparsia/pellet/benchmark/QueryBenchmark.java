@@ -0,0 +1,88 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.benchmark;
+
+import com.clarkparsia.pellet.sparqldl.engine.CombinedQueryEngine;
+import com.clarkparsia.pellet.sparqldl.model.Query;
+import com.clarkparsia.pellet.sparqldl.parser.ARQParser;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.mindswap.pellet.KnowledgeBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>
+ * Title: Query Benchmark
+ * </p>
+ * <p>
+ * Description: Measures {@link CombinedQueryEngine#exec(Query)} for a few conjunctive queries over a realized KB. The queries are parsed once, only their
+ * evaluation is timed.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class QueryBenchmark
+{
+	private static final String PREFIXES = "PREFIX rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#> PREFIX : <http://a.com/ontology#> ";
+
+	private static final Map<String, String> QUERIES = new HashMap<>();
+	static
+	{
+		QUERIES.put("type", "SELECT ?x WHERE { ?x rdf:type :Parent }");
+		QUERIES.put("join", "SELECT ?x ?y WHERE { ?x :hasParent ?y . ?y rdf:type :Man }");
+		QUERIES.put("path", "SELECT ?x ?y ?z WHERE { ?x :hasParent ?y . ?y :hasParent ?z }");
+		QUERIES.put("undistinguished", "SELECT ?x WHERE { ?x :hasChild _:c . _:c rdf:type :Woman }");
+	}
+
+	@Param({ BenchmarkUtils.FAMILY_RULES })
+	public String ontology;
+
+	@Param({ "type", "join", "path", "undistinguished" })
+	public String query;
+
+	private Query _query;
+
+	private final CombinedQueryEngine _engine = new CombinedQueryEngine();
+
+	@Setup
+	public void setup() throws IOException
+	{
+		final KnowledgeBase kb = BenchmarkUtils.loadKB(ontology);
+		kb.realize();
+
+		_query = new ARQParser().parse(PREFIXES + QUERIES.get(query), kb);
+	}
+
+	@Benchmark
+	public void exec(final Blackhole bh)
+	{
+		bh.consume(_engine.exec(_query).size());
+	}
+}
@@ -0,0 +1,80 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.benchmark;
+
+import aterm.ATermAppl;
+import com.clarkparsia.pellet.rules.ContinuousRulesStrategy;
+import com.clarkparsia.pellet.rules.model.Rule;
+import com.clarkparsia.pellet.rules.rete.Compiler;
+import com.clarkparsia.pellet.rules.rete.Interpreter;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.mindswap.pellet.KnowledgeBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Title: Rete Benchmark
+ * </p>
+ * <p>
+ * Description: Measures {@link Interpreter#run()} matching the rules of an ontology against its completed ABox. The network is reset before each run so every
+ * run matches all the facts again. Rules only fire for facts that are already in the completed ABox so running the network does not change it.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ReteBenchmark
+{
+	@Param({ BenchmarkUtils.FAMILY_RULES })
+	public String ontology;
+
+	private Interpreter _interpreter;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		final KnowledgeBase kb = BenchmarkUtils.loadKB(ontology);
+
+		final ContinuousRulesStrategy strategy = new ContinuousRulesStrategy(kb.getABox().copy());
+		strategy.initialize(kb.getExpressivity());
+
+		final Compiler compiler = new Compiler(strategy);
+		for (final Rule rule : kb.getNormalizedRules().values())
+			if (rule != null)
+				compiler.compile(rule, Collections.<ATermAppl> emptySet());
+
+		_interpreter = new Interpreter(compiler.getAlphaNet());
+	}
+
+	@Benchmark
+	public void run()
+	{
+		_interpreter.reset();
+		_interpreter.run();
+	}
+}
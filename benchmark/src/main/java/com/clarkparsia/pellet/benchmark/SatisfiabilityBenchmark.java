@@ -0,0 +1,72 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.benchmark;
+
+import aterm.ATermAppl;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mindswap.pellet.ABox;
+import org.mindswap.pellet.KnowledgeBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>
+ * Title: Satisfiability Benchmark
+ * </p>
+ * <p>
+ * Description: Measures {@link ABox#isSatisfiable(ATermAppl, boolean)} for every named class of an ontology. The model of the tested class is not read from or
+ * written to the cache so every call builds a completion graph, but cached models of other classes are still used for merging.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SatisfiabilityBenchmark
+{
+	@Param({ BenchmarkUtils.PIZZA, BenchmarkUtils.FOOD })
+	public String ontology;
+
+	private ABox _abox;
+
+	private List<ATermAppl> _classes;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		final KnowledgeBase kb = BenchmarkUtils.loadKB(ontology);
+		_abox = kb.getABox();
+		_classes = BenchmarkUtils.getNamedClasses(kb);
+	}
+
+	@Benchmark
+	public void isSatisfiable(final Blackhole bh)
+	{
+		for (final ATermAppl c : _classes)
+			bh.consume(_abox.isSatisfiable(c, false));
+	}
+}
@@ -7,19 +7,22 @@
 package com.clarkparsia.pellet.el;
 
 import aterm.ATermAppl;
-import com.clarkparsia.pellet.utils.CollectionUtils;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 import org.mindswap.pellet.utils.ATermUtils;
-import org.mindswap.pellet.utils.MultiValueMap;
 
 /**
  * <p>
  * Title:
  * </p>
  * <p>
- * Description:
+ * Description: The saturation state of a concept. The super classes, successors and predecessors are stored as sets of the ids assigned by a
+ * {@link ConceptTable}, the functions returning them as sets of concepts return read-only views.
  * </p>
  * <p>
  * Copyright: Copyright (c) 2007
@@ -34,32 +37,50 @@ class ConceptInfo
 {
 	public final static Logger logger = Logger.getLogger(ConceptInfo.class.getName());
 
+	private static final Trigger[] NO_TRIGGERS = new Trigger[0];
+
 	private final ATermAppl concept;
-	private final Set<Trigger> triggers;
 
-	private final MultiValueMap<ATermAppl, ConceptInfo> successors;
-	private final MultiValueMap<ATermAppl, ConceptInfo> predecessors;
+	private final ConceptTable table;
+	private final int id;
+
+	private Trigger[] triggers;
+
+	private final RoleConceptMap successors;
+	private final RoleConceptMap predecessors;
+
+	private final IdSet superClasses;
 
-	private final Set<ConceptInfo> superClasses;
+	public ConceptInfo(final ATermAppl c, final ConceptTable table, final boolean storeSuccessors, final boolean noTriggers)
+	{
+		this(c, table, storeSuccessors, noTriggers, false);
+	}
 
-	public ConceptInfo(final ATermAppl c, final boolean storeSuccessors, final boolean noTriggers)
+	/**
+	 * @param concurrent <code>true</code> if the super classes, successors and predecessors of this concept can be read and extended by several threads at
+	 *        the same time, e.g. by {@link ConcurrentELSaturation}
+	 */
+	public ConceptInfo(final ATermAppl c, final ConceptTable table, final boolean storeSuccessors, final boolean noTriggers, final boolean concurrent)
 	{
 		concept = c;
 
-		superClasses = CollectionUtils.makeSet();
+		this.table = table;
+		id = table.register(this);
 
-		successors = storeSuccessors ? new MultiValueMap<>() : null;
-				predecessors = new MultiValueMap<>();
+		superClasses = concurrent ? new ConcurrentHashIdSet() : new HashIdSet();
 
-		triggers = noTriggers ? null : new HashSet<>();
+		successors = storeSuccessors ? new RoleConceptMap(concurrent) : null;
+		predecessors = new RoleConceptMap(concurrent);
+
+		triggers = noTriggers ? null : NO_TRIGGERS;
 	}
 
 	public boolean addSuccessor(final ATermAppl p, final ConceptInfo ci)
 	{
-		if (ci.predecessors.add(p, this))
+		if (ci.predecessors.add(p, id))
 		{
 			if (successors != null)
-				successors.add(p, ci);
+				successors.add(p, ci.id);
 
 			return true;
 		}
@@ -69,12 +90,19 @@ class ConceptInfo
 
 	public boolean addSuperClass(final ConceptInfo sup)
 	{
-		return superClasses.add(sup);
+		return superClasses.add(sup.id);
 	}
 
 	public boolean addTrigger(final Trigger trigger)
 	{
-		return triggers.add(trigger);
+		for (final Trigger t : triggers)
+			if (t == trigger)
+				return false;
+
+		triggers = Arrays.copyOf(triggers, triggers.length + 1);
+		triggers[triggers.length - 1] = trigger;
+
+		return true;
 	}
 
 	@Override
@@ -88,29 +116,45 @@ class ConceptInfo
 		return concept;
 	}
 
-	public MultiValueMap<ATermAppl, ConceptInfo> getSuccessors()
+	/**
+	 * Returns the dense id of this concept in its {@link ConceptTable}.
+	 */
+	public int getId()
+	{
+		return id;
+	}
+
+	public Map<ATermAppl, Set<ConceptInfo>> getSuccessors()
+	{
+		return successors == null ? null : successors.asMap(table);
+	}
+
+	public Map<ATermAppl, Set<ConceptInfo>> getPredecessors()
 	{
-		return successors;
+		return predecessors.asMap(table);
 	}
 
-	public MultiValueMap<ATermAppl, ConceptInfo> getPredecessors()
+	/**
+	 * Returns the predecessors of this concept for all properties.
+	 */
+	public Iterator<ConceptInfo> flattenedPredecessors()
 	{
-		return predecessors;
+		return predecessors.flattenedValues(table);
 	}
 
 	public Set<ConceptInfo> getSuperClasses()
 	{
-		return superClasses;
+		return table.asSet(superClasses);
 	}
 
-	public Set<Trigger> getTriggers()
+	public Collection<Trigger> getTriggers()
 	{
-		return triggers;
+		return triggers == null ? null : Collections.unmodifiableList(Arrays.asList(triggers));
 	}
 
 	public boolean hasSuccessor(final ATermAppl p, final ConceptInfo ci)
 	{
-		return ci.predecessors.contains(p, this);
+		return ci.predecessors.contains(p, id);
 	}
 
 	@Override
@@ -121,7 +165,7 @@ class ConceptInfo
 
 	public boolean hasSuperClass(final ConceptInfo ci)
 	{
-		return superClasses.contains(ci);
+		return superClasses.contains(ci.id);
 	}
 
 	@Override
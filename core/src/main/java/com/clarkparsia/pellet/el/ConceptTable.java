@@ -0,0 +1,110 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.el;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.mindswap.pellet.utils.intset.IntIterator;
+
+/**
+ * <p>
+ * Title: Concept Table
+ * </p>
+ * <p>
+ * Description: Assigns dense integer ids to the concepts of an EL classifier so that the super classes, successors and predecessors of a concept can be
+ * stored as {@link IdSet}s instead of sets of objects. Concepts are registered by the thread creating them before any other thread can see them, lookups
+ * may be done by several threads.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+class ConceptTable
+{
+	private volatile ConceptInfo[] _concepts = new ConceptInfo[1024];
+
+	private int _size;
+
+	/**
+	 * Returns the id for a new concept.
+	 */
+	int register(final ConceptInfo concept)
+	{
+		ConceptInfo[] concepts = _concepts;
+		if (_size == concepts.length)
+			concepts = Arrays.copyOf(concepts, concepts.length * 2);
+
+		concepts[_size] = concept;
+		_concepts = concepts;
+
+		return _size++;
+	}
+
+	public ConceptInfo get(final int id)
+	{
+		return _concepts[id];
+	}
+
+	public int size()
+	{
+		return _size;
+	}
+
+	/**
+	 * Returns a read-only view of the concepts whose ids are in the given set.
+	 */
+	public Set<ConceptInfo> asSet(final IdSet ids)
+	{
+		return new AbstractSet<ConceptInfo>()
+		{
+			@Override
+			public boolean contains(final Object o)
+			{
+				return (o instanceof ConceptInfo) && ids.contains(((ConceptInfo) o).getId());
+			}
+
+			@Override
+			public Iterator<ConceptInfo> iterator()
+			{
+				return asIterator(ids.iterator());
+			}
+
+			@Override
+			public int size()
+			{
+				return ids.size();
+			}
+		};
+	}
+
+	public Iterator<ConceptInfo> asIterator(final IntIterator ids)
+	{
+		return new Iterator<ConceptInfo>()
+		{
+			@Override
+			public boolean hasNext()
+			{
+				return ids.hasNext();
+			}
+
+			@Override
+			public ConceptInfo next()
+			{
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				return get(ids.next());
+			}
+		};
+	}
+}
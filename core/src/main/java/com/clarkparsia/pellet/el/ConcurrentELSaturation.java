@@ -0,0 +1,173 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.el;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.mindswap.pellet.exceptions.PelletRuntimeException;
+
+/**
+ * <p>
+ * Title: Concurrent EL Saturation
+ * </p>
+ * <p>
+ * Description: Applies the completion rules of an EL classifier using several threads. Every concept has its own _queue of super classes waiting to be
+ * processed and a concept is processed by at most one thread at a time, so the rules never run concurrently for the same concept. A concept with pending
+ * super classes is scheduled as a task of a work-stealing pool: tasks created by a worker go to the deque of that worker and idle workers steal them.
+ * </p>
+ * <p>
+ * The rules still read and extend other concepts, e.g. the predecessors of a concept, so the concepts should be created with concurrent collections (see
+ * {@link ConceptInfo#ConceptInfo(aterm.ATermAppl, ConceptTable, boolean, boolean, boolean)}). A super class should be
+ * {@link #schedule(ConceptInfo, ConceptInfo) scheduled} only once for a concept, i.e. after it is added to the super classes of the concept.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+class ConcurrentELSaturation
+{
+	public static final Logger logger = Logger.getLogger(ConcurrentELSaturation.class.getName());
+
+	private static class Context
+	{
+		private final ConceptInfo _concept;
+
+		private final Queue<ConceptInfo> _todo = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * True if a task is processing or will process the _queue of this concept
+		 */
+		private final AtomicBoolean _active = new AtomicBoolean();
+
+		public Context(final ConceptInfo concept)
+		{
+			_concept = concept;
+		}
+	}
+
+	private final ForkJoinPool _pool;
+
+	private final BiConsumer<ConceptInfo, ConceptInfo> _rules;
+
+	private final ConcurrentMap<ConceptInfo, Context> _contexts = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of active concepts plus one for the thread scheduling the initial super classes until it calls {@link #join()}
+	 */
+	private final AtomicInteger _pending = new AtomicInteger(1);
+
+	private final CountDownLatch _done = new CountDownLatch(1);
+
+	private final AtomicReference<Throwable> _failure = new AtomicReference<>();
+
+	/**
+	 * @param threads number of worker threads
+	 * @param rules applies the completion rules for a concept (first argument) and a super class (second argument) taken from its _queue
+	 */
+	public ConcurrentELSaturation(final int threads, final BiConsumer<ConceptInfo, ConceptInfo> rules)
+	{
+		_pool = new ForkJoinPool(threads);
+		_rules = rules;
+	}
+
+	/**
+	 * Adds a super class to the _queue of a concept and schedules the concept unless it is already active. Can be called by the rules.
+	 */
+	public void schedule(final ConceptInfo sub, final ConceptInfo sup)
+	{
+		final Context context = _contexts.computeIfAbsent(sub, Context::new);
+
+		context._todo.add(sup);
+
+		if (context._active.compareAndSet(false, true))
+			activate(context);
+	}
+
+	private void activate(final Context context)
+	{
+		_pending.incrementAndGet();
+
+		final ForkJoinTask<?> task = ForkJoinTask.adapt(() -> process(context));
+		if (ForkJoinTask.getPool() == _pool)
+			task.fork();
+		else
+			_pool.execute(task);
+	}
+
+	private void process(final Context context)
+	{
+		try
+		{
+			do
+			{
+				for (ConceptInfo sup = context._todo.poll(); sup != null && _failure.get() == null; sup = context._todo.poll())
+					_rules.accept(context._concept, sup);
+
+				// a super class added after the _queue became empty but before the concept is deactivated did not schedule the concept so the _queue is
+				// checked again after deactivation
+				context._active.set(false);
+			}
+			while (!context._todo.isEmpty() && _failure.get() == null && context._active.compareAndSet(false, true));
+		}
+		catch (final Throwable e)
+		{
+			if (_failure.compareAndSet(null, e) && logger.isLoggable(Level.FINE))
+				logger.log(Level.FINE, "Saturation failed for " + context._concept, e);
+		}
+		finally
+		{
+			if (_pending.decrementAndGet() == 0)
+				_done.countDown();
+		}
+	}
+
+	/**
+	 * Waits until the queues of all the concepts are empty and stops the worker threads. No more super classes can be scheduled after this function is
+	 * called by the thread that scheduled the initial super classes.
+	 */
+	public void join()
+	{
+		try
+		{
+			if (_pending.decrementAndGet() == 0)
+				_done.countDown();
+
+			_done.await();
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new PelletRuntimeException(e);
+		}
+		finally
+		{
+			_pool.shutdownNow();
+		}
+
+		final Throwable failure = _failure.get();
+		if (failure instanceof RuntimeException)
+			throw (RuntimeException) failure;
+		if (failure instanceof Error)
+			throw (Error) failure;
+		if (failure != null)
+			throw new PelletRuntimeException(failure);
+	}
+}
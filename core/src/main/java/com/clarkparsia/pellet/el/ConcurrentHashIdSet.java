@@ -0,0 +1,140 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.el;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.mindswap.pellet.utils.intset.IntIterator;
+
+/**
+ * <p>
+ * Title: Concurrent Hash Id Set
+ * </p>
+ * <p>
+ * Description: A thread-safe version of {@link HashIdSet}. Lookups and iteration do not lock: every slot is read and written atomically and a larger table
+ * is published only after all the ids have been copied to it. Additions are serialized on the set, which is cheap since the ids of a concept are rarely
+ * added by several threads at the same time. Iterators reflect the ids added before the iterator was created and possibly some of the ids added later.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+class ConcurrentHashIdSet implements IdSet
+{
+	private volatile AtomicIntegerArray _table = new AtomicIntegerArray(HashIdSet.INITIAL_CAPACITY);
+
+	private volatile int _size;
+
+	@Override
+	public synchronized boolean add(final int id)
+	{
+		if (id < 0)
+			throw new IndexOutOfBoundsException("Negative id: " + id);
+
+		AtomicIntegerArray table = _table;
+		int i = find(table, id);
+		if (i >= 0)
+			return false;
+
+		if (HashIdSet.isFull(_size + 1, table.length()))
+		{
+			table = copy(table, table.length() * 2);
+			i = find(table, id);
+			table.set(-i - 1, id + 1);
+			_table = table;
+		}
+		else
+			table.set(-i - 1, id + 1);
+
+		_size++;
+
+		return true;
+	}
+
+	/**
+	 * Returns the slot of the id in the table or <code>-(slot + 1)</code> for the empty slot where it would be inserted.
+	 */
+	private static int find(final AtomicIntegerArray table, final int id)
+	{
+		final int mask = table.length() - 1;
+		for (int i = HashIdSet.slot(id, table.length());; i = (i + 1) & mask)
+		{
+			final int value = table.get(i);
+			if (value == 0)
+				return -i - 1;
+			if (value == id + 1)
+				return i;
+		}
+	}
+
+	private static AtomicIntegerArray copy(final AtomicIntegerArray table, final int length)
+	{
+		final AtomicIntegerArray copy = new AtomicIntegerArray(length);
+		for (int i = 0; i < table.length(); i++)
+		{
+			final int value = table.get(i);
+			if (value != 0)
+				copy.set(-find(copy, value - 1) - 1, value);
+		}
+		return copy;
+	}
+
+	@Override
+	public boolean contains(final int id)
+	{
+		return id >= 0 && find(_table, id) >= 0;
+	}
+
+	@Override
+	public int size()
+	{
+		return _size;
+	}
+
+	@Override
+	public IntIterator iterator()
+	{
+		final AtomicIntegerArray table = _table;
+		return new IntIterator()
+		{
+			private int _index = 0;
+
+			private int _next = advance();
+
+			private int advance()
+			{
+				while (_index < table.length())
+				{
+					final int value = table.get(_index++);
+					if (value != 0)
+						return value - 1;
+				}
+				return -1;
+			}
+
+			@Override
+			public boolean hasNext()
+			{
+				return _next >= 0;
+			}
+
+			@Override
+			public int next()
+			{
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				final int id = _next;
+				_next = advance();
+				return id;
+			}
+		};
+	}
+}
@@ -59,6 +59,8 @@ public class ELClassifier extends CDOptimizedTaxonomyBuilder
 
 	private Map<ATermAppl, ConceptInfo> concepts;
 
+	private ConceptTable conceptTable;
+
 	private RoleChainCache roleChains;
 	private RoleRestrictionCache roleRestrictions;
 
@@ -99,6 +101,7 @@ public class ELClassifier extends CDOptimizedTaxonomyBuilder
 
 		queue = new MultiValueMap<>();
 		concepts = CollectionUtils.makeMap();
+		conceptTable = new ConceptTable();
 
 		roleChains = new RoleChainCache(kb);
 		roleRestrictions = new RoleRestrictionCache(kb.getRBox());
@@ -213,7 +216,7 @@ public class ELClassifier extends CDOptimizedTaxonomyBuilder
 				{
 					addSubsumer(ci, BOTTOM);
 
-					final Iterator<ConceptInfo> preds = ci.getPredecessors().flattenedValues();
+					final Iterator<ConceptInfo> preds = ci.flattenedPredecessors();
 					while (preds.hasNext())
 						addSubsumer(preds.next(), BOTTOM);
 				}
@@ -271,7 +274,7 @@ public class ELClassifier extends CDOptimizedTaxonomyBuilder
 		}
 	}
 
-	private void addToQueue(final ConceptInfo ci, final Set<Trigger> triggers)
+	private void addToQueue(final ConceptInfo ci, final Collection<Trigger> triggers)
 	{
 		if (queue.addAll(ci, triggers))
 			if (logger.isLoggable(Level.FINE))
@@ -287,7 +290,7 @@ public class ELClassifier extends CDOptimizedTaxonomyBuilder
 
 		if (ATermUtils.isBottom(supInfo.getConcept()))
 		{
-			final Iterator<ConceptInfo> preds = ci.getPredecessors().flattenedValues();
+			final Iterator<ConceptInfo> preds = ci.flattenedPredecessors();
 			while (preds.hasNext())
 				addSubsumer(preds.next(), supInfo);
 			return;
@@ -341,7 +344,7 @@ public class ELClassifier extends CDOptimizedTaxonomyBuilder
 		ConceptInfo ci = getInfo(c);
 		if (ci == null)
 		{
-			ci = new ConceptInfo(c, hasComplexRoles, false);
+			ci = new ConceptInfo(c, conceptTable, hasComplexRoles, false);
 			concepts.put(c, ci);
 			ci.addSuperClass(TOP);
 			addSubsumer(ci, ci);
@@ -444,11 +447,11 @@ public class ELClassifier extends CDOptimizedTaxonomyBuilder
 
 	private void createConcepts()
 	{
-		TOP = new ConceptInfo(ATermUtils.TOP, hasComplexRoles, false);
+		TOP = new ConceptInfo(ATermUtils.TOP, conceptTable, hasComplexRoles, false);
 		concepts.put(ATermUtils.TOP, TOP);
 		TOP.addSuperClass(TOP);
 
-		BOTTOM = new ConceptInfo(ATermUtils.BOTTOM, hasComplexRoles, false);
+		BOTTOM = new ConceptInfo(ATermUtils.BOTTOM, conceptTable, hasComplexRoles, false);
 		concepts.put(ATermUtils.BOTTOM, BOTTOM);
 		BOTTOM.addSuperClass(BOTTOM);
 
@@ -457,7 +460,7 @@ public class ELClassifier extends CDOptimizedTaxonomyBuilder
 
 		normalizeAxioms();
 
-		final Set<Trigger> TOP_TRIGGERS = TOP.getTriggers();
+		final Collection<Trigger> TOP_TRIGGERS = TOP.getTriggers();
 		for (final ConceptInfo ci : concepts.values())
 		{
 			final Set<Trigger> queueList = CollectionUtils.makeSet(TOP_TRIGGERS);
@@ -7,8 +7,13 @@
 package com.clarkparsia.pellet.el;
 
 import aterm.ATermAppl;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.mindswap.pellet.taxonomy.Taxonomy;
@@ -62,6 +67,80 @@ class ELTaxonomyBuilder
 		return taxonomy;
 	}
 
+	/**
+	 * Updates a taxonomy built from the given concepts after the super classes of some concepts have changed. The nodes of the changed classes and the nodes
+	 * below them are removed and classified again, the rest of the taxonomy is kept as it is. The taxonomy is built from scratch if the super classes of top
+	 * have changed.
+	 */
+	public Taxonomy<ATermAppl> update(final Taxonomy<ATermAppl> taxonomy, final Map<ATermAppl, ConceptInfo> concepts, final Collection<ConceptInfo> changed)
+	{
+		if (changed.contains(concepts.get(ATermUtils.TOP)))
+			return build(concepts);
+
+		this.taxonomy = taxonomy;
+
+		final TaxonomyNode<ATermAppl> bottom = taxonomy.getBottom();
+
+		final Set<TaxonomyNode<ATermAppl>> removed = new HashSet<>();
+		final List<ATermAppl> added = new ArrayList<>();
+		final Deque<TaxonomyNode<ATermAppl>> stack = new ArrayDeque<>();
+		for (final ConceptInfo ci : changed)
+		{
+			final ATermAppl c = ci.getConcept();
+			if (!ATermUtils.isPrimitive(c))
+				continue;
+
+			final TaxonomyNode<ATermAppl> node = taxonomy.getNode(c);
+			if (node == null)
+				added.add(c);
+			else
+				if (node != bottom && removed.add(node))
+					stack.push(node);
+		}
+
+		// the super classes of the classes below a changed class may be unchanged but their direct supers might be different
+		while (!stack.isEmpty())
+			for (final TaxonomyNode<ATermAppl> sub : stack.pop().getSubs())
+				if (sub != bottom && removed.add(sub))
+					stack.push(sub);
+
+		final Set<TaxonomyNode<ATermAppl>> parents = new HashSet<>();
+		for (final TaxonomyNode<ATermAppl> node : removed)
+			for (final TaxonomyNode<ATermAppl> sup : node.getSupers())
+				if (!removed.contains(sup))
+					parents.add(sup);
+
+		for (final TaxonomyNode<ATermAppl> node : removed)
+			for (final ATermAppl c : new ArrayList<>(node.getEquivalents()))
+			{
+				taxonomy.remove(c);
+				added.add(c);
+			}
+
+		final ConceptInfo BOTTOM = concepts.get(ATermUtils.BOTTOM);
+		for (final ATermAppl c : added)
+		{
+			if (taxonomy.getNode(c) != null)
+				continue;
+
+			final ConceptInfo ci = concepts.get(c);
+			if (ci.getSuperClasses().contains(BOTTOM))
+				taxonomy.addEquivalentNode(c, bottom);
+			else
+				classify(ci);
+		}
+
+		// nodes that lost all their subs point to bottom again, nodes that got new subs do not
+		for (final TaxonomyNode<ATermAppl> parent : parents)
+			if (parent.getSubs().isEmpty())
+				parent.addSub(bottom);
+			else
+				if (parent.getSubs().size() > 1 && parent.getSubs().contains(bottom))
+					parent.removeSub(bottom);
+
+		return taxonomy;
+	}
+
 	private TaxonomyNode<ATermAppl> classify(final ConceptInfo ci)
 	{
 		final ATermAppl c = ci.getConcept();
@@ -90,12 +169,21 @@ class ELTaxonomyBuilder
 					}
 			}
 
-			node = add(ci, subsumers);
+			// an equivalent class is already in the taxonomy if it was not changed when the taxonomy is updated
+			for (final ConceptInfo eqInfo : equivalents)
+				if (node == null)
+					node = taxonomy.getNode(eqInfo.getConcept());
+
+			if (node == null)
+				node = add(ci, subsumers);
+			else
+				taxonomy.addEquivalentNode(c, node);
 
 			for (final ConceptInfo eqInfo : equivalents)
 			{
 				final ATermAppl eq = eqInfo.getConcept();
-				taxonomy.addEquivalentNode(eq, node);
+				if (taxonomy.getNode(eq) == null)
+					taxonomy.addEquivalentNode(eq, node);
 			}
 		}
 
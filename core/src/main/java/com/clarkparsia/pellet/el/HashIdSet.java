@@ -0,0 +1,145 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.el;
+
+import java.util.NoSuchElementException;
+import org.mindswap.pellet.utils.intset.IntIterator;
+
+/**
+ * <p>
+ * Title: Hash Id Set
+ * </p>
+ * <p>
+ * Description: An open addressing hash set of ids stored in a plain <code>int</code> array with linear probing. Each slot holds the id plus one so that
+ * zero marks an empty slot. The set is not thread-safe.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+class HashIdSet implements IdSet
+{
+	static final int INITIAL_CAPACITY = 4;
+
+	private int[] _table = new int[INITIAL_CAPACITY];
+
+	private int _size;
+
+	/**
+	 * Returns the first slot to probe for an id in a table of the given length, which is a power of two.
+	 */
+	static int slot(final int id, final int length)
+	{
+		// ids are dense so they are spread with the golden ratio multiplier
+		final int h = id * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (length - 1);
+	}
+
+	/**
+	 * Returns true if a set that will contain the given number of ids should use a larger table.
+	 */
+	static boolean isFull(final int size, final int length)
+	{
+		return size * 3 > length * 2;
+	}
+
+	@Override
+	public boolean add(final int id)
+	{
+		if (id < 0)
+			throw new IndexOutOfBoundsException("Negative id: " + id);
+
+		int i = find(_table, id);
+		if (i >= 0)
+			return false;
+
+		if (isFull(_size + 1, _table.length))
+		{
+			grow();
+			i = find(_table, id);
+		}
+
+		_table[-i - 1] = id + 1;
+		_size++;
+
+		return true;
+	}
+
+	/**
+	 * Returns the slot of the id in the table or <code>-(slot + 1)</code> for the empty slot where it would be inserted.
+	 */
+	private static int find(final int[] table, final int id)
+	{
+		final int mask = table.length - 1;
+		for (int i = slot(id, table.length);; i = (i + 1) & mask)
+		{
+			final int value = table[i];
+			if (value == 0)
+				return -i - 1;
+			if (value == id + 1)
+				return i;
+		}
+	}
+
+	private void grow()
+	{
+		final int[] table = new int[_table.length * 2];
+		for (final int value : _table)
+			if (value != 0)
+				table[-find(table, value - 1) - 1] = value;
+		_table = table;
+	}
+
+	@Override
+	public boolean contains(final int id)
+	{
+		return id >= 0 && find(_table, id) >= 0;
+	}
+
+	@Override
+	public int size()
+	{
+		return _size;
+	}
+
+	@Override
+	public IntIterator iterator()
+	{
+		final int[] table = _table;
+		return new IntIterator()
+		{
+			private int _next = advance(0);
+
+			private int advance(int i)
+			{
+				while (i < table.length && table[i] == 0)
+					i++;
+				return i;
+			}
+
+			@Override
+			public boolean hasNext()
+			{
+				return _next < table.length;
+			}
+
+			@Override
+			public int next()
+			{
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				final int id = table[_next] - 1;
+				_next = advance(_next + 1);
+				return id;
+			}
+		};
+	}
+}
@@ -0,0 +1,42 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.el;
+
+import org.mindswap.pellet.utils.intset.IntIterator;
+
+/**
+ * <p>
+ * Title: Id Set
+ * </p>
+ * <p>
+ * Description: A set of the dense integer ids assigned to concepts by a {@link ConceptTable}. The sets only grow, elements are never removed.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+interface IdSet
+{
+	/**
+	 * Adds a non-negative id to this set.
+	 *
+	 * @return <code>true</code> if the id was not in the set
+	 */
+	public boolean add(int id);
+
+	public boolean contains(int id);
+
+	public int size();
+
+	/**
+	 * An iterator over the ids in this set. There is no guarantee on the order of the ids.
+	 */
+	public IntIterator iterator();
+}
@@ -0,0 +1,193 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.el;
+
+import aterm.ATermAppl;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * Title: Role Concept Map
+ * </p>
+ * <p>
+ * Description: Maps the roles of the successor or predecessor edges of a concept to the ids of the concepts at the other end. A concept usually has edges
+ * for a few roles so the roles and the id sets are kept in a single array that is scanned linearly and replaced when a role is added, which lets several
+ * threads read the map without locking.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+class RoleConceptMap
+{
+	private static final Object[] EMPTY = new Object[0];
+
+	private final boolean _concurrent;
+
+	/**
+	 * Roles at even indexes followed by their id sets
+	 */
+	private volatile Object[] _entries = EMPTY;
+
+	public RoleConceptMap(final boolean concurrent)
+	{
+		_concurrent = concurrent;
+	}
+
+	public boolean add(final ATermAppl role, final int id)
+	{
+		IdSet ids = get(role);
+		if (ids == null)
+			ids = addRole(role);
+
+		return ids.add(id);
+	}
+
+	private synchronized IdSet addRole(final ATermAppl role)
+	{
+		IdSet ids = get(role);
+		if (ids == null)
+		{
+			ids = _concurrent ? new ConcurrentHashIdSet() : new HashIdSet();
+
+			final Object[] entries = Arrays.copyOf(_entries, _entries.length + 2);
+			entries[entries.length - 2] = role;
+			entries[entries.length - 1] = ids;
+			_entries = entries;
+		}
+
+		return ids;
+	}
+
+	public IdSet get(final ATermAppl role)
+	{
+		final Object[] entries = _entries;
+		for (int i = 0; i < entries.length; i += 2)
+			if (entries[i] == role)
+				return (IdSet) entries[i + 1];
+
+		return null;
+	}
+
+	public boolean contains(final ATermAppl role, final int id)
+	{
+		final IdSet ids = get(role);
+		return ids != null && ids.contains(id);
+	}
+
+	public boolean isEmpty()
+	{
+		return _entries.length == 0;
+	}
+
+	/**
+	 * Returns a read-only view of this map where the ids are replaced with the concepts from the given table.
+	 */
+	public Map<ATermAppl, Set<ConceptInfo>> asMap(final ConceptTable table)
+	{
+		final Object[] entries = _entries;
+		return new AbstractMap<ATermAppl, Set<ConceptInfo>>()
+		{
+			@Override
+			public Set<ConceptInfo> get(final Object key)
+			{
+				for (int i = 0; i < entries.length; i += 2)
+					if (entries[i] == key)
+						return table.asSet((IdSet) entries[i + 1]);
+
+				return null;
+			}
+
+			@Override
+			public Set<Entry<ATermAppl, Set<ConceptInfo>>> entrySet()
+			{
+				return new AbstractSet<Entry<ATermAppl, Set<ConceptInfo>>>()
+				{
+					@Override
+					public Iterator<Entry<ATermAppl, Set<ConceptInfo>>> iterator()
+					{
+						return new Iterator<Entry<ATermAppl, Set<ConceptInfo>>>()
+						{
+							private int _index = 0;
+
+							@Override
+							public boolean hasNext()
+							{
+								return _index < entries.length;
+							}
+
+							@Override
+							public Entry<ATermAppl, Set<ConceptInfo>> next()
+							{
+								if (!hasNext())
+									throw new NoSuchElementException();
+
+								final ATermAppl role = (ATermAppl) entries[_index];
+								final IdSet ids = (IdSet) entries[_index + 1];
+								_index += 2;
+
+								return new SimpleImmutableEntry<>(role, table.asSet(ids));
+							}
+						};
+					}
+
+					@Override
+					public int size()
+					{
+						return entries.length / 2;
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * Returns the concepts for all the roles in this map.
+	 */
+	public Iterator<ConceptInfo> flattenedValues(final ConceptTable table)
+	{
+		final Object[] entries = _entries;
+		return new Iterator<ConceptInfo>()
+		{
+			private int _index = 0;
+
+			private Iterator<ConceptInfo> _values = null;
+
+			@Override
+			public boolean hasNext()
+			{
+				while (_values == null || !_values.hasNext())
+				{
+					if (_index >= entries.length)
+						return false;
+
+					_values = table.asIterator(((IdSet) entries[_index + 1]).iterator());
+					_index += 2;
+				}
+				return true;
+			}
+
+			@Override
+			public ConceptInfo next()
+			{
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				return _values.next();
+			}
+		};
+	}
+}
@@ -11,17 +11,22 @@ import aterm.ATermAppl;
 import aterm.ATermList;
 import com.clarkparsia.pellet.utils.CollectionUtils;
 import com.clarkparsia.pellet.utils.TermFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.mindswap.pellet.PelletOptions;
 import org.mindswap.pellet.Role;
 import org.mindswap.pellet.taxonomy.CDOptimizedTaxonomyBuilder;
 import org.mindswap.pellet.taxonomy.Taxonomy;
@@ -75,16 +80,45 @@ public class SimplifiedELClassifier extends CDOptimizedTaxonomyBuilder implement
 
 	private boolean hasComplexRoles;
 
+	private boolean useConcurrentSaturation;
+
 	private Queue<QueueElement> primaryQueue;
 
+	/**
+	 * Saturation engine used while the _queue is processed by several threads, <code>null</code> otherwise
+	 */
+	private ConcurrentELSaturation saturation;
+
 	private Map<ATermAppl, ConceptInfo> concepts;
 
+	private ConceptTable conceptTable;
+
 	private MultiValueMap<ATermAppl, ConceptInfo> existentials;
 	private MultiValueMap<ConceptInfo, ConceptInfo> conjunctions;
 
 	private RoleChainCache roleChains;
 	private RoleRestrictionCache roleRestrictions;
 
+	/**
+	 * Asserted TBox axioms included in the saturation, <code>null</code> if the saturation is not kept for incremental updates
+	 */
+	private Set<ATermAppl> processedAxioms;
+
+	/**
+	 * Concepts whose super classes changed during an incremental update, <code>null</code> if the saturation is computed from scratch
+	 */
+	private Set<ConceptInfo> changedConcepts;
+
+	/**
+	 * Concepts created during an incremental update
+	 */
+	private List<ConceptInfo> createdConcepts;
+
+	/**
+	 * Sub class relations of the axioms added since the last saturation
+	 */
+	private MultiValueMap<ConceptInfo, ConceptInfo> addedSubsumers;
+
 	public SimplifiedELClassifier()
 	{
 	}
@@ -96,23 +130,34 @@ public class SimplifiedELClassifier extends CDOptimizedTaxonomyBuilder implement
 
 		hasComplexRoles = kb.getExpressivity().hasTransitivity() || kb.getExpressivity().hasComplexSubRoles();
 
+		useConcurrentSaturation = PelletOptions.USE_PARALLEL_EL_CLASSIFICATION && PelletOptions.PARALLEL_REASONING_THREADS > 1;
+
 		primaryQueue = new LinkedList<>();
 
 		concepts = CollectionUtils.makeMap();
+		conceptTable = new ConceptTable();
 
 		existentials = new MultiValueMap<>();
 		conjunctions = new MultiValueMap<>();
 
 		roleChains = new RoleChainCache(kb);
 		roleRestrictions = new RoleRestrictionCache(kb.getRBox());
+
+		processedAxioms = null;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * {@inheritDoc} If {@link PelletOptions#USE_INCREMENTAL_EL_CLASSIFICATION} is enabled the saturation is kept after classification and the next call only
+	 * processes the axioms added to the TBox in the meantime, provided that no axiom has been removed. The KB keeps this classifier only if the RBox has not
+	 * changed either.
 	 */
 	@Override
 	public boolean classify()
 	{
+		final List<ATermAppl> newAxioms = getNewAxioms();
+		if (newAxioms != null)
+			return update(newAxioms);
+
 		logger.fine("Reset");
 		reset();
 
@@ -146,11 +191,161 @@ public class SimplifiedELClassifier extends CDOptimizedTaxonomyBuilder implement
 		t.stop();
 		logger.fine("Builded hierarchy");
 
+		if (PelletOptions.USE_INCREMENTAL_EL_CLASSIFICATION)
+			processedAxioms = new HashSet<>(kb.getTBox().getAssertedAxioms());
+
+		monitor.taskFinished();
+
+		return true;
+	}
+
+	/**
+	 * Returns the asserted axioms that are not included in the current saturation or <code>null</code> if the saturation cannot be updated and the TBox should
+	 * be classified from scratch.
+	 */
+	private List<ATermAppl> getNewAxioms()
+	{
+		if (!PelletOptions.USE_INCREMENTAL_EL_CLASSIFICATION || processedAxioms == null || taxonomy == null)
+			return null;
+
+		if (hasComplexRoles != (kb.getExpressivity().hasTransitivity() || kb.getExpressivity().hasComplexSubRoles()))
+			return null;
+
+		final List<ATermAppl> newAxioms = new ArrayList<>();
+		int processed = 0;
+		for (final ATermAppl axiom : kb.getTBox().getAssertedAxioms())
+			if (processedAxioms.contains(axiom))
+				processed++;
+			else
+				newAxioms.add(axiom);
+
+		// an axiom has been removed
+		if (processed != processedAxioms.size())
+			return null;
+
+		return newAxioms;
+	}
+
+	/**
+	 * Adds the new axioms to the saturation computed by the previous call and updates the taxonomy for the concepts whose super classes have changed.
+	 */
+	private boolean update(final List<ATermAppl> newAxioms)
+	{
+		if (logger.isLoggable(Level.FINE))
+			logger.fine("Updating saturation with " + newAxioms.size() + " axioms");
+
+		changedConcepts = useConcurrentSaturation ? ConcurrentHashMap.newKeySet() : CollectionUtils.makeSet();
+		createdConcepts = new ArrayList<>();
+		addedSubsumers = new MultiValueMap<>();
+
+		boolean updated = false;
+		try
+		{
+			Timer t = timers.startTimer("createConcepts");
+			for (final ATermAppl c : kb.getClasses())
+				createConcept(c);
+			for (final ATermAppl axiom : newAxioms)
+				processAxiom(axiom);
+			updateSaturatedConcepts();
+			t.stop();
+
+			final int queueSize = primaryQueue.size();
+			monitor.setProgressTitle("Classifiying");
+			monitor.setProgressLength(queueSize);
+			monitor.taskStarted();
+
+			t = timers.startTimer("processQueue");
+			processQueue();
+			t.stop();
+
+			monitor.setProgress(queueSize);
+
+			t = timers.startTimer("buildHierarchy");
+			taxonomy = new ELTaxonomyBuilder().update(taxonomy, concepts, changedConcepts);
+			t.stop();
+
+			processedAxioms.addAll(newAxioms);
+			updated = true;
+		}
+		finally
+		{
+			changedConcepts = null;
+			createdConcepts = null;
+			addedSubsumers = null;
+
+			// the saturation is incomplete if the update failed
+			if (!updated)
+				processedAxioms = null;
+		}
+
+		if (logger.isLoggable(Level.FINER))
+			print();
+
 		monitor.taskFinished();
 
 		return true;
 	}
 
+	/**
+	 * The completion rules are applied to a concept when one of its super classes is processed so the concepts saturated earlier would not see the sub class
+	 * relations, conjunctions and existential restrictions introduced by new axioms. This function adds the inferences that follow from them to the _queue.
+	 */
+	private void updateSaturatedConcepts()
+	{
+		final MultiValueMap<ConceptInfo, ConceptInfo> createdConjunctions = new MultiValueMap<>();
+		for (final ConceptInfo concept : createdConcepts)
+		{
+			final ATermAppl c = concept.getConcept();
+			if (ATermUtils.isAnd(c))
+			{
+				ATermList list = (ATermList) c.getArgument(0);
+				for (; !list.isEmpty(); list = list.getNext())
+					createdConjunctions.add(concepts.get(list.getFirst()), concept);
+			}
+			else
+				if (ATermUtils.isSomeValues(c))
+				{
+					final Role role = kb.getRole(c.getArgument(0));
+					final ConceptInfo succ = concepts.get(c.getArgument(1));
+					for (final Entry<ATermAppl, Set<ConceptInfo>> entry : CollectionUtils.makeList(succ.getPredecessors().entrySet()))
+					{
+						final Role predRole = kb.getRole(entry.getKey());
+						if (predRole != null && predRole.getSuperRoles().contains(role))
+							for (final ConceptInfo pred : CollectionUtils.makeList(entry.getValue()))
+								addToQueue(pred, concept);
+					}
+				}
+		}
+
+		if (addedSubsumers.isEmpty() && createdConjunctions.isEmpty())
+			return;
+
+		for (final ConceptInfo concept : CollectionUtils.makeList(concepts.values()))
+			for (final ConceptInfo sup : CollectionUtils.makeList(concept.getSuperClasses()))
+			{
+				final Set<ConceptInfo> subsumers = addedSubsumers.get(sup);
+				if (subsumers != null)
+					for (final ConceptInfo subsumer : subsumers)
+						addToQueue(concept, subsumer);
+
+				final Set<ConceptInfo> referredConjunctions = createdConjunctions.get(sup);
+				if (referredConjunctions != null)
+					for (final ConceptInfo conjunction : referredConjunctions)
+						if (hasConjuncts(concept, conjunction))
+							addToQueue(concept, conjunction);
+			}
+	}
+
+	private boolean hasConjuncts(final ConceptInfo sub, final ConceptInfo conjunction)
+	{
+		ATermList list = (ATermList) conjunction.getConcept().getArgument(0);
+		for (; !list.isEmpty(); list = list.getNext())
+			if (!sub.hasSuperClass(concepts.get(list.getFirst())))
+				return false;
+
+		return true;
+	}
+
 	private void addSuccessor(final ConceptInfo pred, final ATermAppl p, final ConceptInfo succ)
 	{
 		if (!pred.addSuccessor(p, succ))
@@ -223,7 +418,13 @@ public class SimplifiedELClassifier extends CDOptimizedTaxonomyBuilder implement
 	{
 		if (sub.addSuperClass(sup))
 		{
-			primaryQueue.add(new QueueElement(sub, sup));
+			if (changedConcepts != null)
+				changedConcepts.add(sub);
+
+			if (saturation != null)
+				saturation.schedule(sub, sup);
+			else
+				primaryQueue.add(new QueueElement(sub, sup));
 			if (logger.isLoggable(Level.FINER))
 				logger.finer("Queue " + sub + " " + sup);
 		}
@@ -236,7 +437,7 @@ public class SimplifiedELClassifier extends CDOptimizedTaxonomyBuilder implement
 
 		if (sup == BOTTOM)
 		{
-			final Iterator<ConceptInfo> preds = sub.getPredecessors().flattenedValues();
+			final Iterator<ConceptInfo> preds = sub.flattenedPredecessors();
 			while (preds.hasNext())
 				addToQueue(preds.next(), sup);
 			return;
@@ -273,21 +474,8 @@ public class SimplifiedELClassifier extends CDOptimizedTaxonomyBuilder implement
 		final Set<ConceptInfo> referredConjunctions = conjunctions.get(sup);
 		if (referredConjunctions != null)
 			for (final ConceptInfo conjunction : referredConjunctions)
-			{
-				ATermList list = (ATermList) conjunction.getConcept().getArgument(0);
-				while (!list.isEmpty())
-				{
-					final ATermAppl conj = (ATermAppl) list.getFirst();
-
-					if (!sub.hasSuperClass(concepts.get(conj)))
-						break;
-
-					list = list.getNext();
-				}
-
-				if (list.isEmpty())
+				if (hasConjuncts(sub, conjunction))
 					addToQueue(sub, conjunction);
-			}
 
 		for (final Entry<ATermAppl, Set<ConceptInfo>> e : sub.getPredecessors().entrySet())
 		{
@@ -324,7 +512,7 @@ public class SimplifiedELClassifier extends CDOptimizedTaxonomyBuilder implement
 		ConceptInfo concept = concepts.get(c);
 		if (concept == null)
 		{
-			concept = new ConceptInfo(c, hasComplexRoles, false);
+			concept = new ConceptInfo(c, conceptTable, hasComplexRoles, false, useConcurrentSaturation);
 
 			if (ATermUtils.isAnd(c))
 			{
@@ -378,6 +566,9 @@ public class SimplifiedELClassifier extends CDOptimizedTaxonomyBuilder implement
 
 			if (TOP != null)
 				addToQueue(concept, TOP);
+
+			if (createdConcepts != null)
+				createdConcepts.add(concept);
 		}
 
 		return concept;
@@ -385,7 +576,13 @@ public class SimplifiedELClassifier extends CDOptimizedTaxonomyBuilder implement
 
 	private void createConceptsFromAxiom(final ATermAppl sub, final ATermAppl sup)
 	{
-		addToQueue(createConcept(sub), createConcept(sup));
+		final ConceptInfo subInfo = createConcept(sub);
+		final ConceptInfo supInfo = createConcept(sup);
+
+		addToQueue(subInfo, supInfo);
+
+		if (addedSubsumers != null)
+			addedSubsumers.add(subInfo, supInfo);
 	}
 
 	private void createDisjointAxiom(final ATermAppl c1, final ATermAppl c2)
@@ -494,6 +691,12 @@ public class SimplifiedELClassifier extends CDOptimizedTaxonomyBuilder implement
 
 	private void processQueue()
 	{
+		if (useConcurrentSaturation)
+		{
+			processQueueConcurrently();
+			return;
+		}
+
 		final int startingSize = primaryQueue.size();
 		while (!primaryQueue.isEmpty())
 		{
@@ -506,6 +709,31 @@ public class SimplifiedELClassifier extends CDOptimizedTaxonomyBuilder implement
 		}
 	}
 
+	/**
+	 * Processes the _queue with {@link ConcurrentELSaturation}. The concepts and the structures referring to them are not modified after they are created so
+	 * the rules only need to synchronize on the super classes, successors and predecessors of concepts.
+	 */
+	private void processQueueConcurrently()
+	{
+		if (logger.isLoggable(Level.FINE))
+			logger.fine("Processing _queue with " + PelletOptions.PARALLEL_REASONING_THREADS + " threads");
+
+		saturation = new ConcurrentELSaturation(PelletOptions.PARALLEL_REASONING_THREADS, this::addSuperClass);
+		try
+		{
+			while (!primaryQueue.isEmpty())
+			{
+				final QueueElement qe = primaryQueue.remove();
+				saturation.schedule(qe.sub, qe.sup);
+			}
+		}
+		finally
+		{
+			saturation.join();
+			saturation = null;
+		}
+	}
+
 	@Override
 	public Map<ATermAppl, Set<ATermAppl>> getToldDisjoints()
 	{
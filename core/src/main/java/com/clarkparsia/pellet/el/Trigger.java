@@ -29,6 +29,8 @@ public class Trigger
 	private final ConceptInfo[] m_Premises;
 	private final ConceptInfo m_Consequence;
 
+	private static final ConceptInfo[] NO_PREMISES = new ConceptInfo[0];
+
 	public Trigger(final ConceptInfo[] premises, final ConceptInfo consequence)
 	{
 		m_Premises = premises;
@@ -37,7 +39,7 @@ public class Trigger
 
 	public Trigger(final ConceptInfo consequence)
 	{
-		this(new ConceptInfo[0], consequence);
+		this(NO_PREMISES, consequence);
 	}
 
 	public ConceptInfo[] getPremises()
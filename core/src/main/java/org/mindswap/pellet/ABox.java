@@ -65,6 +65,8 @@ import org.mindswap.pellet.tableau.cache.CachedNode;
 import org.mindswap.pellet.tableau.cache.CachedNodeFactory;
 import org.mindswap.pellet.tableau.cache.ConceptCache;
 import org.mindswap.pellet.tableau.cache.ConceptCacheLRU;
+import org.mindswap.pellet.tableau.cache.ConcurrentConceptCache;
+import org.mindswap.pellet.tableau.cache.PersistentSatCache;
 import org.mindswap.pellet.tableau.completion.CompletionStrategy;
 import org.mindswap.pellet.tableau.completion.SROIQIncStrategy;
 import org.mindswap.pellet.tableau.completion.queue.BasicCompletionQueue;
@@ -132,6 +134,16 @@ public class ABox
 	 */
 	private boolean _changed = false;
 
+	/**
+	 * Counter incremented every time a _node is modified, see {@link Node#markChanged()}
+	 */
+	private long _changeStamp = 1;
+
+	/**
+	 * Rule applications recorded before this stamp are ignored because a _branch has been restored since then
+	 */
+	private long _visitStamp = 1;
+
 	private boolean _doExplanation;
 
 	// cached satisfiability results
@@ -293,7 +305,7 @@ public class ABox
 
 		if (copyIndividuals)
 		{
-			_toBeMerged = abox.getToBeMerged();
+			_toBeMerged = new ArrayList<>(abox.getToBeMerged());
 			if (_sourceABox == null)
 			{
 				for (int i = 0; i < nodeCount - extra; i++)
@@ -362,6 +374,44 @@ public class ABox
 
 	}
 
+	/**
+	 * Create a read-only view of a complete ABox for the given KB. The view shares the _nodes, _branches and the _cache of the original ABox without copying
+	 * them but has its own statistics and last completion so consistency checks (which always run on a copy of the ABox) can be done on different views
+	 * concurrently as long as the original ABox is not modified.
+	 *
+	 * @param kb KB the view belongs to
+	 * @param abox original ABox
+	 */
+	public ABox(final KnowledgeBase kb, final ABox abox)
+	{
+		assert abox.isComplete() : "Views can only be created for complete ABoxes";
+
+		this._kb = kb;
+
+		_rulesNotApplied = abox._rulesNotApplied;
+		_initialized = abox._initialized;
+		_changed = abox._changed;
+		_anonCount = abox._anonCount;
+		_isComplete = abox._isComplete;
+		_cache = abox._cache;
+		_clash = abox._clash;
+		_dtReasoner = abox._dtReasoner;
+		_doExplanation = abox._doExplanation;
+		_keepLastCompletion = false;
+		setDisjBranchStats(new HashMap<>(abox.getDisjBranchStats()));
+
+		_nodes = abox._nodes;
+		_nodeList = abox._nodeList;
+		_assertedClashes = abox._assertedClashes;
+		_branch = abox._branch;
+		_branches = abox._branches;
+		_toBeMerged = Collections.emptyList();
+
+		_branchEffects = abox._branchEffects;
+		_completionQueue = abox._completionQueue;
+		_incChangeTracker = abox._incChangeTracker;
+	}
+
 	/**
 	 * Create a copy of this ABox with all the _nodes and edges.
 	 *
@@ -453,7 +503,7 @@ public class ABox
 		_lastCompletion = null;
 
 		if (clearSatCache)
-			_cache = new ConceptCacheLRU(_kb);
+			_cache = PelletOptions.USE_CONCURRENT_CONCEPT_CACHE ? new ConcurrentConceptCache(_kb) : new ConceptCacheLRU(_kb);
 	}
 
 	public Bool getCachedSat(final ATermAppl c)
@@ -466,6 +516,14 @@ public class ABox
 		return _cache;
 	}
 
+	/**
+	 * Replace the satisfiability _cache used by this ABox. Copies of an ABox share the _cache of the original ABox unless a different one is set here.
+	 */
+	public void setCache(final ConceptCache cache)
+	{
+		_cache = cache;
+	}
+
 	public CachedNode getCached(final ATermAppl c)
 	{
 		if (ATermUtils.isNominal(c))
@@ -577,12 +635,32 @@ public class ABox
 			}
 		}
 
+		// results stored by a previous run can be used unless a model needs
+		// to be cached or the _clash needs to be explained. the satisfiability
+		// of a concept with nominals depends on the ABox so it is not stored
+		final PersistentSatCache persistentCache = _kb.getPersistentCache() != null && !_kb.getExpressivityChecker().getExpressivityWith(c).hasNominal() ? _kb.getPersistentCache() : null;
+		if (persistentCache != null)
+		{
+			final Bool persisted = persistentCache.getSat(c);
+			if (persisted.isTrue() && !cacheModel)
+				return true;
+			if (persisted.isFalse() && !_doExplanation)
+			{
+				if (cacheModel)
+					_cache.putSat(c, false);
+				return false;
+			}
+		}
+
 		stats.satisfiabilityCount++;
 
 		final Timer t = _kb.timers.startTimer("satisfiability");
 		final boolean isSat = isConsistent(SetUtils.<ATermAppl> emptySet(), c, cacheModel);
 		t.stop();
 
+		if (persistentCache != null)
+			persistentCache.putSat(c, isSat);
+
 		return isSat;
 	}
 
@@ -2504,6 +2582,39 @@ public class ABox
 		this._changed = changed;
 	}
 
+	/**
+	 * Returns a new change stamp that is greater than all the stamps returned before.
+	 */
+	public long nextChangeStamp()
+	{
+		return ++_changeStamp;
+	}
+
+	/**
+	 * Returns the last change stamp.
+	 */
+	public long getChangeStamp()
+	{
+		return _changeStamp;
+	}
+
+	/**
+	 * Returns the stamp before which recorded rule applications are no longer valid.
+	 */
+	public long getVisitStamp()
+	{
+		return _visitStamp;
+	}
+
+	/**
+	 * Invalidates all recorded rule applications so every rule is applied to every _node again. Called when a _branch is restored since the results of rule
+	 * applications on a _node may have been removed from other _nodes.
+	 */
+	public void invalidateVisits()
+	{
+		_visitStamp = nextChangeStamp();
+	}
+
 	/**
 	 * @return the _changed
 	 */
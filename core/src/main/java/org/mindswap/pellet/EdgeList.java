@@ -32,17 +32,41 @@ package org.mindswap.pellet;
 
 import aterm.ATermAppl;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import org.mindswap.pellet.utils.ATermUtils;
 
 /**
+ * A list of edges. Once a list grows beyond a few edges it also counts its edges by role so that lookups by role can skip the list when no edge has a
+ * matching role. Only the counts are kept, not the edges, so the index takes one entry per distinct role and lookups return the edges in list order. When
+ * all the edges of the list match a role lookup the lookup returns a view sharing the array of the list instead of copying the edges. Views and the lists
+ * they are taken from copy their array before the first modification that would be visible to the other, so a view behaves like a snapshot of the matching
+ * edges and can be modified freely.
+ *
  * @author Evren Sirin
  */
 public class EdgeList implements Iterable<Edge>
 {
+	/**
+	 * Minimum number of edges before the role counts are kept. Scanning a small list is cheaper than maintaining the counts.
+	 */
+	private static final int INDEX_THRESHOLD = 16;
+
+	/**
+	 * Array used by lists created without a capacity until the first edge is added. Most _nodes of a large ABox have few edges and many have no incoming or no
+	 * outgoing edges at all.
+	 */
+	private static final Edge[] EMPTY = new Edge[0];
+
+	/**
+	 * Capacity allocated when the first edge is added to an empty list
+	 */
+	private static final int MIN_CAPACITY = 2;
+
 	private class EdgeIterator implements Iterator<Edge>
 	{
 		private int curr = 0;
@@ -76,9 +100,25 @@ public class EdgeList implements Iterable<Edge>
 	private Edge[] list;
 	private int size;
 
+	/**
+	 * Number of edges of each role, <code>null</code> if the list is too small to be indexed
+	 */
+	private Map<Role, Integer> _index;
+
+	/**
+	 * The array is also used by a view so elements below <code>size</code> cannot be overwritten
+	 */
+	private boolean _shared;
+
+	/**
+	 * The array belongs to another list so it cannot be modified at all
+	 */
+	private boolean _view;
+
 	public EdgeList()
 	{
-		this(10);
+		list = EMPTY;
+		size = 0;
 	}
 
 	public EdgeList(final int n)
@@ -87,6 +127,16 @@ public class EdgeList implements Iterable<Edge>
 		size = 0;
 	}
 
+	/**
+	 * Create a view of the first <code>size</code> elements of the given array.
+	 */
+	private EdgeList(final Edge[] list, final int size)
+	{
+		this.list = list;
+		this.size = size;
+		_view = true;
+	}
+
 	public EdgeList(final EdgeList edges)
 	{
 		this(edges.size);
@@ -106,13 +156,83 @@ public class EdgeList implements Iterable<Edge>
 		size = 0;
 	}
 
+	/**
+	 * Returns a view of this list that shares the array of this list until one of them is modified.
+	 */
+	private EdgeList view()
+	{
+		_shared = true;
+		return new EdgeList(list, size);
+	}
+
+	/**
+	 * Copies the array before a modification if it is shared with a view. Appending to a list does not change the elements visible to its views so the array
+	 * only needs to be copied for other modifications.
+	 */
+	private void beforeUpdate(final boolean append)
+	{
+		if (_view || (_shared && !append))
+		{
+			final Edge[] copy = new Edge[list.length];
+			System.arraycopy(list, 0, copy, 0, size);
+			list = copy;
+			_view = false;
+			_shared = false;
+		}
+	}
+
+	private void buildIndex()
+	{
+		_index = new HashMap<>();
+		for (int i = 0; i < size; i++)
+			indexEdge(list[i]);
+	}
+
+	private void indexEdge(final Edge e)
+	{
+		final Integer count = _index.get(e.getRole());
+		_index.put(e.getRole(), count == null ? 1 : count + 1);
+	}
+
+	private void unindexEdge(final Edge e)
+	{
+		final Integer count = _index.get(e.getRole());
+		if (count == 1)
+			_index.remove(e.getRole());
+		else
+			_index.put(e.getRole(), count - 1);
+	}
+
+	private void updateIndex(final int start)
+	{
+		if (_index != null)
+			for (int i = start; i < size; i++)
+				indexEdge(list[i]);
+		else
+			if (size >= INDEX_THRESHOLD)
+				buildIndex();
+	}
+
+	/**
+	 * Returns the number of edges whose role is a subrole of the given role using the index.
+	 */
+	private int countEdges(final Role role)
+	{
+		int count = 0;
+		for (final Map.Entry<Role, Integer> entry : _index.entrySet())
+			if (entry.getKey().isSubRoleOf(role))
+				count += entry.getValue();
+
+		return count;
+	}
+
 	private void allocate(final int minSize)
 	{
 		final int oldSize = list.length;
 		if (minSize > oldSize)
 		{
 			final Edge oldList[] = list;
-			int newSize = (oldSize * 3) / 2 + 1;
+			int newSize = Math.max((oldSize * 3) / 2 + 1, MIN_CAPACITY);
 			if (newSize < minSize)
 				newSize = minSize;
 			list = new Edge[newSize];
@@ -123,15 +243,27 @@ public class EdgeList implements Iterable<Edge>
 	public void addEdgeList(final EdgeList edges)
 	{
 		final int edgesSize = edges.size;
+		if (edgesSize == 0)
+			return;
+
+		beforeUpdate(true);
+
+		final int start = size;
 		allocate(size + edgesSize);
 		System.arraycopy(edges.list, 0, list, size, edgesSize);
 		size += edgesSize;
+
+		updateIndex(start);
 	}
 
 	public void addEdge(final Edge e)
 	{
+		beforeUpdate(true);
+
 		allocate(size + 1);
 		list[size++] = e;
+
+		updateIndex(size - 1);
 	}
 
 	public boolean removeEdge(final Edge edge)
@@ -151,8 +283,14 @@ public class EdgeList implements Iterable<Edge>
 
 	protected void removeEdge(final int index)
 	{
+		beforeUpdate(false);
+
+		final Edge e = list[index];
 		list[index] = list[--size];
 		list[size] = null;
+
+		if (_index != null)
+			unindexEdge(e);
 	}
 
 	public Edge edgeAt(final int i)
@@ -187,6 +325,9 @@ public class EdgeList implements Iterable<Edge>
 	{
 		final EdgeList result = new EdgeList();
 
+		if (role != null && _index != null && countEdges(role) == 0)
+			return result;
+
 		for (int i = 0; i < size; i++)
 		{
 			final Edge e = list[i];
@@ -222,9 +363,28 @@ public class EdgeList implements Iterable<Edge>
 		return findEdges(r, from, null);
 	}
 
+	/**
+	 * Returns the edges whose role is a subrole of the given role. The returned list may be a view sharing the array of this list but modifications to either
+	 * list are not visible in the other one.
+	 *
+	 * @param role
+	 * @return
+	 */
 	public EdgeList getEdges(final Role role)
 	{
-		final EdgeList result = new EdgeList();
+		final EdgeList result;
+		if (_index != null)
+		{
+			final int count = countEdges(role);
+			if (count == 0)
+				return new EdgeList(0);
+			if (count == size)
+				return view();
+
+			result = new EdgeList(count);
+		}
+		else
+			result = new EdgeList();
 
 		for (int i = 0; i < size; i++)
 		{
@@ -238,6 +398,9 @@ public class EdgeList implements Iterable<Edge>
 
 	public Set<Role> getRoles()
 	{
+		if (_index != null)
+			return new HashSet<>(_index.keySet());
+
 		final Set<Role> result = new HashSet<>();
 
 		for (int i = 0; i < size; i++)
@@ -338,6 +501,15 @@ public class EdgeList implements Iterable<Edge>
 	 */
 	public boolean hasEdge(final Individual from, final Role role, final Node to)
 	{
+		if (role != null && _index != null)
+		{
+			final int count = countEdges(role);
+			if (count == 0)
+				return false;
+			if (from == null && to == null)
+				return true;
+		}
+
 		for (int i = 0; i < size; i++)
 		{
 			final Edge e = list[i];
@@ -359,6 +531,9 @@ public class EdgeList implements Iterable<Edge>
 	 */
 	public boolean hasExactEdge(final Individual from, final Role role, final Node to)
 	{
+		if (role != null && _index != null && !_index.containsKey(role))
+			return false;
+
 		for (int i = 0; i < size; i++)
 		{
 			final Edge e = list[i];
@@ -376,6 +551,9 @@ public class EdgeList implements Iterable<Edge>
 
 	public Edge getExactEdge(final Individual from, final Role role, final Node to)
 	{
+		if (role != null && _index != null && !_index.containsKey(role))
+			return null;
+
 		for (int i = 0; i < size; i++)
 		{
 			final Edge e = list[i];
@@ -29,6 +29,7 @@ import aterm.ATermInt;
 import aterm.ATermList;
 import com.clarkparsia.pellet.datatypes.exceptions.DatatypeReasonerException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -56,7 +57,11 @@ public class Individual extends Node implements CachedNode
 	private EdgeList outEdges;
 
 	@SuppressWarnings("unchecked")
-	private final ArrayList<ATermAppl>[] _types = new ArrayList[TYPES]; // Known warning message
+	/**
+	 * Types of this _node grouped by their kind. Lists are only allocated when the first type of a kind is added, until then the shared immutable empty list
+	 * is used since most individuals in large ABoxes never get any types for most kinds.
+	 */
+	private final List<ATermAppl>[] _types = new List[TYPES]; // Known warning message
 	public int[] _applyNext = new int[TYPES];
 
 	private int _nominalLevel;
@@ -69,6 +74,11 @@ public class Individual extends Node implements CachedNode
 
 	private boolean _isBlocked;
 
+	/**
+	 * Change stamps at which tableau rules were last applied to this _node indexed by rule id. Allocated when the first rule is applied.
+	 */
+	private long[] _ruleVisits;
+
 	Individual(final ATermAppl name, final ABox abox, final Individual parent)
 	{
 		super(name, abox);
@@ -88,7 +98,7 @@ public class Individual extends Node implements CachedNode
 
 		for (int i = 0; i < TYPES; i++)
 		{
-			_types[i] = new ArrayList<>();
+			_types[i] = Collections.emptyList();
 			_applyNext[i] = 0;
 		}
 
@@ -104,7 +114,7 @@ public class Individual extends Node implements CachedNode
 
 		for (int i = 0; i < TYPES; i++)
 		{
-			_types[i] = new ArrayList<>(ind._types[i]);
+			_types[i] = ind._types[i].isEmpty() ? Collections.<ATermAppl> emptyList() : new ArrayList<>(ind._types[i]);
 			_applyNext[i] = ind._applyNext[i];
 		}
 
@@ -124,6 +134,37 @@ public class Individual extends Node implements CachedNode
 		this._isBlocked = isBlocked;
 	}
 
+	/**
+	 * Returns true if the given rule has been applied to this _node after its last modification and no _branch has been restored since then.
+	 *
+	 * @param rule id of the rule
+	 */
+	public boolean isVisited(final int rule)
+	{
+		if (_ruleVisits == null || rule >= _ruleVisits.length)
+			return false;
+
+		final long visit = _ruleVisits[rule];
+		return visit >= _abox.getVisitStamp() && getLastChange() <= visit;
+	}
+
+	/**
+	 * Records that the given rule has been applied to this _node.
+	 *
+	 * @param rule id of the rule
+	 * @param stamp change stamp taken before the rule was applied
+	 */
+	public void setVisited(final int rule, final long stamp)
+	{
+		if (_ruleVisits == null)
+			_ruleVisits = new long[Math.max(rule + 1, 8)];
+		else
+			if (rule >= _ruleVisits.length)
+				_ruleVisits = Arrays.copyOf(_ruleVisits, rule + 1);
+
+		_ruleVisits[rule] = stamp;
+	}
+
 	public short getDepth()
 	{
 		return _depth;
@@ -191,6 +232,13 @@ public class Individual extends Node implements CachedNode
 		return new Individual(this, abox);
 	}
 
+	private void addToTypes(final int type, final ATermAppl c)
+	{
+		if (_types[type] == Collections.<ATermAppl> emptyList())
+			_types[type] = new ArrayList<>(2);
+		_types[type].add(c);
+	}
+
 	public List<ATermAppl> getTypes(final int type)
 	{
 		return _types[type];
@@ -268,7 +316,10 @@ public class Individual extends Node implements CachedNode
 		if (_depends.containsKey(c))
 		{
 			if (!checkForPruned && ds.isIndependent())
+			{
 				_depends.put(c, ds);
+				markChanged();
+			}
 
 			return;
 		}
@@ -291,6 +342,7 @@ public class Individual extends Node implements CachedNode
 		_depends.put(c, ds);
 
 		_abox.setChanged(true);
+		markChanged();
 
 		// add to effected list
 		if (_abox.getBranch() >= 0 && PelletOptions.TRACK_BRANCH_EFFECTS)
@@ -312,7 +364,7 @@ public class Individual extends Node implements CachedNode
 		if (ATermUtils.isPrimitive(c))
 		{
 			setChanged(ATOM);
-			_types[ATOM].add(c);
+			addToTypes(ATOM, c);
 
 			if (PelletOptions.USE_COMPLETION_QUEUE)
 				//update completion _queue
@@ -330,7 +382,7 @@ public class Individual extends Node implements CachedNode
 				if (c.getAFun().equals(ATermUtils.ALLFUN))
 				{
 					setChanged(ALL);
-					_types[ALL].add(c);
+					addToTypes(ALL, c);
 
 					if (PelletOptions.USE_COMPLETION_QUEUE)
 						//update completion _queue
@@ -341,7 +393,7 @@ public class Individual extends Node implements CachedNode
 					{
 						if (!isRedundantMin(c))
 						{
-							_types[MIN].add(c);
+							addToTypes(MIN, c);
 							setChanged(MIN);
 
 							if (PelletOptions.USE_COMPLETION_QUEUE)
@@ -363,7 +415,7 @@ public class Individual extends Node implements CachedNode
 							if (ATermUtils.isAnd(x))
 							{
 								setChanged(OR);
-								_types[OR].add(c);
+								addToTypes(OR, c);
 
 								if (PelletOptions.USE_COMPLETION_QUEUE)
 									//update completion _queue
@@ -373,7 +425,7 @@ public class Individual extends Node implements CachedNode
 								if (ATermUtils.isAllValues(x))
 								{
 									setChanged(SOME);
-									_types[SOME].add(c);
+									addToTypes(SOME, c);
 
 									if (PelletOptions.USE_COMPLETION_QUEUE)
 										//update completion _queue					
@@ -384,7 +436,7 @@ public class Individual extends Node implements CachedNode
 									{
 										if (!isRedundantMax(x))
 										{
-											_types[MAX].add(c);
+											addToTypes(MAX, c);
 											setChanged(MAX);
 
 											if (PelletOptions.USE_COMPLETION_QUEUE)
@@ -407,7 +459,7 @@ public class Individual extends Node implements CachedNode
 										if (ATermUtils.isNominal(x))
 										{
 											setChanged(ATOM);
-											_types[ATOM].add(c);
+											addToTypes(ATOM, c);
 
 											if (PelletOptions.USE_COMPLETION_QUEUE)
 												//update completion _queue					
@@ -430,7 +482,7 @@ public class Individual extends Node implements CachedNode
 												if (x.getArity() == 0)
 												{
 													setChanged(ATOM);
-													_types[ATOM].add(c);
+													addToTypes(ATOM, c);
 
 													if (PelletOptions.USE_COMPLETION_QUEUE)
 														//update completion _queue					
@@ -443,7 +495,7 @@ public class Individual extends Node implements CachedNode
 							if (c.getAFun().equals(ATermUtils.VALUEFUN))
 							{
 								setChanged(NOM);
-								_types[NOM].add(c);
+								addToTypes(NOM, c);
 
 								if (PelletOptions.USE_COMPLETION_QUEUE)
 									//update completion _queue				
@@ -453,7 +505,7 @@ public class Individual extends Node implements CachedNode
 								if (ATermUtils.isSelf(c))
 								{
 									setChanged(ATOM);
-									_types[ATOM].add(c);
+									addToTypes(ATOM, c);
 								}
 								else
 									throw new InternalReasonerException("Warning: Adding invalid class constructor - " + c);
@@ -1135,7 +1187,7 @@ public class Individual extends Node implements CachedNode
 	{
 		for (int type = 0; type < TYPES; type++)
 		{
-			final ArrayList<ATermAppl> list = _types[type];
+			final List<ATermAppl> list = _types[type];
 			int size = list.size();
 			for (int i = 0; i < size; i++)
 			{
@@ -1232,6 +1284,8 @@ public class Individual extends Node implements CachedNode
 
 	final public boolean removeEdge(final Edge edge)
 	{
+		markChanged();
+
 		final boolean removed = outEdges.removeEdge(edge);
 
 		if (!removed)
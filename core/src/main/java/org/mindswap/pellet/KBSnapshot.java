@@ -0,0 +1,902 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet;
+
+import aterm.AFun;
+import aterm.ATerm;
+import aterm.ATermAppl;
+import aterm.ATermFactory;
+import aterm.ATermInt;
+import aterm.ATermList;
+import com.clarkparsia.pellet.datatypes.DatatypeReasoner;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.mindswap.pellet.exceptions.InternalReasonerException;
+import org.mindswap.pellet.exceptions.UnsupportedFeatureException;
+import org.mindswap.pellet.taxonomy.Taxonomy;
+import org.mindswap.pellet.taxonomy.TaxonomyNode;
+import org.mindswap.pellet.utils.ATermUtils;
+import org.mindswap.pellet.utils.Timer;
+import org.mindswap.pellet.utils.TaxonomyUtils;
+
+/**
+ * <p>
+ * Title: KB Snapshot
+ * </p>
+ * <p>
+ * Description: Saves a KB to a compact binary file and loads it back without parsing the ontology or classifying and realizing the KB again. The file starts
+ * with a table of all the terms used in the KB where each term refers to its arguments by their position in the table, so a term shared by many axioms is
+ * stored only once and the rest of the file refers to terms by their position. The table is followed by the classes, datatypes, properties, annotations, TBox
+ * axioms and ABox assertions of the KB and the class taxonomy, including the direct instances of each class if the KB is realized. The file is memory mapped
+ * when it is loaded.
+ * </p>
+ * <p>
+ * The ABox is stored as the assertions that hold in the completion graph of the KB regardless of any non-deterministic choice. These include the asserted
+ * facts as well as the facts inferred deterministically, so the KB loaded is equivalent to the KB saved, but explanations of ABox inferences are not
+ * preserved. Since the inferred facts are loaded as asserted ones, removing an assertion from the loaded KB would not retract what it entailed, so the KB
+ * loaded rejects all updates with a {@link org.mindswap.pellet.exceptions.PelletRuntimeException}. The TBox is absorbed and the RBox is prepared again when
+ * the KB is loaded, which is fast compared to classification, and the consistency of the loaded KB is checked before the stored taxonomy is used. KBs with
+ * rules cannot be saved.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class KBSnapshot
+{
+	public static final Logger log = Logger.getLogger(KBSnapshot.class.getName());
+
+	private static final int MAGIC = 0x504b4253;
+
+	private static final int VERSION = 1;
+
+	private static final byte APPL = 0;
+	private static final byte LIST = 1;
+	private static final byte EMPTY_LIST = 2;
+	private static final byte INT = 3;
+
+	private static final int TRANSITIVE = 1 << 0;
+	private static final int SYMMETRIC = 1 << 1;
+	private static final int FUNCTIONAL = 1 << 2;
+	private static final int INV_FUNCTIONAL = 1 << 3;
+	private static final int REFLEXIVE = 1 << 4;
+	private static final int IRREFLEXIVE = 1 << 5;
+	private static final int ASYMMETRIC = 1 << 6;
+
+	private static final byte NOT_CLASSIFIED = 0;
+	private static final byte CLASSIFIED = 1;
+	private static final byte REALIZED = 2;
+
+	private KBSnapshot()
+	{
+	}
+
+	/**
+	 * Saves a KB to a snapshot file. The consistency of the KB is checked first if it has not been checked yet. The taxonomy is only saved if the KB has been
+	 * classified.
+	 *
+	 * @param kb the KB to save
+	 * @param file the snapshot file
+	 * @throws IOException if the file cannot be written
+	 * @throws UnsupportedFeatureException if the KB contains rules
+	 */
+	public static void write(final KnowledgeBase kb, final File file) throws IOException
+	{
+		if (!kb.getRules().isEmpty())
+			throw new UnsupportedFeatureException("Cannot save a snapshot of a KB with rules");
+
+		kb.ensureConsistency();
+
+		final Timer timer = kb.timers.startTimer("saveSnapshot");
+
+		final Writer writer = new Writer();
+		writer.writeKB(kb);
+
+		try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(writer._stringCount);
+			writer._strings.writeTo(out);
+			out.writeInt(writer._termCount);
+			writer._terms.writeTo(out);
+			writer._content.writeTo(out);
+		}
+
+		timer.stop();
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("Saved " + writer._termCount + " terms to " + file + " (" + timer.getLast() + "ms)");
+	}
+
+	/**
+	 * Loads a KB from a snapshot file.
+	 *
+	 * @param file the snapshot file
+	 * @return a new KB which is classified (and realized) if the saved KB was and which cannot be updated
+	 * @throws IOException if the file cannot be read or is not a valid snapshot
+	 */
+	public static KnowledgeBase read(final File file) throws IOException
+	{
+		try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException("Snapshot file is too large: " + file);
+
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (size < 8 || buffer.getInt() != MAGIC)
+				throw new IOException("Not a snapshot file: " + file);
+			if (buffer.getInt() != VERSION)
+				throw new IOException("Unsupported snapshot version in " + file);
+
+			return new Reader(buffer).readKB();
+		}
+		catch (final BufferUnderflowException | IndexOutOfBoundsException | ClassCastException e)
+		{
+			throw new IOException("Invalid snapshot file: " + file, e);
+		}
+	}
+
+	private static void writeVarInt(final DataOutputStream out, int value) throws IOException
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static class Writer
+	{
+		private final Map<String, Integer> _stringIds = new HashMap<>();
+
+		private final ByteArrayOutputStream _strings = new ByteArrayOutputStream();
+
+		private final DataOutputStream _stringOut = new DataOutputStream(_strings);
+
+		private int _stringCount = 0;
+
+		/**
+		 * Terms are maximally shared so they are identified by identity
+		 */
+		private final Map<ATerm, Integer> _termIds = new IdentityHashMap<>();
+
+		private final ByteArrayOutputStream _terms = new ByteArrayOutputStream();
+
+		private final DataOutputStream _termOut = new DataOutputStream(_terms);
+
+		private int _termCount = 0;
+
+		private final ByteArrayOutputStream _content = new ByteArrayOutputStream();
+
+		private final DataOutputStream _out = new DataOutputStream(_content);
+
+		private int string(final String s) throws IOException
+		{
+			Integer id = _stringIds.get(s);
+			if (id == null)
+			{
+				id = _stringCount++;
+				_stringIds.put(s, id);
+
+				final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+				writeVarInt(_stringOut, bytes.length);
+				_stringOut.write(bytes);
+			}
+			return id;
+		}
+
+		/**
+		 * Returns the position of a term in the table adding the term after its arguments if it is not in the table yet.
+		 */
+		private int id(final ATerm term) throws IOException
+		{
+			final Integer id = _termIds.get(term);
+			if (id != null)
+				return id;
+
+			// lists can be long so the arguments are not visited recursively
+			final Deque<ATerm> stack = new ArrayDeque<>();
+			stack.push(term);
+			while (!stack.isEmpty())
+			{
+				final ATerm t = stack.peek();
+				if (_termIds.containsKey(t))
+				{
+					stack.pop();
+					continue;
+				}
+
+				boolean ready = true;
+				for (final ATerm arg : arguments(t))
+					if (!_termIds.containsKey(arg))
+					{
+						stack.push(arg);
+						ready = false;
+					}
+
+				if (ready)
+				{
+					stack.pop();
+					define(t);
+				}
+			}
+
+			return _termIds.get(term);
+		}
+
+		private static List<ATerm> arguments(final ATerm term)
+		{
+			final List<ATerm> args = new ArrayList<>(2);
+			if (term.getType() == ATerm.APPL)
+			{
+				final ATermAppl appl = (ATermAppl) term;
+				for (int i = 0; i < appl.getArity(); i++)
+					args.add(appl.getArgument(i));
+			}
+			else
+				if (term.getType() == ATerm.LIST && !((ATermList) term).isEmpty())
+				{
+					final ATermList list = (ATermList) term;
+					args.add(list.getFirst());
+					args.add(list.getNext());
+				}
+			return args;
+		}
+
+		private void define(final ATerm term) throws IOException
+		{
+			switch (term.getType())
+			{
+				case ATerm.APPL:
+				{
+					final ATermAppl appl = (ATermAppl) term;
+					final AFun fun = appl.getAFun();
+					_termOut.writeByte(APPL);
+					writeVarInt(_termOut, string(fun.getName()));
+					writeVarInt(_termOut, fun.getArity());
+					_termOut.writeBoolean(fun.isQuoted());
+					for (int i = 0; i < fun.getArity(); i++)
+						writeVarInt(_termOut, _termIds.get(appl.getArgument(i)));
+					break;
+				}
+				case ATerm.LIST:
+				{
+					final ATermList list = (ATermList) term;
+					if (list.isEmpty())
+						_termOut.writeByte(EMPTY_LIST);
+					else
+					{
+						_termOut.writeByte(LIST);
+						writeVarInt(_termOut, _termIds.get(list.getFirst()));
+						writeVarInt(_termOut, _termIds.get(list.getNext()));
+					}
+					break;
+				}
+				case ATerm.INT:
+					_termOut.writeByte(INT);
+					_termOut.writeInt(((ATermInt) term).getInt());
+					break;
+				default:
+					throw new InternalReasonerException("Cannot save term " + term);
+			}
+
+			_termIds.put(term, _termCount++);
+		}
+
+		private void term(final ATerm term) throws IOException
+		{
+			writeVarInt(_out, id(term));
+		}
+
+		/**
+		 * Writes a term that may be <code>null</code>.
+		 */
+		private void optionalTerm(final ATerm term) throws IOException
+		{
+			writeVarInt(_out, term == null ? 0 : id(term) + 1);
+		}
+
+		private void terms(final Collection<? extends ATerm> terms) throws IOException
+		{
+			writeVarInt(_out, terms.size());
+			for (final ATerm term : terms)
+				term(term);
+		}
+
+		private static List<ATermAppl> names(final Collection<Role> roles)
+		{
+			final List<ATermAppl> names = new ArrayList<>();
+			for (final Role role : roles)
+				if (!role.isAnon() && !role.isBuiltin())
+					names.add(role.getName());
+			return names;
+		}
+
+		private static int flags(final Role role)
+		{
+			int flags = 0;
+			if (role.isTransitive())
+				flags |= TRANSITIVE;
+			if (role.isSymmetric())
+				flags |= SYMMETRIC;
+			if (role.isFunctional())
+				flags |= FUNCTIONAL;
+			if (role.isInverseFunctional())
+				flags |= INV_FUNCTIONAL;
+			if (role.isReflexive())
+				flags |= REFLEXIVE;
+			if (role.isIrreflexive())
+				flags |= IRREFLEXIVE;
+			if (role.isAsymmetric())
+				flags |= ASYMMETRIC;
+			return flags;
+		}
+
+		public void writeKB(final KnowledgeBase kb) throws IOException
+		{
+			final List<ATermAppl> classes = new ArrayList<>();
+			for (final ATermAppl c : kb.getClasses())
+				if (!c.equals(ATermUtils.TOP) && !c.equals(ATermUtils.BOTTOM))
+					classes.add(c);
+			terms(classes);
+
+			writeDatatypes(kb.getDatatypeReasoner());
+			writeRoles(kb, kb.getRBox().getRoles());
+			writeAnnotations(kb);
+			terms(kb.getTBox().getAssertedAxioms());
+			writeABox(kb);
+			writeTaxonomy(kb);
+		}
+
+		private void writeDatatypes(final DatatypeReasoner dtReasoner) throws IOException
+		{
+			final List<ATermAppl> names = new ArrayList<>();
+			for (final ATermAppl name : dtReasoner.listDataRanges())
+				if (dtReasoner.getDefinition(name) != null || !dtReasoner.isDefined(name))
+					names.add(name);
+
+			writeVarInt(_out, names.size());
+			for (final ATermAppl name : names)
+			{
+				term(name);
+				optionalTerm(dtReasoner.getDefinition(name));
+			}
+		}
+
+		private void writeRoles(final KnowledgeBase kb, final Collection<Role> allRoles) throws IOException
+		{
+			final List<Role> roles = new ArrayList<>();
+			for (final Role role : allRoles)
+				if (!role.isAnon() && !role.isBuiltin())
+					roles.add(role);
+
+			writeVarInt(_out, roles.size());
+			for (final Role role : roles)
+			{
+				term(role.getName());
+				_out.writeByte(role.getType().ordinal());
+			}
+
+			for (final Role role : roles)
+			{
+				_out.writeByte(flags(role));
+				// the inverse of a role is usually an anonymous role equivalent to the named inverses
+				terms(role.isObjectRole() ? kb.getInverses(role.getName()) : Collections.<ATermAppl> emptySet());
+
+				final List<ATermAppl> supers = names(role.getSuperRoles());
+				supers.remove(role.getName());
+				terms(supers);
+				terms(names(role.getDisjointRoles()));
+				terms(role.getDomains());
+				terms(role.getRanges());
+				terms(role.getSubRoleChains());
+			}
+		}
+
+		private void writeAnnotations(final KnowledgeBase kb) throws IOException
+		{
+			final List<ATermAppl> annotations = new ArrayList<>();
+			for (final ATermAppl s : kb.getAnnotationSubjects())
+				for (final Map.Entry<ATermAppl, Set<ATermAppl>> entry : kb.getAssertedAnnotations(s).entrySet())
+					for (final ATermAppl o : entry.getValue())
+					{
+						annotations.add(s);
+						annotations.add(entry.getKey());
+						annotations.add(o);
+					}
+
+			writeVarInt(_out, annotations.size() / 3);
+			for (final ATermAppl term : annotations)
+				term(term);
+		}
+
+		private void writeABox(final KnowledgeBase kb) throws IOException
+		{
+			final ABox abox = kb.getABox();
+			final Set<ATermAppl> individuals = kb.getIndividuals();
+
+			final List<ATermAppl> types = new ArrayList<>();
+			final List<ATermAppl> values = new ArrayList<>();
+			final List<ATermAppl> same = new ArrayList<>();
+			final List<ATermAppl> different = new ArrayList<>();
+
+			for (final ATermAppl name : individuals)
+			{
+				final Individual ind = abox.getIndividual(name);
+				if (ind == null)
+					continue;
+
+				for (final ATermAppl c : ind.getTypes())
+					if (ind.getDepends(c).isIndependent())
+					{
+						types.add(name);
+						types.add(c);
+					}
+
+				for (final Edge edge : ind.getOutEdges())
+					addValue(edge, individuals, values);
+
+				// edges to an individual merged to another one are only kept at the merged individual
+				if (ind.isPruned())
+					for (final Edge edge : ind.getInEdges())
+						addValue(edge, individuals, values);
+
+				final Node mergedTo = ind.getMergedTo();
+				if (ind.isMerged() && ind.getMergeDependency(false).isIndependent() && individuals.contains(mergedTo.getName()))
+				{
+					same.add(name);
+					same.add(mergedTo.getName());
+				}
+
+				for (final Node other : ind.getDifferents())
+					if (individuals.contains(other.getName()) && ind.getDifferenceDependency(other).isIndependent())
+					{
+						different.add(name);
+						different.add(other.getName());
+					}
+			}
+
+			terms(individuals);
+
+			writeVarInt(_out, types.size() / 2);
+			for (final ATermAppl term : types)
+				term(term);
+
+			writeVarInt(_out, values.size() / 3);
+			for (final ATermAppl term : values)
+				term(term);
+
+			writeVarInt(_out, same.size() / 2);
+			for (final ATermAppl term : same)
+				term(term);
+
+			writeVarInt(_out, different.size() / 2);
+			for (final ATermAppl term : different)
+				term(term);
+		}
+
+		private static void addValue(final Edge edge, final Set<ATermAppl> individuals, final List<ATermAppl> values)
+		{
+			if (!edge.getDepends().isIndependent())
+				return;
+
+			final Role role = edge.getRole();
+			final ATermAppl s = edge.getFrom().getName();
+			final Node to = edge.getTo();
+
+			if (to.isLiteral())
+			{
+				final ATermAppl o = to.getTerm();
+				if (o != null && individuals.contains(s))
+				{
+					values.add(role.getName());
+					values.add(s);
+					values.add(o);
+				}
+			}
+			else
+				if (individuals.contains(s) && individuals.contains(to.getName()) && !role.isBuiltin())
+					if (role.isAnon())
+					{
+						values.add(role.getInverse().getName());
+						values.add(to.getName());
+						values.add(s);
+					}
+					else
+					{
+						values.add(role.getName());
+						values.add(s);
+						values.add(to.getName());
+					}
+		}
+
+		private void writeTaxonomy(final KnowledgeBase kb) throws IOException
+		{
+			if (!kb.isClassified())
+			{
+				_out.writeByte(NOT_CLASSIFIED);
+				return;
+			}
+
+			final boolean realized = kb.isRealized();
+			_out.writeByte(realized ? REALIZED : CLASSIFIED);
+
+			final Taxonomy<ATermAppl> taxonomy = kb.getTaxonomy();
+
+			// the node map has an entry for each equivalent class
+			final Set<TaxonomyNode<ATermAppl>> nodeSet = new LinkedHashSet<>();
+			nodeSet.add(taxonomy.getTop());
+			nodeSet.add(taxonomy.getBottom());
+			nodeSet.addAll(taxonomy.getNodes());
+
+			final Map<TaxonomyNode<ATermAppl>, Integer> ids = new IdentityHashMap<>();
+			for (final TaxonomyNode<ATermAppl> node : nodeSet)
+				ids.put(node, ids.size());
+
+			writeVarInt(_out, nodeSet.size());
+			for (final TaxonomyNode<ATermAppl> node : nodeSet)
+			{
+				terms(node.getEquivalents());
+
+				writeVarInt(_out, node.getSubs().size());
+				for (final TaxonomyNode<ATermAppl> sub : node.getSubs())
+					writeVarInt(_out, ids.get(sub));
+
+				if (realized)
+				{
+					@SuppressWarnings("unchecked")
+					final Set<ATermAppl> instances = (Set<ATermAppl>) node.getDatum(TaxonomyUtils.INSTANCES_KEY);
+					if (instances == null)
+						writeVarInt(_out, 0);
+					else
+					{
+						writeVarInt(_out, instances.size() + 1);
+						for (final ATermAppl ind : instances)
+							term(ind);
+					}
+				}
+			}
+		}
+	}
+
+	private static class Reader
+	{
+		private final ByteBuffer _buffer;
+
+		private final ATermFactory _factory = ATermUtils.getFactory();
+
+		private String[] _strings;
+
+		private ATerm[] _terms;
+
+		public Reader(final ByteBuffer buffer)
+		{
+			_buffer = buffer;
+		}
+
+		private int readVarInt()
+		{
+			int value = 0;
+			for (int shift = 0;; shift += 7)
+			{
+				final byte b = _buffer.get();
+				value |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0)
+					return value;
+			}
+		}
+
+		private ATermAppl term()
+		{
+			return (ATermAppl) _terms[readVarInt()];
+		}
+
+		private ATerm optionalTerm()
+		{
+			final int id = readVarInt();
+			return id == 0 ? null : _terms[id - 1];
+		}
+
+		private ATerm anyTerm()
+		{
+			return _terms[readVarInt()];
+		}
+
+		private List<ATermAppl> terms()
+		{
+			final int count = readVarInt();
+			final List<ATermAppl> terms = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+				terms.add(term());
+			return terms;
+		}
+
+		private void readTable()
+		{
+			_strings = new String[_buffer.getInt()];
+			for (int i = 0; i < _strings.length; i++)
+			{
+				final byte[] bytes = new byte[readVarInt()];
+				_buffer.get(bytes);
+				_strings[i] = new String(bytes, StandardCharsets.UTF_8);
+			}
+
+			_terms = new ATerm[_buffer.getInt()];
+			for (int i = 0; i < _terms.length; i++)
+			{
+				final byte type = _buffer.get();
+				switch (type)
+				{
+					case APPL:
+					{
+						final String name = _strings[readVarInt()];
+						final int arity = readVarInt();
+						final boolean quoted = _buffer.get() != 0;
+						final AFun fun = _factory.makeAFun(name, arity, quoted);
+						final ATerm[] args = new ATerm[arity];
+						for (int j = 0; j < arity; j++)
+							args[j] = anyTerm();
+						_terms[i] = _factory.makeAppl(fun, args);
+						break;
+					}
+					case LIST:
+					{
+						final ATerm first = anyTerm();
+						final ATermList next = (ATermList) anyTerm();
+						_terms[i] = _factory.makeList(first, next);
+						break;
+					}
+					case EMPTY_LIST:
+						_terms[i] = _factory.makeList();
+						break;
+					case INT:
+						_terms[i] = _factory.makeInt(_buffer.getInt());
+						break;
+					default:
+						throw new IndexOutOfBoundsException("Unknown term type " + type);
+				}
+			}
+		}
+
+		public KnowledgeBase readKB()
+		{
+			final KnowledgeBase kb = new KnowledgeBase();
+
+			final Timer timer = kb.timers.startTimer("loadSnapshot");
+
+			readTable();
+
+			for (final ATermAppl c : terms())
+				kb.addClass(c);
+
+			readDatatypes(kb);
+			readRoles(kb);
+
+			final int annotationCount = readVarInt();
+			for (int i = 0; i < annotationCount; i++)
+				kb.addAnnotation(term(), term(), term());
+
+			for (final ATermAppl axiom : terms())
+				addAxiom(kb, axiom);
+
+			readABox(kb);
+
+			timer.stop();
+
+			readTaxonomy(kb);
+
+			// the changes are processed before the KB becomes read-only
+			kb.ensureConsistency();
+			kb.setReadOnly();
+
+			if (log.isLoggable(Level.FINE))
+				log.fine("Loaded " + _terms.length + " terms (" + timer.getLast() + "ms)");
+
+			return kb;
+		}
+
+		private void readDatatypes(final KnowledgeBase kb)
+		{
+			final int count = readVarInt();
+			for (int i = 0; i < count; i++)
+			{
+				final ATermAppl name = term();
+				final ATermAppl definition = (ATermAppl) optionalTerm();
+				if (definition == null)
+					kb.addDatatype(name);
+				else
+					kb.addDatatypeDefinition(name, definition);
+			}
+		}
+
+		private void readRoles(final KnowledgeBase kb)
+		{
+			final PropertyType[] types = PropertyType.values();
+
+			final ATermAppl[] roles = new ATermAppl[readVarInt()];
+			for (int i = 0; i < roles.length; i++)
+			{
+				roles[i] = term();
+				switch (types[_buffer.get()])
+				{
+					case OBJECT:
+						kb.addObjectProperty(roles[i]);
+						break;
+					case DATATYPE:
+						kb.addDatatypeProperty(roles[i]);
+						break;
+					case ANNOTATION:
+						kb.addAnnotationProperty(roles[i]);
+						break;
+					default:
+						kb.addProperty(roles[i]);
+						break;
+				}
+			}
+
+			for (final ATermAppl p : roles)
+			{
+				final int flags = _buffer.get();
+				if ((flags & TRANSITIVE) != 0)
+					kb.addTransitiveProperty(p);
+				if ((flags & SYMMETRIC) != 0)
+					kb.addSymmetricProperty(p);
+				if ((flags & FUNCTIONAL) != 0)
+					kb.addFunctionalProperty(p);
+				if ((flags & INV_FUNCTIONAL) != 0)
+					kb.addInverseFunctionalProperty(p);
+				if ((flags & REFLEXIVE) != 0)
+					kb.addReflexiveProperty(p);
+				if ((flags & IRREFLEXIVE) != 0)
+					kb.addIrreflexiveProperty(p);
+				if ((flags & ASYMMETRIC) != 0)
+					kb.addAsymmetricProperty(p);
+
+				for (final ATermAppl inverse : terms())
+					kb.addInverseProperty(p, inverse);
+
+				for (final ATermAppl sup : terms())
+					kb.addSubProperty(p, sup);
+				for (final ATermAppl disjoint : terms())
+					kb.addDisjointProperty(p, disjoint);
+				for (final ATermAppl domain : terms())
+					kb.addDomain(p, domain);
+				for (final ATermAppl range : terms())
+					kb.addRange(p, range);
+
+				final int chainCount = readVarInt();
+				for (int i = 0; i < chainCount; i++)
+					kb.addSubProperty(anyTerm(), p);
+			}
+		}
+
+		private static void addAxiom(final KnowledgeBase kb, final ATermAppl axiom)
+		{
+			final AFun fun = axiom.getAFun();
+			if (fun.equals(ATermUtils.SUBFUN))
+				kb.addSubClass((ATermAppl) axiom.getArgument(0), (ATermAppl) axiom.getArgument(1));
+			else
+				if (fun.equals(ATermUtils.EQCLASSFUN))
+					kb.addEquivalentClass((ATermAppl) axiom.getArgument(0), (ATermAppl) axiom.getArgument(1));
+				else
+					if (fun.equals(ATermUtils.DISJOINTFUN))
+						kb.addDisjointClass((ATermAppl) axiom.getArgument(0), (ATermAppl) axiom.getArgument(1));
+					else
+						if (fun.equals(ATermUtils.DISJOINTSFUN))
+							kb.addDisjointClasses((ATermList) axiom.getArgument(0));
+						else
+							throw new InternalReasonerException("Unknown TBox axiom in snapshot: " + axiom);
+		}
+
+		private void readABox(final KnowledgeBase kb)
+		{
+			for (final ATermAppl ind : terms())
+				kb.addIndividual(ind);
+
+			final int typeCount = readVarInt();
+			for (int i = 0; i < typeCount; i++)
+				kb.addType(term(), term());
+
+			final int valueCount = readVarInt();
+			for (int i = 0; i < valueCount; i++)
+				kb.addPropertyValue(term(), term(), term());
+
+			final int sameCount = readVarInt();
+			for (int i = 0; i < sameCount; i++)
+				kb.addSame(term(), term());
+
+			final int differentCount = readVarInt();
+			for (int i = 0; i < differentCount; i++)
+				kb.addDifferent(term(), term());
+		}
+
+		private void readTaxonomy(final KnowledgeBase kb)
+		{
+			final byte state = _buffer.get();
+			if (state == NOT_CLASSIFIED)
+				return;
+
+			final boolean realized = state == REALIZED;
+
+			final Taxonomy<ATermAppl> taxonomy = new Taxonomy<>(null, ATermUtils.TOP, ATermUtils.BOTTOM);
+			taxonomy.getTop().removeSub(taxonomy.getBottom());
+
+			final int nodeCount = readVarInt();
+			@SuppressWarnings("unchecked")
+			final TaxonomyNode<ATermAppl>[] nodes = new TaxonomyNode[nodeCount];
+			final int[][] subs = new int[nodeCount][];
+			for (int i = 0; i < nodeCount; i++)
+			{
+				final List<ATermAppl> equivalents = terms();
+
+				if (i == 0)
+					nodes[i] = taxonomy.getTop();
+				else
+					if (i == 1)
+						nodes[i] = taxonomy.getBottom();
+					else
+						nodes[i] = new TaxonomyNode<>(equivalents, /* hidden = */false);
+
+				for (final ATermAppl c : equivalents)
+					if (!c.equals(ATermUtils.TOP) && !c.equals(ATermUtils.BOTTOM))
+						taxonomy.addEquivalentNode(c, nodes[i]);
+
+				subs[i] = new int[readVarInt()];
+				for (int j = 0; j < subs[i].length; j++)
+					subs[i][j] = readVarInt();
+
+				if (realized)
+				{
+					final int instanceCount = readVarInt() - 1;
+					if (instanceCount >= 0)
+					{
+						final Set<ATermAppl> instances = new HashSet<>();
+						for (int j = 0; j < instanceCount; j++)
+							instances.add(term());
+						nodes[i].putDatum(TaxonomyUtils.INSTANCES_KEY, instances);
+					}
+				}
+			}
+
+			for (int i = 0; i < nodeCount; i++)
+				for (final int sub : subs[i])
+					nodes[i].addSub(nodes[sub]);
+
+			kb.restoreTaxonomy(taxonomy, realized);
+		}
+	}
+}
@@ -62,6 +62,7 @@ import com.clarkparsia.pellet.rules.model.RuleAtom;
 import com.clarkparsia.pellet.rules.model.SameIndividualAtom;
 import com.clarkparsia.pellet.utils.CollectionUtils;
 import com.clarkparsia.pellet.utils.MultiMapUtils;
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Reader;
@@ -77,27 +78,38 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.mindswap.pellet.PelletOptions.InstanceRetrievalMethod;
 import org.mindswap.pellet.exceptions.InconsistentOntologyException;
+import org.mindswap.pellet.exceptions.PelletRuntimeException;
 import org.mindswap.pellet.exceptions.UndefinedEntityException;
 import org.mindswap.pellet.exceptions.UnsupportedFeatureException;
 import org.mindswap.pellet.output.ATermBaseVisitor;
 import org.mindswap.pellet.tableau.branch.Branch;
+import org.mindswap.pellet.tableau.cache.ConceptCache;
+import org.mindswap.pellet.tableau.cache.ConcurrentConceptCache;
+import org.mindswap.pellet.tableau.cache.PersistentSatCache;
+import org.mindswap.pellet.tableau.cache.SynchronizedConceptCache;
 import org.mindswap.pellet.tableau.completion.CompletionStrategy;
 import org.mindswap.pellet.tableau.completion.EmptySRIQStrategy;
 import org.mindswap.pellet.tableau.completion.SROIQStrategy;
 import org.mindswap.pellet.tableau.completion.incremental.DependencyIndex;
 import org.mindswap.pellet.tableau.completion.incremental.IncrementalRestore;
 import org.mindswap.pellet.taxonomy.CDOptimizedTaxonomyBuilder;
+import org.mindswap.pellet.taxonomy.ParallelTaxonomyBuilder;
 import org.mindswap.pellet.taxonomy.Taxonomy;
 import org.mindswap.pellet.taxonomy.TaxonomyBuilder;
 import org.mindswap.pellet.taxonomy.TaxonomyNode;
 import org.mindswap.pellet.taxonomy.printer.ClassTreePrinter;
 import org.mindswap.pellet.tbox.TBox;
 import org.mindswap.pellet.tbox.TBoxFactory;
+import org.mindswap.pellet.utils.ABoxStatistics;
 import org.mindswap.pellet.utils.ATermUtils;
 import org.mindswap.pellet.utils.AnnotationClasses;
 import org.mindswap.pellet.utils.Bool;
@@ -115,6 +127,12 @@ public class KnowledgeBase
 {
 	public final static Logger log = Logger.getLogger(KnowledgeBase.class.getName());
 
+	/**
+	 * Partitions smaller than this are not split any further by {@link #parallelInstanceRetrieval} but processed by {@link #binaryInstanceRetrieval} on a
+	 * single thread.
+	 */
+	private static final int MIN_PARALLEL_PARTITION_SIZE = 16;
+
 	// This field is to ensure memory profiler will first process ATermFactory
 	// which makes it easier to analyze the results
 	@SuppressWarnings("unused")
@@ -133,6 +151,8 @@ public class KnowledgeBase
 
 	private SizeEstimate _estimate;
 
+	private ABoxStatistics _statistics;
+
 	private boolean _explainOnlyInconsistency = false;
 
 	private final Map<ATermAppl, Map<ATermAppl, Set<ATermAppl>>> _annotations;
@@ -196,8 +216,38 @@ public class KnowledgeBase
 
 	protected EnumSet<ChangeType> _changes;
 
+	/**
+	 * Number of times the changes to this KB have been processed by {@link #prepare()}.
+	 */
+	private int _updateCount = 0;
+
 	protected boolean _canUseIncConsistency;
 
+	/**
+	 * Per-thread read-only views of this KB used to answer queries while the KB is frozen, <code>null</code> if the KB is not frozen.
+	 */
+	private volatile ThreadLocal<KnowledgeBase> _readers = null;
+
+	/**
+	 * The _cache of the ABox before it was wrapped for concurrent access by {@link #freeze()}.
+	 */
+	private ConceptCache _unfrozenCache;
+
+	/**
+	 * True if this KB is a read-only view of a frozen KB created by {@link #KnowledgeBase(KnowledgeBase)}.
+	 */
+	private boolean _view = false;
+
+	/**
+	 * True if this KB was loaded from a snapshot and cannot be updated, see {@link KBSnapshot}.
+	 */
+	private boolean _readOnly = false;
+
+	/**
+	 * Satisfiability results stored on disk for the current TBox and RBox, <code>null</code> if {@link PelletOptions#PERSISTENT_CACHE_DIRECTORY} is not set.
+	 */
+	private PersistentSatCache _persistentCache;
+
 	FullyDefinedClassVisitor _fullyDefinedVisitor = new FullyDefinedClassVisitor();
 	DatatypeVisitor _datatypeVisitor = new DatatypeVisitor();
 
@@ -527,6 +577,8 @@ public class KnowledgeBase
 
 		_changes = kb._changes.clone();
 
+		_persistentCache = kb._persistentCache;
+
 		if (PelletOptions.USE_INCREMENTAL_DELETION)
 		{
 			_deletedAssertions = new HashSet<>();
@@ -540,6 +592,7 @@ public class KnowledgeBase
 
 			_individuals = new HashSet<>();
 			_instances = new HashMap<>();
+			_statistics = new ABoxStatistics();
 
 			// even though we don't copy the _individuals over to the new KB
 			// we should still create _individuals for the
@@ -560,6 +613,7 @@ public class KnowledgeBase
 
 			_individuals = new HashSet<>(kb._individuals);
 			_instances = new HashMap<>(kb._instances);
+			_statistics = new ABoxStatistics(kb._statistics);
 
 			// copy deleted assertions
 			if (kb.getDeletedAssertions() != null)
@@ -593,6 +647,50 @@ public class KnowledgeBase
 		// _timers.createTimer("consistency");
 	}
 
+	/**
+	 * Create a read-only view of a frozen KB. The view shares the TBox, RBox, taxonomy and the _nodes of the ABox with the frozen KB but has its own timers,
+	 * ABox statistics and last completion so that views used by different threads do not interfere with each other.
+	 *
+	 * @param kb
+	 */
+	private KnowledgeBase(final KnowledgeBase kb)
+	{
+		_tbox = kb._tbox;
+		_rbox = kb._rbox;
+		_rules = kb._rules;
+		_builder = kb._builder;
+
+		_annotations = kb._annotations;
+		_individuals = kb._individuals;
+		_statistics = kb._statistics;
+		_aboxAssertions = kb._aboxAssertions;
+		_deletedAssertions = kb._deletedAssertions;
+		_dependencyIndex = kb._dependencyIndex;
+		_syntacticAssertions = kb._syntacticAssertions;
+
+		_expChecker = new ExpressivityChecker(this, kb.getExpressivity());
+
+		_changes = kb._changes.clone();
+		_state = kb._state.clone();
+		_consistent = kb._consistent;
+		_canUseIncConsistency = kb._canUseIncConsistency;
+		_explainOnlyInconsistency = kb._explainOnlyInconsistency;
+		_persistentCache = kb._persistentCache;
+
+		_instances = new HashMap<>(kb._instances);
+
+		timers.createTimer("preprocessing");
+		timers.createTimer("consistency");
+		timers.createTimer("complete");
+		timers.mainTimer.setTimeout(kb.timers.mainTimer.getTimeout());
+
+		_abox = new ABox(this, kb._abox);
+
+		_estimate = new SizeEstimate(this);
+
+		_view = true;
+	}
+
 	public Expressivity getExpressivity()
 	{
 		return getExpressivityChecker().getExpressivity();
@@ -638,6 +736,8 @@ public class KnowledgeBase
 		_instances = new HashMap<>();
 		// typeChecks = new HashMap();
 
+		_statistics = new ABoxStatistics();
+
 		_builder = null;
 
 		_state.clear();
@@ -663,6 +763,8 @@ public class KnowledgeBase
 
 		_individuals.clear();
 
+		_statistics.clear();
+
 		_changes = EnumSet.of(ChangeType.ABOX_DEL);
 
 		prepare();
@@ -704,6 +806,8 @@ public class KnowledgeBase
 
 	public void addClass(final ATermAppl c)
 	{
+		ensureNotFrozen();
+
 		if (c.equals(ATermUtils.TOP) || ATermUtils.isComplexClass(c))
 			return;
 
@@ -720,6 +824,8 @@ public class KnowledgeBase
 
 	public void addSubClass(final ATermAppl sub, final ATermAppl sup)
 	{
+		ensureNotFrozen();
+
 		if (sub.equals(sup))
 			return;
 
@@ -733,6 +839,8 @@ public class KnowledgeBase
 
 	public void addEquivalentClass(final ATermAppl c1, final ATermAppl c2)
 	{
+		ensureNotFrozen();
+
 		if (c1.equals(c2))
 			return;
 
@@ -746,6 +854,8 @@ public class KnowledgeBase
 
 	public void addKey(final ATermAppl c, final Set<ATermAppl> properties)
 	{
+		ensureNotFrozen();
+
 		int varId = 0;
 		final Collection<RuleAtom> head = CollectionUtils.makeSet();
 		final Collection<RuleAtom> body = CollectionUtils.makeSet();
@@ -785,6 +895,8 @@ public class KnowledgeBase
 
 	public void addDisjointClasses(final ATermList classes)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.TBOX_ADD);
 
 		_tbox.addAxiom(ATermUtils.makeDisjoints(classes));
@@ -800,6 +912,8 @@ public class KnowledgeBase
 
 	public void addDisjointClass(final ATermAppl c1, final ATermAppl c2)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.TBOX_ADD);
 
 		_tbox.addAxiom(ATermUtils.makeDisjoint(c1, c2));
@@ -810,6 +924,8 @@ public class KnowledgeBase
 
 	public void addComplementClass(final ATermAppl c1, final ATermAppl c2)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.TBOX_ADD);
 		final ATermAppl notC2 = ATermUtils.makeNot(c2);
 
@@ -838,6 +954,8 @@ public class KnowledgeBase
 
 	public Individual addIndividual(final ATermAppl i)
 	{
+		ensureNotFrozen();
+
 		final Node node = _abox.getNode(i);
 		if (node != null)
 		{
@@ -903,6 +1021,8 @@ public class KnowledgeBase
 
 	public void addType(final ATermAppl i, final ATermAppl c)
 	{
+		ensureNotFrozen();
+
 		if (AnnotationClasses.contains(c))
 			return;
 
@@ -920,11 +1040,16 @@ public class KnowledgeBase
 		if (PelletOptions.KEEP_ABOX_ASSERTIONS)
 			_aboxAssertions.add(AssertionType.TYPE, typeAxiom);
 
+		if (PelletOptions.USE_ABOX_STATISTICS)
+			_statistics.addType(i, c);
+
 		addType(i, c, ds);
 	}
 
 	public void addType(final ATermAppl i, final ATermAppl c, final DependencySet ds)
 	{
+		ensureNotFrozen();
+
 		// set addition flag
 		_changes.add(ChangeType.ABOX_ADD);
 
@@ -952,6 +1077,8 @@ public class KnowledgeBase
 
 	public void addSame(final ATermAppl i1, final ATermAppl i2)
 	{
+		ensureNotFrozen();
+
 		// set addition flag
 		_changes.add(ChangeType.ABOX_ADD);
 
@@ -975,6 +1102,8 @@ public class KnowledgeBase
 
 	public void addAllDifferent(final ATermList list)
 	{
+		ensureNotFrozen();
+
 		// set addition flag
 		_changes.add(ChangeType.ABOX_ADD);
 
@@ -1015,6 +1144,8 @@ public class KnowledgeBase
 
 	public void addDifferent(final ATermAppl i1, final ATermAppl i2)
 	{
+		ensureNotFrozen();
+
 		// set addition flag
 		_changes.add(ChangeType.ABOX_ADD);
 
@@ -1052,6 +1183,8 @@ public class KnowledgeBase
 
 	public boolean addPropertyValue(final ATermAppl p, final ATermAppl s, final ATermAppl o)
 	{
+		ensureNotFrozen();
+
 		final Individual subj = _abox.getIndividual(s);
 		final Role role = getRole(p);
 		Node obj = null;
@@ -1170,6 +1303,9 @@ public class KnowledgeBase
 					_abox.getIncrementalChangeTracker().addNewEdge(newEdge);
 			}
 
+		if (PelletOptions.USE_ABOX_STATISTICS)
+			_statistics.addPropertyValue(p, s, o);
+
 		if (log.isLoggable(Level.FINER))
 			log.finer("prop-value " + s + " " + p + " " + o);
 
@@ -1178,6 +1314,8 @@ public class KnowledgeBase
 
 	public boolean addNegatedPropertyValue(final ATermAppl p, final ATermAppl s, final ATermAppl o)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.ABOX_ADD);
 
 		final Individual subj = _abox.getIndividual(s);
@@ -1229,6 +1367,8 @@ public class KnowledgeBase
 
 	public void addProperty(final ATermAppl p)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 		_rbox.addRole(p);
 		if (log.isLoggable(Level.FINER))
@@ -1243,6 +1383,8 @@ public class KnowledgeBase
 	 */
 	public boolean addObjectProperty(final ATerm p)
 	{
+		ensureNotFrozen();
+
 		final boolean exists = getPropertyType(p) == PropertyType.OBJECT;
 
 		final Role role = _rbox.addObjectRole((ATermAppl) p);
@@ -1265,6 +1407,8 @@ public class KnowledgeBase
 	 */
 	public boolean addDatatypeProperty(final ATerm p)
 	{
+		ensureNotFrozen();
+
 		final boolean exists = getPropertyType(p) == PropertyType.DATATYPE;
 
 		final Role role = _rbox.addDatatypeRole((ATermAppl) p);
@@ -1287,6 +1431,8 @@ public class KnowledgeBase
 
 	public boolean addAnnotationProperty(final ATerm p)
 	{
+		ensureNotFrozen();
+
 		final boolean exists = getPropertyType(p) == PropertyType.ANNOTATION;
 
 		final Role role = _rbox.addAnnotationRole((ATermAppl) p);
@@ -1303,6 +1449,8 @@ public class KnowledgeBase
 
 	public boolean addAnnotation(final ATermAppl s, final ATermAppl p, final ATermAppl o)
 	{
+		ensureNotFrozen();
+
 		if (!PelletOptions.USE_ANNOTATION_SUPPORT)
 			return false;
 
@@ -1406,6 +1554,8 @@ public class KnowledgeBase
 
 	public void addSubProperty(final ATerm sub, final ATermAppl sup)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 		_rbox.addSubRole(sub, sup);
 
@@ -1415,6 +1565,8 @@ public class KnowledgeBase
 
 	public void addEquivalentProperty(final ATermAppl p1, final ATermAppl p2)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 		_rbox.addEquivalentRole(p1, p2);
 
@@ -1424,6 +1576,8 @@ public class KnowledgeBase
 
 	public void addDisjointProperties(final ATermList properties)
 	{
+		ensureNotFrozen();
+
 		final DependencySet ds = PelletOptions.USE_TRACING ? new DependencySet(ATermUtils.makeDisjointProperties(properties)) : DependencySet.INDEPENDENT;
 
 		for (ATermList l1 = properties; !l1.isEmpty(); l1 = l1.getNext())
@@ -1446,6 +1600,8 @@ public class KnowledgeBase
 
 	public void addDisjointProperty(final ATermAppl p1, final ATermAppl p2)
 	{
+		ensureNotFrozen();
+
 		final DependencySet ds = PelletOptions.USE_TRACING ? new DependencySet(ATermUtils.makeDisjointProperty(p1, p2)) : DependencySet.INDEPENDENT;
 
 		addDisjointProperty(p1, p2, ds);
@@ -1453,6 +1609,8 @@ public class KnowledgeBase
 
 	public void addDisjointProperty(final ATermAppl p1, final ATermAppl p2, final DependencySet ds)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 		_rbox.addDisjointRole(p1, p2, ds);
 
@@ -1462,6 +1620,8 @@ public class KnowledgeBase
 
 	public void addInverseProperty(final ATermAppl p1, final ATermAppl p2)
 	{
+		ensureNotFrozen();
+
 		if (PelletOptions.IGNORE_INVERSES)
 		{
 			log.warning("Ignoring inverseOf(" + p1 + " " + p2 + ") axiom due to the IGNORE_INVERSES option");
@@ -1479,6 +1639,8 @@ public class KnowledgeBase
 
 	public void addTransitiveProperty(final ATermAppl p)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 
 		final Role r = _rbox.getDefinedRole(p);
@@ -1493,6 +1655,8 @@ public class KnowledgeBase
 
 	public void addSymmetricProperty(final ATermAppl p)
 	{
+		ensureNotFrozen();
+
 		if (PelletOptions.IGNORE_INVERSES)
 		{
 			log.warning("Ignoring SymmetricProperty(" + p + ") axiom due to the IGNORE_INVERSES option");
@@ -1519,6 +1683,8 @@ public class KnowledgeBase
 
 	public void addAsymmetricProperty(final ATermAppl p)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 		final Role r = _rbox.getDefinedRole(p);
 
@@ -1531,6 +1697,8 @@ public class KnowledgeBase
 
 	public void addReflexiveProperty(final ATermAppl p)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 		final Role r = _rbox.getDefinedRole(p);
 
@@ -1543,6 +1711,8 @@ public class KnowledgeBase
 
 	public void addIrreflexiveProperty(final ATermAppl p)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 		final Role r = _rbox.getDefinedRole(p);
 
@@ -1555,6 +1725,8 @@ public class KnowledgeBase
 
 	public void addFunctionalProperty(final ATermAppl p)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 		final Role r = _rbox.getDefinedRole(p);
 
@@ -1567,6 +1739,8 @@ public class KnowledgeBase
 
 	public void addInverseFunctionalProperty(final ATerm p)
 	{
+		ensureNotFrozen();
+
 		if (PelletOptions.IGNORE_INVERSES)
 		{
 			log.warning("Ignoring InverseFunctionalProperty(" + p + ") axiom due to the IGNORE_INVERSES option");
@@ -1585,6 +1759,8 @@ public class KnowledgeBase
 
 	public void addDomain(final ATerm p, final ATermAppl c)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 
 		_rbox.addDomain(p, c);
@@ -1598,6 +1774,8 @@ public class KnowledgeBase
 	 */
 	public void addDomain(final ATerm p, final ATermAppl c, final Set<ATermAppl> explain)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 
 		_rbox.addDomain(p, c, explain);
@@ -1608,6 +1786,8 @@ public class KnowledgeBase
 
 	public void addRange(final ATerm p, final ATermAppl c)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 
 		_rbox.addRange(p, c);
@@ -1621,6 +1801,8 @@ public class KnowledgeBase
 	 */
 	public void addRange(final ATerm p, final ATermAppl c, final Set<ATermAppl> explain)
 	{
+		ensureNotFrozen();
+
 		_changes.add(ChangeType.RBOX_ADD);
 
 		_rbox.addRange(p, c, explain);
@@ -1631,6 +1813,8 @@ public class KnowledgeBase
 
 	public void addDatatype(final ATermAppl p)
 	{
+		ensureNotFrozen();
+
 		getDatatypeReasoner().declare(p);
 	}
 
@@ -1643,6 +1827,8 @@ public class KnowledgeBase
 	 */
 	public boolean addDatatypeDefinition(final ATermAppl name, final ATermAppl datarange)
 	{
+		ensureNotFrozen();
+
 		return getDatatypeReasoner().define(name, datarange);
 	}
 
@@ -1656,6 +1842,7 @@ public class KnowledgeBase
 	 */
 	public boolean removeDomain(final ATerm p, final ATermAppl c)
 	{
+		ensureNotFrozen();
 
 		final Role role = getRole(p);
 		if (role == null)
@@ -1682,6 +1869,8 @@ public class KnowledgeBase
 
 	public boolean removePropertyValue(final ATermAppl p, final ATermAppl i1, ATermAppl i2)
 	{
+		ensureNotFrozen();
+
 		if (ATermUtils.isLiteral(i2))
 			try
 		{
@@ -1771,6 +1960,9 @@ public class KnowledgeBase
 				_aboxAssertions.remove(AssertionType.OBJ_ROLE, propAxiom);
 		}
 
+		if (PelletOptions.USE_ABOX_STATISTICS)
+			_statistics.removePropertyValue(p, i1, i2);
+
 		return true;
 	}
 
@@ -1784,6 +1976,7 @@ public class KnowledgeBase
 	 */
 	public boolean removeRange(final ATerm p, final ATermAppl c)
 	{
+		ensureNotFrozen();
 
 		final Role role = getRole(p);
 		if (role == null)
@@ -1810,6 +2003,8 @@ public class KnowledgeBase
 
 	public boolean removeType(final ATermAppl ind, final ATermAppl c)
 	{
+		ensureNotFrozen();
+
 		final Individual subj = _abox.getIndividual(ind);
 
 		if (subj == null)
@@ -1857,6 +2052,9 @@ public class KnowledgeBase
 			_aboxAssertions.remove(AssertionType.TYPE, typeAxiom);
 		}
 
+		if (removed && PelletOptions.USE_ABOX_STATISTICS)
+			_statistics.removeType(ind, c);
+
 		// set deletion flag
 		_changes.add(ChangeType.ABOX_DEL);
 
@@ -1874,7 +2072,10 @@ public class KnowledgeBase
 	 */
 	public boolean removeAxiom(final ATermAppl axiom)
 	{
+		ensureNotFrozen();
+
 		boolean removed = false;
+		final boolean asserted = _tbox.getAssertedAxioms().contains(axiom);
 
 		try
 		{
@@ -1885,7 +2086,8 @@ public class KnowledgeBase
 			log.log(Level.SEVERE, "Removal failed for axiom " + axiom, e);
 		}
 
-		if (removed)
+		// the asserted axioms may change even if the axiom could not be removed from the TBox
+		if (removed || asserted && !_tbox.getAssertedAxioms().contains(axiom))
 			_changes.add(ChangeType.TBOX_DEL);
 
 		if (log.isLoggable(Level.FINER))
@@ -1899,9 +2101,16 @@ public class KnowledgeBase
 		if (!isChanged())
 			return;
 
+		ensureNotFrozen();
+
 		final boolean explain = _abox.doExplanation();
 		_abox.setDoExplanation(true);
 
+		final boolean schemaChanged = isTBoxChanged() || isRBoxChanged();
+
+		// absorption may add domains while the TBox is prepared so the RBox changes are recorded before
+		final boolean rboxChanged = isRBoxChanged();
+
 		final Timer timer = timers.startTimer("preprocessing");
 		Timer t;
 
@@ -1942,6 +2151,9 @@ public class KnowledgeBase
 		if (isRBoxChanged())
 			_rbox.propagateDomainRange();
 
+		// the EL classifier can extend its saturation if axioms were only added to the TBox
+		final boolean updateELTaxonomy = PelletOptions.USE_INCREMENTAL_EL_CLASSIFICATION && _builder instanceof SimplifiedELClassifier && !_changes.contains(ChangeType.TBOX_DEL) && !rboxChanged;
+
 		_canUseIncConsistency = canUseIncConsistency();
 
 		if (_abox.isComplete())
@@ -1956,6 +2168,7 @@ public class KnowledgeBase
 
 		// reset flags
 		_changes.clear();
+		_updateCount++;
 
 		_instances.clear();
 
@@ -1970,13 +2183,18 @@ public class KnowledgeBase
 			_expChecker.prepare();
 		}
 
+		updatePersistentCache(schemaChanged);
+
 		_abox.clearCaches(!reuseTaxonomy);
 		_abox._cache.setMaxSize(PelletOptions.MAX_ANONYMOUS_CACHE);
+		if (_abox._cache instanceof ConcurrentConceptCache)
+			((ConcurrentConceptCache) _abox._cache).setMaxWeight(PelletOptions.MAX_ANONYMOUS_CACHE_WEIGHT);
 
 		if (!reuseTaxonomy)
 		{
 			_state.remove(ReasoningState.CLASSIFY);
-			_builder = null;
+			if (!updateELTaxonomy || !_expChecker.getExpressivity().isEL() || PelletOptions.DISABLE_EL_CLASSIFIER)
+				_builder = null;
 			// taxonomy = null;
 		}
 
@@ -1994,6 +2212,80 @@ public class KnowledgeBase
 		}
 	}
 
+	/**
+	 * Opens the persistent satisfiability _cache for the current TBox and RBox if {@link PelletOptions#PERSISTENT_CACHE_DIRECTORY} is set. The results are not
+	 * persisted when there are nominals since the satisfiability of concepts then depends on the ABox.
+	 */
+	private void updatePersistentCache(final boolean schemaChanged)
+	{
+		final boolean usePersistentCache = !PelletOptions.PERSISTENT_CACHE_DIRECTORY.isEmpty()
+				&& (!_expChecker.getExpressivity().hasNominal() || PelletOptions.USE_PSEUDO_NOMINALS);
+
+		if (!usePersistentCache)
+		{
+			closePersistentCache();
+			return;
+		}
+
+		if (_persistentCache != null && !schemaChanged)
+			return;
+
+		final Timer t = timers.startTimer("persistentCache");
+		final String hash = PersistentSatCache.hash(this);
+		// copies of the KB share the _cache of the original KB
+		if (_persistentCache == null || !_persistentCache.getHash().equals(hash))
+		{
+			closePersistentCache();
+			try
+			{
+				_persistentCache = PersistentSatCache.open(new File(PelletOptions.PERSISTENT_CACHE_DIRECTORY), hash);
+			}
+			catch (final IOException e)
+			{
+				log.log(Level.WARNING, "Cannot open persistent cache in " + PelletOptions.PERSISTENT_CACHE_DIRECTORY, e);
+			}
+		}
+		t.stop();
+
+		if (log.isLoggable(Level.FINE) && _persistentCache != null)
+			log.fine("Using " + _persistentCache + " (" + t.getLast() + "ms)");
+	}
+
+	private void closePersistentCache()
+	{
+		if (_persistentCache == null)
+			return;
+
+		try
+		{
+			_persistentCache.close();
+		}
+		catch (final IOException e)
+		{
+			log.log(Level.WARNING, "Cannot close persistent cache " + _persistentCache.getFile(), e);
+		}
+		_persistentCache = null;
+	}
+
+	/**
+	 * Releases the resources held by the KB. The results in the persistent satisfiability _cache are written to disk and its file is closed, which also
+	 * stops copies of this KB sharing the _cache from storing new results. The KB should not be used afterwards.
+	 */
+	public void dispose()
+	{
+		closePersistentCache();
+	}
+
+	/**
+	 * Returns the satisfiability results stored on disk for the current TBox and RBox.
+	 *
+	 * @return the persistent _cache or <code>null</code> if results are not persisted
+	 */
+	public PersistentSatCache getPersistentCache()
+	{
+		return _persistentCache;
+	}
+
 	/**
 	 * This method is used for incremental reasoning. We do not want to recompute the expressivity from scratch.
 	 */
@@ -2054,6 +2346,15 @@ public class KnowledgeBase
 		return !_changes.isEmpty();
 	}
 
+	/**
+	 * Returns the number of times the changes to this KB have been processed by {@link #prepare()}. Anything computed from the KB, e.g. a query plan, is still
+	 * valid as long as this number is the same and {@link #isChanged()} is false.
+	 */
+	public int getUpdateCount()
+	{
+		return _updateCount;
+	}
+
 	public boolean isChanged(final ChangeType change)
 	{
 		return _changes.contains(change);
@@ -2257,6 +2558,9 @@ public class KnowledgeBase
 
 		timer.stop();
 
+		if (_persistentCache != null)
+			_persistentCache.flush();
+
 		if (!isClassified)
 			return;
 
@@ -2290,6 +2594,160 @@ public class KnowledgeBase
 		_estimate.computKBCosts();
 	}
 
+	/**
+	 * Uses a taxonomy computed earlier for this KB, e.g. one read from a snapshot (see {@link KBSnapshot}), as the classification result instead of classifying
+	 * the KB again. The KB is prepared and its consistency is checked first. If the taxonomy contains the instances of its classes the KB is also marked as
+	 * realized.
+	 *
+	 * @param taxonomy the class taxonomy of this KB
+	 * @param realized <code>true</code> if the taxonomy contains the direct instances of each class
+	 */
+	public void restoreTaxonomy(final Taxonomy<ATermAppl> taxonomy, final boolean realized)
+	{
+		ensureConsistency();
+
+		final TaxonomyBuilder builder = getTaxonomyBuilder();
+		if (!(builder instanceof CDOptimizedTaxonomyBuilder))
+			throw new UnsupportedFeatureException("Cannot restore the taxonomy with " + builder.getClass().getName());
+
+		((CDOptimizedTaxonomyBuilder) builder).setTaxonomy(taxonomy);
+
+		_state.add(ReasoningState.CLASSIFY);
+		if (realized)
+			_state.add(ReasoningState.REALIZE);
+
+		_estimate.computKBCosts();
+	}
+
+	/**
+	 * Saves the axioms, the taxonomy and the realization results of this KB to a snapshot file. See {@link KBSnapshot} for details.
+	 */
+	public void saveSnapshot(final File file) throws IOException
+	{
+		KBSnapshot.write(this, file);
+	}
+
+	/**
+	 * Loads a KB from a snapshot file created by {@link #saveSnapshot(File)}. The KB loaded cannot be updated, see {@link KBSnapshot}.
+	 */
+	public static KnowledgeBase loadSnapshot(final File file) throws IOException
+	{
+		return KBSnapshot.read(file);
+	}
+
+	/**
+	 * Freeze the KB so it can be queried from multiple threads concurrently. The KB is realized first so that answering queries never needs to modify the
+	 * taxonomy. Afterwards each thread calling one of the query functions gets its own read-only view of the KB (see {@link #isType(ATermAppl, ATermAppl)},
+	 * {@link #isSubClassOf(ATermAppl, ATermAppl)}, {@link #getInstances(ATermAppl)}, {@link #hasPropertyValue(ATermAppl, ATermAppl, ATermAppl)} and the like)
+	 * with its own timers and completion state. The views share the ABox, the taxonomy and the satisfiability _cache of this KB instead of copying them.
+	 * {@link #getABox()} returns the ABox of the view of the calling thread so callers that query the ABox directly are covered too.
+	 * <p>
+	 * The KB cannot be modified while it is frozen. Queries that would add a class expression to the shared taxonomy, e.g. asking the direct instances or the
+	 * super classes of a class expression that is not in the taxonomy, are rejected too. Both throw a {@link PelletRuntimeException}.
+	 * </p>
+	 */
+	public synchronized void freeze()
+	{
+		if (isFrozen())
+			return;
+
+		realize();
+
+		if (!isRealized())
+			throw new PelletRuntimeException("Cannot freeze a KB that is not realized");
+
+		_unfrozenCache = _abox.getCache();
+		if (!(_unfrozenCache instanceof ConcurrentConceptCache))
+			_abox.setCache(new SynchronizedConceptCache(_unfrozenCache));
+
+		_readers = ThreadLocal.withInitial(() -> new KnowledgeBase(this));
+	}
+
+	/**
+	 * Undo the effects of {@link #freeze()} so the KB can be modified again. This function should not be called while other threads are querying the KB.
+	 */
+	public synchronized void unfreeze()
+	{
+		if (!isFrozen())
+			return;
+
+		_readers = null;
+
+		_abox.setCache(_unfrozenCache);
+		_unfrozenCache = null;
+	}
+
+	/**
+	 * Throws an exception if the KB is frozen or was loaded from a snapshot and thus cannot be modified.
+	 *
+	 * @throws PelletRuntimeException if the KB is frozen or was loaded from a snapshot
+	 */
+	private void ensureNotFrozen()
+	{
+		if (isFrozen())
+			throw new PelletRuntimeException("Cannot update a frozen KB, call unfreeze() first");
+
+		if (_readOnly)
+			throw new PelletRuntimeException("Cannot update a KB loaded from a snapshot");
+	}
+
+	/**
+	 * Makes this KB reject all updates. Used for KBs loaded from a snapshot whose ABox also contains the inferred assertions.
+	 */
+	void setReadOnly()
+	{
+		_readOnly = true;
+	}
+
+	/**
+	 * Adds the class to the taxonomy unless it is already there. The taxonomy is shared by all the threads querying a frozen KB so it cannot be extended while
+	 * the KB is frozen or through a read-only view.
+	 *
+	 * @throws PelletRuntimeException if the class is not in the taxonomy and the KB is frozen or a read-only view
+	 */
+	private void ensureInTaxonomy(final ATermAppl c)
+	{
+		if (_builder.getTaxonomy().contains(c))
+			return;
+
+		if (isFrozen() || _view)
+			throw new PelletRuntimeException("Cannot add " + c + " to the taxonomy of a frozen KB, call unfreeze() first");
+
+		_builder.classify(c);
+	}
+
+	/**
+	 * Returns true if {@link #freeze()} has been called and the KB has not been unfrozen since.
+	 */
+	public boolean isFrozen()
+	{
+		return _readers != null;
+	}
+
+	/**
+	 * Create a read-only view of this KB that can be used to answer queries on another thread. The view shares the TBox, RBox, taxonomy, ABox and the
+	 * satisfiability _cache with this KB (see {@link #freeze()}). Neither this KB nor the view should be modified while the view is in use and if several views
+	 * are used concurrently the _cache of the ABox should be a {@link SynchronizedConceptCache} or a {@link ConcurrentConceptCache}.
+	 *
+	 * @return a read-only view of this KB
+	 */
+	public KnowledgeBase createView()
+	{
+		ensureConsistency();
+
+		return new KnowledgeBase(this);
+	}
+
+	/**
+	 * Returns the read-only view of this KB for the current thread or <code>null</code> if the KB is not frozen.
+	 */
+	private KnowledgeBase getReader()
+	{
+		final ThreadLocal<KnowledgeBase> readers = _readers;
+
+		return readers == null ? null : readers.get();
+	}
+
 	/**
 	 * Return the set of all named classes. Returned set is unmodifiable!
 	 *
@@ -2490,6 +2948,16 @@ public class KnowledgeBase
 		return _annotations.keySet();
 	}
 
+	/**
+	 * Returns the annotation values asserted for a subject indexed by annotation property.
+	 */
+	Map<ATermAppl, Set<ATermAppl>> getAssertedAnnotations(final ATermAppl s)
+	{
+		final Map<ATermAppl, Set<ATermAppl>> pidx = _annotations.get(s);
+
+		return pidx == null ? Collections.<ATermAppl, Set<ATermAppl>> emptyMap() : pidx;
+	}
+
 	public Role getProperty(final ATerm r)
 	{
 		return _rbox.getRole(r);
@@ -2921,6 +3389,10 @@ public class KnowledgeBase
 
 	public boolean isSatisfiable(ATermAppl c)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.isSatisfiable(c);
+
 		ensureConsistency();
 
 		if (!isClass(c))
@@ -3003,6 +3475,10 @@ public class KnowledgeBase
 	 */
 	public boolean isSubClassOf(ATermAppl c1, ATermAppl c2)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.isSubClassOf(c1, c2);
+
 		ensureConsistency();
 
 		if (!isClass(c1))
@@ -3043,6 +3519,10 @@ public class KnowledgeBase
 	 */
 	public boolean isEquivalentClass(ATermAppl c1, ATermAppl c2)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.isEquivalentClass(c1, c2);
+
 		ensureConsistency();
 
 		if (!isClass(c1))
@@ -3188,6 +3668,10 @@ public class KnowledgeBase
 
 	public boolean isType(final ATermAppl x, final ATermAppl c)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.isType(x, c);
+
 		ensureConsistency();
 
 		if (!isIndividual(x))
@@ -3220,6 +3704,10 @@ public class KnowledgeBase
 
 	public boolean isSameAs(final ATermAppl t1, final ATermAppl t2)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.isSameAs(t1, t2);
+
 		ensureConsistency();
 
 		if (!isIndividual(t1))
@@ -3322,6 +3810,10 @@ public class KnowledgeBase
 
 	public boolean hasPropertyValue(final ATermAppl s, final ATermAppl p, final ATermAppl o)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.hasPropertyValue(s, p, o);
+
 		ensureConsistency();
 
 		if (!isIndividual(s))
@@ -3366,10 +3858,14 @@ public class KnowledgeBase
 	}
 
 	/**
-	 * @return Returns the _abox.
+	 * @return Returns the _abox, or the ABox of the read-only view of the current thread if the KB is frozen.
 	 */
 	public ABox getABox()
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.getABox();
+
 		return _abox;
 	}
 
@@ -3428,8 +3924,7 @@ public class KnowledgeBase
 
 		final Taxonomy<ATermAppl> taxonomy = _builder.getTaxonomy();
 
-		if (!taxonomy.contains(c))
-			_builder.classify(c);
+		ensureInTaxonomy(c);
 
 		final Set<Set<ATermAppl>> supers = new HashSet<>();
 		for (final Set<ATermAppl> s : taxonomy.getSupers(c, direct))
@@ -3585,6 +4080,10 @@ public class KnowledgeBase
 	 */
 	public Set<Set<ATermAppl>> getTypes(final ATermAppl ind, final boolean direct)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.getTypes(ind, direct);
+
 		if (!isIndividual(ind))
 		{
 			handleUndefinedEntity(ind + " is not an individual!");
@@ -3666,6 +4165,10 @@ public class KnowledgeBase
 	 */
 	public Set<ATermAppl> getInstances(final ATermAppl c)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.getInstances(c);
+
 		if (!isClass(c))
 		{
 			handleUndefinedEntity(c + " is not a class!");
@@ -3705,6 +4208,10 @@ public class KnowledgeBase
 	 */
 	public Set<ATermAppl> getInstances(final ATermAppl c, final boolean direct)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.getInstances(c, direct);
+
 		if (!isClass(c))
 		{
 			handleUndefinedEntity(c + " is not a class!");
@@ -3729,8 +4236,7 @@ public class KnowledgeBase
 		if (ATermUtils.isPrimitive(c))
 			return TaxonomyUtils.getDirectInstances(taxonomy, c);
 
-		if (!taxonomy.contains(c))
-			_builder.classify(c);
+		ensureInTaxonomy(c);
 
 		// Direct _instances for anonymous concepts
 		final Set<ATermAppl> ret = new HashSet<>();
@@ -3794,8 +4300,7 @@ public class KnowledgeBase
 
 		final Taxonomy<ATermAppl> taxonomy = _builder.getTaxonomy();
 
-		if (!taxonomy.contains(c))
-			_builder.classify(c);
+		ensureInTaxonomy(c);
 
 		return ATermUtils.primitiveOrBottom(taxonomy.getAllEquivalents(c));
 	}
@@ -3848,8 +4353,7 @@ public class KnowledgeBase
 
 		final Taxonomy<ATermAppl> taxonomy = _builder.getTaxonomy();
 
-		if (!taxonomy.contains(c))
-			_builder.classify(c);
+		ensureInTaxonomy(c);
 
 		final Set<Set<ATermAppl>> subs = new HashSet<>();
 		for (final Set<ATermAppl> s : taxonomy.getSubs(c, direct))
@@ -4091,6 +4595,10 @@ public class KnowledgeBase
 	 */
 	public Set<ATermAppl> getAllSames(final ATermAppl name)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.getAllSames(name);
+
 		ensureConsistency();
 
 		final Set<ATermAppl> knowns = new HashSet<>();
@@ -4143,6 +4651,10 @@ public class KnowledgeBase
 	 */
 	public List<ATermAppl> getDataPropertyValues(final ATermAppl r, final ATermAppl x, final ATermAppl datatype)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.getDataPropertyValues(r, x, datatype);
+
 		ensureConsistency();
 
 		final Individual ind = _abox.getIndividual(x);
@@ -4223,6 +4735,10 @@ public class KnowledgeBase
 	 */
 	public List<ATermAppl> getObjectPropertyValues(final ATermAppl r, final ATermAppl x)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.getObjectPropertyValues(r, x);
+
 		ensureConsistency();
 
 		final Role role = _rbox.getRole(r);
@@ -4508,7 +5024,10 @@ public class KnowledgeBase
 							if (PelletOptions.INSTANCE_RETRIEVAL == InstanceRetrievalMethod.BINARY)
 								binaryInstanceRetrieval(c, unknowns, knowns);
 							else
-								linearInstanceRetrieval(c, unknowns, knowns);
+								if (PelletOptions.INSTANCE_RETRIEVAL == InstanceRetrievalMethod.PARALLEL)
+									parallelInstanceRetrieval(c, unknowns, knowns);
+								else
+									linearInstanceRetrieval(c, unknowns, knowns);
 
 			}
 
@@ -4527,6 +5046,10 @@ public class KnowledgeBase
 	 */
 	public List<ATermAppl> retrieveIndividualsWithProperty(final ATermAppl r)
 	{
+		final KnowledgeBase reader = getReader();
+		if (reader != null)
+			return reader.retrieveIndividualsWithProperty(r);
+
 		ensureConsistency();
 
 		final Role role = _rbox.getRole(r);
@@ -4615,6 +5138,100 @@ public class KnowledgeBase
 				}
 	}
 
+	/**
+	 * Find the _instances of <code>c</code> among the candidates by partitioning the candidates the same way {@link #binaryInstanceRetrieval} does but testing
+	 * the partitions concurrently. Each thread runs its tests on a read-only view of this KB that shares the _nodes of the ABox so no ABox is copied up front.
+	 * The candidate list should be known to contain at least one instance.
+	 */
+	public void parallelInstanceRetrieval(final ATermAppl c, final List<ATermAppl> candidates, final Collection<ATermAppl> results)
+	{
+		final int threads = PelletOptions.PARALLEL_REASONING_THREADS;
+		if (threads < 2 || candidates.size() < 2 * MIN_PARALLEL_PARTITION_SIZE)
+		{
+			binaryInstanceRetrieval(c, candidates, results);
+			return;
+		}
+
+		final Timer timer = timers.startTimer("parallelRetrieve");
+
+		// concurrent completions read (and reorder) the _cache so it needs to
+		// be synchronized unless the KB is already frozen or the _cache is
+		// thread-safe
+		final ConceptCache cache = _abox.getCache();
+		final boolean wrapCache = !(cache instanceof SynchronizedConceptCache || cache instanceof ConcurrentConceptCache);
+		if (wrapCache)
+			_abox.setCache(new SynchronizedConceptCache(cache));
+
+		final ForkJoinPool pool = new ForkJoinPool(threads);
+		try
+		{
+			final ThreadLocal<KnowledgeBase> readers = ThreadLocal.withInitial(() -> new KnowledgeBase(this));
+			final Queue<ATermAppl> instances = new ConcurrentLinkedQueue<>();
+
+			pool.invoke(new ParallelRetrievalTask(c, candidates, true, readers, instances, timer));
+
+			results.addAll(instances);
+		}
+		finally
+		{
+			pool.shutdown();
+
+			if (wrapCache)
+				_abox.setCache(cache);
+
+			timer.stop();
+		}
+	}
+
+	private static class ParallelRetrievalTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 6925143236419823087L;
+
+		private final ATermAppl _c;
+		private final List<ATermAppl> _candidates;
+		private final boolean _hasInstance;
+		private final ThreadLocal<KnowledgeBase> _readers;
+		private final Collection<ATermAppl> _results;
+		private final Timer _timer;
+
+		/**
+		 * @param hasInstance <code>true</code> if the candidates are already known to contain an instance of the class
+		 */
+		ParallelRetrievalTask(final ATermAppl c, final List<ATermAppl> candidates, final boolean hasInstance, final ThreadLocal<KnowledgeBase> readers, final Collection<ATermAppl> results, final Timer timer)
+		{
+			_c = c;
+			_candidates = candidates;
+			_hasInstance = hasInstance;
+			_readers = readers;
+			_results = results;
+			_timer = timer;
+		}
+
+		@Override
+		protected void compute()
+		{
+			// stop if the retrieval of the main KB timed out or was interrupted
+			_timer.check();
+
+			final KnowledgeBase reader = _readers.get();
+
+			if (!_hasInstance && !reader._abox.isType(_candidates, _c))
+				return;
+
+			if (_candidates.size() < 2 * MIN_PARALLEL_PARTITION_SIZE)
+			{
+				final List<ATermAppl> instances = new ArrayList<>();
+				reader.binaryInstanceRetrieval(_c, _candidates, instances);
+				_results.addAll(instances);
+			}
+			else
+			{
+				final List<ATermAppl>[] partitions = reader.partition(_candidates);
+				invokeAll(new ParallelRetrievalTask(_c, partitions[0], false, _readers, _results, _timer), new ParallelRetrievalTask(_c, partitions[1], false, _readers, _results, _timer));
+			}
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private List<ATermAppl>[] partition(final List<ATermAppl> candidates)
 	{
@@ -4810,7 +5427,10 @@ public class KnowledgeBase
 			if (_expChecker.getExpressivity().isEL() && !PelletOptions.DISABLE_EL_CLASSIFIER)
 				_builder = new SimplifiedELClassifier();
 			else
-				_builder = new CDOptimizedTaxonomyBuilder();
+				if (PelletOptions.USE_PARALLEL_CLASSIFICATION || PelletOptions.USE_PARALLEL_REALIZATION)
+					_builder = new ParallelTaxonomyBuilder();
+				else
+					_builder = new CDOptimizedTaxonomyBuilder();
 			_builder.setKB(this);
 
 			if (_builderProgressMonitor != null)
@@ -4857,11 +5477,21 @@ public class KnowledgeBase
 		return _estimate;
 	}
 
+	/**
+	 * Returns the counts of the asserted types and property values, which are only kept when {@link PelletOptions#USE_ABOX_STATISTICS} is set.
+	 */
+	public ABoxStatistics getABoxStatistics()
+	{
+		return _statistics;
+	}
+
 	/**
 	 * Add a rule to the KB.
 	 */
 	public boolean addRule(final Rule rule)
 	{
+		ensureNotFrozen();
+
 		// DL-safe _rules affects the ABox so we might redo the reasoning
 		_changes.add(ChangeType.ABOX_ADD);
 
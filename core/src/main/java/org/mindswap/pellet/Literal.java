@@ -447,6 +447,18 @@ public class Literal extends Node
 		return restored;
 	}
 
+	/**
+	 * Individuals that have an edge to this literal check its types and values so they are marked as changed as well.
+	 */
+	@Override
+	public void markChanged()
+	{
+		super.markChanged();
+
+		for (final Edge edge : _inEdges)
+			edge.getFrom().markChanged();
+	}
+
 	@Override
 	final public void prune(final DependencySet ds)
 	{
@@ -36,6 +36,7 @@ import aterm.ATermList;
 import com.clarkparsia.pellet.utils.CollectionUtils;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -103,6 +104,11 @@ public abstract class Node
 
 	protected Map<Node, DependencySet> _differents;
 
+	/**
+	 * Change stamp of the last modification of this _node, see {@link ABox#nextChangeStamp()}
+	 */
+	private long _lastChange = 0;
+
 	protected Node(final ATermAppl name, final ABox abox)
 	{
 		this._name = name;
@@ -112,7 +118,7 @@ public abstract class Node
 		_isConceptRoot = false;
 
 		_mergeDepends = DependencySet.INDEPENDENT;
-		_differents = CollectionUtils.makeMap();
+		_differents = Collections.emptyMap();
 		_depends = CollectionUtils.makeMap();
 
 		_inEdges = new EdgeList();
@@ -155,14 +161,19 @@ public abstract class Node
 	{
 		mergedTo = _abox.getNode(mergedTo.getName());
 
-		final Map<Node, DependencySet> diffs = new HashMap<>(_differents.size());
-		for (final Map.Entry<Node, DependencySet> entry : _differents.entrySet())
+		if (!_differents.isEmpty())
 		{
-			final Node node = entry.getKey();
+			final Map<Node, DependencySet> diffs = new HashMap<>(_differents.size());
+			for (final Map.Entry<Node, DependencySet> entry : _differents.entrySet())
+			{
+				final Node node = entry.getKey();
 
-			diffs.put(_abox.getNode(node.getName()), entry.getValue());
+				diffs.put(_abox.getNode(node.getName()), entry.getValue());
+			}
+			_differents = diffs;
 		}
-		_differents = diffs;
+		else
+			_differents = Collections.emptyMap();
 
 		if (merged != null)
 		{
@@ -187,6 +198,22 @@ public abstract class Node
 		}
 	}
 
+	/**
+	 * Records that the types, edges or _differents of this _node have been modified so rules that skip unchanged _nodes will visit it again.
+	 */
+	public void markChanged()
+	{
+		_lastChange = _abox.nextChangeStamp();
+	}
+
+	/**
+	 * Returns the change stamp of the last modification of this _node.
+	 */
+	public long getLastChange()
+	{
+		return _lastChange;
+	}
+
 	/**
 	 * Indicates that _node has been changed in a way that requires us to recheck the concepts of given type.
 	 * 
@@ -194,6 +221,8 @@ public abstract class Node
 	 */
 	public void setChanged(final int type)
 	{
+		markChanged();
+
 		//Check if we need to updated the completion _queue
 		//Currently we only updated the changed lists for checkDatatypeCount()
 		final QueueElement newElement = new QueueElement(this);
@@ -258,6 +287,8 @@ public abstract class Node
 
 	public boolean removeInEdge(final Edge edge)
 	{
+		markChanged();
+
 		final boolean removed = _inEdges.removeEdge(edge);
 
 		if (!removed)
@@ -275,6 +306,8 @@ public abstract class Node
 	{
 		assert onlyApplyTypes || isRootNominal() : "Only asserted individuals can be reset: " + this;
 
+		_abox.invalidateVisits();
+
 		if (PelletOptions.USE_COMPLETION_QUEUE)
 			_abox.getCompletionQueue().add(new QueueElement(this));
 
@@ -314,6 +347,8 @@ public abstract class Node
 
 	public Boolean restorePruned(final int branch)
 	{
+		// rules applied after the _branch may have been undone on other _nodes
+		_abox.invalidateVisits();
 
 		if (PelletOptions.TRACK_BRANCH_EFFECTS)
 			_abox.getBranchEffectTracker().add(_abox.getBranch(), _name);
@@ -494,10 +529,12 @@ public abstract class Node
 		_depends.put(c, ds);
 
 		_abox.setChanged(true);
+		markChanged();
 	}
 
 	public boolean removeType(final ATermAppl c)
 	{
+		markChanged();
 		return _depends.remove(c) != null;
 	}
 
@@ -651,6 +688,7 @@ public abstract class Node
 
 	public void unprune(final int branch)
 	{
+		_abox.invalidateVisits();
 		pruned = null;
 
 		boolean added = false;
@@ -833,6 +871,8 @@ public abstract class Node
 		mergedTo = node;
 		_mergeDepends = ds.copy(_abox.getBranch());
 		node.addMerged(this);
+		markChanged();
+		node.markChanged();
 		return true;
 	}
 
@@ -876,7 +916,11 @@ public abstract class Node
 		}
 
 		ds = ds.copy(_abox.getBranch());
+		// most _nodes are never different from any other _node so the map is only created when needed
+		if (_differents == Collections.<Node, DependencySet> emptyMap())
+			_differents = CollectionUtils.makeMap();
 		_differents.put(node, ds);
+		markChanged();
 		node.setDifferent(this, ds);
 		_abox.setChanged(true);
 		return true;
@@ -42,6 +42,11 @@ import java.util.Properties;
 import java.util.logging.Logger;
 import org.mindswap.pellet.exceptions.InternalReasonerException;
 import org.mindswap.pellet.tableau.completion.CompletionStrategy;
+import org.mindswap.pellet.utils.intset.AdaptiveIntSet;
+import org.mindswap.pellet.utils.intset.ArrayIntSet;
+import org.mindswap.pellet.utils.intset.BitIntSet;
+import org.mindswap.pellet.utils.intset.HashIntSet;
+import org.mindswap.pellet.utils.intset.TreeIntSet;
 import org.mindswap.pellet.utils.progress.ConsoleProgressMonitor;
 import org.mindswap.pellet.utils.progress.ProgressMonitor;
 import org.mindswap.pellet.utils.progress.SilentProgressMonitor;
@@ -93,9 +98,33 @@ public class PelletOptions
 		}
 	}
 
+	public enum IntSetType
+	{
+		/**
+		 * Sorted array, see {@link ArrayIntSet}
+		 */
+		ARRAY,
+		/**
+		 * Sorted array for small or sparse sets and a bit set for large dense sets, see {@link AdaptiveIntSet}
+		 */
+		ADAPTIVE,
+		/**
+		 * Bit set, see {@link BitIntSet}
+		 */
+		BIT,
+		/**
+		 * Hash set of boxed integers, see {@link HashIntSet}
+		 */
+		HASH,
+		/**
+		 * Tree set of boxed integers, see {@link TreeIntSet}
+		 */
+		TREE
+	}
+
 	public enum InstanceRetrievalMethod
 	{
-		BINARY, LINEAR, TRACING_BASED
+		BINARY, LINEAR, TRACING_BASED, PARALLEL
 	}
 
 	/**
@@ -140,6 +169,12 @@ public class PelletOptions
 
 		MAX_ANONYMOUS_CACHE = getIntProperty(newOptions, "MAX_ANONYMOUS_CACHE", MAX_ANONYMOUS_CACHE, oldOptions);
 
+		MAX_ANONYMOUS_CACHE_WEIGHT = getIntProperty(newOptions, "MAX_ANONYMOUS_CACHE_WEIGHT", MAX_ANONYMOUS_CACHE_WEIGHT, oldOptions);
+
+		USE_CONCURRENT_CONCEPT_CACHE = getBooleanProperty(newOptions, "USE_CONCURRENT_CONCEPT_CACHE", USE_CONCURRENT_CONCEPT_CACHE, oldOptions);
+
+		PERSISTENT_CACHE_DIRECTORY = getStringProperty(newOptions, "PERSISTENT_CACHE_DIRECTORY", PERSISTENT_CACHE_DIRECTORY, oldOptions);
+
 		OPTIMIZE_DOWN_MONOTONIC = getBooleanProperty(newOptions, "OPTIMIZE_DOWN_MONOTONIC", OPTIMIZE_DOWN_MONOTONIC, oldOptions);
 
 		REALIZE_INDIVIDUAL_AT_A_TIME = getBooleanProperty(newOptions, "REALIZE_INDIVIDUAL_AT_A_TIME", REALIZE_INDIVIDUAL_AT_A_TIME, oldOptions);
@@ -150,10 +185,14 @@ public class PelletOptions
 
 		SAMPLING_RATIO = getDoubleProperty(newOptions, "SAMPLING_RATIO", SAMPLING_RATIO, oldOptions);
 
+		USE_ABOX_STATISTICS = getBooleanProperty(newOptions, "USE_ABOX_STATISTICS", USE_ABOX_STATISTICS, oldOptions);
+
 		SILENT_UNDEFINED_ENTITY_HANDLING = getBooleanProperty(newOptions, "SILENT_UNDEFINED_ENTITY_HANDLING", SILENT_UNDEFINED_ENTITY_HANDLING, oldOptions);
 
 		SIMPLIFY_QUERY = getBooleanProperty(newOptions, "SIMPLIFY_QUERY", SIMPLIFY_QUERY, oldOptions);
 
+		USE_PARALLEL_QUERY_COMPONENTS = getBooleanProperty(newOptions, "USE_PARALLEL_QUERY_COMPONENTS", USE_PARALLEL_QUERY_COMPONENTS, oldOptions);
+
 		STATIC_REORDERING_LIMIT = getIntProperty(newOptions, "STATIC_REORDERING_LIMIT", STATIC_REORDERING_LIMIT, oldOptions);
 
 		TRACK_BRANCH_EFFECTS = getBooleanProperty(newOptions, "TRACK_BRANCH_EFFECTS", TRACK_BRANCH_EFFECTS, oldOptions);
@@ -196,6 +235,8 @@ public class PelletOptions
 
 		USE_PSEUDO_NOMINALS = getBooleanProperty(newOptions, "USE_PSEUDO_NOMINALS", USE_PSEUDO_NOMINALS, oldOptions);
 
+		USE_RULE_WORKLIST = getBooleanProperty(newOptions, "USE_RULE_WORKLIST", USE_RULE_WORKLIST, oldOptions);
+
 		USE_SEMANTIC_BRANCHING = getBooleanProperty(newOptions, "USE_SEMANTIC_BRANCHING", USE_SEMANTIC_BRANCHING, oldOptions);
 
 		USE_SMART_RESTORE = getBooleanProperty(newOptions, "USE_SMART_RESTORE", USE_SMART_RESTORE, oldOptions);
@@ -210,10 +251,28 @@ public class PelletOptions
 
 		DISABLE_EL_CLASSIFIER = getBooleanProperty(newOptions, "DISABLE_EL_CLASSIFIER", DISABLE_EL_CLASSIFIER, oldOptions);
 
+		USE_INCREMENTAL_EL_CLASSIFICATION = getBooleanProperty(newOptions, "USE_INCREMENTAL_EL_CLASSIFICATION", USE_INCREMENTAL_EL_CLASSIFICATION, oldOptions);
+
+		USE_PARALLEL_EL_CLASSIFICATION = getBooleanProperty(newOptions, "USE_PARALLEL_EL_CLASSIFICATION", USE_PARALLEL_EL_CLASSIFICATION, oldOptions);
+
 		PROCESS_JENA_UPDATES_INCREMENTALLY = getBooleanProperty(newOptions, "PROCESS_JENA_UPDATES_INCREMENTALLY", PROCESS_JENA_UPDATES_INCREMENTALLY, oldOptions);
 
 		IGNORE_ANNOTATION_CLASSES = getBooleanProperty(newOptions, "IGNORE_ANNOTATION_CLASSES", IGNORE_ANNOTATION_CLASSES, oldOptions);
 
+		USE_PARALLEL_CLASSIFICATION = getBooleanProperty(newOptions, "USE_PARALLEL_CLASSIFICATION", USE_PARALLEL_CLASSIFICATION, oldOptions);
+
+		USE_PARALLEL_REALIZATION = getBooleanProperty(newOptions, "USE_PARALLEL_REALIZATION", USE_PARALLEL_REALIZATION, oldOptions);
+
+		USE_PARALLEL_MODULE_EXTRACTION = getBooleanProperty(newOptions, "USE_PARALLEL_MODULE_EXTRACTION", USE_PARALLEL_MODULE_EXTRACTION, oldOptions);
+
+		USE_PARALLEL_MODULE_CLASSIFICATION = getBooleanProperty(newOptions, "USE_PARALLEL_MODULE_CLASSIFICATION", USE_PARALLEL_MODULE_CLASSIFICATION, oldOptions);
+
+		INT_SET_TYPE = getEnumProperty(newOptions, "INT_SET_TYPE", INT_SET_TYPE, oldOptions);
+
+		PARALLEL_REASONING_THREADS = getIntProperty(newOptions, "PARALLEL_REASONING_THREADS", PARALLEL_REASONING_THREADS, oldOptions);
+
+		INSTANCE_RETRIEVAL = getEnumProperty(newOptions, "INSTANCE_RETRIEVAL", INSTANCE_RETRIEVAL, oldOptions);
+
 		return oldOptions;
 	}
 
@@ -291,6 +350,17 @@ public class PelletOptions
 		return intValue;
 	}
 
+	private static String getStringProperty(final Properties properties, final String property, final String defaultValue, final Properties defaultValues)
+	{
+		defaultValues.setProperty(property, defaultValue);
+		final String value = properties.getProperty(property);
+		final String returnValue = (value != null) ? value.trim() : defaultValue;
+
+		properties.setProperty(property, returnValue);
+
+		return returnValue;
+	}
+
 	private static <T extends Enum<T>> T getEnumProperty(final Properties properties, final String property, final T defaultValue, final Properties defaultValues)
 	{
 		defaultValues.setProperty(property, String.valueOf(defaultValue));
@@ -419,6 +489,26 @@ public class PelletOptions
 	 */
 	public static int MAX_ANONYMOUS_CACHE = 20000;
 
+	/**
+	 * The maximum total weight of the cached pseudo models for anonymous classes when {@link #USE_CONCURRENT_CONCEPT_CACHE} is enabled. The weight of a
+	 * pseudo model is one plus the number of its types and edges so this limit bounds the memory used by the _cache even when the cached models are large.
+	 */
+	public static int MAX_ANONYMOUS_CACHE_WEIGHT = 1000000;
+
+	/**
+	 * Use a thread-safe, sharded satisfiability _cache that evicts entries based on both {@link #MAX_ANONYMOUS_CACHE} and
+	 * {@link #MAX_ANONYMOUS_CACHE_WEIGHT} and keeps hit, miss and eviction counts. The _cache can be shared by the parallel reasoning services without
+	 * synchronizing every access.
+	 */
+	public static boolean USE_CONCURRENT_CONCEPT_CACHE = false;
+
+	/**
+	 * Directory where satisfiability results are stored so that they can be reused by later runs with the same TBox and RBox. Each TBox/RBox combination is
+	 * stored in a separate file named after the hash of its axioms. An empty value disables the persistent _cache. Results are not persisted for KBs with
+	 * nominals since concept satisfiability then depends on the ABox.
+	 */
+	public static String PERSISTENT_CACHE_DIRECTORY = "";
+
 	/**
 	 * To decide if individual <code>i</code> has type class <code>_c</code> check if the edges from cached model of <code>_c</code> to nominal _nodes also exists
 	 * for the cached model of <code>i</code>.
@@ -512,6 +602,10 @@ public class PelletOptions
 
 	public static boolean SEARCH_TYPE = DEPTH_FIRST;
 
+	/**
+	 * The method used to find the _instances of a class among the candidate _individuals. {@link InstanceRetrievalMethod#PARALLEL} does the same partitioning as
+	 * {@link InstanceRetrievalMethod#BINARY} but tests the partitions concurrently using {@link #PARALLEL_REASONING_THREADS} threads.
+	 */
 	public static InstanceRetrievalMethod INSTANCE_RETRIEVAL = InstanceRetrievalMethod.BINARY;
 
 	/**
@@ -533,6 +627,12 @@ public class PelletOptions
 	 */
 	public static boolean SIMPLIFY_QUERY = true;
 
+	/**
+	 * Evaluate the disconnected parts of a SPARQL-DL query, e.g. <code>C(x), D(y)</code>, concurrently using {@link #PARALLEL_REASONING_THREADS} threads.
+	 * This is only done when the KB is frozen (see {@link KnowledgeBase#freeze()}), otherwise the parts are evaluated one after the other.
+	 */
+	public static boolean USE_PARALLEL_QUERY_COMPONENTS = false;
+
 	/**
 	 * The ratio of individuals that will be inspected while generating the size estimate. The query reordering optimization uses size estimates for classes and
 	 * properties to estimate the cost of a certain query ordering. The size estimates are computed by random sampling. Increasing the sampling ratio yields
@@ -540,6 +640,13 @@ public class PelletOptions
 	 */
 	public static double SAMPLING_RATIO = 0.2;
 
+	/**
+	 * Keep counts of the asserted types and property values while the ABox is loaded and use them for the size estimates instead of sampling the
+	 * individuals, see {@link org.mindswap.pellet.utils.ABoxStatistics}. This avoids the sampling cost when the first query is planned but takes some
+	 * memory for each property value. The option should be set before the ABox is loaded since assertions added while it is off are not counted.
+	 */
+	public static boolean USE_ABOX_STATISTICS = false;
+
 	/**
 	 * The number of query atoms in a query that will trigger the switch from static query reordering to dynamic (incremental) query reordering.
 	 */
@@ -612,6 +719,14 @@ public class PelletOptions
 	 */
 	public static boolean USE_OPTIMIZED_BASIC_COMPLETION_QUEUE = false && USE_COMPLETION_QUEUE;
 
+	/**
+	 * Flag set if the tableau rules that check all the concepts of an individual every time they are applied should skip the individuals that have not been
+	 * modified since the rule was last applied to them. Individuals modified since the last application form the worklist of each rule and backtracking puts
+	 * every individual back on the worklists. This option has no effect when {@link #USE_COMPLETION_QUEUE} is enabled since the _queue already selects the
+	 * individuals.
+	 */
+	public static boolean USE_RULE_WORKLIST = false;
+
 	/**
 	 * During backjumping use dependency set information to restore _node labels rather than restoring the label exactly to the previous state.
 	 */
@@ -675,6 +790,19 @@ public class PelletOptions
 	 */
 	public static boolean DISABLE_EL_CLASSIFIER = false;
 
+	/**
+	 * Keep the saturation computed by the EL classifier after classification. When axioms are only added to the TBox of an EL KB the next classification
+	 * processes the new axioms and updates the parts of the taxonomy that have changed instead of classifying the KB from scratch. Removing axioms or changing
+	 * the RBox still causes a full classification.
+	 */
+	public static boolean USE_INCREMENTAL_EL_CLASSIFICATION = false;
+
+	/**
+	 * Saturate EL ontologies using several threads. The EL classifier is selected for the KB as usual when the ontology is in EL and each thread applies the
+	 * completion rules to one concept at a time. The number of threads is controlled by {@link #PARALLEL_REASONING_THREADS}.
+	 */
+	public static boolean USE_PARALLEL_EL_CLASSIFICATION = false;
+
 	public static boolean PROCESS_JENA_UPDATES_INCREMENTALLY = true;
 
 	/**
@@ -685,6 +813,47 @@ public class PelletOptions
 	 */
 	public static boolean IGNORE_ANNOTATION_CLASSES = true;
 
+	/**
+	 * Classify the TBox using several threads. Each thread runs satisfiability and subsumption tests on its own copy of the KB and only the main thread
+	 * modifies the taxonomy so the classification results are the same as the sequential classification. The number of threads is controlled by
+	 * {@link #PARALLEL_REASONING_THREADS}.
+	 */
+	public static boolean USE_PARALLEL_CLASSIFICATION = false;
+
+	/**
+	 * Realize the ABox using several threads. The _individuals are partitioned between the threads and each thread finds the direct types of its _individuals
+	 * using a read-only view of the KB. The results are added to the taxonomy by the main thread. The number of threads is controlled by
+	 * {@link #PARALLEL_REASONING_THREADS}.
+	 */
+	public static boolean USE_PARALLEL_REALIZATION = false;
+
+	/**
+	 * Extract the modules of the graph-based module extractor using several threads. The threads share the reachability graph of the axioms, which is only
+	 * read during the extraction, and the modules are recorded by the main thread. Modules invalidated by ontology changes are extracted again the same way.
+	 * The number of threads is controlled by {@link #PARALLEL_REASONING_THREADS}.
+	 */
+	public static boolean USE_PARALLEL_MODULE_EXTRACTION = false;
+
+	/**
+	 * Reclassify the modules affected by ontology changes in the incremental classifier using several threads. The affected classes are split into groups
+	 * whose modules do not share classes and each group is classified by its own reasoner. The number of threads is controlled by
+	 * {@link #PARALLEL_REASONING_THREADS}.
+	 */
+	public static boolean USE_PARALLEL_MODULE_CLASSIFICATION = false;
+
+	/**
+	 * The IntSet implementation used to store the branch dependencies of each {@link DependencySet}. {@link IntSetType#ADAPTIVE} switches to a bit set when
+	 * the dependency sets grow to thousands of branches which makes unions faster for ontologies with many nondeterministic branches. This option should be
+	 * set before any KB is created since dependency sets created with different implementations are compatible but slower to combine.
+	 */
+	public static IntSetType INT_SET_TYPE = IntSetType.ARRAY;
+
+	/**
+	 * Number of worker threads used by the parallel reasoning services. Each worker keeps a private copy of the ABox so using more threads increases the
+	 * memory requirements. Values less than 2 disable parallel reasoning.
+	 */
+	public static int PARALLEL_REASONING_THREADS = Runtime.getRuntime().availableProcessors();
+
 	static
 	{
 		final String configFile = System.getProperty("pellet.configuration");
@@ -0,0 +1,405 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.tableau.cache;
+
+import aterm.ATermAppl;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.PelletOptions;
+import org.mindswap.pellet.utils.ATermUtils;
+
+/**
+ * <p>
+ * Title: Concurrent Concept Cache
+ * </p>
+ * <p>
+ * Description: Thread-safe implementation of ConceptCache that can be shared by several reasoning threads. Like {@link ConceptCacheLRU} primitive concepts
+ * and their negations are always kept in the _cache. Complex concepts are spread over a fixed number of shards, each an access ordered map guarded by its own
+ * lock, so threads only contend when they access the same shard. The _cache evicts complex concepts when either their number exceeds the max size or their
+ * total estimated weight exceeds the max weight. The weight of an entry is an estimate of the memory used by the cached _node: one for the _node plus one for
+ * each of its types and edges. Eviction removes the least recently used entry of the shard that is being updated so the _cache approximates a global LRU
+ * order.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class ConcurrentConceptCache extends AbstractConceptCache
+{
+	/**
+	 * Number of shards for complex concepts, must be a power of two
+	 */
+	private static final int SHARDS = 16;
+
+	private static class WeightedNode
+	{
+		private final CachedNode _node;
+
+		private final int _weight;
+
+		public WeightedNode(final CachedNode node, final int weight)
+		{
+			_node = node;
+			_weight = weight;
+		}
+	}
+
+	private final Map<ATermAppl, CachedNode> _primitive = new ConcurrentHashMap<>();
+
+	private final LinkedHashMap<ATermAppl, WeightedNode>[] _shards;
+
+	private final AtomicInteger _nonPrimitiveSize = new AtomicInteger();
+
+	private final AtomicLong _weight = new AtomicLong();
+
+	private volatile long _maxWeight;
+
+	private final LongAdder _hits = new LongAdder();
+
+	private final LongAdder _misses = new LongAdder();
+
+	private final LongAdder _evictions = new LongAdder();
+
+	private final CacheSafety _cacheSafety;
+
+	/**
+	 * Creates an empty _cache with no size restrictions
+	 */
+	public ConcurrentConceptCache(final KnowledgeBase kb)
+	{
+		this(kb, Integer.MAX_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Creates an empty _cache with at most <code>maxSize</code> elements which are neither named or negations of names and whose total weight is at most
+	 * {@link PelletOptions#MAX_ANONYMOUS_CACHE_WEIGHT}.
+	 */
+	public ConcurrentConceptCache(final KnowledgeBase kb, final int maxSize)
+	{
+		this(kb, maxSize, PelletOptions.MAX_ANONYMOUS_CACHE_WEIGHT);
+	}
+
+	/**
+	 * Creates an empty _cache with at most <code>maxSize</code> elements which are neither named or negations of names and whose total weight is at most
+	 * <code>maxWeight</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentConceptCache(final KnowledgeBase kb, final int maxSize, final long maxWeight)
+	{
+		super(maxSize);
+
+		_maxWeight = maxWeight;
+		_cacheSafety = CacheSafetyFactory.createCacheSafety(kb.getExpressivity());
+
+		_shards = new LinkedHashMap[SHARDS];
+		for (int i = 0; i < SHARDS; i++)
+			_shards[i] = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Estimates the memory used by a cached _node as the number of types and edges it refers to. Constant _nodes are shared so they only count as one.
+	 */
+	private static int weight(final CachedNode node)
+	{
+		if (node instanceof CachedConstantNode)
+			return 1;
+
+		return 1 + node.getDepends().size() + node.getOutEdges().size() + node.getInEdges().size();
+	}
+
+	private static int index(final Object key)
+	{
+		final int h = key.hashCode();
+		return (h ^ (h >>> 16)) & (SHARDS - 1);
+	}
+
+	private LinkedHashMap<ATermAppl, WeightedNode> shard(final Object key)
+	{
+		return _shards[index(key)];
+	}
+
+	private boolean isOverLimit()
+	{
+		return _nonPrimitiveSize.get() > getMaxSize() || _weight.get() > _maxWeight;
+	}
+
+	/**
+	 * Removes the least recently used entries until the _cache is within its limits. Entries are removed from the given shard first, the other shards are
+	 * only visited if the given shard is empty.
+	 */
+	private void evict(final int start)
+	{
+		for (int i = 0; i < SHARDS && isOverLimit(); i++)
+		{
+			final LinkedHashMap<ATermAppl, WeightedNode> shard = _shards[(start + i) & (SHARDS - 1)];
+			synchronized (shard)
+			{
+				final Iterator<WeightedNode> eldest = shard.values().iterator();
+				while (eldest.hasNext() && isOverLimit())
+				{
+					final WeightedNode removed = eldest.next();
+					eldest.remove();
+					removed(removed);
+					_evictions.increment();
+				}
+			}
+		}
+	}
+
+	private void added(final WeightedNode node)
+	{
+		_nonPrimitiveSize.incrementAndGet();
+		_weight.addAndGet(node._weight);
+	}
+
+	private void removed(final WeightedNode node)
+	{
+		_nonPrimitiveSize.decrementAndGet();
+		_weight.addAndGet(-node._weight);
+	}
+
+	private static CachedNode node(final WeightedNode node)
+	{
+		return node == null ? null : node._node;
+	}
+
+	@Override
+	public CacheSafety getSafety()
+	{
+		return _cacheSafety;
+	}
+
+	/**
+	 * Returns the maximum total weight of the entries for complex concepts.
+	 */
+	public long getMaxWeight()
+	{
+		return _maxWeight;
+	}
+
+	/**
+	 * Sets the maximum total weight of the entries for complex concepts. Entries are evicted the next time an entry is added if the _cache is over the new
+	 * limit.
+	 */
+	public void setMaxWeight(final long maxWeight)
+	{
+		_maxWeight = maxWeight;
+	}
+
+	/**
+	 * Returns the total estimated weight of the entries for complex concepts.
+	 */
+	public long getWeight()
+	{
+		return _weight.get();
+	}
+
+	/**
+	 * Returns the number of {@link #get(Object)} calls that found an entry.
+	 */
+	public long getHitCount()
+	{
+		return _hits.sum();
+	}
+
+	/**
+	 * Returns the number of {@link #get(Object)} calls that did not find an entry.
+	 */
+	public long getMissCount()
+	{
+		return _misses.sum();
+	}
+
+	/**
+	 * Returns the number of entries removed because the _cache exceeded its size or weight limit.
+	 */
+	public long getEvictionCount()
+	{
+		return _evictions.sum();
+	}
+
+	/**
+	 * Resets the hit, miss and eviction counters.
+	 */
+	public void resetStatistics()
+	{
+		_hits.reset();
+		_misses.reset();
+		_evictions.reset();
+	}
+
+	@Override
+	public void clear()
+	{
+		_primitive.clear();
+		for (final LinkedHashMap<ATermAppl, WeightedNode> shard : _shards)
+			synchronized (shard)
+			{
+				for (final WeightedNode node : shard.values())
+					removed(node);
+				shard.clear();
+			}
+	}
+
+	@Override
+	public boolean containsKey(final Object key)
+	{
+		if (_primitive.containsKey(key))
+			return true;
+
+		final LinkedHashMap<ATermAppl, WeightedNode> shard = shard(key);
+		synchronized (shard)
+		{
+			return shard.containsKey(key);
+		}
+	}
+
+	@Override
+	public boolean containsValue(final Object value)
+	{
+		return values().contains(value);
+	}
+
+	@Override
+	public Set<Map.Entry<ATermAppl, CachedNode>> entrySet()
+	{
+		final Set<Map.Entry<ATermAppl, CachedNode>> entries = new HashSet<>(_primitive.entrySet());
+		for (final LinkedHashMap<ATermAppl, WeightedNode> shard : _shards)
+			synchronized (shard)
+			{
+				for (final Map.Entry<ATermAppl, WeightedNode> entry : shard.entrySet())
+					entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()._node));
+			}
+		return entries;
+	}
+
+	@Override
+	public CachedNode get(final Object key)
+	{
+		CachedNode node = _primitive.get(key);
+		if (node == null)
+		{
+			final LinkedHashMap<ATermAppl, WeightedNode> shard = shard(key);
+			synchronized (shard)
+			{
+				node = node(shard.get(key));
+			}
+		}
+
+		if (node == null)
+			_misses.increment();
+		else
+			_hits.increment();
+
+		return node;
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+
+	@Override
+	public Set<ATermAppl> keySet()
+	{
+		final Set<ATermAppl> keys = new HashSet<>(_primitive.keySet());
+		for (final LinkedHashMap<ATermAppl, WeightedNode> shard : _shards)
+			synchronized (shard)
+			{
+				keys.addAll(shard.keySet());
+			}
+		return keys;
+	}
+
+	@Override
+	public CachedNode put(final ATermAppl key, final CachedNode value)
+	{
+		if (ATermUtils.isPrimitiveOrNegated(key))
+			return _primitive.put(key, value);
+
+		final WeightedNode node = new WeightedNode(value, weight(value));
+		final int index = index(key);
+		final LinkedHashMap<ATermAppl, WeightedNode> shard = _shards[index];
+		final WeightedNode prev;
+		synchronized (shard)
+		{
+			prev = shard.put(key, node);
+			if (prev != null)
+				removed(prev);
+			added(node);
+		}
+
+		if (isOverLimit())
+			evict(index);
+
+		return node(prev);
+	}
+
+	@Override
+	public void putAll(final Map<? extends ATermAppl, ? extends CachedNode> t)
+	{
+		for (final Map.Entry<? extends ATermAppl, ? extends CachedNode> entry : t.entrySet())
+			put(entry.getKey(), entry.getValue());
+	}
+
+	@Override
+	public CachedNode remove(final Object key)
+	{
+		final CachedNode node = _primitive.remove(key);
+		if (node != null)
+			return node;
+
+		final LinkedHashMap<ATermAppl, WeightedNode> shard = shard(key);
+		synchronized (shard)
+		{
+			final WeightedNode prev = shard.remove(key);
+			if (prev != null)
+				removed(prev);
+			return node(prev);
+		}
+	}
+
+	@Override
+	public int size()
+	{
+		return _primitive.size() + _nonPrimitiveSize.get();
+	}
+
+	@Override
+	public Collection<CachedNode> values()
+	{
+		final Set<CachedNode> values = new HashSet<>(_primitive.values());
+		for (final LinkedHashMap<ATermAppl, WeightedNode> shard : _shards)
+			synchronized (shard)
+			{
+				for (final WeightedNode node : shard.values())
+					values.add(node._node);
+			}
+		return values;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "[Cache size: " + _primitive.size() + "," + _nonPrimitiveSize.get() + " weight: " + _weight.get() + " hits: " + getHitCount() + " misses: "
+				+ getMissCount() + " evictions: " + getEvictionCount() + "]";
+	}
+}
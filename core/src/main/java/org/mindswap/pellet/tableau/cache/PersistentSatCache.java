@@ -0,0 +1,390 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.tableau.cache;
+
+import aterm.ATermAppl;
+import aterm.ATermList;
+import com.clarkparsia.pellet.datatypes.DatatypeReasoner;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.Role;
+import org.mindswap.pellet.exceptions.InternalReasonerException;
+import org.mindswap.pellet.utils.Bool;
+
+/**
+ * <p>
+ * Title: Persistent Satisfiability Cache
+ * </p>
+ * <p>
+ * Description: Stores the results of concept satisfiability tests in a file so that they can be reused when a KB with the same TBox and RBox is loaded
+ * again. Subsumption tests are satisfiability tests of the form <code>C and not(D)</code> so their results are stored as well. The file is named after a
+ * hash of the TBox and RBox axioms and the datatype definitions which means a modified ontology never reads the results computed for another version. The
+ * file is memory mapped when it is loaded and new results are appended to the end of the file. A file that was not closed properly is read up to its last
+ * complete record.
+ * </p>
+ * <p>
+ * Only the process that holds the lock on the file appends to it, other processes using the same file only read the results stored so far.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class PersistentSatCache implements Closeable
+{
+	public final static Logger log = Logger.getLogger(PersistentSatCache.class.getName());
+
+	private static final int MAGIC = 0x50534154;
+
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 8;
+
+	private static final String SUFFIX = ".sat";
+
+	private final File _file;
+
+	private final String _hash;
+
+	private final Map<String, Boolean> _results = new ConcurrentHashMap<>();
+
+	private RandomAccessFile _raf;
+
+	private FileLock _lock;
+
+	private DataOutputStream _out;
+
+	/**
+	 * Opens the _cache for a TBox and RBox in the given directory creating the file if necessary.
+	 *
+	 * @param dir directory of the _cache files
+	 * @param hash the hash of the TBox and RBox computed by {@link #hash(KnowledgeBase)}
+	 * @return the _cache for the TBox and RBox
+	 * @throws IOException if the file cannot be read or created
+	 */
+	public static PersistentSatCache open(final File dir, final String hash) throws IOException
+	{
+		if (!dir.isDirectory() && !dir.mkdirs())
+			throw new IOException("Cannot create directory " + dir);
+
+		return new PersistentSatCache(new File(dir, hash + SUFFIX), hash);
+	}
+
+	/**
+	 * Computes a hash of the TBox and RBox axioms and the datatype definitions of a KB. The hash does not depend on the order the axioms were added in.
+	 */
+	public static String hash(final KnowledgeBase kb)
+	{
+		final List<String> axioms = new ArrayList<>();
+		for (final ATermAppl axiom : kb.getTBox().getAssertedAxioms())
+			axioms.add(axiom.toString());
+		for (final Role role : kb.getRBox().getRoles())
+			axioms.add(describe(role));
+		final DatatypeReasoner dtReasoner = kb.getDatatypeReasoner();
+		for (final ATermAppl name : dtReasoner.listDataRanges())
+		{
+			final ATermAppl definition = dtReasoner.getDefinition(name);
+			axioms.add("datatype " + name + (definition == null ? "" : " = " + definition));
+		}
+		Collections.sort(axioms);
+
+		try
+		{
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update((byte) VERSION);
+			for (final String axiom : axioms)
+			{
+				digest.update(axiom.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+			}
+
+			final StringBuilder sb = new StringBuilder();
+			for (final byte b : digest.digest())
+				sb.append(String.format("%02x", b));
+			return sb.toString();
+		}
+		catch (final NoSuchAlgorithmException e)
+		{
+			throw new InternalReasonerException(e);
+		}
+	}
+
+	/**
+	 * Returns a description of a role that does not depend on the iteration order of its sets.
+	 */
+	private static String describe(final Role role)
+	{
+		final StringBuilder sb = new StringBuilder();
+		sb.append(role.getType()).append(' ').append(role.getName());
+		sb.append(role.isTransitive() ? " T" : "").append(role.isReflexive() ? " R" : "").append(role.isIrreflexive() ? " I" : "");
+		sb.append(role.isAsymmetric() ? " A" : "").append(role.isFunctional() ? " F" : "").append(role.isInverseFunctional() ? " IF" : "");
+		sb.append(" inv=").append(role.getInverse() == null ? "" : role.getInverse().getName().toString());
+		sb.append(" sub=").append(sortedNames(role.getSubRoles()));
+		sb.append(" sup=").append(sortedNames(role.getSuperRoles()));
+		sb.append(" disj=").append(sortedNames(role.getDisjointRoles()));
+		sb.append(" dom=").append(sorted(role.getDomains()));
+		sb.append(" ran=").append(sorted(role.getRanges()));
+
+		final List<String> chains = new ArrayList<>();
+		for (final ATermList chain : role.getSubRoleChains())
+			chains.add(chain.toString());
+		Collections.sort(chains);
+		sb.append(" chains=").append(chains);
+
+		return sb.toString();
+	}
+
+	private static List<String> sortedNames(final Collection<Role> roles)
+	{
+		final List<String> names = new ArrayList<>();
+		for (final Role role : roles)
+			names.add(role.getName().toString());
+		Collections.sort(names);
+		return names;
+	}
+
+	private static List<String> sorted(final Collection<ATermAppl> terms)
+	{
+		final List<String> strings = new ArrayList<>();
+		for (final ATermAppl term : terms)
+			strings.add(term.toString());
+		Collections.sort(strings);
+		return strings;
+	}
+
+	private PersistentSatCache(final File file, final String hash) throws IOException
+	{
+		_file = file;
+		_hash = hash;
+		_raf = new RandomAccessFile(file, "rw");
+
+		final FileChannel channel = _raf.getChannel();
+		try
+		{
+			_lock = channel.tryLock();
+		}
+		catch (final OverlappingFileLockException e)
+		{
+			_lock = null;
+		}
+
+		final long end = load(channel);
+
+		if (_lock == null)
+		{
+			if (log.isLoggable(Level.FINE))
+				log.fine("Cache file " + file + " is locked, new results will not be stored");
+			_raf.close();
+			_raf = null;
+			return;
+		}
+
+		if (end >= HEADER_SIZE && end < channel.size())
+			log.warning("Ignoring incomplete record at the end of cache file " + _file);
+
+		if (end < HEADER_SIZE)
+		{
+			channel.truncate(0);
+			channel.position(0);
+		}
+		else
+		{
+			channel.truncate(end);
+			channel.position(end);
+		}
+
+		_out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+		if (end < HEADER_SIZE)
+		{
+			_out.writeInt(MAGIC);
+			_out.writeInt(VERSION);
+		}
+	}
+
+	/**
+	 * Reads the records stored in the file and returns the position after the last complete record, or 0 if the file does not have a valid header.
+	 */
+	private long load(final FileChannel channel) throws IOException
+	{
+		final long size = channel.size();
+		if (size < HEADER_SIZE)
+			return 0;
+
+		final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+		{
+			log.warning("Ignoring invalid cache file " + _file);
+			return 0;
+		}
+
+		int end = buffer.position();
+		try
+		{
+			while (buffer.hasRemaining())
+			{
+				final boolean isSat = buffer.get() != 0;
+				final int length = buffer.getInt();
+				if (length < 0 || length > buffer.remaining())
+					throw new BufferUnderflowException();
+				final byte[] bytes = new byte[length];
+				buffer.get(bytes);
+
+				_results.put(new String(bytes, StandardCharsets.UTF_8), isSat);
+				end = buffer.position();
+			}
+		}
+		catch (final BufferUnderflowException e)
+		{
+			// the last record is incomplete if the file was not closed
+			// properly or if another process is writing to it
+		}
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("Loaded " + _results.size() + " results from " + _file);
+
+		return end;
+	}
+
+	/**
+	 * Returns the stored satisfiability of a concept.
+	 *
+	 * @return {@link Bool#UNKNOWN} if the result of the concept is not stored
+	 */
+	public Bool getSat(final ATermAppl c)
+	{
+		final Boolean isSat = _results.get(c.toString());
+		return isSat == null ? Bool.UNKNOWN : Bool.create(isSat);
+	}
+
+	/**
+	 * Stores the satisfiability of a concept. The result is written to the file unless another process holds the lock on the file.
+	 */
+	public synchronized void putSat(final ATermAppl c, final boolean isSat)
+	{
+		final String key = c.toString();
+		if (_results.put(key, isSat) != null || _out == null)
+			return;
+
+		try
+		{
+			final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+			_out.writeByte(isSat ? 1 : 0);
+			_out.writeInt(bytes.length);
+			_out.write(bytes);
+		}
+		catch (final IOException e)
+		{
+			log.log(Level.WARNING, "Cannot write to cache file " + _file + ", new results will not be stored", e);
+			closeQuietly();
+		}
+	}
+
+	/**
+	 * Writes the buffered results to the file.
+	 */
+	public synchronized void flush()
+	{
+		if (_out == null)
+			return;
+
+		try
+		{
+			_out.flush();
+		}
+		catch (final IOException e)
+		{
+			log.log(Level.WARNING, "Cannot write to cache file " + _file + ", new results will not be stored", e);
+			closeQuietly();
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException
+	{
+		try
+		{
+			if (_out != null)
+				_out.flush();
+		}
+		finally
+		{
+			closeQuietly();
+		}
+	}
+
+	private void closeQuietly()
+	{
+		_out = null;
+		try
+		{
+			if (_lock != null)
+				_lock.release();
+			if (_raf != null)
+				_raf.close();
+		}
+		catch (final IOException e)
+		{
+			log.log(Level.FINE, "Cannot close cache file " + _file, e);
+		}
+		_lock = null;
+		_raf = null;
+	}
+
+	/**
+	 * Returns the hash of the TBox and RBox the stored results belong to.
+	 */
+	public String getHash()
+	{
+		return _hash;
+	}
+
+	/**
+	 * Returns the file the results are stored in.
+	 */
+	public File getFile()
+	{
+		return _file;
+	}
+
+	/**
+	 * Returns the number of stored results.
+	 */
+	public int size()
+	{
+		return _results.size();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "[Persistent cache " + _file + " size: " + _results.size() + "]";
+	}
+}
@@ -0,0 +1,168 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.tableau.cache;
+
+import aterm.ATermAppl;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.utils.Bool;
+
+/**
+ * <p>
+ * Title: Synchronized Concept Cache
+ * </p>
+ * <p>
+ * Description: A wrapper around another {@link ConceptCache} where every operation is synchronized on the wrapper. Collection views are returned as copies so
+ * they can be iterated while other threads keep updating the _cache.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class SynchronizedConceptCache implements ConceptCache
+{
+	private final ConceptCache _cache;
+
+	public SynchronizedConceptCache(final ConceptCache cache)
+	{
+		_cache = cache;
+	}
+
+	/**
+	 * Returns the wrapped _cache.
+	 */
+	public ConceptCache getDelegate()
+	{
+		return _cache;
+	}
+
+	@Override
+	public synchronized int getMaxSize()
+	{
+		return _cache.getMaxSize();
+	}
+
+	@Override
+	public synchronized void setMaxSize(final int maxSize)
+	{
+		_cache.setMaxSize(maxSize);
+	}
+
+	@Override
+	public synchronized Bool getSat(final ATermAppl c)
+	{
+		return _cache.getSat(c);
+	}
+
+	@Override
+	public synchronized boolean putSat(final ATermAppl c, final boolean isSatisfiable)
+	{
+		return _cache.putSat(c, isSatisfiable);
+	}
+
+	@Override
+	public synchronized Bool isMergable(final KnowledgeBase kb, final CachedNode node1, final CachedNode node2)
+	{
+		return _cache.isMergable(kb, node1, node2);
+	}
+
+	@Override
+	public synchronized Bool checkNominalEdges(final KnowledgeBase kb, final CachedNode node1, final CachedNode node2)
+	{
+		return _cache.checkNominalEdges(kb, node1, node2);
+	}
+
+	@Override
+	public CacheSafety getSafety()
+	{
+		return _cache.getSafety();
+	}
+
+	@Override
+	public synchronized int size()
+	{
+		return _cache.size();
+	}
+
+	@Override
+	public synchronized boolean isEmpty()
+	{
+		return _cache.isEmpty();
+	}
+
+	@Override
+	public synchronized boolean containsKey(final Object key)
+	{
+		return _cache.containsKey(key);
+	}
+
+	@Override
+	public synchronized boolean containsValue(final Object value)
+	{
+		return _cache.containsValue(value);
+	}
+
+	@Override
+	public synchronized CachedNode get(final Object key)
+	{
+		return _cache.get(key);
+	}
+
+	@Override
+	public synchronized CachedNode put(final ATermAppl key, final CachedNode value)
+	{
+		return _cache.put(key, value);
+	}
+
+	@Override
+	public synchronized CachedNode remove(final Object key)
+	{
+		return _cache.remove(key);
+	}
+
+	@Override
+	public synchronized void putAll(final Map<? extends ATermAppl, ? extends CachedNode> m)
+	{
+		_cache.putAll(m);
+	}
+
+	@Override
+	public synchronized void clear()
+	{
+		_cache.clear();
+	}
+
+	@Override
+	public synchronized Set<ATermAppl> keySet()
+	{
+		return new HashSet<>(_cache.keySet());
+	}
+
+	@Override
+	public synchronized Collection<CachedNode> values()
+	{
+		return new HashSet<>(_cache.values());
+	}
+
+	@Override
+	public synchronized Set<Map.Entry<ATermAppl, CachedNode>> entrySet()
+	{
+		return new HashSet<>(_cache.entrySet());
+	}
+
+	@Override
+	public String toString()
+	{
+		return _cache.toString();
+	}
+}
@@ -259,6 +259,9 @@ public abstract class CompletionStrategy
 	{
 		_mergeList = new ArrayList<>();
 
+		// the ABox may have been modified since the rules were last applied
+		_abox.invalidateVisits();
+
 		blocking = BlockingFactory.createBlocking(expressivity);
 
 		configureTableauRules(expressivity);
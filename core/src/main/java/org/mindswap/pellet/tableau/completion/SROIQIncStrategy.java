@@ -151,6 +151,9 @@ public class SROIQIncStrategy extends SROIQStrategy
 
 		_mergeList = new ArrayList<>();
 
+		// the ABox may have been modified since the rules were last applied
+		_abox.invalidateVisits();
+
 		blocking = BlockingFactory.createBlocking(expr);
 
 		configureTableauRules(expr);
@@ -6,6 +6,9 @@
 
 package org.mindswap.pellet.tableau.completion.rule;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import org.mindswap.pellet.Individual;
 import org.mindswap.pellet.IndividualIterator;
@@ -40,15 +43,25 @@ public abstract class AbstractTableauRule implements TableauRule
 		NONE, DIRECT, INDIRECT, COMPLETE
 	}
 
+	/**
+	 * Ids of the rule classes used to index the rule applications recorded on individuals
+	 */
+	private static final Map<Class<?>, Integer> _ids = new ConcurrentHashMap<>();
+
+	private static final AtomicInteger _nextId = new AtomicInteger();
+
 	protected CompletionStrategy _strategy;
 	protected NodeSelector _nodeSelector;
 	protected BlockingType _blockingType;
 
+	private final int _id;
+
 	public AbstractTableauRule(final CompletionStrategy strategy, final NodeSelector nodeSelector, final BlockingType blockingType)
 	{
 		this._strategy = strategy;
 		this._nodeSelector = nodeSelector;
 		this._blockingType = blockingType;
+		this._id = _ids.computeIfAbsent(getClass(), c -> _nextId.getAndIncrement());
 	}
 
 	public boolean isDisabled()
@@ -60,10 +73,14 @@ public abstract class AbstractTableauRule implements TableauRule
 	public void apply(final IndividualIterator i)
 	{
 		i.reset(_nodeSelector);
+		final boolean useWorklist = PelletOptions.USE_RULE_WORKLIST && !PelletOptions.USE_COMPLETION_QUEUE;
 		while (i.hasNext())
 		{
 			final Individual node = i.next();
 
+			if (useWorklist && node.isVisited(_id))
+				continue;
+
 			if (_strategy.getBlocking().isBlocked(node))
 			{
 				if (PelletOptions.USE_COMPLETION_QUEUE)
@@ -71,14 +88,29 @@ public abstract class AbstractTableauRule implements TableauRule
 			}
 			else
 			{
+				final long stamp = _strategy.getABox().getChangeStamp();
+
 				apply(node);
 
 				if (_strategy.getABox().isClosed())
 					return;
+
+				if (useWorklist && isLocal(node))
+					node.setVisited(_id, stamp);
 			}
 		}
 	}
 
+	/**
+	 * Returns true if applying this rule to the given _node again would have no effect unless the _node, its edges or its literal neighbors are modified. The
+	 * rule is then not applied to the _node until it is modified. Rules that only process the concepts added since their last application or that depend on
+	 * other _nodes return false.
+	 */
+	protected boolean isLocal(final Individual node)
+	{
+		return false;
+	}
+
 	protected boolean isBlocked(final Individual node)
 	{
 		switch (_blockingType)
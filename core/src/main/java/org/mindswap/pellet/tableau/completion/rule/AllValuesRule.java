@@ -43,6 +43,11 @@ import org.mindswap.pellet.utils.ATermUtils;
  */
 public class AllValuesRule extends AbstractTableauRule
 {
+	/**
+	 * Set if a restriction on the top role was applied, such restrictions also affect the _nodes created later
+	 */
+	private boolean _topApplied;
+
 	public AllValuesRule(final CompletionStrategy strategy)
 	{
 		super(strategy, NodeSelector.UNIVERSAL, BlockingType.NONE);
@@ -51,6 +56,8 @@ public class AllValuesRule extends AbstractTableauRule
 	@Override
 	public void apply(final Individual x)
 	{
+		_topApplied = false;
+
 		final List<ATermAppl> allValues = x.getTypes(Node.ALL);
 		int size = allValues.size();
 		Iterator<ATermAppl> i = allValues.iterator();
@@ -76,6 +83,12 @@ public class AllValuesRule extends AbstractTableauRule
 		}
 	}
 
+	@Override
+	protected boolean isLocal(final Individual x)
+	{
+		return !_topApplied;
+	}
+
 	/**
 	 * Apply the allValues rule for the given type with the given dependency. The concept is in the form all(r,C) and this function adds C to all r-neighbors of
 	 * x
@@ -277,6 +290,8 @@ public class AllValuesRule extends AbstractTableauRule
 	 */
 	void applyAllValuesTop(final ATermAppl allTopC, final ATermAppl c, final DependencySet ds)
 	{
+		_topApplied = true;
+
 		for (final Node node : _strategy.getABox().getNodes())
 			if (node.isIndividual() && !node.isPruned() && !node.hasType(c))
 			{
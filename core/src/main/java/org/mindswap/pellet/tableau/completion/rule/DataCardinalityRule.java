@@ -49,6 +49,12 @@ public class DataCardinalityRule extends AbstractTableauRule
 		super(strategy, NodeSelector.DATATYPE, BlockingType.NONE);
 	}
 
+	@Override
+	protected boolean isLocal(final Individual x)
+	{
+		return true;
+	}
+
 	@Override
 	public void apply(final Individual x)
 	{
@@ -49,6 +49,12 @@ public class DataSatisfiabilityRule extends AbstractTableauRule
 		super(strategy, NodeSelector.DATATYPE, BlockingType.NONE);
 	}
 
+	@Override
+	protected boolean isLocal(final Individual ind)
+	{
+		return true;
+	}
+
 	@Override
 	public void apply(final Individual ind)
 	{
@@ -45,6 +45,12 @@ public class NominalRule extends AbstractTableauRule
 		super(strategy, NodeSelector.NOMINAL, BlockingType.NONE);
 	}
 
+	@Override
+	protected boolean isLocal(final Individual y)
+	{
+		return true;
+	}
+
 	@Override
 	public void apply(final Individual y)
 	{
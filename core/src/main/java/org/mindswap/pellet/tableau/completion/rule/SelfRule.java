@@ -41,6 +41,12 @@ public class SelfRule extends AbstractTableauRule
 		super(strategy, NodeSelector.ATOM, BlockingType.NONE);
 	}
 
+	@Override
+	protected boolean isLocal(final Individual node)
+	{
+		return true;
+	}
+
 	@Override
 	public final void apply(final Individual node)
 	{
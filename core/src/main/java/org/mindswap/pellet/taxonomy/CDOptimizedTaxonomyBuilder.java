@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.mindswap.pellet.ABox;
 import org.mindswap.pellet.Individual;
 import org.mindswap.pellet.KnowledgeBase;
 import org.mindswap.pellet.PelletOptions;
@@ -120,6 +121,20 @@ public class CDOptimizedTaxonomyBuilder implements TaxonomyBuilder
 		return taxonomy;
 	}
 
+	/**
+	 * Uses the given taxonomy as the result of classification instead of classifying the KB. The told information is still computed so that class expressions
+	 * can be classified into the taxonomy later.
+	 */
+	public void setTaxonomy(final Taxonomy<ATermAppl> taxonomy)
+	{
+		if (!prepared)
+			prepare();
+
+		definitionOrder = null;
+
+		this.taxonomy = taxonomy;
+	}
+
 	// TODO optimize();
 	@Override
 	public Taxonomy<ATermAppl> getToldTaxonomy()
@@ -1049,6 +1064,8 @@ public class CDOptimizedTaxonomyBuilder implements TaxonomyBuilder
 
 		final Collection<TaxonomyNode<ATermAppl>> list = topSearch ? x.getSubs() : x.getSupers();
 
+		prefetchSubsumptions(topSearch, c, list);
+
 				for (final TaxonomyNode<ATermAppl> next : list)
 					if (topSearch)
 			{
@@ -1168,7 +1185,7 @@ public class CDOptimizedTaxonomyBuilder implements TaxonomyBuilder
 			log.finer("Subsumption testing for [" + format(sub) + "," + format(sup) + "]...");
 		}
 
-		final boolean result = kb.getABox().isSubClassOf(sub, sup);
+		final boolean result = isSubClassOf(sub, sup);
 
 		if (log.isLoggable(Level.FINER))
 		{
@@ -1180,6 +1197,27 @@ public class CDOptimizedTaxonomyBuilder implements TaxonomyBuilder
 		return result;
 	}
 
+	/**
+	 * Check if <code>sub</code> is subsumed by <code>sup</code>. This is the only place where classification runs a tableau subsumption test.
+	 */
+	protected boolean isSubClassOf(final ATermAppl sub, final ATermAppl sup)
+	{
+		return kb.getABox().isSubClassOf(sub, sup);
+	}
+
+	/**
+	 * Called before the nodes in <code>candidates</code> are tested against <code>c</code> during the top (or bottom) search so that the subsumption tests
+	 * that will be needed can be computed ahead of time. The default implementation does nothing.
+	 *
+	 * @param topSearch <code>true</code> if candidates will be tested as subsumers of <code>c</code>, <code>false</code> if they will be tested as subsumees
+	 * @param c the concept being classified
+	 * @param candidates the nodes that will be tested
+	 */
+	protected void prefetchSubsumptions(final boolean topSearch, final ATermAppl c, final Collection<TaxonomyNode<ATermAppl>> candidates)
+	{
+		// nothing to do for sequential classification
+	}
+
 	private void mark(final Set<ATermAppl> set, final Map<ATermAppl, Boolean> marked, final Boolean value)
 	{
 		for (final ATermAppl c : set)
@@ -1234,13 +1272,27 @@ public class CDOptimizedTaxonomyBuilder implements TaxonomyBuilder
 	}
 
 	private void realize(final Individual x)
+	{
+		for (final ATermAppl c : getDirectTypes(kb.getABox(), x.getName()))
+			addInstance(c, x.getName());
+	}
+
+	/**
+	 * Find the most specific classes in the taxonomy the given individual belongs to. Type checks are done with the given ABox which may belong to a copy (or
+	 * a view) of the KB. The taxonomy is not modified so this function can be called concurrently for different individuals.
+	 *
+	 * @param abox ABox used for type checking
+	 * @param x individual to realize
+	 * @return the named classes that are the direct types of the individual
+	 */
+	protected Set<ATermAppl> getDirectTypes(final ABox abox, final ATermAppl x)
 	{
 		final Map<ATermAppl, Boolean> marked = new HashMap<>();
 
 		final List<ATermAppl> obviousTypes = new ArrayList<>();
 		final List<ATermAppl> obviousNonTypes = new ArrayList<>();
 
-		kb.getABox().getObviousTypes(x.getName(), obviousTypes, obviousNonTypes);
+		abox.getObviousTypes(x, obviousTypes, obviousNonTypes);
 
 		for (final ATermAppl c : obviousTypes)
 		{
@@ -1263,10 +1315,14 @@ public class CDOptimizedTaxonomyBuilder implements TaxonomyBuilder
 			mark(taxonomy.getFlattenedSubs(c, /* direct = */true), marked, Boolean.FALSE);
 		}
 
-		realize(x.getName(), ATermUtils.TOP, marked);
+		final Set<ATermAppl> directTypes = new HashSet<>();
+
+		realize(abox, x, ATermUtils.TOP, marked, directTypes);
+
+		return directTypes;
 	}
 
-	private boolean realize(final ATermAppl n, final ATermAppl c, final Map<ATermAppl, Boolean> marked)
+	private boolean realize(final ABox abox, final ATermAppl n, final ATermAppl c, final Map<ATermAppl, Boolean> marked, final Set<ATermAppl> directTypes)
 	{
 		boolean realized = false;
 
@@ -1282,18 +1338,18 @@ public class CDOptimizedTaxonomyBuilder implements TaxonomyBuilder
 			if (log.isLoggable(Level.FINER))
 			{
 				time = System.currentTimeMillis();
-				count = kb.getABox().stats.consistencyCount;
+				count = abox.stats.consistencyCount;
 				log.finer("Type checking for [" + format(n) + ", " + format(c) + "]...");
 			}
 
-			final Timer t = kb.timers.startTimer("classifyType");
-			isType = kb.isType(n, c);
+			final Timer t = abox.getKB().timers.startTimer("classifyType");
+			isType = abox.isType(n, c);
 			t.stop();
 			marked.put(c, isType ? Boolean.TRUE : Boolean.FALSE);
 
 			if (log.isLoggable(Level.FINER))
 			{
-				final String sign = (kb.getABox().stats.consistencyCount > count) ? "+" : "-";
+				final String sign = (abox.stats.consistencyCount > count) ? "+" : "-";
 				time = System.currentTimeMillis() - time;
 				log.finer("done (" + (isType ? "+" : "-") + ") (" + sign + time + "ms)");
 			}
@@ -1306,21 +1362,14 @@ public class CDOptimizedTaxonomyBuilder implements TaxonomyBuilder
 			for (final TaxonomyNode<ATermAppl> sub : node.getSubs())
 			{
 				final ATermAppl d = sub.getName();
-				realized = realize(n, d, marked) || realized;
+				realized = realize(abox, n, d, marked, directTypes) || realized;
 			}
 
 			// this concept is the most specific concept x belongs to
 			// so add it here and return true
 			if (!realized)
 			{
-				@SuppressWarnings("unchecked")
-				Set<ATermAppl> instances = (Set<ATermAppl>) node.getDatum(TaxonomyUtils.INSTANCES_KEY);
-				if (instances == null)
-				{
-					instances = new HashSet<>();
-					node.putDatum(TaxonomyUtils.INSTANCES_KEY, instances);
-				}
-				instances.add(n);
+				directTypes.add(c);
 				realized = true;
 			}
 		}
@@ -1328,6 +1377,23 @@ public class CDOptimizedTaxonomyBuilder implements TaxonomyBuilder
 		return realized;
 	}
 
+	/**
+	 * Record that the individual is a direct instance of the given class in the taxonomy.
+	 */
+	protected void addInstance(final ATermAppl c, final ATermAppl x)
+	{
+		final TaxonomyNode<ATermAppl> node = taxonomy.getNode(c);
+
+		@SuppressWarnings("unchecked")
+		Set<ATermAppl> instances = (Set<ATermAppl>) node.getDatum(TaxonomyUtils.INSTANCES_KEY);
+		if (instances == null)
+		{
+			instances = new HashSet<>();
+			node.putDatum(TaxonomyUtils.INSTANCES_KEY, instances);
+		}
+		instances.add(x);
+	}
+
 	private boolean realizeByConcepts()
 	{
 		monitor.setProgressLength(classes.size() + 2);
@@ -0,0 +1,339 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.taxonomy;
+
+import aterm.ATermAppl;
+import com.clarkparsia.pellet.utils.MultiMapUtils;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import org.mindswap.pellet.ABox;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.PelletOptions;
+import org.mindswap.pellet.tableau.cache.CachedNode;
+import org.mindswap.pellet.tableau.cache.ConceptCache;
+import org.mindswap.pellet.utils.ATermUtils;
+import org.mindswap.pellet.utils.KBWorkerPool;
+import org.mindswap.pellet.utils.KBWorkerPool.KBTask;
+import org.mindswap.pellet.utils.Timer;
+
+/**
+ * <p>
+ * Title: Parallel Taxonomy Builder
+ * </p>
+ * <p>
+ * Description: Taxonomy builder that runs the tableau tests needed for classification on several threads. Classification is done in two phases. First, the
+ * satisfiability of every named concept (and its negation) is checked concurrently and the resulting pseudo models are merged into the _cache of the KB.
+ * Second, concepts are inserted into the taxonomy in definition _order exactly like {@link CDOptimizedTaxonomyBuilder} does, but whenever the top or bottom
+ * search needs to test several sibling nodes the undecided subsumption tests are run concurrently. Only the calling thread modifies the taxonomy and every
+ * tableau test is a logical consequence independent of the _order it is computed in, so the resulting taxonomy is the same as the one computed by the
+ * sequential builder.
+ * </p>
+ * <p>
+ * Each worker thread runs its tests on a private copy of the KB (see {@link KBWorkerPool}).
+ * </p>
+ * <p>
+ * Realization is parallelized by partitioning the _individuals between the workers. Each worker finds the direct types of its _individuals on a read-only
+ * view of the KB, either one individual at a time or by walking down the taxonomy depending on {@link PelletOptions#REALIZE_INDIVIDUAL_AT_A_TIME}, and the
+ * direct types are added to the taxonomy by the calling thread when the worker is done. Direct types of an individual do not depend on the other _individuals
+ * so the result is the same as sequential realization.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class ParallelTaxonomyBuilder extends CDOptimizedTaxonomyBuilder
+{
+	/**
+	 * Minimum number of undecided sibling tests to justify dispatching them to the workers
+	 */
+	private static final int MIN_PREFETCH_SIZE = 2;
+
+	/**
+	 * Number of satisfiability tasks created per worker in the first phase. Using more tasks than workers balances the load when some concepts are much harder
+	 * than others.
+	 */
+	private static final int TASKS_PER_WORKER = 8;
+
+	private KBWorkerPool _pool;
+
+	/**
+	 * Subsumption results computed by the workers but not yet consumed by the search. The key is the <code>subClassOf(sub, sup)</code> term.
+	 */
+	private final Map<ATermAppl, Boolean> _prefetched = new HashMap<>();
+
+	public ParallelTaxonomyBuilder()
+	{
+		super();
+	}
+
+	@Override
+	public boolean classify()
+	{
+		final int threads = PelletOptions.PARALLEL_REASONING_THREADS;
+		final Collection<ATermAppl> concepts = kb.getClasses();
+
+		if (!PelletOptions.USE_PARALLEL_CLASSIFICATION || threads < 2 || concepts.size() < threads)
+			return super.classify();
+
+		// without nominals concept satisfiability never looks at the
+		// individuals so the workers do not need a copy of them
+		final boolean emptyABox = !kb.getExpressivity().hasNominal() || PelletOptions.USE_PSEUDO_NOMINALS;
+
+		_pool = new KBWorkerPool(kb, threads, emptyABox);
+		try
+		{
+			computeSatisfiability(concepts);
+
+			return super.classify();
+		}
+		finally
+		{
+			_pool.close();
+			_pool = null;
+			_prefetched.clear();
+		}
+	}
+
+	/**
+	 * Check the satisfiability of all the given concepts and their negations concurrently and copy the cached results to the _cache of the KB.
+	 */
+	private void computeSatisfiability(final Collection<ATermAppl> concepts)
+	{
+		final Timer t = kb.timers.startTimer("parallelSat");
+
+		final List<ATermAppl> list = new ArrayList<>(concepts);
+		final int chunkSize = Math.max(1, list.size() / (_pool.size() * TASKS_PER_WORKER));
+
+		final List<KBTask<Void>> tasks = new ArrayList<>();
+		for (int i = 0; i < list.size(); i += chunkSize)
+		{
+			final List<ATermAppl> chunk = list.subList(i, Math.min(i + chunkSize, list.size()));
+			tasks.add(worker ->
+			{
+				final ABox abox = worker.getABox();
+				for (final ATermAppl c : chunk)
+				{
+					abox.isSatisfiable(c, true);
+
+					if (PelletOptions.USE_CACHING)
+						abox.isSatisfiable(ATermUtils.makeNot(c), true);
+				}
+				return null;
+			});
+		}
+
+		_pool.invokeAll(tasks);
+
+		final ABox abox = kb.getABox();
+		final ConceptCache cache = abox.getCache();
+		for (final KnowledgeBase worker : _pool.getWorkers())
+		{
+			// workers share a concurrent _cache with the KB so there is nothing to merge
+			if (worker.getABox().getCache() != cache)
+				for (final Map.Entry<ATermAppl, CachedNode> entry : worker.getABox().getCache().entrySet())
+					if (!cache.containsKey(entry.getKey()))
+						cache.put(entry.getKey(), entry.getValue());
+
+			abox.stats.satisfiabilityCount += worker.getABox().stats.satisfiabilityCount;
+		}
+
+		t.stop();
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("Parallel satisfiability for " + list.size() + " concepts with " + _pool.size() + " workers (" + t.getLast() + "ms)");
+	}
+
+	@Override
+	protected void prefetchSubsumptions(final boolean topSearch, final ATermAppl c, final Collection<TaxonomyNode<ATermAppl>> candidates)
+	{
+		if (_pool == null || candidates.size() < MIN_PREFETCH_SIZE)
+			return;
+
+		final ABox abox = kb.getABox();
+		final List<ATermAppl> tests = new ArrayList<>();
+		for (final TaxonomyNode<ATermAppl> node : candidates)
+		{
+			if (node.mark != null || hasFalseMark(topSearch ? node.getSupers() : node.getSubs()))
+				continue;
+
+			final ATermAppl sub = topSearch ? c : node.getName();
+			final ATermAppl sup = topSearch ? node.getName() : c;
+			final ATermAppl test = ATermUtils.makeSub(sub, sup);
+			if (_prefetched.containsKey(test) || abox.isKnownSubClassOf(sub, sup).isKnown())
+				continue;
+
+			tests.add(test);
+		}
+
+		if (tests.size() < MIN_PREFETCH_SIZE)
+			return;
+
+		final Timer t = kb.timers.startTimer("parallelSub");
+
+		final List<KBTask<Boolean>> tasks = new ArrayList<>(tests.size());
+		for (final ATermAppl test : tests)
+			tasks.add(worker -> worker.getABox().isSubClassOf((ATermAppl) test.getArgument(0), (ATermAppl) test.getArgument(1)));
+
+		final List<Boolean> results = _pool.invokeAll(tasks);
+		for (int i = 0; i < tests.size(); i++)
+			_prefetched.put(tests.get(i), results.get(i));
+
+		t.stop();
+	}
+
+	@Override
+	public boolean realize()
+	{
+		final int threads = PelletOptions.PARALLEL_REASONING_THREADS;
+		final List<ATermAppl> individuals = new ArrayList<>(kb.getIndividuals());
+
+		if (!PelletOptions.USE_PARALLEL_REALIZATION || threads < 2 || individuals.size() < threads)
+			return super.realize();
+
+		monitor.setProgressTitle("Realizing");
+		monitor.setProgressLength(individuals.size());
+		monitor.taskStarted();
+
+		final Timer t = kb.timers.startTimer("parallelRealize");
+		try (final KBWorkerPool pool = new KBWorkerPool(kb, threads))
+		{
+			final int chunkSize = Math.max(1, individuals.size() / (pool.size() * TASKS_PER_WORKER));
+
+			final List<Future<Map<ATermAppl, Set<ATermAppl>>>> futures = new ArrayList<>();
+			for (int i = 0; i < individuals.size(); i += chunkSize)
+			{
+				final List<ATermAppl> chunk = individuals.subList(i, Math.min(i + chunkSize, individuals.size()));
+				futures.add(pool.submit(worker -> PelletOptions.REALIZE_INDIVIDUAL_AT_A_TIME ? realizeByIndividuals(worker, chunk) : realizeByConcepts(worker, chunk)));
+			}
+
+			int progress = 0;
+			for (int i = 0; i < futures.size(); i++)
+			{
+				final Map<ATermAppl, Set<ATermAppl>> directInstances = KBWorkerPool.get(futures.get(i));
+
+				for (final Map.Entry<ATermAppl, Set<ATermAppl>> entry : directInstances.entrySet())
+					for (final ATermAppl x : entry.getValue())
+						addInstance(entry.getKey(), x);
+
+				progress = Math.min(progress + chunkSize, individuals.size());
+				monitor.setProgress(progress);
+
+				if (monitor.isCanceled())
+				{
+					for (int j = i + 1; j < futures.size(); j++)
+						futures.get(j).cancel(false);
+					pool.interrupt();
+
+					return false;
+				}
+			}
+		}
+		finally
+		{
+			t.stop();
+		}
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("Parallel realization for " + individuals.size() + " individuals with " + threads + " workers (" + t.getLast() + "ms)");
+
+		monitor.taskFinished();
+
+		return true;
+	}
+
+	/**
+	 * Find the direct types of the given _individuals one individual at a time. Returns the direct _instances of each class.
+	 */
+	private Map<ATermAppl, Set<ATermAppl>> realizeByIndividuals(final KnowledgeBase worker, final List<ATermAppl> individuals)
+	{
+		final Map<ATermAppl, Set<ATermAppl>> directInstances = new HashMap<>();
+		for (final ATermAppl x : individuals)
+			for (final ATermAppl c : getDirectTypes(worker.getABox(), x))
+				MultiMapUtils.add(directInstances, c, x);
+
+		return directInstances;
+	}
+
+	/**
+	 * Find the direct types of the given _individuals by retrieving the _instances of each class starting from the top of the taxonomy. Returns the direct
+	 * _instances of each class.
+	 */
+	private Map<ATermAppl, Set<ATermAppl>> realizeByConcepts(final KnowledgeBase worker, final List<ATermAppl> individuals)
+	{
+		final Map<ATermAppl, Set<ATermAppl>> directInstances = new HashMap<>();
+
+		realizeByConcept(worker, ATermUtils.TOP, new HashSet<>(individuals), new HashMap<ATermAppl, Set<ATermAppl>>(), directInstances);
+
+		return directInstances;
+	}
+
+	private Set<ATermAppl> realizeByConcept(final KnowledgeBase worker, final ATermAppl c, final Set<ATermAppl> individuals, final Map<ATermAppl, Set<ATermAppl>> visited, final Map<ATermAppl, Set<ATermAppl>> directInstances)
+	{
+		if (c.equals(ATermUtils.BOTTOM))
+			return Collections.emptySet();
+
+		// a concept reached through a different parent has already been
+		// processed, all its instances are among the instances of this parent
+		Set<ATermAppl> instances = visited.get(c);
+		if (instances != null)
+			return instances;
+
+		instances = new HashSet<>(worker.retrieve(c, individuals));
+		// retrieval returns every individual in the KB if the concept is
+		// equivalent to TOP so restrict the result to this partition
+		instances.retainAll(individuals);
+		visited.put(c, instances);
+
+		if (!instances.isEmpty())
+		{
+			final Set<ATermAppl> mostSpecificInstances = new HashSet<>(instances);
+			for (final TaxonomyNode<ATermAppl> sub : taxonomy.getNode(c).getSubs())
+				mostSpecificInstances.removeAll(realizeByConcept(worker, sub.getName(), instances, visited, directInstances));
+
+			if (!mostSpecificInstances.isEmpty())
+				directInstances.put(c, mostSpecificInstances);
+		}
+
+		return instances;
+	}
+
+	/**
+	 * A node with a relative marked false will be decided by propagating that mark so there is no need to run a test for it.
+	 */
+	private static boolean hasFalseMark(final Collection<TaxonomyNode<ATermAppl>> nodes)
+	{
+		for (final TaxonomyNode<ATermAppl> node : nodes)
+			if (Boolean.FALSE.equals(node.mark))
+				return true;
+
+		return false;
+	}
+
+	@Override
+	protected boolean isSubClassOf(final ATermAppl sub, final ATermAppl sup)
+	{
+		if (!_prefetched.isEmpty())
+		{
+			final Boolean result = _prefetched.remove(ATermUtils.makeSub(sub, sup));
+			if (result != null)
+				return result.booleanValue();
+		}
+
+		return super.isSubClassOf(sub, sup);
+	}
+}
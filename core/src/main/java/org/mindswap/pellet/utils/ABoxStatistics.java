@@ -0,0 +1,220 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public
+// License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of
+// proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.utils;
+
+import aterm.ATermAppl;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Title: ABox Statistics
+ * </p>
+ * <p>
+ * Description: Counts of the asserted types and property values of a KB that are updated as the assertions are added and removed. For each class the number
+ * of asserted instances is kept and for each property the number of asserted values of each subject and the number of asserted subjects of each object,
+ * which give the fan-out and fan-in distributions of the property as well as its distinct subject and object counts. {@link SizeEstimate} uses these
+ * counts instead of sampling the individuals when {@link org.mindswap.pellet.PelletOptions#USE_ABOX_STATISTICS} is set. An assertion added several times
+ * is counted several times.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class ABoxStatistics
+{
+	private static class PropertyStatistics
+	{
+		private int _pairs;
+
+		/**
+		 * Number of values of each subject
+		 */
+		private final Map<ATermAppl, Integer> _fanOut = new HashMap<>();
+
+		/**
+		 * Number of subjects of each object
+		 */
+		private final Map<ATermAppl, Integer> _fanIn = new HashMap<>();
+
+		private PropertyStatistics()
+		{
+		}
+
+		private PropertyStatistics(final PropertyStatistics other)
+		{
+			_pairs = other._pairs;
+			_fanOut.putAll(other._fanOut);
+			_fanIn.putAll(other._fanIn);
+		}
+	}
+
+	/**
+	 * Number of asserted instances of each class
+	 */
+	private final Map<ATermAppl, Integer> _instances;
+
+	/**
+	 * Number of asserted types of each individual
+	 */
+	private final Map<ATermAppl, Integer> _types;
+
+	private final Map<ATermAppl, PropertyStatistics> _properties;
+
+	public ABoxStatistics()
+	{
+		_instances = new HashMap<>();
+		_types = new HashMap<>();
+		_properties = new HashMap<>();
+	}
+
+	public ABoxStatistics(final ABoxStatistics other)
+	{
+		_instances = new HashMap<>(other._instances);
+		_types = new HashMap<>(other._types);
+		_properties = new HashMap<>();
+		for (final Map.Entry<ATermAppl, PropertyStatistics> entry : other._properties.entrySet())
+			_properties.put(entry.getKey(), new PropertyStatistics(entry.getValue()));
+	}
+
+	private static void increment(final Map<ATermAppl, Integer> counts, final ATermAppl term)
+	{
+		final Integer count = counts.get(term);
+		counts.put(term, count == null ? 1 : count + 1);
+	}
+
+	private static void decrement(final Map<ATermAppl, Integer> counts, final ATermAppl term)
+	{
+		final Integer count = counts.get(term);
+		if (count == null)
+			return;
+
+		if (count == 1)
+			counts.remove(term);
+		else
+			counts.put(term, count - 1);
+	}
+
+	private static int count(final Map<ATermAppl, Integer> counts, final ATermAppl term)
+	{
+		final Integer count = counts.get(term);
+		return count == null ? 0 : count;
+	}
+
+	public void addType(final ATermAppl ind, final ATermAppl c)
+	{
+		increment(_instances, c);
+		increment(_types, ind);
+	}
+
+	public void removeType(final ATermAppl ind, final ATermAppl c)
+	{
+		decrement(_instances, c);
+		decrement(_types, ind);
+	}
+
+	public void addPropertyValue(final ATermAppl p, final ATermAppl s, final ATermAppl o)
+	{
+		PropertyStatistics stats = _properties.get(p);
+		if (stats == null)
+		{
+			stats = new PropertyStatistics();
+			_properties.put(p, stats);
+		}
+
+		stats._pairs++;
+		increment(stats._fanOut, s);
+		increment(stats._fanIn, o);
+	}
+
+	public void removePropertyValue(final ATermAppl p, final ATermAppl s, final ATermAppl o)
+	{
+		final PropertyStatistics stats = _properties.get(p);
+		if (stats == null || !stats._fanOut.containsKey(s) || !stats._fanIn.containsKey(o))
+			return;
+
+		stats._pairs--;
+		decrement(stats._fanOut, s);
+		decrement(stats._fanIn, o);
+
+		if (stats._pairs == 0)
+			_properties.remove(p);
+	}
+
+	public void clear()
+	{
+		_instances.clear();
+		_types.clear();
+		_properties.clear();
+	}
+
+	/**
+	 * Returns the number of asserted instances of the class.
+	 */
+	public int getInstanceCount(final ATermAppl c)
+	{
+		return count(_instances, c);
+	}
+
+	/**
+	 * Returns the number of asserted types of the individual.
+	 */
+	public int getTypeCount(final ATermAppl ind)
+	{
+		return count(_types, ind);
+	}
+
+	/**
+	 * Returns the number of asserted values of the property.
+	 */
+	public int getPairCount(final ATermAppl p)
+	{
+		final PropertyStatistics stats = _properties.get(p);
+		return stats == null ? 0 : stats._pairs;
+	}
+
+	/**
+	 * Returns the number of distinct subjects with an asserted value for the property.
+	 */
+	public int getSubjectCount(final ATermAppl p)
+	{
+		final PropertyStatistics stats = _properties.get(p);
+		return stats == null ? 0 : stats._fanOut.size();
+	}
+
+	/**
+	 * Returns the number of distinct asserted values of the property.
+	 */
+	public int getObjectCount(final ATermAppl p)
+	{
+		final PropertyStatistics stats = _properties.get(p);
+		return stats == null ? 0 : stats._fanIn.size();
+	}
+
+	/**
+	 * Returns the number of asserted values of the property for the subject.
+	 */
+	public int getFanOut(final ATermAppl p, final ATermAppl s)
+	{
+		final PropertyStatistics stats = _properties.get(p);
+		return stats == null ? 0 : count(stats._fanOut, s);
+	}
+
+	/**
+	 * Returns the number of subjects with the object as an asserted value of the property.
+	 */
+	public int getFanIn(final ATermAppl p, final ATermAppl o)
+	{
+		final PropertyStatistics stats = _properties.get(p);
+		return stats == null ? 0 : count(stats._fanIn, o);
+	}
+}
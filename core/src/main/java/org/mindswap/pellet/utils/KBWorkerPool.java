@@ -0,0 +1,310 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.mindswap.pellet.ABox;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.exceptions.InternalReasonerException;
+import org.mindswap.pellet.tableau.cache.ConceptCache;
+import org.mindswap.pellet.tableau.cache.ConceptCacheLRU;
+import org.mindswap.pellet.tableau.cache.ConcurrentConceptCache;
+import org.mindswap.pellet.tableau.cache.SynchronizedConceptCache;
+
+/**
+ * <p>
+ * Title: KB Worker Pool
+ * </p>
+ * <p>
+ * Description: A fixed size pool of threads where each thread runs its tasks against a private copy of a knowledge base. The copies share the TBox and RBox
+ * of the original KB (which are not modified after preparation) but each one has its own ABox, satisfiability _cache and timers so tableau completions run
+ * on different threads never touch the same mutable state. The original KB is only read when the copies are created, which happens on the calling thread
+ * when the pool is constructed.
+ * </p>
+ * <p>
+ * Alternatively, the workers can use read-only views of the KB (see {@link KnowledgeBase#createView()}) which share the ABox and the satisfiability _cache
+ * with the original KB instead of copying them. This requires much less memory for large ABoxes but the original KB should not be used by the calling thread
+ * while tasks are running.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class KBWorkerPool implements AutoCloseable
+{
+	public final static Logger log = Logger.getLogger(KBWorkerPool.class.getName());
+
+	/**
+	 * A unit of work executed against one of the worker KBs.
+	 */
+	public interface KBTask<T>
+	{
+		public T call(KnowledgeBase kb);
+	}
+
+	private static final AtomicInteger _poolCount = new AtomicInteger();
+
+	private final KnowledgeBase _kb;
+
+	private final List<KnowledgeBase> _workers;
+
+	private final BlockingQueue<KnowledgeBase> _idleWorkers;
+
+	private final ExecutorService _executor;
+
+	/**
+	 * The original _cache of the KB if it has been replaced by a synchronized _cache for the views, <code>null</code> otherwise
+	 */
+	private ConceptCache _unsynchronizedCache;
+
+	/**
+	 * Create a pool with the given number of worker threads.
+	 *
+	 * @param kb the KB whose copies will be used by the workers, it should already be prepared and consistency checked
+	 * @param threads number of threads (and KB copies)
+	 * @param emptyABox if <code>true</code> the workers will not get a copy of the individuals in the ABox which is enough for concept satisfiability and
+	 *        subsumption tests in KBs without nominals
+	 */
+	public KBWorkerPool(final KnowledgeBase kb, final int threads, final boolean emptyABox)
+	{
+		this(kb, threads, emptyABox, false);
+	}
+
+	/**
+	 * Create a pool with the given number of worker threads where each worker uses a read-only view of the KB. The satisfiability _cache of the KB is
+	 * synchronized until the pool is closed.
+	 *
+	 * @param kb the KB whose views will be used by the workers, it should already be prepared and consistency checked
+	 * @param threads number of threads (and KB views)
+	 */
+	public KBWorkerPool(final KnowledgeBase kb, final int threads)
+	{
+		this(kb, threads, false, true);
+	}
+
+	private KBWorkerPool(final KnowledgeBase kb, final int threads, final boolean emptyABox, final boolean useViews)
+	{
+		if (threads < 1)
+			throw new IllegalArgumentException("Number of threads should be positive: " + threads);
+
+		_kb = kb;
+		_workers = new ArrayList<>(threads);
+		_idleWorkers = new ArrayBlockingQueue<>(threads);
+
+		if (useViews)
+		{
+			final ABox abox = kb.getABox();
+			final ConceptCache cache = abox.getCache();
+			if (!(cache instanceof SynchronizedConceptCache || cache instanceof ConcurrentConceptCache))
+			{
+				_unsynchronizedCache = cache;
+				abox.setCache(new SynchronizedConceptCache(cache));
+			}
+		}
+
+		final Timer t = kb.timers.startTimer("createWorkers");
+		for (int i = 0; i < threads; i++)
+		{
+			final KnowledgeBase worker = useViews ? kb.createView() : createWorker(emptyABox);
+			_workers.add(worker);
+			_idleWorkers.add(worker);
+		}
+		t.stop();
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("Created " + threads + " workers in " + t.getLast() + "ms");
+
+		final int poolId = _poolCount.incrementAndGet();
+		_executor = Executors.newFixedThreadPool(threads, new ThreadFactory()
+		{
+			private final AtomicInteger _threadCount = new AtomicInteger();
+
+			@Override
+			public Thread newThread(final Runnable r)
+			{
+				final Thread thread = new Thread(r, "pellet-worker-" + poolId + "-" + _threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	private KnowledgeBase createWorker(final boolean emptyABox)
+	{
+		final KnowledgeBase worker = _kb.copy(emptyABox);
+
+		// each worker gets its own timers but inherits the timeout of the main
+		// timer so the workers cannot run longer than the original KB would
+		final Timers timers = new Timers();
+		timers.createTimer("preprocessing");
+		timers.createTimer("consistency");
+		timers.createTimer("complete");
+		timers.mainTimer.setTimeout(_kb.timers.mainTimer.getTimeout());
+		worker.timers = timers;
+
+		// the copy shares the _cache and the disjunction stats with the
+		// original ABox, replace them with private copies unless the _cache
+		// is thread-safe in which case the workers share the cached models
+		final ABox abox = worker.getABox();
+		if (!(_kb.getABox().getCache() instanceof ConcurrentConceptCache))
+		{
+			final ConceptCache cache = new ConceptCacheLRU(worker, _kb.getABox().getCache().getMaxSize());
+			cache.putAll(_kb.getABox().getCache());
+			abox.setCache(cache);
+		}
+		abox.setDisjBranchStats(new HashMap<>(_kb.getABox().getDisjBranchStats()));
+
+		return worker;
+	}
+
+	/**
+	 * Returns the KB copies used by the workers. The returned KBs should only be accessed when no task is running, e.g. to collect the results cached in their
+	 * ABoxes after {@link #invokeAll(Collection)} returns.
+	 */
+	public List<KnowledgeBase> getWorkers()
+	{
+		return Collections.unmodifiableList(_workers);
+	}
+
+	public int size()
+	{
+		return _workers.size();
+	}
+
+	/**
+	 * Submit a task to be executed by the next available worker.
+	 */
+	public <T> Future<T> submit(final KBTask<T> task)
+	{
+		return _executor.submit(wrap(task));
+	}
+
+	/**
+	 * Execute all the given tasks and wait until they are finished. The results are returned in the iteration _order of the tasks. If any of the tasks fail
+	 * the exception is propagated to the caller after all the other tasks are finished.
+	 */
+	public <T> List<T> invokeAll(final Collection<? extends KBTask<T>> tasks)
+	{
+		final List<Callable<T>> callables = new ArrayList<>(tasks.size());
+		for (final KBTask<T> task : tasks)
+			callables.add(wrap(task));
+
+		try
+		{
+			final List<Future<T>> futures = _executor.invokeAll(callables);
+			final List<T> results = new ArrayList<>(futures.size());
+			for (final Future<T> future : futures)
+				results.add(get(future));
+			return results;
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InternalReasonerException(e);
+		}
+	}
+
+	/**
+	 * Wait for the result of a task submitted to this pool, unwrapping runtime exceptions (such as timeouts) thrown by the task.
+	 */
+	public static <T> T get(final Future<T> future)
+	{
+		try
+		{
+			return future.get();
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InternalReasonerException(e);
+		}
+		catch (final ExecutionException e)
+		{
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new InternalReasonerException(cause);
+		}
+	}
+
+	private <T> Callable<T> wrap(final KBTask<T> task)
+	{
+		return () ->
+		{
+			final KnowledgeBase worker = _idleWorkers.take();
+			try
+			{
+				return task.call(worker);
+			}
+			finally
+			{
+				_idleWorkers.add(worker);
+			}
+		};
+	}
+
+	/**
+	 * Interrupt the tasks currently running on the workers. The interrupted tasks will fail with a
+	 * {@link org.mindswap.pellet.exceptions.TimerInterruptedException} the next time they check their timers.
+	 */
+	public void interrupt()
+	{
+		for (final KnowledgeBase worker : _workers)
+			worker.timers.interrupt();
+	}
+
+	/**
+	 * Stop the worker threads. Tasks that have already been submitted will still be executed. If the workers are views of the KB this function waits until
+	 * all the tasks are finished before restoring the original _cache of the KB.
+	 */
+	@Override
+	public void close()
+	{
+		_executor.shutdown();
+
+		if (_unsynchronizedCache != null)
+		{
+			try
+			{
+				while (!_executor.awaitTermination(1, TimeUnit.SECONDS))
+					if (log.isLoggable(Level.FINE))
+						log.fine("Waiting for the workers to finish");
+			}
+			catch (final InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new InternalReasonerException(e);
+			}
+			finally
+			{
+				_kb.getABox().setCache(_unsynchronizedCache);
+				_unsynchronizedCache = null;
+			}
+		}
+	}
+}
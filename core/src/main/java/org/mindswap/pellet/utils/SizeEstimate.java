@@ -9,8 +9,10 @@
 package org.mindswap.pellet.utils;
 
 import aterm.ATermAppl;
+import aterm.ATermList;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -130,6 +132,11 @@ public class SizeEstimate
 
 	private Map<ATermAppl, Integer> inverses;
 
+	/**
+	 * The properties whose asserted values are counted for each property when {@link PelletOptions#USE_ABOX_STATISTICS} is set
+	 */
+	private Map<ATermAppl, Set<ATermAppl>> assertedProperties;
+
 	private double avgClassesPI;
 
 	private double avgDirectClassesPI;
@@ -214,6 +221,7 @@ public class SizeEstimate
 		disjoints = new HashMap<>();
 		complements = new HashMap<>();
 		inverses = new HashMap<>();
+		assertedProperties = new HashMap<>();
 
 		subProperties = new HashMap<>();
 		directSubProperties = new HashMap<>();
@@ -422,6 +430,13 @@ public class SizeEstimate
 			inverses.put(p, _kb.getInverses(p).size());
 		}
 
+		if (PelletOptions.USE_ABOX_STATISTICS)
+		{
+			countAssertions(_kb.getABoxStatistics(), concepts, properties, taxonomy, pSubj, pObj);
+			computeAverages(properties, pSubj, pObj, 1, timer);
+			return;
+		}
+
 		for (final ATermAppl ind : _kb.getIndividuals())
 		{
 			if (!_kb.isIndividual(ind))
@@ -558,13 +573,21 @@ public class SizeEstimate
 			}
 		}
 
+		computeAverages(properties, pSubj, pObj, PelletOptions.SAMPLING_RATIO, timer);
+	}
+
+	/**
+	 * Scales the property value counts by the sampling ratio and computes the averages of all the counts.
+	 */
+	private void computeAverages(final Collection<ATermAppl> properties, final Map<ATermAppl, Integer> pSubj, final Map<ATermAppl, Integer> pObj, final double samplingRatio, final Timer timer)
+	{
 		for (final ATermAppl p : properties)
 		{
 			final int size = size(p);
 			if (size == 0)
 				pairsPP.put(p, 1);
 			else
-				pairsPP.put(p, (int) (size / PelletOptions.SAMPLING_RATIO));
+				pairsPP.put(p, (int) (size / samplingRatio));
 
 			final Role role = _kb.getRBox().getRole(p);
 			final ATermAppl invP = (role.getInverse() != null) ? role.getInverse().getName() : null;
@@ -631,6 +654,132 @@ public class SizeEstimate
 		}
 	}
 
+	/**
+	 * Sets the instance, type and property value counts from the asserted types and property values instead of sampling the individuals. Values of sub
+	 * properties and instances of sub classes are counted too, where the sub classes are the ones in the taxonomy together with the ones told by the TBox
+	 * axioms since the told taxonomy of the EL classifier does not have them.
+	 */
+	private void countAssertions(final ABoxStatistics statistics, final Collection<ATermAppl> concepts, final Collection<ATermAppl> properties, final Taxonomy<ATermAppl> taxonomy, final Map<ATermAppl, Integer> pSubj, final Map<ATermAppl, Integer> pObj)
+	{
+		if (!_kb.isRealized())
+		{
+			final MultiValueMap<ATermAppl, ATermAppl> toldSubs = getToldSubClasses();
+			for (final ATermAppl c : concepts)
+			{
+				final Set<ATermAppl> subs = new HashSet<>();
+				if (taxonomy.contains(c))
+				{
+					subs.addAll(taxonomy.getFlattenedSubs(c, false));
+					subs.addAll(taxonomy.getAllEquivalents(c));
+				}
+				subs.add(c);
+
+				// told sub classes of the sub classes
+				final List<ATermAppl> stack = new ArrayList<>(subs);
+				while (!stack.isEmpty())
+				{
+					final Set<ATermAppl> told = toldSubs.get(stack.remove(stack.size() - 1));
+					if (told != null)
+						for (final ATermAppl sub : told)
+							if (subs.add(sub))
+								stack.add(sub);
+				}
+
+				int size = 0;
+				for (final ATermAppl sub : subs)
+					size += statistics.getInstanceCount(sub);
+
+				instancesPC.put(c, Math.max(size, 1));
+				directInstancesPC.put(c, Math.max(statistics.getInstanceCount(c), 1));
+			}
+		}
+
+		for (final ATermAppl ind : _kb.getIndividuals())
+		{
+			if (!_kb.isIndividual(ind))
+				continue;
+
+			sames.put(ind, 1); // TODO
+			differents.put(ind, iCount); // TODO
+
+			if (classesPI.containsKey(ind))
+				continue;
+
+			if (_kb.isRealized())
+			{
+				classesPI.put(ind, _kb.getTypes(ind).size());
+				directClassesPI.put(ind, _kb.getTypes(ind, true).size());
+			}
+			else
+			{
+				final int size = Math.max(statistics.getTypeCount(ind), 1);
+				classesPI.put(ind, size);
+				directClassesPI.put(ind, size);
+			}
+		}
+
+		for (final ATermAppl p : properties)
+		{
+			final Set<ATermAppl> subs = new HashSet<>(_kb.getEquivalentProperties(p));
+			subs.add(p);
+			for (final Set<ATermAppl> eqs : _kb.getSubProperties(p))
+				subs.addAll(eqs);
+			assertedProperties.put(p, subs);
+
+			int pairs = 0;
+			int subjects = 0;
+			int objects = 0;
+			for (final ATermAppl sub : subs)
+			{
+				pairs += statistics.getPairCount(sub);
+				subjects += statistics.getSubjectCount(sub);
+				objects += statistics.getObjectCount(sub);
+			}
+
+			pairsPP.put(p, pairs);
+			pSubj.put(p, subjects);
+			pObj.put(p, objects);
+		}
+
+		if (!computed)
+		{
+			avgClassesPI = average(classesPI.values());
+			avgDirectClassesPI = average(directClassesPI.values());
+		}
+	}
+
+	/**
+	 * Returns the named classes that are told to be direct sub classes of each named class by the TBox axioms.
+	 */
+	private MultiValueMap<ATermAppl, ATermAppl> getToldSubClasses()
+	{
+		final MultiValueMap<ATermAppl, ATermAppl> toldSubs = new MultiValueMap<>();
+		for (final ATermAppl axiom : _kb.getTBox().getAxioms())
+		{
+			final ATermAppl c1 = (ATermAppl) axiom.getArgument(0);
+			final ATermAppl c2 = (ATermAppl) axiom.getArgument(1);
+			if (!ATermUtils.isPrimitive(c1))
+				continue;
+
+			if (ATermUtils.isPrimitive(c2))
+			{
+				toldSubs.add(c2, c1);
+				if (axiom.getAFun().equals(ATermUtils.EQCLASSFUN))
+					toldSubs.add(c1, c2);
+			}
+			else
+				if (ATermUtils.isAnd(c2))
+					for (ATermList list = (ATermList) c2.getArgument(0); !list.isEmpty(); list = list.getNext())
+					{
+						final ATermAppl conj = (ATermAppl) list.getFirst();
+						if (ATermUtils.isPrimitive(conj))
+							toldSubs.add(conj, c1);
+					}
+		}
+
+		return toldSubs;
+	}
+
 	@SuppressWarnings("unused")
 	private void printStatistics()
 	{
@@ -718,6 +867,38 @@ public class SizeEstimate
 		return avgObjectsPP.get(pred);
 	}
 
+	/**
+	 * Returns the number of asserted values of the property, or of its sub properties, for the subject. Only available when
+	 * {@link PelletOptions#USE_ABOX_STATISTICS} is set.
+	 */
+	public double valuesPerSubject(final ATermAppl pred, final ATermAppl subject)
+	{
+		if (!assertedProperties.containsKey(pred))
+			compute(EMPTY_SET, Collections.singleton(pred));
+
+		int size = 0;
+		for (final ATermAppl p : assertedProperties.get(pred))
+			size += _kb.getABoxStatistics().getFanOut(p, subject);
+
+		return Math.max(size, 1);
+	}
+
+	/**
+	 * Returns the number of subjects that have the object as an asserted value of the property, or of its sub properties. Only available when
+	 * {@link PelletOptions#USE_ABOX_STATISTICS} is set.
+	 */
+	public double subjectsPerValue(final ATermAppl pred, final ATermAppl object)
+	{
+		if (!assertedProperties.containsKey(pred))
+			compute(EMPTY_SET, Collections.singleton(pred));
+
+		int size = 0;
+		for (final ATermAppl p : assertedProperties.get(pred))
+			size += _kb.getABoxStatistics().getFanIn(p, object);
+
+		return Math.max(size, 1);
+	}
+
 	public int getClassCount()
 	{
 		return cCount;
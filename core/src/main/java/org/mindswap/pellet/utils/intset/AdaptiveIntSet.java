@@ -0,0 +1,506 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.utils.intset;
+
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * Title: Adaptive IntSet
+ * </p>
+ * <p>
+ * Description: IntSet implementation that switches its representation based on the density of the values. Small or sparse sets are stored in a sorted array
+ * like {@link ArrayIntSet}. Once the set grows large enough and the values are dense enough that a bit set would not use more memory than the array, the
+ * values are moved to a {@link BitSet} so that unions are computed word by word instead of merging arrays. If the set shrinks again the values are moved back
+ * to an array. Negative values are only supported in the array representation.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class AdaptiveIntSet implements IntSet
+{
+	/**
+	 * Minimum number of elements before the bit set representation is considered
+	 */
+	private static final int MIN_BITS_SIZE = 64;
+
+	/**
+	 * Number of elements below which a bit set is converted back to an array. This is lower than {@link #MIN_BITS_SIZE} so that a set whose size is around the
+	 * threshold is not converted back and forth.
+	 */
+	private static final int MAX_ARRAY_SIZE = MIN_BITS_SIZE / 2;
+
+	private static final int[] EMPTY = new int[0];
+
+	/**
+	 * Sorted values if the array representation is used, <code>null</code> otherwise
+	 */
+	private int[] _ints;
+
+	/**
+	 * Values if the bit set representation is used, <code>null</code> otherwise
+	 */
+	private BitSet _bits;
+
+	private int _size;
+
+	public AdaptiveIntSet()
+	{
+		_ints = EMPTY;
+		_bits = null;
+		_size = 0;
+	}
+
+	public AdaptiveIntSet(final AdaptiveIntSet other)
+	{
+		if (other._bits == null)
+		{
+			_ints = new int[other._size];
+			System.arraycopy(other._ints, 0, _ints, 0, other._size);
+		}
+		else
+			_bits = (BitSet) other._bits.clone();
+
+		_size = other._size;
+	}
+
+	/**
+	 * Returns <code>true</code> if the values are stored in a bit set. Used for testing.
+	 */
+	boolean isBitSet()
+	{
+		return _bits != null;
+	}
+
+	/**
+	 * A bit set is used if there are enough elements and the bit set would not need more words than the number of elements, i.e. the array would use at least
+	 * half the memory of the bit set.
+	 */
+	private static boolean useBits(final int size, final int min, final int max)
+	{
+		return size >= MIN_BITS_SIZE && min >= 0 && (max >>> 6) < size;
+	}
+
+	private void toBits()
+	{
+		final BitSet bits = new BitSet(_ints[_size - 1] + 1);
+		for (int i = 0; i < _size; i++)
+			bits.set(_ints[i]);
+
+		_bits = bits;
+		_ints = null;
+	}
+
+	private void toInts()
+	{
+		final int[] ints = new int[_size];
+		for (int i = 0, value = _bits.nextSetBit(0); value >= 0; value = _bits.nextSetBit(value + 1))
+			ints[i++] = value;
+
+		_ints = ints;
+		_bits = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(final int value)
+	{
+		if (_bits != null)
+		{
+			// values that would make the bit set too sparse (or negative
+			// values) move the set back to the array representation
+			if (value >= 0 && (value >>> 6) < 2 * (_size + 1))
+			{
+				if (!_bits.get(value))
+				{
+					_bits.set(value);
+					_size++;
+				}
+				return;
+			}
+
+			if (contains(value))
+				return;
+
+			toInts();
+		}
+
+		int index = binarySearch(_ints, _size, value);
+		if (index >= 0)
+			return;
+
+		index = -index - 1;
+		if (_size == _ints.length)
+		{
+			final int[] ints = new int[(_size * 3) / 2 + 1];
+			System.arraycopy(_ints, 0, ints, 0, index);
+			System.arraycopy(_ints, index, ints, index + 1, _size - index);
+			_ints = ints;
+		}
+		else
+			if (index < _size)
+				System.arraycopy(_ints, index, _ints, index + 1, _size - index);
+		_ints[index] = value;
+		_size++;
+
+		if (useBits(_size, _ints[0], _ints[_size - 1]))
+			toBits();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addAll(final IntSet values)
+	{
+		if (values.isEmpty())
+			return;
+
+		if (values instanceof AdaptiveIntSet)
+			addAll((AdaptiveIntSet) values);
+		else
+		{
+			final IntIterator i = values.iterator();
+			while (i.hasNext())
+				add(i.next());
+		}
+	}
+
+	private void addAll(final AdaptiveIntSet other)
+	{
+		if (_bits != null && other._bits != null)
+		{
+			_bits.or(other._bits);
+			_size = _bits.cardinality();
+		}
+		else
+			if (_bits != null)
+			{
+				for (int i = 0; i < other._size; i++)
+					add(other._ints[i]);
+			}
+			else
+				if (other._bits != null)
+				{
+					final int[] ints = _ints;
+					final int size = _size;
+
+					if (size > 0 && ints[0] < 0)
+					{
+						// negative values cannot be stored in a bit set
+						for (int value = other._bits.nextSetBit(0); value >= 0; value = other._bits.nextSetBit(value + 1))
+							add(value);
+						return;
+					}
+
+					_bits = (BitSet) other._bits.clone();
+					_ints = null;
+					_size = other._size;
+					for (int i = 0; i < size; i++)
+						add(ints[i]);
+				}
+				else
+					merge(other._ints, other._size);
+	}
+
+	/**
+	 * Merge the given sorted array into the array of this set.
+	 */
+	private void merge(final int[] ints2, final int size2)
+	{
+		final int[] ints1 = _ints;
+		final int size1 = _size;
+		final int[] ints = new int[size1 + size2];
+
+		int i = 0, i1 = 0, i2 = 0;
+		while (i1 < size1 && i2 < size2)
+		{
+			final int v1 = ints1[i1];
+			final int v2 = ints2[i2];
+			if (v1 < v2)
+			{
+				ints[i++] = v1;
+				i1++;
+			}
+			else
+				if (v1 > v2)
+				{
+					ints[i++] = v2;
+					i2++;
+				}
+				else
+				{
+					ints[i++] = v1;
+					i1++;
+					i2++;
+				}
+		}
+
+		if (i1 < size1)
+		{
+			System.arraycopy(ints1, i1, ints, i, size1 - i1);
+			i += size1 - i1;
+		}
+		else
+			if (i2 < size2)
+			{
+				System.arraycopy(ints2, i2, ints, i, size2 - i2);
+				i += size2 - i2;
+			}
+
+		_ints = ints;
+		_size = i;
+
+		if (_size >= MIN_BITS_SIZE && useBits(_size, _ints[0], _ints[_size - 1]))
+			toBits();
+	}
+
+	private static int binarySearch(final int[] a, final int size, final int key)
+	{
+		int low = 0;
+		int high = size - 1;
+
+		while (low <= high)
+		{
+			final int mid = (low + high) >>> 1;
+			final int midVal = a[mid];
+
+			if (midVal < key)
+				low = mid + 1;
+			else
+				if (midVal > key)
+					high = mid - 1;
+				else
+					return mid; // key found
+		}
+		return -(low + 1); // key not found.
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(final int value)
+	{
+		if (_bits != null)
+			return value >= 0 && _bits.get(value);
+
+		return binarySearch(_ints, _size, value) >= 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IntSet copy()
+	{
+		return new AdaptiveIntSet(this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty()
+	{
+		return _size == 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IntIterator iterator()
+	{
+		if (_bits != null)
+		{
+			final BitSet bits = _bits;
+			return new IntIterator()
+			{
+				private int next = bits.nextSetBit(0);
+
+				@Override
+				public boolean hasNext()
+				{
+					return next >= 0;
+				}
+
+				@Override
+				public int next()
+				{
+					final int curr = next;
+					if (curr < 0)
+						throw new NoSuchElementException();
+					next = bits.nextSetBit(curr + 1);
+					return curr;
+				}
+			};
+		}
+
+		final int[] ints = _ints;
+		final int size = _size;
+		return new IntIterator()
+		{
+			private int next = 0;
+
+			@Override
+			public boolean hasNext()
+			{
+				return next < size;
+			}
+
+			@Override
+			public int next()
+			{
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				return ints[next++];
+			}
+		};
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int max()
+	{
+		if (isEmpty())
+			throw new NoSuchElementException();
+
+		return _bits != null ? _bits.length() - 1 : _ints[_size - 1];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int min()
+	{
+		if (isEmpty())
+			throw new NoSuchElementException();
+
+		return _bits != null ? _bits.nextSetBit(0) : _ints[0];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void remove(final int value)
+	{
+		if (_bits != null)
+		{
+			if (value >= 0 && _bits.get(value))
+			{
+				_bits.clear(value);
+				_size--;
+
+				if (_size < MAX_ARRAY_SIZE)
+					toInts();
+			}
+		}
+		else
+		{
+			final int index = binarySearch(_ints, _size, value);
+			if (index >= 0)
+			{
+				if (index < _size - 1)
+					System.arraycopy(_ints, index + 1, _ints, index, _size - index - 1);
+				_size--;
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size()
+	{
+		return _size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IntSet union(final IntSet values)
+	{
+		if (_bits == null && values instanceof AdaptiveIntSet && ((AdaptiveIntSet) values)._bits == null)
+		{
+			// merge the arrays directly into the new set without copying this
+			// set first, merge does not modify the arrays it is given
+			final AdaptiveIntSet other = (AdaptiveIntSet) values;
+			final AdaptiveIntSet union = new AdaptiveIntSet();
+			union._ints = _ints;
+			union._size = _size;
+			union.merge(other._ints, other._size);
+			return union;
+		}
+
+		final AdaptiveIntSet union = new AdaptiveIntSet(this);
+		union.addAll(values);
+
+		return union;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		int hash = 1;
+		final IntIterator i = iterator();
+		while (i.hasNext())
+			hash = 31 * hash + i.next();
+
+		return hash;
+	}
+
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (this == o)
+			return true;
+		if (!(o instanceof IntSet))
+			return false;
+		final IntSet that = (IntSet) o;
+		if (this.size() != that.size())
+			return false;
+		final IntIterator i = this.iterator();
+		while (i.hasNext())
+			if (!that.contains(i.next()))
+				return false;
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		final StringBuilder buf = new StringBuilder();
+		buf.append('[');
+		final IntIterator i = iterator();
+		while (i.hasNext())
+		{
+			if (buf.length() > 1)
+				buf.append(", ");
+			buf.append(i.next());
+		}
+		buf.append(']');
+		return buf.toString();
+	}
+}
@@ -314,6 +314,12 @@ public class ArrayIntSet implements IntSet
 	@Override
 	public IntSet union(final IntSet values)
 	{
-		return new ArrayIntSet(this, (ArrayIntSet) values);
+		if (values instanceof ArrayIntSet)
+			return new ArrayIntSet(this, (ArrayIntSet) values);
+
+		final IntSet newSet = copy();
+		newSet.addAll(values);
+
+		return newSet;
 	}
 }
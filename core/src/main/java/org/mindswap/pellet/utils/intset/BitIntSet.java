@@ -51,7 +51,8 @@ public class BitIntSet implements IntSet
 	@Override
 	public void addAll(final IntSet values)
 	{
-		if (values instanceof BitIntSet)
+		// subclasses may not store the values directly in the bits
+		if (values.getClass() == BitIntSet.class)
 			bits.or(((BitIntSet) values).bits);
 		else
 		{
@@ -98,7 +99,7 @@ public class BitIntSet implements IntSet
 				final int curr = next;
 				if (curr == -1)
 					throw new NoSuchElementException();
-				next = bits.nextSetBit(0);
+				next = bits.nextSetBit(curr + 1);
 				return curr;
 			}
 		};
@@ -107,12 +108,18 @@ public class BitIntSet implements IntSet
 	@Override
 	public int max()
 	{
+		if (isEmpty())
+			throw new NoSuchElementException();
+
 		return bits.length() - 1;
 	}
 
 	@Override
 	public int min()
 	{
+		if (isEmpty())
+			throw new NoSuchElementException();
+
 		return bits.nextSetBit(0);
 	}
 
@@ -6,12 +6,15 @@
 
 package org.mindswap.pellet.utils.intset;
 
+import org.mindswap.pellet.PelletOptions;
+import org.mindswap.pellet.PelletOptions.IntSetType;
+
 /**
  * <p>
  * Title:
  * </p>
  * <p>
- * Description:
+ * Description: Creates the IntSet instances used for dependency sets. The implementation is selected by {@link PelletOptions#INT_SET_TYPE}.
  * </p>
  * <p>
  * Copyright: Copyright (c) 2007
@@ -26,14 +29,25 @@ public class IntSetFactory
 {
 	public static IntSet create()
 	{
-		return new ArrayIntSet();
-		//		return new BitIntSet();
-		//		return new ShiftedBitIntSet();
-		//		return new HashIntSet();
-		//		return new TreeIntSet();
-		//		return new PrimitiveIntSet( bak.pcj.set.IntOpenHashSet.class );
-		//		return new PrimitiveIntSet( bak.pcj.set.IntChainedHashSet.class );
-		//		return new PrimitiveIntSet( bak.pcj.set.IntRangeSet.class );
-		//		return new PrimitiveIntSet( bak.pcj.set.IntBitSet.class );
+		return create(PelletOptions.INT_SET_TYPE);
+	}
+
+	public static IntSet create(final IntSetType type)
+	{
+		switch (type)
+		{
+			case ARRAY:
+				return new ArrayIntSet();
+			case ADAPTIVE:
+				return new AdaptiveIntSet();
+			case BIT:
+				return new BitIntSet();
+			case HASH:
+				return new HashIntSet();
+			case TREE:
+				return new TreeIntSet();
+			default:
+				throw new IllegalArgumentException("Unknown IntSet type: " + type);
+		}
 	}
 }
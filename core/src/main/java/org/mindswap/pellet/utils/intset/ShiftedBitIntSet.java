@@ -106,17 +106,14 @@ public class ShiftedBitIntSet extends BitIntSet
 		if (isEmpty())
 			throw new NoSuchElementException();
 		else
-			return min;
+			return min + super.min();
 	}
 
 	@Override
 	public void remove(final int value)
 	{
 		if (value >= min)
-		{
 			super.remove(value - min);
-			min = super.min();
-		}
 	}
 
 }
@@ -628,6 +628,7 @@ public class PelletInfGraph extends BaseInfGraph implements InfGraph
 		clear();
 		graphListener.dispose();
 		graphListener = null;
+		kb.dispose();
 		kb = null;
 	}
 
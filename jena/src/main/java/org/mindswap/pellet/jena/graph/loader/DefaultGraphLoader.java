@@ -1513,70 +1513,7 @@ public class DefaultGraphLoader implements GraphLoader
 
 		if (builtinTerm == null)
 		{
-			final ATermAppl pt = node2term(p);
-			final Role role = kb.getProperty(pt);
-			final PropertyType type = (role == null) ? PropertyType.UNTYPED : role.getType();
-
-			if (type == PropertyType.ANNOTATION)
-			{
-				// Skip ontology annotations
-				if (graph.contains(s, RDF.type.asNode(), OWL.Ontology.asNode()))
-					return;
-
-				if (defineAnnotationProperty(pt))
-					kb.addAnnotation(st, pt, ot);
-
-				return;
-			}
-
-			if (PelletOptions.FREEZE_BUILTIN_NAMESPACES)
-			{
-				final String nameSpace = p.getNameSpace();
-				if (nameSpace != null)
-				{
-					final BuiltinNamespace builtin = BuiltinNamespace.find(nameSpace);
-					if (builtin != null)
-					{
-						addUnsupportedFeature("Ignoring triple with unknown property from " + builtin + " namespace: " + triple);
-						return;
-					}
-				}
-			}
-
-			if (o.isLiteral())
-			{
-				if (defineDatatypeProperty(pt))
-				{
-					final String datatypeURI = ((ATermAppl) ot.getArgument(2)).getName();
-
-					if (defineIndividual(st))
-					{
-						defineDatatypeProperty(pt);
-						if (!datatypeURI.equals(""))
-							defineDatatype(ATermUtils.makeTermAppl(datatypeURI));
-
-						kb.addPropertyValue(pt, st, ot);
-					}
-					else
-						if (type == PropertyType.UNTYPED)
-							defineAnnotationProperty(pt);
-						else
-							addUnsupportedFeature("Ignoring ObjectProperty used with a class expression: " + triple);
-				}
-				else
-					addUnsupportedFeature("Ignoring literal value used with ObjectProperty : " + triple);
-			}
-			else
-				if (!defineObjectProperty(pt))
-					addUnsupportedFeature("Ignoring object value used with DatatypeProperty: " + triple);
-				else
-					if (!defineIndividual(st))
-						addUnsupportedFeature("Ignoring class expression used in subject position: " + triple);
-					else
-						if (!defineIndividual(ot))
-							addUnsupportedFeature("Ignoring class expression used in object position: " + triple);
-						else
-							kb.addPropertyValue(pt, st, ot);
+			processPropertyValue(triple, st, node2term(p), ot);
 			return;
 		}
 
@@ -1952,6 +1889,85 @@ public class DefaultGraphLoader implements GraphLoader
 		}
 	}
 
+	/**
+	 * Process a triple whose predicate is not a builtin term, i.e. a property assertion or an annotation.
+	 *
+	 * @param triple Triple to be processed
+	 * @param st Term for the subject of the triple
+	 * @param pt Term for the predicate of the triple
+	 * @param ot Term for the object of the triple
+	 */
+	protected void processPropertyValue(final Triple triple, final ATermAppl st, final ATermAppl pt, final ATermAppl ot)
+	{
+		final Node p = triple.getPredicate();
+		final Node s = triple.getSubject();
+		final Node o = triple.getObject();
+
+		final Role role = kb.getProperty(pt);
+		final PropertyType type = (role == null) ? PropertyType.UNTYPED : role.getType();
+
+		if (type == PropertyType.ANNOTATION)
+		{
+			// Skip ontology annotations
+			if (graph.contains(s, RDF.type.asNode(), OWL.Ontology.asNode()))
+				return;
+
+			if (defineAnnotationProperty(pt))
+				kb.addAnnotation(st, pt, ot);
+
+			return;
+		}
+
+		if (PelletOptions.FREEZE_BUILTIN_NAMESPACES)
+		{
+			final String nameSpace = p.getNameSpace();
+			if (nameSpace != null)
+			{
+				final BuiltinNamespace builtin = BuiltinNamespace.find(nameSpace);
+				if (builtin != null)
+				{
+					addUnsupportedFeature("Ignoring triple with unknown property from " + builtin + " namespace: " + triple);
+					return;
+				}
+			}
+		}
+
+		if (o.isLiteral())
+		{
+			if (defineDatatypeProperty(pt))
+			{
+				final String datatypeURI = ((ATermAppl) ot.getArgument(2)).getName();
+
+				if (defineIndividual(st))
+				{
+					defineDatatypeProperty(pt);
+					if (!datatypeURI.equals(""))
+						defineDatatype(ATermUtils.makeTermAppl(datatypeURI));
+
+					kb.addPropertyValue(pt, st, ot);
+				}
+				else
+					if (type == PropertyType.UNTYPED)
+						defineAnnotationProperty(pt);
+					else
+						addUnsupportedFeature("Ignoring ObjectProperty used with a class expression: " + triple);
+			}
+			else
+				addUnsupportedFeature("Ignoring literal value used with ObjectProperty : " + triple);
+		}
+		else
+			if (!defineObjectProperty(pt))
+				addUnsupportedFeature("Ignoring object value used with DatatypeProperty: " + triple);
+			else
+				if (!defineIndividual(st))
+					addUnsupportedFeature("Ignoring class expression used in subject position: " + triple);
+				else
+					if (!defineIndividual(ot))
+						addUnsupportedFeature("Ignoring class expression used in object position: " + triple);
+					else
+						kb.addPropertyValue(pt, st, ot);
+	}
+
 	protected void processUntypedResources()
 	{
 		log.fine("processUntypedResource");
@@ -0,0 +1,400 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.jena.graph.loader;
+
+import aterm.ATermAppl;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDF;
+import org.mindswap.pellet.PelletOptions;
+import org.mindswap.pellet.exceptions.PelletRuntimeException;
+import org.mindswap.pellet.jena.BuiltinTerm;
+import org.mindswap.pellet.jena.JenaUtils;
+import org.mindswap.pellet.utils.AnnotationClasses;
+import org.mindswap.pellet.utils.Timer;
+
+/**
+ * <p>
+ * Title: Streaming Graph Loader
+ * </p>
+ * <p>
+ * Description: Loader that consumes a stream of triples, e.g. from an N-Triples file parsed by {@link RDFDataMgr}, without building a Jena graph for the
+ * whole input. Only the triples that are part of the OWL syntax, i.e. triples with a builtin predicate or type and triples involving blank nodes, are kept in
+ * an in-memory graph because class expressions and lists need random access. Class and property assertions between named individuals are deferred in a
+ * compact buffer of nodes until the end of the stream since their interpretation depends on the property declarations that may appear later in the stream.
+ * </p>
+ * <p>
+ * When the stream ends the schema graph is loaded like {@link DefaultGraphLoader} does, then the deferred assertions are translated to terms in chunks by
+ * several threads while the calling thread adds the translated assertions to the KB in the order they were received.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class StreamingGraphLoader extends DefaultGraphLoader implements StreamRDF
+{
+	public static final Logger log = Logger.getLogger(StreamingGraphLoader.class.getName());
+
+	/**
+	 * Number of deferred triples translated by a single task
+	 */
+	private static final int CHUNK_SIZE = 8192;
+
+	private int _threads = PelletOptions.PARALLEL_REASONING_THREADS;
+
+	private Graph _schema;
+
+	/**
+	 * Full chunks of deferred triples, each triple is stored as three consecutive nodes
+	 */
+	private List<Node[]> _chunks;
+
+	private Node[] _chunk;
+
+	private int _chunkSize;
+
+	private long _deferred;
+
+	/**
+	 * Number of nested {@link #start()} calls that have not been finished yet
+	 */
+	private int _depth;
+
+	public StreamingGraphLoader()
+	{
+		super();
+	}
+
+	/**
+	 * Returns the number of threads used to translate the deferred assertions.
+	 */
+	public int getThreads()
+	{
+		return _threads;
+	}
+
+	/**
+	 * Sets the number of threads used to translate the deferred assertions. Assertions are translated by the calling thread if the number is one.
+	 */
+	public void setThreads(final int threads)
+	{
+		if (threads < 1)
+			throw new IllegalArgumentException("Number of threads should be positive: " + threads);
+
+		_threads = threads;
+	}
+
+	/**
+	 * Returns the number of assertions deferred so far in the current stream.
+	 */
+	public long getDeferredCount()
+	{
+		return _deferred;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear()
+	{
+		super.clear();
+
+		_schema = null;
+		_chunks = new ArrayList<>();
+		_chunk = null;
+		_chunkSize = 0;
+		_deferred = 0;
+		_depth = 0;
+	}
+
+	/**
+	 * Parses the given files or URLs and loads their contents to the KB as a single stream.
+	 */
+	public void load(final String... uris)
+	{
+		start();
+		try
+		{
+			for (final String uri : uris)
+				RDFDataMgr.parse(this, uri);
+		}
+		finally
+		{
+			finish();
+		}
+	}
+
+	/**
+	 * Parses the given input and loads its contents to the KB.
+	 */
+	public void load(final InputStream in, final Lang lang)
+	{
+		start();
+		try
+		{
+			RDFDataMgr.parse(this, in, lang);
+		}
+		finally
+		{
+			finish();
+		}
+	}
+
+	private void begin()
+	{
+		if (_schema != null)
+			return;
+
+		_schema = Factory.createGraphMem();
+		_chunk = new Node[CHUNK_SIZE * 3];
+		_chunkSize = 0;
+		_deferred = 0;
+		setGraph(_schema);
+	}
+
+	/**
+	 * Starts a stream. Streams can be nested, the triples are only loaded when the outermost stream is finished.
+	 */
+	@Override
+	public void start()
+	{
+		begin();
+		_depth++;
+	}
+
+	@Override
+	public void triple(final Triple triple)
+	{
+		begin();
+
+		if (!isAssertion(triple))
+			_schema.add(triple);
+		else
+			if (isLoadABox())
+				defer(triple);
+	}
+
+	@Override
+	public void quad(final Quad quad)
+	{
+		triple(quad.asTriple());
+	}
+
+	@Override
+	public void base(final String base)
+	{
+		// base is resolved by the parser
+	}
+
+	@Override
+	public void prefix(final String prefix, final String iri)
+	{
+		// prefixes are not used for loading
+	}
+
+	/**
+	 * Finishes a stream. Loads the triples received so far to the KB if this is the outermost stream.
+	 */
+	@Override
+	public void finish()
+	{
+		if (_depth > 0 && --_depth > 0)
+			return;
+
+		if (_schema == null)
+			return;
+
+		final Timer timer = kb.timers.startTimer("load");
+
+		monitor.setProgressTitle("Loading");
+		monitor.taskStarted();
+
+		try
+		{
+			preprocess();
+
+			processTypes();
+			processTriples();
+
+			processDeferred();
+
+			processUntypedResources();
+		}
+		finally
+		{
+			_chunks = new ArrayList<>();
+			_chunk = null;
+			_schema = null;
+
+			monitor.taskFinished();
+
+			timer.stop();
+		}
+	}
+
+	/**
+	 * Returns true if the triple is a class or property assertion between named individuals which can be loaded after all the other triples.
+	 */
+	protected boolean isAssertion(final Triple triple)
+	{
+		final Node s = triple.getSubject();
+		final Node p = triple.getPredicate();
+		final Node o = triple.getObject();
+
+		if (!s.isURI() || o.isBlank())
+			return false;
+
+		if (p.equals(RDF.type.asNode()))
+			return o.isURI() && BuiltinTerm.find(o) == null;
+
+		return BuiltinTerm.find(p) == null;
+	}
+
+	private void defer(final Triple triple)
+	{
+		if (_chunkSize == _chunk.length)
+		{
+			_chunks.add(_chunk);
+			_chunk = new Node[CHUNK_SIZE * 3];
+			_chunkSize = 0;
+		}
+
+		_chunk[_chunkSize++] = triple.getSubject();
+		_chunk[_chunkSize++] = triple.getPredicate();
+		_chunk[_chunkSize++] = triple.getObject();
+		_deferred++;
+	}
+
+	/**
+	 * Translates the nodes of deferred triples to terms. The predicate of type assertions is not translated.
+	 */
+	private static ATermAppl[] translate(final Node[] chunk)
+	{
+		final ATermAppl[] terms = new ATermAppl[chunk.length];
+		for (int i = 0; i < chunk.length; i += 3)
+		{
+			terms[i] = JenaUtils.makeATerm(chunk[i]);
+			if (!chunk[i + 1].equals(RDF.type.asNode()))
+				terms[i + 1] = JenaUtils.makeATerm(chunk[i + 1]);
+			terms[i + 2] = JenaUtils.makeATerm(chunk[i + 2]);
+		}
+		return terms;
+	}
+
+	private void process(final Node[] chunk, final ATermAppl[] terms)
+	{
+		for (int i = 0; i < chunk.length; i += 3)
+		{
+			final ATermAppl st = terms[i];
+			final ATermAppl ot = terms[i + 2];
+
+			if (terms[i + 1] == null)
+			{
+				if (!AnnotationClasses.contains(ot))
+				{
+					defineClass(ot);
+					defineIndividual(st);
+					kb.addType(st, ot);
+				}
+			}
+			else
+			{
+				monitor.incrementProgress();
+
+				processPropertyValue(Triple.create(chunk[i], chunk[i + 1], chunk[i + 2]), st, terms[i + 1], ot);
+			}
+		}
+	}
+
+	/**
+	 * Loads the deferred assertions. Chunks are translated by the worker threads at most two chunks per thread ahead of the chunk being added to the KB.
+	 */
+	protected void processDeferred()
+	{
+		if (_chunkSize > 0)
+			_chunks.add(Arrays.copyOf(_chunk, _chunkSize));
+		_chunk = null;
+
+		final int chunkCount = _chunks.size();
+		if (chunkCount == 0)
+			return;
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("processDeferred " + _deferred + " triples in " + chunkCount + " chunks");
+
+		final int threads = Math.min(_threads, chunkCount);
+		if (threads <= 1)
+		{
+			for (int i = 0; i < chunkCount; i++)
+			{
+				final Node[] chunk = _chunks.set(i, null);
+				process(chunk, translate(chunk));
+			}
+			return;
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threads, r ->
+		{
+			final Thread thread = new Thread(r, "pellet-loader");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try
+		{
+			final Deque<Future<ATermAppl[]>> pending = new ArrayDeque<>();
+			int submitted = 0;
+			for (int i = 0; i < chunkCount; i++)
+			{
+				for (; submitted < chunkCount && submitted < i + 2 * threads; submitted++)
+				{
+					final Node[] chunk = _chunks.get(submitted);
+					pending.add(executor.submit(() -> translate(chunk)));
+				}
+
+				process(_chunks.set(i, null), pending.remove().get());
+			}
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new PelletRuntimeException(e);
+		}
+		catch (final ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new PelletRuntimeException(e.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+}
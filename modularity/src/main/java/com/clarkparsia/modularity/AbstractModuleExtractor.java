@@ -751,4 +751,20 @@ public abstract class AbstractModuleExtractor implements ModuleExtractor
 
 		modules = ModuleExtractorPersistence.loadModules(inputStream);
 	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public void restore(final Collection<OWLAxiom> axioms, final MultiValueMap<OWLEntity, OWLEntity> modules)
+	{
+		resetModules();
+
+		// set the modules first so the classes that have a module are not considered new
+		this.modules = modules;
+
+		additions.addAll(axioms);
+		processAdditions();
+		additions.clear();
+	}
 }
@@ -12,10 +12,16 @@ import com.clarkparsia.reachability.EntityNode;
 import com.clarkparsia.reachability.Node;
 import com.clarkparsia.reachability.PairSet;
 import com.clarkparsia.reachability.Reachability;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.mindswap.pellet.PelletOptions;
 import org.mindswap.pellet.utils.Timer;
 import org.mindswap.pellet.utils.progress.ProgressMonitor;
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -30,6 +36,11 @@ public class GraphBasedModuleExtractor extends AbstractModuleExtractor
 
 	public static final Logger log = Logger.getLogger(GraphBasedModuleExtractor.class.getName());
 
+	/**
+	 * Minimum number of modules computed by a single task of the parallel extraction
+	 */
+	private static final int MIN_PARALLEL_NODES = 16;
+
 	public GraphBasedModuleExtractor()
 	{
 	}
@@ -51,6 +62,9 @@ public class GraphBasedModuleExtractor extends AbstractModuleExtractor
 
 		//		DisplayGraph.display( entities, engine.getGraph(), null );
 
+		if (PelletOptions.USE_PARALLEL_MODULE_EXTRACTION && PelletOptions.PARALLEL_REASONING_THREADS > 1)
+			extractModulesConcurrently(engine, entities, monitor);
+
 		for (final OWLEntity ent : entities)
 		{
 			if (!(ent instanceof OWLClass))
@@ -92,6 +106,90 @@ public class GraphBasedModuleExtractor extends AbstractModuleExtractor
 		}
 	}
 
+	/**
+	 * Computes the modules of the given entities using several threads that share the reachability graph. Only the entity _nodes whose module needs a
+	 * reachability test are processed here, the _nodes with a single entity output reuse the module of their output and are handled by the sequential pass
+	 * that runs after this one.
+	 */
+	private void extractModulesConcurrently(final Reachability<OWLEntity> engine, final Set<? extends OWLEntity> entities, final ProgressMonitor monitor)
+	{
+		final Set<EntityNode<OWLEntity>> nodeSet = new LinkedHashSet<>();
+		for (final OWLEntity ent : entities)
+		{
+			if (!(ent instanceof OWLClass) || modules.containsKey(ent))
+				continue;
+
+			final EntityNode<OWLEntity> node = engine.getGraph().getNode(ent);
+			if (node == null || node.getOutputs().size() == 1 && node.getOutputs().iterator().next() instanceof EntityNode)
+				continue;
+
+			nodeSet.add(node);
+		}
+
+		if (nodeSet.size() < MIN_PARALLEL_NODES)
+			return;
+
+		final Timer timer = getTimers().startTimer("parallelExtract");
+
+		final List<EntityNode<OWLEntity>> nodes = new ArrayList<>(nodeSet);
+		@SuppressWarnings("unchecked")
+		final Set<OWLEntity>[] results = new Set[nodes.size()];
+
+		final ForkJoinPool pool = new ForkJoinPool(PelletOptions.PARALLEL_REASONING_THREADS);
+		try
+		{
+			pool.invoke(new ModuleTask(engine, nodes, results, 0, nodes.size()));
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		for (int i = 0; i < results.length; i++)
+			for (final OWLEntity n : nodes.get(i).getEntities())
+				if (modules.put(n, results[i]) == null && entities.contains(n))
+					monitor.incrementProgress();
+
+		timer.stop();
+
+		if (log.isLoggable(Level.FINE))
+			log.fine(format("Extracted %d modules concurrently in %d ms", nodes.size(), timer.getLast()));
+	}
+
+	private static class ModuleTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = -2817386548240176331L;
+
+		private final Reachability<OWLEntity> _engine;
+		private final List<EntityNode<OWLEntity>> _nodes;
+		private final Set<OWLEntity>[] _results;
+		private final int _from;
+		private final int _to;
+
+		ModuleTask(final Reachability<OWLEntity> engine, final List<EntityNode<OWLEntity>> nodes, final Set<OWLEntity>[] results, final int from, final int to)
+		{
+			_engine = engine;
+			_nodes = nodes;
+			_results = results;
+			_from = from;
+			_to = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (_to - _from <= MIN_PARALLEL_NODES)
+			{
+				for (int i = _from; i < _to; i++)
+					_results[i] = _engine.computeReachableConcurrently(_nodes.get(i).getEntities());
+				return;
+			}
+
+			final int mid = (_from + _to) >>> 1;
+			invokeAll(new ModuleTask(_engine, _nodes, _results, _from, mid), new ModuleTask(_engine, _nodes, _results, mid, _to));
+		}
+	}
+
 	private Set<OWLEntity> extractModule(final Reachability<OWLEntity> engine, final EntityNode<OWLEntity> node, final Set<? extends OWLEntity> entities, final ProgressMonitor monitor)
 	{
 		if (log.isLoggable(Level.FINE))
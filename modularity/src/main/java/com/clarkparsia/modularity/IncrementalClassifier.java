@@ -19,8 +19,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.mindswap.pellet.PelletOptions;
 import org.mindswap.pellet.exceptions.PelletRuntimeException;
 import org.mindswap.pellet.taxonomy.Taxonomy;
 import org.mindswap.pellet.taxonomy.TaxonomyNode;
@@ -28,6 +34,7 @@ import org.mindswap.pellet.taxonomy.printer.ClassTreePrinter;
 import org.mindswap.pellet.taxonomy.printer.TreeTaxonomyPrinter;
 import org.mindswap.pellet.utils.ATermUtils;
 import org.mindswap.pellet.utils.Bool;
+import org.mindswap.pellet.utils.DisjointSet;
 import org.mindswap.pellet.utils.MultiValueMap;
 import org.mindswap.pellet.utils.Namespaces;
 import org.mindswap.pellet.utils.PartialOrderBuilder;
@@ -327,11 +334,8 @@ public class IncrementalClassifier implements OWLReasoner, OWLOntologyChangeList
 	 * This incremental classification _strategy does the following: for all modules that are affected, collect all of their axioms and classify them all once in
 	 * Pellet. This allows the exploitation _current classification optimizations
 	 */
-	private void incClassifyAllModStrategy()
+	private void incClassifyAllModStrategy(final Set<OWLEntity> effects)
 	{
-		// Get the entities whose modules are affected
-		final Set<OWLEntity> effects = extractor.applyChanges(taxonomy);
-
 		if (log.isLoggable(Level.FINE))
 			log.fine("Module entities " + effects);
 
@@ -372,6 +376,151 @@ public class IncrementalClassifier implements OWLReasoner, OWLOntologyChangeList
 		OntologyUtils.getOWLOntologyManager().removeOntology(owlModule);
 	}
 
+	/**
+	 * Partitions the affected classes into groups such that the module of each class only contains classes from its own group. Since the module of a class
+	 * contains all of its super classes, the groups can be classified independently of each other.
+	 */
+	private Collection<Set<OWLClass>> partitionAffectedClasses(final Set<OWLEntity> effects)
+	{
+		final DisjointSet<OWLClass> partitions = new DisjointSet<>();
+		for (final OWLEntity entity : effects)
+			if (entity instanceof OWLClass && !entity.isTopEntity() && !entity.isBottomEntity())
+				partitions.add((OWLClass) entity);
+
+		for (final OWLClass cls : partitions.elements())
+		{
+			final Set<OWLEntity> module = modules.get(cls);
+			if (module == null)
+				continue;
+
+			for (final OWLEntity entity : module)
+				if (entity instanceof OWLClass && partitions.contains((OWLClass) entity))
+					partitions.union(cls, (OWLClass) entity);
+		}
+
+		return partitions.getEquivalanceSets();
+	}
+
+	/**
+	 * This incremental classification _strategy classifies each group of affected classes returned by {@link #partitionAffectedClasses(Set)} with its own
+	 * reasoner. The reasoners run concurrently on at most {@link PelletOptions#PARALLEL_REASONING_THREADS} threads and the class hierarchy of each group is
+	 * merged into a single taxonomy as soon as it is computed.
+	 */
+	private void incClassifyParallelStrategy(final Set<OWLEntity> effects, final Collection<Set<OWLClass>> partitions)
+	{
+		// ontologies and reasoners are created here since the ontology manager is not thread-safe
+		final List<OWLOntology> owlModules = new ArrayList<>(partitions.size());
+		final List<PelletReasoner> moduleReasoners = new ArrayList<>(partitions.size());
+		for (final Set<OWLClass> partition : partitions)
+		{
+			final Set<OWLEntity> signature = new HashSet<>();
+			for (final OWLClass cls : partition)
+			{
+				final Set<OWLEntity> module = modules.get(cls);
+				if (module != null)
+					signature.addAll(module);
+				else
+					signature.add(cls);
+			}
+
+			final OWLOntology owlModule = extractor.getModuleFromSignature(signature);
+			owlModules.add(owlModule);
+			moduleReasoners.add(PelletReasonerFactory.getInstance().createReasoner(owlModule));
+		}
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("Classifying " + partitions.size() + " groups of affected classes concurrently");
+
+		final Taxonomy<OWLClass> moduleTaxonomy = new Taxonomy<>(null, OWL.Thing, OWL.Nothing);
+
+		final List<Callable<Void>> tasks = new ArrayList<>(moduleReasoners.size());
+		for (final PelletReasoner moduleReasoner : moduleReasoners)
+			tasks.add(() ->
+			{
+				moduleReasoner.getKB().classify();
+
+				final Taxonomy<OWLClass> partitionTaxonomy = buildClassHierarchy(moduleReasoner);
+
+				synchronized (moduleTaxonomy)
+				{
+					mergeClassHierarchy(moduleTaxonomy, partitionTaxonomy);
+				}
+
+				return null;
+			});
+
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(PelletOptions.PARALLEL_REASONING_THREADS, tasks.size()), r ->
+		{
+			final Thread thread = new Thread(r, "module-classification");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try
+		{
+			for (final Future<Void> future : executor.invokeAll(tasks))
+				future.get();
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new PelletRuntimeException(e);
+		}
+		catch (final ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new PelletRuntimeException(e.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+
+			for (final PelletReasoner moduleReasoner : moduleReasoners)
+				moduleReasoner.dispose();
+			for (final OWLOntology owlModule : owlModules)
+				OntologyUtils.getOWLOntologyManager().removeOntology(owlModule);
+		}
+
+		final Set<OWLClass> affectedCls = new HashSet<>();
+		for (final OWLEntity entity : effects)
+			if (entity instanceof OWLClass)
+				affectedCls.add((OWLClass) entity);
+		taxonomy = updateClassHierarchy(taxonomy, moduleTaxonomy, affectedCls);
+
+		if (log.isLoggable(Level.FINE))
+		{
+			log.fine("Updated taxonomy:");
+			new TreeTaxonomyPrinter<OWLClass>().print(taxonomy, new PrintWriter(System.err));
+		}
+	}
+
+	/**
+	 * Adds the classes of a partition taxonomy to the taxonomy of all affected classes. The affected classes are split between the partitions but the modules
+	 * of a partition also contain unaffected classes, and the same unaffected class may appear in the modules of several partitions. A class that is already
+	 * in the target taxonomy was added by an earlier partition and has to be skipped, adding it again would create a second node for the class.
+	 */
+	private static void mergeClassHierarchy(final Taxonomy<OWLClass> target, final Taxonomy<OWLClass> partitionTaxonomy)
+	{
+		final Set<OWLClass> things = partitionTaxonomy.getEquivalents(OWL.Thing);
+		if (!things.isEmpty())
+			target.addEquivalents(OWL.Thing, things);
+
+		final Set<OWLClass> nothings = partitionTaxonomy.getEquivalents(OWL.Nothing);
+		if (!nothings.isEmpty())
+			target.addEquivalents(OWL.Nothing, nothings);
+
+		final Set<OWLClass> emptySet = Collections.emptySet();
+		for (final OWLClass cls : partitionTaxonomy.topologocialSort( /* includeEquivalents = */false))
+		{
+			if (target.contains(cls))
+				continue;
+
+			target.addNode(partitionTaxonomy.getAllEquivalents(cls), emptySet, emptySet, /* hidden= */false);
+			target.addSupers(cls, partitionTaxonomy.getFlattenedSupers(cls, /* direct = */true));
+		}
+	}
+
 	private void incrementalClassify()
 	{
 		if (log.isLoggable(Level.FINE))
@@ -379,7 +528,15 @@ public class IncrementalClassifier implements OWLReasoner, OWLOntologyChangeList
 
 		final Timer timer = timers.startTimer("incrementalClassify");
 
-		incClassifyAllModStrategy();
+		// Get the entities whose modules are affected
+		final Set<OWLEntity> effects = extractor.applyChanges(taxonomy);
+
+		final Collection<Set<OWLClass>> partitions = PelletOptions.USE_PARALLEL_MODULE_CLASSIFICATION && PelletOptions.PARALLEL_REASONING_THREADS > 1 ? partitionAffectedClasses(effects) : null;
+
+		if (partitions != null && partitions.size() > 1)
+			incClassifyParallelStrategy(effects, partitions);
+		else
+			incClassifyAllModStrategy(effects);
 
 		timer.stop();
 
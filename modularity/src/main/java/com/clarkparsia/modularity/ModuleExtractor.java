@@ -8,6 +8,7 @@ package com.clarkparsia.modularity;
 
 import com.clarkparsia.pellet.expressivity.Expressivity;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Set;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -159,4 +160,12 @@ public interface ModuleExtractor
 	 * @throws IllegalArgumentException if the next zip file entry in the stream was not saved by a compatible ModuleExtractor
 	 */
 	public void load(ZipInputStream inputStream) throws IOException, IllegalArgumentException;
+
+	/**
+	 * Restores a previously saved state of the ModuleExtractor from its axioms and modules. The modules are used as given, they are not extracted again.
+	 *
+	 * @param axioms the axioms of the extractor
+	 * @param modules the modules of the extractor
+	 */
+	public void restore(Collection<OWLAxiom> axioms, MultiValueMap<OWLEntity, OWLEntity> modules);
 }
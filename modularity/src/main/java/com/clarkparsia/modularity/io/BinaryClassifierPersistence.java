@@ -0,0 +1,1593 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.modularity.io;
+
+import com.clarkparsia.modularity.IncrementalClassifier;
+import com.clarkparsia.modularity.ModuleExtractor;
+import com.clarkparsia.modularity.ModuleExtractorFactory;
+import com.clarkparsia.owlapi.OWL;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.mindswap.pellet.taxonomy.Taxonomy;
+import org.mindswap.pellet.taxonomy.TaxonomyNode;
+import org.mindswap.pellet.utils.MultiValueMap;
+import org.mindswap.pellet.utils.TaxonomyUtils;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationSubject;
+import org.semanticweb.owlapi.model.OWLAnnotationValue;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLDataComplementOf;
+import org.semanticweb.owlapi.model.OWLDataExactCardinality;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataHasValue;
+import org.semanticweb.owlapi.model.OWLDataIntersectionOf;
+import org.semanticweb.owlapi.model.OWLDataMaxCardinality;
+import org.semanticweb.owlapi.model.OWLDataMinCardinality;
+import org.semanticweb.owlapi.model.OWLDataOneOf;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDataPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLDataSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLDataUnionOf;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLDatatypeDefinitionAxiom;
+import org.semanticweb.owlapi.model.OWLDatatypeRestriction;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointUnionAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLFacetRestriction;
+import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectComplementOf;
+import org.semanticweb.owlapi.model.OWLObjectExactCardinality;
+import org.semanticweb.owlapi.model.OWLObjectHasSelf;
+import org.semanticweb.owlapi.model.OWLObjectHasValue;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLObjectInverseOf;
+import org.semanticweb.owlapi.model.OWLObjectMaxCardinality;
+import org.semanticweb.owlapi.model.OWLObjectMinCardinality;
+import org.semanticweb.owlapi.model.OWLObjectOneOf;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectUnionOf;
+import org.semanticweb.owlapi.model.OWLObjectVisitor;
+import org.semanticweb.owlapi.model.OWLPropertyExpression;
+import org.semanticweb.owlapi.model.OWLReflexiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLSubAnnotationPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
+import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDArgument;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLDataRangeAtom;
+import org.semanticweb.owlapi.model.SWRLDifferentIndividualsAtom;
+import org.semanticweb.owlapi.model.SWRLIArgument;
+import org.semanticweb.owlapi.model.SWRLIndividualArgument;
+import org.semanticweb.owlapi.model.SWRLLiteralArgument;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/**
+ * <p>
+ * Title: Binary Classifier Persistence
+ * </p>
+ * <p>
+ * Description: Compact binary encoding of the persisted state of an {@link IncrementalClassifier}. Every entity is stored once in a dictionary, as its type
+ * and IRI with the namespace of the IRI shared through a namespace table, and is referred to by its index everywhere else:
+ * </p>
+ * <ul>
+ * <li>each axiom of the module extractor is written as a tree of tagged objects, e.g. a class expression is written as its tag followed by its operands,
+ * where entities are written as their index, IRIs and anonymous individuals as strings and literals as their lexical form, language and datatype,</li>
+ * <li>each module is written as the sorted indices of its members where each index is stored as the difference to the previous one,</li>
+ * <li>the taxonomy is written as a list of nodes with the indices of their equivalent classes, sub nodes and direct instances.</li>
+ * </ul>
+ * <p>
+ * The encoding of the axioms only depends on the OWL 2 structure of the axioms and not on the classes of the OWL API, so the files can be read after
+ * the OWL API is upgraded. Files written with an older version of the format are rejected with an {@link IOException} and have to be saved again.
+ * </p>
+ * <p>
+ * Numbers are written as variable length integers. Modules are not decoded when the state is loaded, the members of a module are only decoded the first
+ * time the module is accessed so classifiers that only need a few modules after loading do not pay for the others.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2009
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class BinaryClassifierPersistence
+{
+	/**
+	 * The first bytes of the binary format. Unlike zip files which start with "PK" the binary format starts with "PICB".
+	 */
+	public static final int MAGIC = 0x50494342;
+
+	private static final byte VERSION = 2;
+
+	private static final byte CLASS = 0;
+
+	private static final byte DATATYPE = 1;
+
+	private static final byte INDIVIDUAL = 2;
+
+	private static final byte DATA_PROPERTY = 3;
+
+	private static final byte OBJECT_PROPERTY = 4;
+
+	private static final byte ANNOTATION_PROPERTY = 5;
+
+	/**
+	 * Checks if the stream starts with the binary format. The stream should support marks and is reset to the position it had before the call.
+	 *
+	 * @param inputStream the input stream to check
+	 * @return <code>true</code> if the stream contains the binary format
+	 * @throws IOException if an I/O error occurs while reading the first bytes of the stream
+	 */
+	public static boolean isBinary(final InputStream inputStream) throws IOException
+	{
+		inputStream.mark(4);
+		try
+		{
+			int magic = 0;
+			for (int i = 0; i < 4; i++)
+			{
+				final int b = inputStream.read();
+				if (b < 0)
+					return false;
+				magic = (magic << 8) | b;
+			}
+
+			return magic == MAGIC;
+		}
+		finally
+		{
+			inputStream.reset();
+		}
+	}
+
+	/**
+	 * Saves the state of an incremental classifier in the binary format.
+	 *
+	 * @param persistedState the state to be saved
+	 * @param outputStream the output stream where the state should be saved
+	 * @throws IOException if an I/O error occurs during the save operation
+	 * @throws IllegalStateException if the module extractor contains changes that have not yet been applied to the modules
+	 */
+	public static void save(final IncrementalClassifier.PersistedState persistedState, final OutputStream outputStream) throws IOException
+	{
+		if (persistedState.getModuleExtractor().isChanged())
+			throw new IllegalStateException("The module extractor contains unapplied changes to the modules, and therefore cannot be saved.");
+
+		new Writer().write(persistedState, outputStream);
+	}
+
+	/**
+	 * Loads the state of an incremental classifier saved in the binary format. The modules of the returned state are decoded lazily.
+	 *
+	 * @param inputStream the input stream containing the state saved in the binary format
+	 * @return the loaded state
+	 * @throws IOException if an I/O error occurs during the read or the stream does not contain the binary format
+	 */
+	public static IncrementalClassifier.PersistedState load(final InputStream inputStream) throws IOException
+	{
+		return new Reader(new DataInputStream(inputStream)).read();
+	}
+
+	private static void writeVarInt(final DataOutputStream out, int value) throws IOException
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static void writeString(final DataOutputStream out, final String string) throws IOException
+	{
+		final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(out, bytes.length);
+		out.write(bytes);
+	}
+
+	private static int readVarInt(final DataInputStream in) throws IOException
+	{
+		int value = 0;
+		for (int shift = 0;; shift += 7)
+		{
+			final byte b = in.readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+	}
+
+	private static int readVarInt(final byte[] bytes, final int[] position)
+	{
+		int value = 0;
+		for (int shift = 0;; shift += 7)
+		{
+			final byte b = bytes[position[0]++];
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+	}
+
+	private static String readString(final DataInputStream in) throws IOException
+	{
+		final byte[] bytes = new byte[readVarInt(in)];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static byte getEntityType(final OWLEntity entity)
+	{
+		if (entity.isOWLClass())
+			return CLASS;
+		else
+			if (entity.isOWLDatatype())
+				return DATATYPE;
+			else
+				if (entity.isOWLNamedIndividual())
+					return INDIVIDUAL;
+				else
+					if (entity.isOWLDataProperty())
+						return DATA_PROPERTY;
+					else
+						if (entity.isOWLObjectProperty())
+							return OBJECT_PROPERTY;
+						else
+							if (entity.isOWLAnnotationProperty())
+								return ANNOTATION_PROPERTY;
+
+		throw new IllegalArgumentException("Unrecognized type of OWLEntity: " + entity.getClass());
+	}
+
+	private static OWLEntity createEntity(final byte type, final String iri) throws IOException
+	{
+		switch (type)
+		{
+			case CLASS:
+				return OWL.Class(iri);
+			case DATATYPE:
+				return OWL.Datatype(iri);
+			case INDIVIDUAL:
+				return OWL.Individual(iri);
+			case DATA_PROPERTY:
+				return OWL.DataProperty(iri);
+			case OBJECT_PROPERTY:
+				return OWL.ObjectProperty(iri);
+			case ANNOTATION_PROPERTY:
+				return OWL.factory.getOWLAnnotationProperty(IRI.create(iri));
+			default:
+				throw new IOException("Unrecognized type of OWLEntity: " + type);
+		}
+	}
+
+	/**
+	 * Returns the length of the namespace of an IRI, i.e. the position after the last '#' or '/'.
+	 */
+	private static int getNamespaceLength(final String iri)
+	{
+		return Math.max(iri.lastIndexOf('#'), iri.lastIndexOf('/')) + 1;
+	}
+
+	/**
+	 * Tags written before each object of the encoded axioms. The ordinal of a tag is stored in the stream so new tags may only be added at the end.
+	 */
+	private enum Tag
+	{
+		ENTITY, IRI_VALUE, ANONYMOUS_INDIVIDUAL, LITERAL, ANNOTATION, OBJECT_INVERSE_OF,
+
+		OBJECT_INTERSECTION_OF, OBJECT_UNION_OF, OBJECT_COMPLEMENT_OF, OBJECT_ONE_OF, OBJECT_SOME_VALUES_FROM, OBJECT_ALL_VALUES_FROM, OBJECT_HAS_VALUE,
+		OBJECT_HAS_SELF, OBJECT_MIN_CARDINALITY, OBJECT_EXACT_CARDINALITY, OBJECT_MAX_CARDINALITY, DATA_SOME_VALUES_FROM, DATA_ALL_VALUES_FROM, DATA_HAS_VALUE,
+		DATA_MIN_CARDINALITY, DATA_EXACT_CARDINALITY, DATA_MAX_CARDINALITY,
+
+		DATA_INTERSECTION_OF, DATA_UNION_OF, DATA_COMPLEMENT_OF, DATA_ONE_OF, DATATYPE_RESTRICTION, FACET_RESTRICTION,
+
+		DECLARATION, SUB_CLASS_OF, EQUIVALENT_CLASSES, DISJOINT_CLASSES, DISJOINT_UNION, HAS_KEY, CLASS_ASSERTION, SAME_INDIVIDUAL, DIFFERENT_INDIVIDUALS,
+		OBJECT_PROPERTY_ASSERTION, NEGATIVE_OBJECT_PROPERTY_ASSERTION, DATA_PROPERTY_ASSERTION, NEGATIVE_DATA_PROPERTY_ASSERTION, SUB_OBJECT_PROPERTY_OF,
+		EQUIVALENT_OBJECT_PROPERTIES, DISJOINT_OBJECT_PROPERTIES, INVERSE_OBJECT_PROPERTIES, SUB_PROPERTY_CHAIN_OF, OBJECT_PROPERTY_DOMAIN,
+		OBJECT_PROPERTY_RANGE, FUNCTIONAL_OBJECT_PROPERTY, INVERSE_FUNCTIONAL_OBJECT_PROPERTY, REFLEXIVE_OBJECT_PROPERTY, IRREFLEXIVE_OBJECT_PROPERTY,
+		SYMMETRIC_OBJECT_PROPERTY, ASYMMETRIC_OBJECT_PROPERTY, TRANSITIVE_OBJECT_PROPERTY, SUB_DATA_PROPERTY_OF, EQUIVALENT_DATA_PROPERTIES,
+		DISJOINT_DATA_PROPERTIES, DATA_PROPERTY_DOMAIN, DATA_PROPERTY_RANGE, FUNCTIONAL_DATA_PROPERTY, DATATYPE_DEFINITION, ANNOTATION_ASSERTION,
+		SUB_ANNOTATION_PROPERTY_OF, ANNOTATION_PROPERTY_DOMAIN, ANNOTATION_PROPERTY_RANGE,
+
+		SWRL_RULE, SWRL_CLASS_ATOM, SWRL_DATA_RANGE_ATOM, SWRL_OBJECT_PROPERTY_ATOM, SWRL_DATA_PROPERTY_ATOM, SWRL_BUILT_IN_ATOM, SWRL_SAME_INDIVIDUAL_ATOM,
+		SWRL_DIFFERENT_INDIVIDUALS_ATOM, SWRL_VARIABLE, SWRL_INDIVIDUAL_ARGUMENT, SWRL_LITERAL_ARGUMENT
+	}
+
+	private static final Tag[] TAGS = Tag.values();
+
+	private static class Writer
+	{
+		private final Map<OWLEntity, Integer> _entityIds = new HashMap<>();
+
+		private final List<OWLEntity> _entities = new ArrayList<>();
+
+		private final ByteArrayOutputStream _content = new ByteArrayOutputStream();
+
+		private final DataOutputStream _out = new DataOutputStream(_content);
+
+		private int id(final OWLEntity entity)
+		{
+			Integer id = _entityIds.get(entity);
+			if (id == null)
+			{
+				id = _entities.size();
+				_entityIds.put(entity, id);
+				_entities.add(entity);
+			}
+
+			return id;
+		}
+
+		public void write(final IncrementalClassifier.PersistedState persistedState, final OutputStream outputStream) throws IOException
+		{
+			final ModuleExtractor extractor = persistedState.getModuleExtractor();
+
+			_out.writeBoolean(persistedState.isRealized());
+			writeAxioms(extractor.getAxioms());
+			writeModules(extractor.getModules());
+			writeTaxonomy(persistedState.getTaxonomy(), persistedState.isRealized());
+
+			final DataOutputStream out = new DataOutputStream(outputStream);
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			writeDictionary(out);
+			_content.writeTo(out);
+			out.flush();
+		}
+
+		private void writeDictionary(final DataOutputStream out) throws IOException
+		{
+			final Map<String, Integer> namespaceIds = new HashMap<>();
+			final List<String> namespaces = new ArrayList<>();
+			final int[] namespaceOfEntity = new int[_entities.size()];
+			for (int i = 0; i < namespaceOfEntity.length; i++)
+			{
+				final String iri = _entities.get(i).getIRI().toString();
+				final String namespace = iri.substring(0, getNamespaceLength(iri));
+				Integer id = namespaceIds.get(namespace);
+				if (id == null)
+				{
+					id = namespaces.size();
+					namespaceIds.put(namespace, id);
+					namespaces.add(namespace);
+				}
+				namespaceOfEntity[i] = id;
+			}
+
+			writeVarInt(out, namespaces.size());
+			for (final String namespace : namespaces)
+				writeString(out, namespace);
+
+			writeVarInt(out, _entities.size());
+			for (int i = 0; i < namespaceOfEntity.length; i++)
+			{
+				final OWLEntity entity = _entities.get(i);
+				final String iri = entity.getIRI().toString();
+				out.writeByte(getEntityType(entity));
+				writeVarInt(out, namespaceOfEntity[i]);
+				writeString(out, iri.substring(getNamespaceLength(iri)));
+			}
+		}
+
+		private void writeAxioms(final Collection<OWLAxiom> axioms) throws IOException
+		{
+			final AxiomEncoder encoder = new AxiomEncoder();
+			writeVarInt(_out, axioms.size());
+			try
+			{
+				for (final OWLAxiom axiom : axioms)
+				{
+					encoder.object(axiom);
+					encoder.objects(axiom.getAnnotations());
+				}
+			}
+			catch (final UncheckedIOException e)
+			{
+				throw e.getCause();
+			}
+		}
+
+		private void writeModules(final MultiValueMap<OWLEntity, OWLEntity> modules) throws IOException
+		{
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final DataOutputStream out = new DataOutputStream(bytes);
+			final ByteArrayOutputStream memberBytes = new ByteArrayOutputStream();
+			final DataOutputStream memberOut = new DataOutputStream(memberBytes);
+
+			writeVarInt(out, modules.size());
+			for (final Entry<OWLEntity, Set<OWLEntity>> entry : modules.entrySet())
+			{
+				final int[] members = new int[entry.getValue().size()];
+				int i = 0;
+				for (final OWLEntity member : entry.getValue())
+					members[i++] = id(member);
+				Arrays.sort(members);
+
+				memberBytes.reset();
+				writeVarInt(memberOut, members.length);
+				int previous = 0;
+				for (final int member : members)
+				{
+					writeVarInt(memberOut, member - previous);
+					previous = member;
+				}
+
+				writeVarInt(out, id(entry.getKey()));
+				writeVarInt(out, memberBytes.size());
+				memberBytes.writeTo(out);
+			}
+
+			writeVarInt(_out, bytes.size());
+			bytes.writeTo(_out);
+		}
+
+		private void writeEntities(final Collection<? extends OWLEntity> entities) throws IOException
+		{
+			writeVarInt(_out, entities.size());
+			for (final OWLEntity entity : entities)
+				writeVarInt(_out, id(entity));
+		}
+
+		private void writeTaxonomy(final Taxonomy<OWLClass> taxonomy, final boolean realized) throws IOException
+		{
+			// the node map has an entry for each equivalent class
+			final Set<TaxonomyNode<OWLClass>> nodeSet = new LinkedHashSet<>();
+			nodeSet.add(taxonomy.getTop());
+			nodeSet.add(taxonomy.getBottom());
+			nodeSet.addAll(taxonomy.getNodes());
+
+			final Map<TaxonomyNode<OWLClass>, Integer> ids = new IdentityHashMap<>();
+			for (final TaxonomyNode<OWLClass> node : nodeSet)
+				ids.put(node, ids.size());
+
+			writeVarInt(_out, nodeSet.size());
+			for (final TaxonomyNode<OWLClass> node : nodeSet)
+			{
+				writeEntities(node.getEquivalents());
+
+				writeVarInt(_out, node.getSubs().size());
+				for (final TaxonomyNode<OWLClass> sub : node.getSubs())
+					writeVarInt(_out, ids.get(sub));
+
+				if (realized)
+				{
+					@SuppressWarnings("unchecked")
+					final Collection<OWLNamedIndividual> instances = (Collection<OWLNamedIndividual>) node.getDatum(TaxonomyUtils.INSTANCES_KEY);
+					if (instances == null)
+						writeVarInt(_out, 0);
+					else
+					{
+						writeVarInt(_out, 1);
+						writeEntities(instances);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Writes each object of an axiom as its tag followed by its parts, entities are written as their index in the dictionary. The visitor methods cannot
+		 * throw an {@link IOException} so it is wrapped in an {@link UncheckedIOException}.
+		 */
+		private class AxiomEncoder implements OWLObjectVisitor
+		{
+			private void varInt(final int value)
+			{
+				try
+				{
+					writeVarInt(_out, value);
+				}
+				catch (final IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			}
+
+			private void string(final String string)
+			{
+				try
+				{
+					writeString(_out, string);
+				}
+				catch (final IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			}
+
+			private void tag(final Tag tag)
+			{
+				varInt(tag.ordinal());
+			}
+
+			public void object(final OWLObject object)
+			{
+				final int size = _out.size();
+				object.accept(this);
+				if (_out.size() == size)
+					throw new IllegalArgumentException("Unsupported object in the axioms: " + object);
+			}
+
+			public void objects(final Collection<? extends OWLObject> objects)
+			{
+				varInt(objects.size());
+				for (final OWLObject object : objects)
+					object(object);
+			}
+
+			private void write(final Tag tag, final OWLObject first)
+			{
+				tag(tag);
+				object(first);
+			}
+
+			private void write(final Tag tag, final OWLObject first, final OWLObject second)
+			{
+				tag(tag);
+				object(first);
+				object(second);
+			}
+
+			private void write(final Tag tag, final OWLObject first, final OWLObject second, final OWLObject third)
+			{
+				tag(tag);
+				object(first);
+				object(second);
+				object(third);
+			}
+
+			private void write(final Tag tag, final Collection<? extends OWLObject> operands)
+			{
+				tag(tag);
+				objects(operands);
+			}
+
+			private void write(final Tag tag, final int cardinality, final OWLObject property, final OWLObject filler)
+			{
+				tag(tag);
+				varInt(cardinality);
+				object(property);
+				object(filler);
+			}
+
+			private void entity(final OWLEntity entity)
+			{
+				tag(Tag.ENTITY);
+				varInt(id(entity));
+			}
+
+			@Override
+			public void visit(final OWLClass entity)
+			{
+				entity(entity);
+			}
+
+			@Override
+			public void visit(final OWLDatatype entity)
+			{
+				entity(entity);
+			}
+
+			@Override
+			public void visit(final OWLNamedIndividual entity)
+			{
+				entity(entity);
+			}
+
+			@Override
+			public void visit(final OWLDataProperty entity)
+			{
+				entity(entity);
+			}
+
+			@Override
+			public void visit(final OWLObjectProperty entity)
+			{
+				entity(entity);
+			}
+
+			@Override
+			public void visit(final OWLAnnotationProperty entity)
+			{
+				entity(entity);
+			}
+
+			@Override
+			public void visit(final IRI iri)
+			{
+				tag(Tag.IRI_VALUE);
+				string(iri.toString());
+			}
+
+			@Override
+			public void visit(final OWLAnonymousIndividual individual)
+			{
+				tag(Tag.ANONYMOUS_INDIVIDUAL);
+				string(individual.getID().getID());
+			}
+
+			@Override
+			public void visit(final OWLLiteral literal)
+			{
+				tag(Tag.LITERAL);
+				string(literal.getLiteral());
+				string(literal.getLang());
+				object(literal.getDatatype());
+			}
+
+			@Override
+			public void visit(final OWLAnnotation annotation)
+			{
+				write(Tag.ANNOTATION, annotation.getProperty(), annotation.getValue());
+				objects(annotation.getAnnotations());
+			}
+
+			@Override
+			public void visit(final OWLObjectInverseOf property)
+			{
+				write(Tag.OBJECT_INVERSE_OF, property.getNamedProperty());
+			}
+
+			@Override
+			public void visit(final OWLObjectIntersectionOf ce)
+			{
+				write(Tag.OBJECT_INTERSECTION_OF, ce.getOperands());
+			}
+
+			@Override
+			public void visit(final OWLObjectUnionOf ce)
+			{
+				write(Tag.OBJECT_UNION_OF, ce.getOperands());
+			}
+
+			@Override
+			public void visit(final OWLObjectComplementOf ce)
+			{
+				write(Tag.OBJECT_COMPLEMENT_OF, ce.getOperand());
+			}
+
+			@Override
+			public void visit(final OWLObjectOneOf ce)
+			{
+				write(Tag.OBJECT_ONE_OF, ce.getIndividuals());
+			}
+
+			@Override
+			public void visit(final OWLObjectSomeValuesFrom ce)
+			{
+				write(Tag.OBJECT_SOME_VALUES_FROM, ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLObjectAllValuesFrom ce)
+			{
+				write(Tag.OBJECT_ALL_VALUES_FROM, ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLObjectHasValue ce)
+			{
+				write(Tag.OBJECT_HAS_VALUE, ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLObjectHasSelf ce)
+			{
+				write(Tag.OBJECT_HAS_SELF, ce.getProperty());
+			}
+
+			@Override
+			public void visit(final OWLObjectMinCardinality ce)
+			{
+				write(Tag.OBJECT_MIN_CARDINALITY, ce.getCardinality(), ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLObjectExactCardinality ce)
+			{
+				write(Tag.OBJECT_EXACT_CARDINALITY, ce.getCardinality(), ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLObjectMaxCardinality ce)
+			{
+				write(Tag.OBJECT_MAX_CARDINALITY, ce.getCardinality(), ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLDataSomeValuesFrom ce)
+			{
+				write(Tag.DATA_SOME_VALUES_FROM, ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLDataAllValuesFrom ce)
+			{
+				write(Tag.DATA_ALL_VALUES_FROM, ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLDataHasValue ce)
+			{
+				write(Tag.DATA_HAS_VALUE, ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLDataMinCardinality ce)
+			{
+				write(Tag.DATA_MIN_CARDINALITY, ce.getCardinality(), ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLDataExactCardinality ce)
+			{
+				write(Tag.DATA_EXACT_CARDINALITY, ce.getCardinality(), ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLDataMaxCardinality ce)
+			{
+				write(Tag.DATA_MAX_CARDINALITY, ce.getCardinality(), ce.getProperty(), ce.getFiller());
+			}
+
+			@Override
+			public void visit(final OWLDataIntersectionOf range)
+			{
+				write(Tag.DATA_INTERSECTION_OF, range.getOperands());
+			}
+
+			@Override
+			public void visit(final OWLDataUnionOf range)
+			{
+				write(Tag.DATA_UNION_OF, range.getOperands());
+			}
+
+			@Override
+			public void visit(final OWLDataComplementOf range)
+			{
+				write(Tag.DATA_COMPLEMENT_OF, range.getDataRange());
+			}
+
+			@Override
+			public void visit(final OWLDataOneOf range)
+			{
+				write(Tag.DATA_ONE_OF, range.getValues());
+			}
+
+			@Override
+			public void visit(final OWLDatatypeRestriction range)
+			{
+				write(Tag.DATATYPE_RESTRICTION, range.getDatatype());
+				objects(range.getFacetRestrictions());
+			}
+
+			@Override
+			public void visit(final OWLFacetRestriction restriction)
+			{
+				tag(Tag.FACET_RESTRICTION);
+				string(restriction.getFacet().getIRI().toString());
+				object(restriction.getFacetValue());
+			}
+
+			@Override
+			public void visit(final OWLDeclarationAxiom axiom)
+			{
+				write(Tag.DECLARATION, axiom.getEntity());
+			}
+
+			@Override
+			public void visit(final OWLSubClassOfAxiom axiom)
+			{
+				write(Tag.SUB_CLASS_OF, axiom.getSubClass(), axiom.getSuperClass());
+			}
+
+			@Override
+			public void visit(final OWLEquivalentClassesAxiom axiom)
+			{
+				write(Tag.EQUIVALENT_CLASSES, axiom.getClassExpressions());
+			}
+
+			@Override
+			public void visit(final OWLDisjointClassesAxiom axiom)
+			{
+				write(Tag.DISJOINT_CLASSES, axiom.getClassExpressions());
+			}
+
+			@Override
+			public void visit(final OWLDisjointUnionAxiom axiom)
+			{
+				write(Tag.DISJOINT_UNION, axiom.getOWLClass());
+				objects(axiom.getClassExpressions());
+			}
+
+			@Override
+			public void visit(final OWLHasKeyAxiom axiom)
+			{
+				write(Tag.HAS_KEY, axiom.getClassExpression());
+				objects(axiom.getPropertyExpressions());
+			}
+
+			@Override
+			public void visit(final OWLClassAssertionAxiom axiom)
+			{
+				write(Tag.CLASS_ASSERTION, axiom.getClassExpression(), axiom.getIndividual());
+			}
+
+			@Override
+			public void visit(final OWLSameIndividualAxiom axiom)
+			{
+				write(Tag.SAME_INDIVIDUAL, axiom.getIndividuals());
+			}
+
+			@Override
+			public void visit(final OWLDifferentIndividualsAxiom axiom)
+			{
+				write(Tag.DIFFERENT_INDIVIDUALS, axiom.getIndividuals());
+			}
+
+			@Override
+			public void visit(final OWLObjectPropertyAssertionAxiom axiom)
+			{
+				write(Tag.OBJECT_PROPERTY_ASSERTION, axiom.getProperty(), axiom.getSubject(), axiom.getObject());
+			}
+
+			@Override
+			public void visit(final OWLNegativeObjectPropertyAssertionAxiom axiom)
+			{
+				write(Tag.NEGATIVE_OBJECT_PROPERTY_ASSERTION, axiom.getProperty(), axiom.getSubject(), axiom.getObject());
+			}
+
+			@Override
+			public void visit(final OWLDataPropertyAssertionAxiom axiom)
+			{
+				write(Tag.DATA_PROPERTY_ASSERTION, axiom.getProperty(), axiom.getSubject(), axiom.getObject());
+			}
+
+			@Override
+			public void visit(final OWLNegativeDataPropertyAssertionAxiom axiom)
+			{
+				write(Tag.NEGATIVE_DATA_PROPERTY_ASSERTION, axiom.getProperty(), axiom.getSubject(), axiom.getObject());
+			}
+
+			@Override
+			public void visit(final OWLSubObjectPropertyOfAxiom axiom)
+			{
+				write(Tag.SUB_OBJECT_PROPERTY_OF, axiom.getSubProperty(), axiom.getSuperProperty());
+			}
+
+			@Override
+			public void visit(final OWLEquivalentObjectPropertiesAxiom axiom)
+			{
+				write(Tag.EQUIVALENT_OBJECT_PROPERTIES, axiom.getProperties());
+			}
+
+			@Override
+			public void visit(final OWLDisjointObjectPropertiesAxiom axiom)
+			{
+				write(Tag.DISJOINT_OBJECT_PROPERTIES, axiom.getProperties());
+			}
+
+			@Override
+			public void visit(final OWLInverseObjectPropertiesAxiom axiom)
+			{
+				write(Tag.INVERSE_OBJECT_PROPERTIES, axiom.getFirstProperty(), axiom.getSecondProperty());
+			}
+
+			@Override
+			public void visit(final OWLSubPropertyChainOfAxiom axiom)
+			{
+				write(Tag.SUB_PROPERTY_CHAIN_OF, axiom.getSuperProperty());
+				objects(axiom.getPropertyChain());
+			}
+
+			@Override
+			public void visit(final OWLObjectPropertyDomainAxiom axiom)
+			{
+				write(Tag.OBJECT_PROPERTY_DOMAIN, axiom.getProperty(), axiom.getDomain());
+			}
+
+			@Override
+			public void visit(final OWLObjectPropertyRangeAxiom axiom)
+			{
+				write(Tag.OBJECT_PROPERTY_RANGE, axiom.getProperty(), axiom.getRange());
+			}
+
+			@Override
+			public void visit(final OWLFunctionalObjectPropertyAxiom axiom)
+			{
+				write(Tag.FUNCTIONAL_OBJECT_PROPERTY, axiom.getProperty());
+			}
+
+			@Override
+			public void visit(final OWLInverseFunctionalObjectPropertyAxiom axiom)
+			{
+				write(Tag.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, axiom.getProperty());
+			}
+
+			@Override
+			public void visit(final OWLReflexiveObjectPropertyAxiom axiom)
+			{
+				write(Tag.REFLEXIVE_OBJECT_PROPERTY, axiom.getProperty());
+			}
+
+			@Override
+			public void visit(final OWLIrreflexiveObjectPropertyAxiom axiom)
+			{
+				write(Tag.IRREFLEXIVE_OBJECT_PROPERTY, axiom.getProperty());
+			}
+
+			@Override
+			public void visit(final OWLSymmetricObjectPropertyAxiom axiom)
+			{
+				write(Tag.SYMMETRIC_OBJECT_PROPERTY, axiom.getProperty());
+			}
+
+			@Override
+			public void visit(final OWLAsymmetricObjectPropertyAxiom axiom)
+			{
+				write(Tag.ASYMMETRIC_OBJECT_PROPERTY, axiom.getProperty());
+			}
+
+			@Override
+			public void visit(final OWLTransitiveObjectPropertyAxiom axiom)
+			{
+				write(Tag.TRANSITIVE_OBJECT_PROPERTY, axiom.getProperty());
+			}
+
+			@Override
+			public void visit(final OWLSubDataPropertyOfAxiom axiom)
+			{
+				write(Tag.SUB_DATA_PROPERTY_OF, axiom.getSubProperty(), axiom.getSuperProperty());
+			}
+
+			@Override
+			public void visit(final OWLEquivalentDataPropertiesAxiom axiom)
+			{
+				write(Tag.EQUIVALENT_DATA_PROPERTIES, axiom.getProperties());
+			}
+
+			@Override
+			public void visit(final OWLDisjointDataPropertiesAxiom axiom)
+			{
+				write(Tag.DISJOINT_DATA_PROPERTIES, axiom.getProperties());
+			}
+
+			@Override
+			public void visit(final OWLDataPropertyDomainAxiom axiom)
+			{
+				write(Tag.DATA_PROPERTY_DOMAIN, axiom.getProperty(), axiom.getDomain());
+			}
+
+			@Override
+			public void visit(final OWLDataPropertyRangeAxiom axiom)
+			{
+				write(Tag.DATA_PROPERTY_RANGE, axiom.getProperty(), axiom.getRange());
+			}
+
+			@Override
+			public void visit(final OWLFunctionalDataPropertyAxiom axiom)
+			{
+				write(Tag.FUNCTIONAL_DATA_PROPERTY, axiom.getProperty());
+			}
+
+			@Override
+			public void visit(final OWLDatatypeDefinitionAxiom axiom)
+			{
+				write(Tag.DATATYPE_DEFINITION, axiom.getDatatype(), axiom.getDataRange());
+			}
+
+			@Override
+			public void visit(final OWLAnnotationAssertionAxiom axiom)
+			{
+				write(Tag.ANNOTATION_ASSERTION, axiom.getProperty(), axiom.getSubject(), axiom.getValue());
+			}
+
+			@Override
+			public void visit(final OWLSubAnnotationPropertyOfAxiom axiom)
+			{
+				write(Tag.SUB_ANNOTATION_PROPERTY_OF, axiom.getSubProperty(), axiom.getSuperProperty());
+			}
+
+			@Override
+			public void visit(final OWLAnnotationPropertyDomainAxiom axiom)
+			{
+				write(Tag.ANNOTATION_PROPERTY_DOMAIN, axiom.getProperty(), axiom.getDomain());
+			}
+
+			@Override
+			public void visit(final OWLAnnotationPropertyRangeAxiom axiom)
+			{
+				write(Tag.ANNOTATION_PROPERTY_RANGE, axiom.getProperty(), axiom.getRange());
+			}
+
+			@Override
+			public void visit(final SWRLRule rule)
+			{
+				write(Tag.SWRL_RULE, rule.getBody());
+				objects(rule.getHead());
+			}
+
+			@Override
+			public void visit(final SWRLClassAtom atom)
+			{
+				write(Tag.SWRL_CLASS_ATOM, atom.getPredicate(), atom.getArgument());
+			}
+
+			@Override
+			public void visit(final SWRLDataRangeAtom atom)
+			{
+				write(Tag.SWRL_DATA_RANGE_ATOM, atom.getPredicate(), atom.getArgument());
+			}
+
+			@Override
+			public void visit(final SWRLObjectPropertyAtom atom)
+			{
+				write(Tag.SWRL_OBJECT_PROPERTY_ATOM, atom.getPredicate(), atom.getFirstArgument(), atom.getSecondArgument());
+			}
+
+			@Override
+			public void visit(final SWRLDataPropertyAtom atom)
+			{
+				write(Tag.SWRL_DATA_PROPERTY_ATOM, atom.getPredicate(), atom.getFirstArgument(), atom.getSecondArgument());
+			}
+
+			@Override
+			public void visit(final SWRLBuiltInAtom atom)
+			{
+				write(Tag.SWRL_BUILT_IN_ATOM, atom.getPredicate());
+				objects(atom.getArguments());
+			}
+
+			@Override
+			public void visit(final SWRLSameIndividualAtom atom)
+			{
+				write(Tag.SWRL_SAME_INDIVIDUAL_ATOM, atom.getFirstArgument(), atom.getSecondArgument());
+			}
+
+			@Override
+			public void visit(final SWRLDifferentIndividualsAtom atom)
+			{
+				write(Tag.SWRL_DIFFERENT_INDIVIDUALS_ATOM, atom.getFirstArgument(), atom.getSecondArgument());
+			}
+
+			@Override
+			public void visit(final SWRLVariable variable)
+			{
+				write(Tag.SWRL_VARIABLE, variable.getIRI());
+			}
+
+			@Override
+			public void visit(final SWRLIndividualArgument argument)
+			{
+				write(Tag.SWRL_INDIVIDUAL_ARGUMENT, argument.getIndividual());
+			}
+
+			@Override
+			public void visit(final SWRLLiteralArgument argument)
+			{
+				write(Tag.SWRL_LITERAL_ARGUMENT, argument.getLiteral());
+			}
+		}
+	}
+
+	private static class Reader
+	{
+		private final DataInputStream _in;
+
+		private OWLEntity[] _entities;
+
+		public Reader(final DataInputStream in)
+		{
+			_in = in;
+		}
+
+		public IncrementalClassifier.PersistedState read() throws IOException
+		{
+			if (_in.readInt() != MAGIC)
+				throw new IOException("The stream does not contain a saved incremental classifier in the binary format");
+
+			final byte version = _in.readByte();
+			if (version != VERSION)
+				throw new IOException("Unsupported version of the binary format: " + version + " (expected " + VERSION
+						+ "), the incremental classifier has to be saved again");
+
+			readDictionary();
+
+			final boolean realized = _in.readBoolean();
+			final Collection<OWLAxiom> axioms = readAxioms();
+			final MultiValueMap<OWLEntity, OWLEntity> modules = readModules();
+			final Taxonomy<OWLClass> taxonomy = readTaxonomy(realized);
+
+			final ModuleExtractor extractor = ModuleExtractorFactory.createModuleExtractor();
+			extractor.restore(axioms, modules);
+
+			return new IncrementalClassifier.PersistedState(extractor, taxonomy, realized);
+		}
+
+		private void readDictionary() throws IOException
+		{
+			final String[] namespaces = new String[readVarInt(_in)];
+			for (int i = 0; i < namespaces.length; i++)
+				namespaces[i] = readString(_in);
+
+			_entities = new OWLEntity[readVarInt(_in)];
+			for (int i = 0; i < _entities.length; i++)
+			{
+				final byte type = _in.readByte();
+				final String namespace = namespaces[readVarInt(_in)];
+				_entities[i] = createEntity(type, namespace + readString(_in));
+			}
+		}
+
+		private OWLEntity entity(final int id) throws IOException
+		{
+			if (id < 0 || id >= _entities.length)
+				throw new IOException("Invalid entity index: " + id);
+
+			return _entities[id];
+		}
+
+		private Collection<OWLAxiom> readAxioms() throws IOException
+		{
+			final int count = readVarInt(_in);
+			final List<OWLAxiom> axioms = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+			{
+				OWLAxiom axiom = read(OWLAxiom.class);
+				final List<OWLAnnotation> annotations = readList(OWLAnnotation.class);
+				if (!annotations.isEmpty())
+					axiom = axiom.getAnnotatedAxiom(annotations);
+				axioms.add(axiom);
+			}
+
+			return axioms;
+		}
+
+		private <T> T read(final Class<T> type) throws IOException
+		{
+			final OWLObject object = readObject();
+			if (!type.isInstance(object))
+				throw new IOException("Invalid axioms in the binary format, expected " + type.getSimpleName() + " but found " + object);
+
+			return type.cast(object);
+		}
+
+		private <T> List<T> readList(final Class<T> type) throws IOException
+		{
+			final int count = readVarInt(_in);
+			final List<T> list = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+				list.add(read(type));
+
+			return list;
+		}
+
+		private OWLObject readObject() throws IOException
+		{
+			final int tag = readVarInt(_in);
+			if (tag < 0 || tag >= TAGS.length)
+				throw new IOException("Invalid axioms in the binary format, unrecognized tag: " + tag);
+
+			final OWLDataFactory factory = OWL.factory;
+			switch (TAGS[tag])
+			{
+				case ENTITY:
+					return entity(readVarInt(_in));
+				case IRI_VALUE:
+					return IRI.create(readString(_in));
+				case ANONYMOUS_INDIVIDUAL:
+					return factory.getOWLAnonymousIndividual(readString(_in));
+				case LITERAL:
+				{
+					final String literal = readString(_in);
+					final String lang = readString(_in);
+					final OWLDatatype datatype = read(OWLDatatype.class);
+					return lang.isEmpty() ? factory.getOWLLiteral(literal, datatype) : factory.getOWLLiteral(literal, lang);
+				}
+				case ANNOTATION:
+					return factory.getOWLAnnotation(read(OWLAnnotationProperty.class), read(OWLAnnotationValue.class), readList(OWLAnnotation.class));
+				case OBJECT_INVERSE_OF:
+					return factory.getOWLObjectInverseOf(read(OWLObjectProperty.class));
+
+				case OBJECT_INTERSECTION_OF:
+					return factory.getOWLObjectIntersectionOf(readList(OWLClassExpression.class));
+				case OBJECT_UNION_OF:
+					return factory.getOWLObjectUnionOf(readList(OWLClassExpression.class));
+				case OBJECT_COMPLEMENT_OF:
+					return factory.getOWLObjectComplementOf(read(OWLClassExpression.class));
+				case OBJECT_ONE_OF:
+					return factory.getOWLObjectOneOf(readList(OWLIndividual.class));
+				case OBJECT_SOME_VALUES_FROM:
+					return factory.getOWLObjectSomeValuesFrom(read(OWLObjectPropertyExpression.class), read(OWLClassExpression.class));
+				case OBJECT_ALL_VALUES_FROM:
+					return factory.getOWLObjectAllValuesFrom(read(OWLObjectPropertyExpression.class), read(OWLClassExpression.class));
+				case OBJECT_HAS_VALUE:
+					return factory.getOWLObjectHasValue(read(OWLObjectPropertyExpression.class), read(OWLIndividual.class));
+				case OBJECT_HAS_SELF:
+					return factory.getOWLObjectHasSelf(read(OWLObjectPropertyExpression.class));
+				case OBJECT_MIN_CARDINALITY:
+					return factory.getOWLObjectMinCardinality(readVarInt(_in), read(OWLObjectPropertyExpression.class), read(OWLClassExpression.class));
+				case OBJECT_EXACT_CARDINALITY:
+					return factory.getOWLObjectExactCardinality(readVarInt(_in), read(OWLObjectPropertyExpression.class), read(OWLClassExpression.class));
+				case OBJECT_MAX_CARDINALITY:
+					return factory.getOWLObjectMaxCardinality(readVarInt(_in), read(OWLObjectPropertyExpression.class), read(OWLClassExpression.class));
+				case DATA_SOME_VALUES_FROM:
+					return factory.getOWLDataSomeValuesFrom(read(OWLDataPropertyExpression.class), read(OWLDataRange.class));
+				case DATA_ALL_VALUES_FROM:
+					return factory.getOWLDataAllValuesFrom(read(OWLDataPropertyExpression.class), read(OWLDataRange.class));
+				case DATA_HAS_VALUE:
+					return factory.getOWLDataHasValue(read(OWLDataPropertyExpression.class), read(OWLLiteral.class));
+				case DATA_MIN_CARDINALITY:
+					return factory.getOWLDataMinCardinality(readVarInt(_in), read(OWLDataPropertyExpression.class), read(OWLDataRange.class));
+				case DATA_EXACT_CARDINALITY:
+					return factory.getOWLDataExactCardinality(readVarInt(_in), read(OWLDataPropertyExpression.class), read(OWLDataRange.class));
+				case DATA_MAX_CARDINALITY:
+					return factory.getOWLDataMaxCardinality(readVarInt(_in), read(OWLDataPropertyExpression.class), read(OWLDataRange.class));
+
+				case DATA_INTERSECTION_OF:
+					return factory.getOWLDataIntersectionOf(readList(OWLDataRange.class));
+				case DATA_UNION_OF:
+					return factory.getOWLDataUnionOf(readList(OWLDataRange.class));
+				case DATA_COMPLEMENT_OF:
+					return factory.getOWLDataComplementOf(read(OWLDataRange.class));
+				case DATA_ONE_OF:
+					return factory.getOWLDataOneOf(readList(OWLLiteral.class));
+				case DATATYPE_RESTRICTION:
+					return factory.getOWLDatatypeRestriction(read(OWLDatatype.class), readList(OWLFacetRestriction.class));
+				case FACET_RESTRICTION:
+				{
+					final String iri = readString(_in);
+					final OWLFacet facet = OWLFacet.getFacet(IRI.create(iri));
+					if (facet == null)
+						throw new IOException("Invalid axioms in the binary format, unrecognized facet: " + iri);
+					return factory.getOWLFacetRestriction(facet, read(OWLLiteral.class));
+				}
+
+				case DECLARATION:
+					return factory.getOWLDeclarationAxiom(read(OWLEntity.class));
+				case SUB_CLASS_OF:
+					return factory.getOWLSubClassOfAxiom(read(OWLClassExpression.class), read(OWLClassExpression.class));
+				case EQUIVALENT_CLASSES:
+					return factory.getOWLEquivalentClassesAxiom(readList(OWLClassExpression.class));
+				case DISJOINT_CLASSES:
+					return factory.getOWLDisjointClassesAxiom(readList(OWLClassExpression.class));
+				case DISJOINT_UNION:
+					return factory.getOWLDisjointUnionAxiom(read(OWLClass.class), readList(OWLClassExpression.class));
+				case HAS_KEY:
+					return factory.getOWLHasKeyAxiom(read(OWLClassExpression.class), readList(OWLPropertyExpression.class));
+				case CLASS_ASSERTION:
+					return factory.getOWLClassAssertionAxiom(read(OWLClassExpression.class), read(OWLIndividual.class));
+				case SAME_INDIVIDUAL:
+					return factory.getOWLSameIndividualAxiom(readList(OWLIndividual.class));
+				case DIFFERENT_INDIVIDUALS:
+					return factory.getOWLDifferentIndividualsAxiom(readList(OWLIndividual.class));
+				case OBJECT_PROPERTY_ASSERTION:
+					return factory.getOWLObjectPropertyAssertionAxiom(read(OWLObjectPropertyExpression.class), read(OWLIndividual.class), read(OWLIndividual.class));
+				case NEGATIVE_OBJECT_PROPERTY_ASSERTION:
+					return factory.getOWLNegativeObjectPropertyAssertionAxiom(read(OWLObjectPropertyExpression.class), read(OWLIndividual.class),
+							read(OWLIndividual.class));
+				case DATA_PROPERTY_ASSERTION:
+					return factory.getOWLDataPropertyAssertionAxiom(read(OWLDataPropertyExpression.class), read(OWLIndividual.class), read(OWLLiteral.class));
+				case NEGATIVE_DATA_PROPERTY_ASSERTION:
+					return factory.getOWLNegativeDataPropertyAssertionAxiom(read(OWLDataPropertyExpression.class), read(OWLIndividual.class), read(OWLLiteral.class));
+				case SUB_OBJECT_PROPERTY_OF:
+					return factory.getOWLSubObjectPropertyOfAxiom(read(OWLObjectPropertyExpression.class), read(OWLObjectPropertyExpression.class));
+				case EQUIVALENT_OBJECT_PROPERTIES:
+					return factory.getOWLEquivalentObjectPropertiesAxiom(readList(OWLObjectPropertyExpression.class));
+				case DISJOINT_OBJECT_PROPERTIES:
+					return factory.getOWLDisjointObjectPropertiesAxiom(readList(OWLObjectPropertyExpression.class));
+				case INVERSE_OBJECT_PROPERTIES:
+					return factory.getOWLInverseObjectPropertiesAxiom(read(OWLObjectPropertyExpression.class), read(OWLObjectPropertyExpression.class));
+				case SUB_PROPERTY_CHAIN_OF:
+				{
+					final OWLObjectPropertyExpression superProperty = read(OWLObjectPropertyExpression.class);
+					return factory.getOWLSubPropertyChainOfAxiom(readList(OWLObjectPropertyExpression.class), superProperty);
+				}
+				case OBJECT_PROPERTY_DOMAIN:
+					return factory.getOWLObjectPropertyDomainAxiom(read(OWLObjectPropertyExpression.class), read(OWLClassExpression.class));
+				case OBJECT_PROPERTY_RANGE:
+					return factory.getOWLObjectPropertyRangeAxiom(read(OWLObjectPropertyExpression.class), read(OWLClassExpression.class));
+				case FUNCTIONAL_OBJECT_PROPERTY:
+					return factory.getOWLFunctionalObjectPropertyAxiom(read(OWLObjectPropertyExpression.class));
+				case INVERSE_FUNCTIONAL_OBJECT_PROPERTY:
+					return factory.getOWLInverseFunctionalObjectPropertyAxiom(read(OWLObjectPropertyExpression.class));
+				case REFLEXIVE_OBJECT_PROPERTY:
+					return factory.getOWLReflexiveObjectPropertyAxiom(read(OWLObjectPropertyExpression.class));
+				case IRREFLEXIVE_OBJECT_PROPERTY:
+					return factory.getOWLIrreflexiveObjectPropertyAxiom(read(OWLObjectPropertyExpression.class));
+				case SYMMETRIC_OBJECT_PROPERTY:
+					return factory.getOWLSymmetricObjectPropertyAxiom(read(OWLObjectPropertyExpression.class));
+				case ASYMMETRIC_OBJECT_PROPERTY:
+					return factory.getOWLAsymmetricObjectPropertyAxiom(read(OWLObjectPropertyExpression.class));
+				case TRANSITIVE_OBJECT_PROPERTY:
+					return factory.getOWLTransitiveObjectPropertyAxiom(read(OWLObjectPropertyExpression.class));
+				case SUB_DATA_PROPERTY_OF:
+					return factory.getOWLSubDataPropertyOfAxiom(read(OWLDataPropertyExpression.class), read(OWLDataPropertyExpression.class));
+				case EQUIVALENT_DATA_PROPERTIES:
+					return factory.getOWLEquivalentDataPropertiesAxiom(readList(OWLDataPropertyExpression.class));
+				case DISJOINT_DATA_PROPERTIES:
+					return factory.getOWLDisjointDataPropertiesAxiom(readList(OWLDataPropertyExpression.class));
+				case DATA_PROPERTY_DOMAIN:
+					return factory.getOWLDataPropertyDomainAxiom(read(OWLDataPropertyExpression.class), read(OWLClassExpression.class));
+				case DATA_PROPERTY_RANGE:
+					return factory.getOWLDataPropertyRangeAxiom(read(OWLDataPropertyExpression.class), read(OWLDataRange.class));
+				case FUNCTIONAL_DATA_PROPERTY:
+					return factory.getOWLFunctionalDataPropertyAxiom(read(OWLDataPropertyExpression.class));
+				case DATATYPE_DEFINITION:
+					return factory.getOWLDatatypeDefinitionAxiom(read(OWLDatatype.class), read(OWLDataRange.class));
+				case ANNOTATION_ASSERTION:
+					return factory.getOWLAnnotationAssertionAxiom(read(OWLAnnotationProperty.class), read(OWLAnnotationSubject.class), read(OWLAnnotationValue.class));
+				case SUB_ANNOTATION_PROPERTY_OF:
+					return factory.getOWLSubAnnotationPropertyOfAxiom(read(OWLAnnotationProperty.class), read(OWLAnnotationProperty.class));
+				case ANNOTATION_PROPERTY_DOMAIN:
+					return factory.getOWLAnnotationPropertyDomainAxiom(read(OWLAnnotationProperty.class), read(IRI.class));
+				case ANNOTATION_PROPERTY_RANGE:
+					return factory.getOWLAnnotationPropertyRangeAxiom(read(OWLAnnotationProperty.class), read(IRI.class));
+
+				case SWRL_RULE:
+					return factory.getSWRLRule(readList(SWRLAtom.class), readList(SWRLAtom.class));
+				case SWRL_CLASS_ATOM:
+					return factory.getSWRLClassAtom(read(OWLClassExpression.class), read(SWRLIArgument.class));
+				case SWRL_DATA_RANGE_ATOM:
+					return factory.getSWRLDataRangeAtom(read(OWLDataRange.class), read(SWRLDArgument.class));
+				case SWRL_OBJECT_PROPERTY_ATOM:
+					return factory.getSWRLObjectPropertyAtom(read(OWLObjectPropertyExpression.class), read(SWRLIArgument.class), read(SWRLIArgument.class));
+				case SWRL_DATA_PROPERTY_ATOM:
+					return factory.getSWRLDataPropertyAtom(read(OWLDataPropertyExpression.class), read(SWRLIArgument.class), read(SWRLDArgument.class));
+				case SWRL_BUILT_IN_ATOM:
+					return factory.getSWRLBuiltInAtom(read(IRI.class), readList(SWRLDArgument.class));
+				case SWRL_SAME_INDIVIDUAL_ATOM:
+					return factory.getSWRLSameIndividualAtom(read(SWRLIArgument.class), read(SWRLIArgument.class));
+				case SWRL_DIFFERENT_INDIVIDUALS_ATOM:
+					return factory.getSWRLDifferentIndividualsAtom(read(SWRLIArgument.class), read(SWRLIArgument.class));
+				case SWRL_VARIABLE:
+					return factory.getSWRLVariable(read(IRI.class));
+				case SWRL_INDIVIDUAL_ARGUMENT:
+					return factory.getSWRLIndividualArgument(read(OWLIndividual.class));
+				case SWRL_LITERAL_ARGUMENT:
+					return factory.getSWRLLiteralArgument(read(OWLLiteral.class));
+				default:
+					throw new IOException("Invalid axioms in the binary format, unrecognized tag: " + tag);
+			}
+		}
+
+		private MultiValueMap<OWLEntity, OWLEntity> readModules() throws IOException
+		{
+			final byte[] bytes = new byte[readVarInt(_in)];
+			_in.readFully(bytes);
+
+			final int[] position = new int[1];
+			final int count = readVarInt(bytes, position);
+			final MultiValueMap<OWLEntity, OWLEntity> modules = new MultiValueMap<>(count * 4 / 3 + 1);
+			for (int i = 0; i < count; i++)
+			{
+				final OWLEntity entity = entity(readVarInt(bytes, position));
+				final int length = readVarInt(bytes, position);
+				modules.put(entity, new LazyModule(bytes, position[0], _entities));
+				position[0] += length;
+			}
+
+			return modules;
+		}
+
+		private Set<OWLEntity> readEntities(final Set<OWLEntity> entities) throws IOException
+		{
+			final int count = readVarInt(_in);
+			for (int i = 0; i < count; i++)
+				entities.add(entity(readVarInt(_in)));
+
+			return entities;
+		}
+
+		private Taxonomy<OWLClass> readTaxonomy(final boolean realized) throws IOException
+		{
+			final Taxonomy<OWLClass> taxonomy = new Taxonomy<>(null, OWL.Thing, OWL.Nothing);
+			taxonomy.getTop().removeSub(taxonomy.getBottom());
+
+			final int nodeCount = readVarInt(_in);
+			@SuppressWarnings("unchecked")
+			final TaxonomyNode<OWLClass>[] nodes = new TaxonomyNode[nodeCount];
+			final int[][] subs = new int[nodeCount][];
+			for (int i = 0; i < nodeCount; i++)
+			{
+				final List<OWLClass> equivalents = new ArrayList<>();
+				for (final OWLEntity entity : readEntities(new LinkedHashSet<>()))
+					equivalents.add(entity.asOWLClass());
+
+				if (i == 0)
+					nodes[i] = taxonomy.getTop();
+				else
+					if (i == 1)
+						nodes[i] = taxonomy.getBottom();
+					else
+						nodes[i] = new TaxonomyNode<>(equivalents, /* hidden = */false);
+
+				for (final OWLClass c : equivalents)
+					if (!c.isOWLThing() && !c.isOWLNothing())
+						taxonomy.addEquivalentNode(c, nodes[i]);
+
+				subs[i] = new int[readVarInt(_in)];
+				for (int j = 0; j < subs[i].length; j++)
+				{
+					subs[i][j] = readVarInt(_in);
+					if (subs[i][j] >= nodeCount)
+						throw new IOException("Invalid taxonomy node index: " + subs[i][j]);
+				}
+
+				if (realized && readVarInt(_in) != 0)
+				{
+					final Set<OWLNamedIndividual> instances = new HashSet<>();
+					for (final OWLEntity entity : readEntities(new HashSet<>()))
+						instances.add(entity.asOWLNamedIndividual());
+					nodes[i].putDatum(TaxonomyUtils.INSTANCES_KEY, instances);
+				}
+			}
+
+			for (int i = 0; i < nodeCount; i++)
+				for (final int sub : subs[i])
+					nodes[i].addSub(nodes[sub]);
+
+			return taxonomy;
+		}
+	}
+
+	/**
+	 * Module whose members are decoded from the delta-encoded indices the first time the module is accessed. The decoded members are kept in a hash set which
+	 * is also used for all the modifications of the module.
+	 */
+	private static class LazyModule extends AbstractSet<OWLEntity>
+	{
+		private byte[] _bytes;
+
+		private final int _offset;
+
+		private OWLEntity[] _entities;
+
+		private volatile Set<OWLEntity> _members;
+
+		public LazyModule(final byte[] bytes, final int offset, final OWLEntity[] entities)
+		{
+			_bytes = bytes;
+			_offset = offset;
+			_entities = entities;
+		}
+
+		private Set<OWLEntity> members()
+		{
+			Set<OWLEntity> members = _members;
+			if (members == null)
+				synchronized (this)
+				{
+					members = _members;
+					if (members == null)
+					{
+						final int[] position = { _offset };
+						final int count = readVarInt(_bytes, position);
+						members = new HashSet<>(count * 4 / 3 + 1);
+						int id = 0;
+						for (int i = 0; i < count; i++)
+						{
+							id += readVarInt(_bytes, position);
+							members.add(_entities[id]);
+						}
+
+						_members = members;
+						_bytes = null;
+						_entities = null;
+					}
+				}
+
+			return members;
+		}
+
+		@Override
+		public Iterator<OWLEntity> iterator()
+		{
+			return members().iterator();
+		}
+
+		@Override
+		public int size()
+		{
+			return members().size();
+		}
+
+		@Override
+		public boolean contains(final Object o)
+		{
+			return members().contains(o);
+		}
+
+		@Override
+		public boolean add(final OWLEntity e)
+		{
+			return members().add(e);
+		}
+
+		@Override
+		public boolean remove(final Object o)
+		{
+			return members().remove(o);
+		}
+
+		@Override
+		public void clear()
+		{
+			members().clear();
+		}
+	}
+}
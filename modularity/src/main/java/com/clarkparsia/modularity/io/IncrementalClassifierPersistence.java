@@ -9,6 +9,7 @@ package com.clarkparsia.modularity.io;
 import com.clarkparsia.modularity.IncrementalClassifier;
 import com.clarkparsia.modularity.ModuleExtractor;
 import com.clarkparsia.modularity.ModuleExtractorFactory;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -45,13 +46,26 @@ public class IncrementalClassifierPersistence
 	private static final String REALIZED_PROPERTY = "realized";
 
 	/**
-	 * Saves the internal state of an incremental classifier to an output stream.
+	 * Saves the internal state of an incremental classifier to an output stream in the binary format (see {@link BinaryClassifierPersistence}).
 	 *
 	 * @param classifier the classifier to be saved
 	 * @param outputStream the output stream where the classifier should be saved
 	 * @throws IOException if an error should occur during the save operation
 	 */
 	public static void save(final IncrementalClassifier classifier, final OutputStream outputStream) throws IOException
+	{
+		BinaryClassifierPersistence.save(new IncrementalClassifier.PersistedState(classifier), outputStream);
+	}
+
+	/**
+	 * Saves the internal state of an incremental classifier to an output stream as a zip file containing the axioms and the taxonomy as OWL ontologies. This
+	 * format is slower to load than the binary format but it can be read by older versions.
+	 *
+	 * @param classifier the classifier to be saved
+	 * @param outputStream the output stream where the classifier should be saved
+	 * @throws IOException if an error should occur during the save operation
+	 */
+	public static void saveZip(final IncrementalClassifier classifier, final OutputStream outputStream) throws IOException
 	{
 		// extract the components that should be saved from the classifier
 		final IncrementalClassifier.PersistedState persistedState = new IncrementalClassifier.PersistedState(classifier);
@@ -92,7 +106,7 @@ public class IncrementalClassifierPersistence
 	}
 
 	/**
-	 * Loads the previously saved internal state of an incremental classifier from an output stream.
+	 * Loads the previously saved internal state of an incremental classifier from an output stream. Both the binary format and the zip format can be read.
 	 * 
 	 * @param ontologyManager the ontology manager
 	 * @param inputStream the input stream containing the previously saved internal state of an incremental classifier
@@ -101,6 +115,18 @@ public class IncrementalClassifierPersistence
 	 * @throws OWLReasonerException
 	 */
 	public static IncrementalClassifier load(final InputStream inputStream, final OWLOntology loadedOntology) throws IOException
+	{
+		final InputStream bufferedInputStream = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+
+		final IncrementalClassifier.PersistedState persistedState = BinaryClassifierPersistence.isBinary(bufferedInputStream) ? BinaryClassifierPersistence.load(bufferedInputStream) : loadZip(bufferedInputStream);
+
+		if (loadedOntology != null)
+			return new IncrementalClassifier(persistedState, loadedOntology);
+		else
+			return new IncrementalClassifier(persistedState);
+	}
+
+	private static IncrementalClassifier.PersistedState loadZip(final InputStream inputStream) throws IOException
 	{
 		ModuleExtractor extractor = null;
 		Taxonomy<OWLClass> taxonomy = null;
@@ -124,11 +150,6 @@ public class IncrementalClassifierPersistence
 
 		final boolean realized = Boolean.valueOf(properties.getProperty(REALIZED_PROPERTY, "false"));
 
-		final IncrementalClassifier.PersistedState persistedState = new IncrementalClassifier.PersistedState(extractor, taxonomy, realized);
-
-		if (loadedOntology != null)
-			return new IncrementalClassifier(persistedState, loadedOntology);
-		else
-			return new IncrementalClassifier(persistedState);
+		return new IncrementalClassifier.PersistedState(extractor, taxonomy, realized);
 	}
 }
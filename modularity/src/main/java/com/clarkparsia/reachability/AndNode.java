@@ -42,6 +42,12 @@ public class AndNode extends Node
 		return (activatedInputs == inputs.size());
 	}
 
+	@Override
+	public int getActivationLimit()
+	{
+		return inputs.size();
+	}
+
 	@Override
 	public boolean isRedundant()
 	{
@@ -55,6 +55,14 @@ public abstract class Node
 
 	public abstract boolean isActive();
 
+	/**
+	 * Returns the number of input activations after which this _node becomes active.
+	 */
+	public int getActivationLimit()
+	{
+		return 1;
+	}
+
 	public boolean isRedundant()
 	{
 		return false;
@@ -6,8 +6,11 @@
 
 package com.clarkparsia.reachability;
 
+import java.util.ArrayDeque;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.logging.Level;
@@ -117,6 +120,67 @@ public class Reachability<E>
 		return activatedEntities;
 	}
 
+	/**
+	 * Computes the same set of entities as {@link #computeReachable(Iterable)} but keeps the activation counts in a local map instead of the _nodes so the
+	 * graph is only read. Several threads can compute reachability in the same graph at the same time with this method as long as the graph is not modified.
+	 */
+	public Set<E> computeReachableConcurrently(final Iterable<E> initialEntities)
+	{
+		final Set<E> activated = new HashSet<>();
+		final Map<Node, int[]> activations = new IdentityHashMap<>();
+		final Queue<Node> queue = new ArrayDeque<>();
+		queue.add(graph.getStartNode());
+
+		for (final E initialEntity : initialEntities)
+		{
+			final EntityNode<E> initialNode = graph.getNode(initialEntity);
+			if (initialNode == null)
+				throw new IllegalArgumentException("Unknown entity: " + initialEntity);
+			if (!isActive(activations, initialNode))
+			{
+				activate(activations, initialNode);
+				activated.addAll(initialNode.getEntities());
+				queue.add(initialNode);
+			}
+		}
+
+		while (!queue.isEmpty())
+		{
+			final Node node = queue.poll();
+
+			for (final Node outputNode : node.getOutputs())
+				if (!isActive(activations, outputNode) && activate(activations, outputNode))
+				{
+					queue.add(outputNode);
+					if (outputNode instanceof EntityNode)
+						activated.addAll(entityNode(outputNode).getEntities());
+				}
+		}
+
+		return activated;
+	}
+
+	private static boolean isActive(final Map<Node, int[]> activations, final Node node)
+	{
+		final int[] count = activations.get(node);
+		return (count == null ? 0 : count[0]) >= node.getActivationLimit();
+	}
+
+	/**
+	 * Records an input activation for the _node and returns <code>true</code> if the _node became active.
+	 */
+	private static boolean activate(final Map<Node, int[]> activations, final Node node)
+	{
+		int[] count = activations.get(node);
+		if (count == null)
+		{
+			count = new int[1];
+			activations.put(node, count);
+		}
+
+		return ++count[0] == node.getActivationLimit();
+	}
+
 	@SuppressWarnings("unchecked")
 	private EntityNode<E> entityNode(final Node node)
 	{
@@ -43,6 +43,12 @@ public class ReachabilityGraph<E>
 			return true;
 		}
 
+		@Override
+		public int getActivationLimit()
+		{
+			return 0;
+		}
+
 		@Override
 		public void reset()
 		{
@@ -69,6 +75,12 @@ public class ReachabilityGraph<E>
 			// do not add the output because null _node can never be activated
 		}
 
+		@Override
+		public int getActivationLimit()
+		{
+			return Integer.MAX_VALUE;
+		}
+
 		@Override
 		public boolean isActive()
 		{
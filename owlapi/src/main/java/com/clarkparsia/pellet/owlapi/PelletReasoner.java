@@ -394,6 +394,8 @@ public class PelletReasoner implements OWLReasoner, OWLOntologyChangeListener
 	@Override
 	public void dispose()
 	{
+		if (kb != null)
+			kb.dispose();
 		kb = null;
 		manager.removeOntologyChangeListener(this);
 	}
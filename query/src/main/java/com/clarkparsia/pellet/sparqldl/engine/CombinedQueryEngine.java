@@ -81,9 +81,35 @@ public class CombinedQueryEngine implements QueryExec
 
 	private QueryResult result;
 
+	/**
+	 * Number of results after which the search stops
+	 */
+	private int limit;
+
 	private Set<ATermAppl> downMonotonic;
 
-	private void prepare(final Query query)
+	/**
+	 * Thrown to unwind the search once the limit of the query is reached. Candidate loops are nested in many different ways so this is simpler than
+	 * checking the limit in each of them.
+	 */
+	private static final class LimitReachedException extends RuntimeException
+	{
+		private static final long serialVersionUID = 1L;
+
+		private LimitReachedException()
+		{
+			super(null, null, false, false);
+		}
+	}
+
+	private static final LimitReachedException LIMIT_REACHED = new LimitReachedException();
+
+	/**
+	 * Computes the execution plan of the query so that it can be executed by {@link #execPrepared(ResultBinding)}, possibly several times.
+	 *
+	 * @param query the query to prepare
+	 */
+	public void prepare(final Query query)
 	{
 		if (log.isLoggable(Level.FINE))
 			log.fine("Preparing plan ...");
@@ -92,8 +118,6 @@ public class CombinedQueryEngine implements QueryExec
 		if (kb == null)
 			throw new RuntimeException("No input data set is given for query!");
 
-		this.result = new QueryResultImpl(query);
-
 		this.oldQuery = query;
 		this.query = setupCores(query);
 
@@ -243,11 +267,38 @@ public class CombinedQueryEngine implements QueryExec
 		if (log.isLoggable(Level.FINE))
 			log.fine("Executing query " + query);
 
+		prepare(query);
+
+		return execPrepared(new ResultBindingImpl());
+	}
+
+	/**
+	 * Executes the query given to the last call of {@link #prepare(Query)} reusing its plan. The binding gives the values of some variables of the query,
+	 * e.g. the parameters of a {@link PreparedQuery}, and the query is answered as if the variables were replaced by their values.
+	 *
+	 * @param initialBinding values for some variables of the query
+	 * @return the results of the query
+	 */
+	public QueryResult execPrepared(final ResultBinding initialBinding)
+	{
 		final Timer timer = new Timer("CombinedQueryEngine");
 		timer.start();
-		prepare(query);
+
+		result = new QueryResultImpl(oldQuery);
+		limit = oldQuery.getLimit();
+
+		plan.reset();
 		branches = 0;
-		exec(new ResultBindingImpl());
+		if (limit > 0)
+			try
+			{
+				exec(initialBinding.duplicate());
+			}
+			catch (final LimitReachedException e)
+			{
+				if (log.isLoggable(Level.FINE))
+					log.fine("Stopped after " + limit + " results");
+			}
 		timer.stop();
 
 		if (log.isLoggable(Level.FINE))
@@ -286,6 +337,9 @@ public class CombinedQueryEngine implements QueryExec
 				}
 
 				result.add(binding);
+
+				if (result.size() >= limit)
+					throw LIMIT_REACHED;
 			}
 
 			if (log.isLoggable(Level.FINER))
@@ -1095,6 +1149,9 @@ public class CombinedQueryEngine implements QueryExec
 				for (final ATermAppl var : newQuery.getUndistVars())
 					newQuery.addDistVar(var, VarType.INDIVIDUAL);
 
+				// one answer is enough to refute the negation
+				newQuery.setLimit(1);
+
 				final QueryExec newEngine = new CombinedQueryEngine();
 
 				final boolean isNegationTrue = newEngine.exec(newQuery).isEmpty();
@@ -0,0 +1,158 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public
+// License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of
+// proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.sparqldl.engine;
+
+import aterm.ATermAppl;
+import com.clarkparsia.pellet.sparqldl.model.MultiQueryResults;
+import com.clarkparsia.pellet.sparqldl.model.Query;
+import com.clarkparsia.pellet.sparqldl.model.QueryResult;
+import com.clarkparsia.pellet.sparqldl.model.QueryResultImpl;
+import com.clarkparsia.pellet.sparqldl.model.ResultBinding;
+import com.clarkparsia.pellet.sparqldl.model.ResultBindingImpl;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.utils.ATermUtils;
+
+/**
+ * <p>
+ * Title: Prepared Query
+ * </p>
+ * <p>
+ * Description: A query with parameters, i.e. variables whose values are only given when the query is executed. The query is preprocessed, simplified, split
+ * and planned once and the plans are reused for each execution, which is much cheaper than calling {@link QueryEngine#exec(Query)} for the query with the
+ * parameters replaced by their values. The plans are recomputed after the KB of the query has been updated. A prepared query should not be executed by
+ * several threads at the same time.
+ * </p>
+ * <p>
+ * Copyright: Copyright (c) 2008
+ * </p>
+ * <p>
+ * Company: Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ * </p>
+ */
+public class PreparedQuery
+{
+	public static final Logger log = Logger.getLogger(PreparedQuery.class.getName());
+
+	private final Query _query;
+
+	private final Set<ATermAppl> _parameters;
+
+	/**
+	 * Parts of the query that share no variables
+	 */
+	private List<Query> _parts;
+
+	/**
+	 * Engines holding the plans of the parts
+	 */
+	private List<CombinedQueryEngine> _engines;
+
+	/**
+	 * Update count of the KB when the plans were computed
+	 */
+	private int _updateCount;
+
+	PreparedQuery(final Query query, final Collection<ATermAppl> parameters)
+	{
+		for (final ATermAppl parameter : parameters)
+			if (!ATermUtils.isVar(parameter) || !query.getVars().contains(parameter))
+				throw new IllegalArgumentException("Not a variable of the query: " + parameter);
+			else
+				if (query.getUndistVars().contains(parameter))
+					throw new IllegalArgumentException("Undistinguished variables cannot be parameters: " + parameter);
+
+		_query = query;
+		_parameters = Collections.unmodifiableSet(new HashSet<>(parameters));
+	}
+
+	public Query getQuery()
+	{
+		return _query;
+	}
+
+	public Set<ATermAppl> getParameters()
+	{
+		return _parameters;
+	}
+
+	private void prepare()
+	{
+		if (log.isLoggable(Level.FINE))
+			log.fine("Preparing " + _query);
+
+		// preprocessing modifies the query so the original query is kept
+		// for preparing it again after an update
+		_parts = QueryEngine.decompose(_query.apply(new ResultBindingImpl()), _parameters);
+
+		_engines = new ArrayList<>(_parts.size());
+		for (final Query part : _parts)
+		{
+			final CombinedQueryEngine engine = new CombinedQueryEngine();
+			engine.prepare(part);
+			_engines.add(engine);
+		}
+
+		_updateCount = _query.getKB().getUpdateCount();
+	}
+
+	/**
+	 * Executes the query with the given values for its parameters.
+	 *
+	 * @param values binding with a value for each parameter and no other variables
+	 * @return the results of the query
+	 */
+	public QueryResult exec(final ResultBinding values)
+	{
+		for (final ATermAppl var : values.getAllVariables())
+			if (!_parameters.contains(var))
+				throw new IllegalArgumentException("Not a parameter of the query: " + var);
+		for (final ATermAppl parameter : _parameters)
+			if (!values.isBound(parameter))
+				throw new IllegalArgumentException("No value for parameter: " + parameter);
+
+		if (_query.getAtoms().isEmpty())
+		{
+			final QueryResultImpl results = new QueryResultImpl(_query);
+			results.add(new ResultBindingImpl());
+			return results;
+		}
+
+		final KnowledgeBase kb = _query.getKB();
+		kb.ensureConsistency();
+
+		if (_engines == null || _updateCount != kb.getUpdateCount())
+			prepare();
+
+		final List<QueryResult> results = new ArrayList<>(_parts.size());
+		for (int i = 0; i < _parts.size(); i++)
+		{
+			final Query part = _parts.get(i);
+			part.setLimit(_query.getLimit());
+
+			// values that are not in the KB cannot be passed to the engine
+			final QueryResult result = !values.isEmpty() && QueryEngine.hasUndefinedTerm(part.apply(values)) ? new QueryResultImpl(part) : _engines.get(i).execPrepared(values);
+			results.add(result);
+
+			// the cross product is empty, the remaining parts need not be
+			// evaluated
+			if (result.isEmpty())
+				break;
+		}
+
+		return _parts.size() == 1 ? results.get(0) : new MultiQueryResults(_query.getResultVars(), results);
+	}
+}
@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.PelletOptions;
 import org.mindswap.pellet.exceptions.UnsupportedFeatureException;
 import org.mindswap.pellet.utils.ATermUtils;
 import org.mindswap.pellet.utils.KBOperation;
@@ -164,7 +165,10 @@ public class QueryCost
 						if (bound.contains(subject))
 						{
 							staticCost = estimate.getCost(KBOperation.GET_PROPERTY_VALUE);
-							branchCount = isConstant(predicate) ? estimate.avg(predicate) : estimate.avgSubjectsPerProperty();
+							if (PelletOptions.USE_ABOX_STATISTICS && isConstant(predicate) && isConstant(subject))
+								branchCount = estimate.valuesPerSubject(predicate, subject);
+							else
+								branchCount = isConstant(predicate) ? estimate.avg(predicate) : estimate.avgSubjectsPerProperty();
 						}
 						else
 							if (bound.contains(object))
@@ -172,10 +176,13 @@ public class QueryCost
 								staticCost = estimate.getCost(KBOperation.GET_PROPERTY_VALUE);
 								if (isConstant(predicate))
 								{
-									if (kb.isObjectProperty(predicate))
-										branchCount = estimate.avg(inv(predicate));
+									if (PelletOptions.USE_ABOX_STATISTICS && isConstant(object))
+										branchCount = estimate.subjectsPerValue(predicate, object);
 									else
-										branchCount = estimate.avgSubjectsPerProperty();
+										if (kb.isObjectProperty(predicate))
+											branchCount = estimate.avg(inv(predicate));
+										else
+											branchCount = estimate.avgSubjectsPerProperty();
 								}
 								else
 									branchCount = estimate.avgSubjectsPerProperty();
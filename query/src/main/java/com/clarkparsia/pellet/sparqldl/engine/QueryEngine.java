@@ -39,6 +39,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.mindswap.pellet.ABox;
@@ -108,10 +113,112 @@ public class QueryEngine
 		}
 		query.getKB().ensureConsistency();
 
+		final List<Query> queries = decompose(query, Collections.<ATermAppl> emptySet());
+
+		QueryResult r = null;
+		if (queries.size() == 1)
+			r = execSingleQuery(queries.get(0));
+		else
+		{
+			final List<QueryResult> results;
+			if (PelletOptions.USE_PARALLEL_QUERY_COMPONENTS && PelletOptions.PARALLEL_REASONING_THREADS > 1 && query.getKB().isFrozen())
+				results = execConcurrently(queries);
+			else
+			{
+				results = new ArrayList<>(queries.size());
+				for (final Query q : queries)
+				{
+					final QueryResult result = execSingleQuery(q);
+					results.add(result);
+
+					// the cross product is empty, the remaining parts need
+					// not be evaluated
+					if (result.isEmpty())
+						break;
+				}
+			}
+
+			r = new MultiQueryResults(query.getResultVars(), results);
+		}
+
+		return r;
+	}
+
+	/**
+	 * Evaluates the disconnected parts of a query on {@link PelletOptions#PARALLEL_REASONING_THREADS} threads. The KB should be frozen so each thread reads
+	 * it through its own view (see {@link KnowledgeBase#freeze()}).
+	 */
+	private static List<QueryResult> execConcurrently(final List<Query> queries)
+	{
+		// size estimates are filled in lazily while the parts are planned so
+		// they are computed here for all the classes and properties as well as
+		// the class expressions of the parts before the threads read them
+		if (PelletOptions.SAMPLING_RATIO != 0)
+		{
+			queries.get(0).getKB().getSizeEstimate().computeAll();
+			for (final Query q : queries)
+				QuerySizeEstimator.computeSizeEstimate(q);
+		}
+
+		final List<Callable<QueryResult>> tasks = new ArrayList<>(queries.size());
+		for (final Query q : queries)
+			tasks.add(() -> execSingleQuery(q));
+
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(PelletOptions.PARALLEL_REASONING_THREADS, tasks.size()), r ->
+		{
+			final Thread thread = new Thread(r, "query-component");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try
+		{
+			final List<QueryResult> results = new ArrayList<>(queries.size());
+			for (final Future<QueryResult> future : executor.invokeAll(tasks))
+				results.add(future.get());
+
+			return results;
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InternalReasonerException("Interrupted while evaluating query", e);
+		}
+		catch (final ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new InternalReasonerException("Query evaluation failed", e.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Creates a query that is parsed, preprocessed and planned once and can then be executed many times with different values for its parameters. The KB
+	 * of the query should not be modified while the query is prepared but the plan is recomputed after the KB has been updated.
+	 *
+	 * @param query the query
+	 * @param parameters the variables of the query whose values are given when the query is executed
+	 * @return the prepared query
+	 */
+	public static PreparedQuery prepare(final Query query, final Collection<ATermAppl> parameters)
+	{
+		return new PreparedQuery(query, parameters);
+	}
+
+	/**
+	 * Preprocesses, simplifies and splits the query into parts that share no variables. The parameters are variables that will be bound later so they are
+	 * kept in the query like the result variables.
+	 */
+	static List<Query> decompose(final Query query, final Set<ATermAppl> parameters)
+	{
 		// PREPROCESSING
 		if (log.isLoggable(Level.FINE))
 			log.fine("Preprocessing:\n" + query);
-		final Query preprocessed = preprocess(query);
+		final Query preprocessed = preprocess(query, parameters);
 
 		// SIMPLIFICATION
 		if (PelletOptions.SIMPLIFY_QUERY)
@@ -128,22 +235,15 @@ public class QueryEngine
 
 		final List<Query> queries = split(preprocessed);
 
-		QueryResult r = null;
 		if (queries.isEmpty())
 			throw new InternalReasonerException("Splitting query returned no results!");
-		else
-			if (queries.size() == 1)
-				r = execSingleQuery(queries.get(0));
-			else
-			{
-				final List<QueryResult> results = new ArrayList<>(queries.size());
-				for (final Query q : queries)
-					results.add(execSingleQuery(q));
 
-				r = new MultiQueryResults(query.getResultVars(), results);
-			}
+		// the cross product of the first n results of each part has at least n
+		// results unless the full product has less
+		for (final Query q : queries)
+			q.setLimit(query.getLimit());
 
-		return r;
+		return queries;
 	}
 
 	private static boolean isObjectProperty(final ATermAppl t, final KnowledgeBase kb)
@@ -320,7 +420,7 @@ public class QueryEngine
 		return false;
 	}
 
-	private static boolean hasUndefinedTerm(final Query query)
+	static boolean hasUndefinedTerm(final Query query)
 	{
 		return hasUndefinedTerm(query.getAtoms(), query.getKB());
 	}
@@ -441,7 +541,12 @@ public class QueryEngine
 		domainRangeSimplification(query);
 	}
 
-	private static Query preprocess(final Query query)
+	private static boolean isKept(final Query query, final ATermAppl var, final Set<ATermAppl> parameters)
+	{
+		return query.getResultVars().contains(var) || parameters.contains(var);
+	}
+
+	private static Query preprocess(final Query query, final Set<ATermAppl> parameters)
 	{
 		Query q = query;
 
@@ -469,10 +574,10 @@ public class QueryEngine
 						if (undistVars.contains(a2))
 							replaceA2 = true;
 						else
-							if (ATermUtils.isVar(a1) && !q.getResultVars().contains(a1))
+							if (ATermUtils.isVar(a1) && !isKept(q, a1, parameters))
 								replaceA1 = true;
 							else
-								if (ATermUtils.isVar(a2) && !q.getResultVars().contains(a2))
+								if (ATermUtils.isVar(a2) && !isKept(q, a2, parameters))
 									replaceA2 = true;
 
 				if (replaceA1 || replaceA2)
@@ -506,7 +611,7 @@ public class QueryEngine
 
 			// Could remove sameAs with result vars if we could guarantee the query still contained an
 			// atom containing the variable.
-			if (a1.equals(a2) && !q.getResultVars().contains(a1) && q.getAtoms().size() > 1)
+			if (a1.equals(a2) && !isKept(q, a1, parameters) && q.getAtoms().size() > 1)
 				q.remove(atom);
 		}
 
@@ -51,6 +51,7 @@ public class QuerySizeEstimator
 						properties.add(argument);
 				}
 
-		sizeEstimate.compute(concepts, properties);
+		if (!concepts.isEmpty() || !properties.isEmpty())
+			sizeEstimate.compute(concepts, properties);
 	}
 }
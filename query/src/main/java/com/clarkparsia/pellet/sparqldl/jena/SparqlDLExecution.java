@@ -242,10 +242,23 @@ class SparqlDLExecution implements QueryExecution
 			// bindings manually)
 			q.setQueryParameters(queryParameters);
 
+			final List<SortCondition> sortConditions = query.getOrderBy();
+			final boolean sorted = sortConditions != null && !sortConditions.isEmpty();
+
+			// without sorting only the results up to the end of the slice
+			// are needed
+			if (query.isAskType())
+				q.setLimit(1);
+			else
+				if (query.hasLimit() && !sorted)
+				{
+					final long offset = query.hasOffset() ? query.getOffset() : 0;
+					q.setLimit((int) Math.min(offset + query.getLimit(), com.clarkparsia.pellet.sparqldl.model.Query.NO_LIMIT));
+				}
+
 			ResultSet results = new SparqlDLResultSet(com.clarkparsia.pellet.sparqldl.engine.QueryEngine.exec(q), source.getDefaultModel(), queryParameters);
 
-			final List<SortCondition> sortConditions = query.getOrderBy();
-			if (sortConditions != null && !sortConditions.isEmpty())
+			if (sorted)
 				results = new SortedResultSet(results, sortConditions);
 
 			if (query.hasOffset() || query.hasLimit())
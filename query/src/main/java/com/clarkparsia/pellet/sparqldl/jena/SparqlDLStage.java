@@ -16,8 +16,12 @@ import com.clarkparsia.pellet.sparqldl.model.ResultBinding;
 import com.clarkparsia.pellet.sparqldl.model.ResultBindingImpl;
 import com.clarkparsia.pellet.sparqldl.parser.ARQParser;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.jena.graph.Graph;
@@ -124,11 +128,25 @@ class SparqlDLStage
 		}
 	}
 
+	/**
+	 * Evaluates the query for each input binding. Input bindings often give the same values to the variables of the query, e.g. when the pattern is joined
+	 * with a pattern that has more solutions or shares no variables with it at all, so the results are kept for the most recently used values and the query
+	 * is only evaluated for new ones.
+	 */
 	private static class PelletQueryIterator extends QueryIterRepeatApply
 	{
+		/**
+		 * Maximum number of distinct input values whose results are kept
+		 */
+		private static final int MAX_CACHED_RESULTS = 128;
+
 		private final PelletInfGraph pellet;
 		private final Query query;
 
+		private final Set<ATermAppl> queryVars;
+
+		private final Map<ResultBinding, QueryResult> cachedResults;
+
 		/**
 		 * @param input
 		 * @param context
@@ -139,8 +157,25 @@ class SparqlDLStage
 
 			this.pellet = pellet;
 			this.query = query;
+
+			queryVars = new HashSet<>(query.getVars());
+			queryVars.addAll(query.getResultVars());
+
+			cachedResults = new LinkedHashMap<ResultBinding, QueryResult>(16, 0.75f, true)
+			{
+				private static final long serialVersionUID = -2424311850418474213L;
+
+				@Override
+				protected boolean removeEldestEntry(final Map.Entry<ResultBinding, QueryResult> eldest)
+				{
+					return size() > MAX_CACHED_RESULTS;
+				}
+			};
 		}
 
+		/**
+		 * Converts the values the binding gives to the variables of the query. Other variables do not affect the results of the query.
+		 */
 		private ResultBinding convertBinding(final Binding binding)
 		{
 			final ResultBinding pelletBinding = new ResultBindingImpl();
@@ -148,10 +183,13 @@ class SparqlDLStage
 			for (final Iterator<?> vars = binding.vars(); vars.hasNext();)
 			{
 				final Var var = (Var) vars.next();
+				final ATermAppl pelletVar = ATermUtils.makeVar(var.getVarName());
+				if (!queryVars.contains(pelletVar))
+					continue;
+
 				final Node value = binding.get(var);
 				if (value != null)
 				{
-					final ATermAppl pelletVar = ATermUtils.makeVar(var.getVarName());
 					final ATermAppl pelletValue = loader.node2term(value);
 					pelletBinding.setValue(pelletVar, pelletValue);
 				}
@@ -166,9 +204,20 @@ class SparqlDLStage
 		@Override
 		protected QueryIterator nextStage(final Binding binding)
 		{
-			final Query newQuery = query.apply(convertBinding(binding));
+			final ResultBinding pelletBinding = convertBinding(binding);
 
-			final QueryResult results = QueryEngine.exec(newQuery);
+			QueryResult results = cachedResults.get(pelletBinding);
+			if (results == null)
+			{
+				final Query newQuery = query.apply(pelletBinding);
+
+				results = QueryEngine.exec(newQuery);
+
+				cachedResults.put(pelletBinding, results);
+			}
+			else
+				if (log.isLoggable(Level.FINER))
+					log.finer("Reusing results for " + pelletBinding);
 
 			final SparqlDLResultSet resultSet = new SparqlDLResultSet(results, null, binding);
 
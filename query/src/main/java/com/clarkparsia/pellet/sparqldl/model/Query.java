@@ -36,6 +36,11 @@ public interface Query
 		CLASS, PROPERTY, INDIVIDUAL, LITERAL
 	}
 
+	/**
+	 * Limit of a query whose results are all needed.
+	 */
+	public static final int NO_LIMIT = Integer.MAX_VALUE;
+
 	/**
 	 * Sets the filter for this query.
 	 *
@@ -208,4 +213,19 @@ public interface Query
 	 * @param name name of the query
 	 */
 	public void setName(ATermAppl name);
+
+	/**
+	 * Sets the number of results that are needed from this query. The query engine may stop looking for results after it has found this many, e.g. for a
+	 * SPARQL query with a LIMIT and no ORDER BY or for a boolean query. The limit is not copied to the queries created from this one.
+	 *
+	 * @param limit the number of results needed or {@link #NO_LIMIT}
+	 */
+	public void setLimit(int limit);
+
+	/**
+	 * Returns the number of results that are needed from this query.
+	 *
+	 * @return the number of results needed or {@link #NO_LIMIT}
+	 */
+	public int getLimit();
 }
@@ -64,6 +64,8 @@ public class QueryImpl implements Query
 
 	private QueryParameters parameters;
 
+	private int limit = NO_LIMIT;
+
 	// VARIABLES
 	private EnumMap<VarType, Set<ATermAppl>> distVars;
 
@@ -673,6 +675,21 @@ public class QueryImpl implements Query
 		return parameters;
 	}
 
+	@Override
+	public void setLimit(final int limit)
+	{
+		if (limit < 0)
+			throw new IllegalArgumentException("Negative limit: " + limit);
+
+		this.limit = limit;
+	}
+
+	@Override
+	public int getLimit()
+	{
+		return limit;
+	}
+
 	@Override
 	public ATermAppl getName()
 	{
@@ -38,7 +38,9 @@ SyntacticBottomLocalityTests.class,//
 		PersistenceModularityTest.class,//
 		//PersistenceClassificationTest.class,//
 		//PersistenceRealizationTest.class,//
-		PersistenceUpdatesTest.class //
+		PersistenceUpdatesTest.class,//
+		ParallelModuleExtractionTest.class,//
+		ParallelIncrementalClassifierTest.class //
 })
 public class ModularityTestSuite
 {
@@ -0,0 +1,37 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.modularity.test;
+
+import org.junit.After;
+import org.junit.Before;
+import org.mindswap.pellet.PelletOptions;
+
+/**
+ * Runs the incremental classifier tests with the affected modules classified concurrently (see {@link PelletOptions#USE_PARALLEL_MODULE_CLASSIFICATION}).
+ */
+public class ParallelIncrementalClassifierTest extends GraphBasedIncrementalClassifierTest
+{
+	private boolean _useParallelClassification;
+
+	private int _threads;
+
+	@Before
+	public void enableParallelClassification()
+	{
+		_useParallelClassification = PelletOptions.USE_PARALLEL_MODULE_CLASSIFICATION;
+		_threads = PelletOptions.PARALLEL_REASONING_THREADS;
+		PelletOptions.USE_PARALLEL_MODULE_CLASSIFICATION = true;
+		PelletOptions.PARALLEL_REASONING_THREADS = 4;
+	}
+
+	@After
+	public void restoreParallelClassification()
+	{
+		PelletOptions.USE_PARALLEL_MODULE_CLASSIFICATION = _useParallelClassification;
+		PelletOptions.PARALLEL_REASONING_THREADS = _threads;
+	}
+}
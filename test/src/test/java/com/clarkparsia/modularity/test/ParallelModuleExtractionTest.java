@@ -0,0 +1,92 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.modularity.test;
+
+import static org.junit.Assert.assertEquals;
+
+import com.clarkparsia.modularity.GraphBasedModuleExtractor;
+import com.clarkparsia.modularity.ModuleExtractor;
+import com.clarkparsia.owlapi.OWL;
+import com.clarkparsia.owlapi.OntologyUtils;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mindswap.pellet.PelletOptions;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Checks that the modules extracted concurrently (see {@link PelletOptions#USE_PARALLEL_MODULE_EXTRACTION}) are the same as the modules extracted by a single
+ * thread.
+ */
+public class ParallelModuleExtractionTest
+{
+	private boolean _useParallelExtraction;
+
+	private int _threads;
+
+	@Before
+	public void saveOptions()
+	{
+		_useParallelExtraction = PelletOptions.USE_PARALLEL_MODULE_EXTRACTION;
+		_threads = PelletOptions.PARALLEL_REASONING_THREADS;
+		PelletOptions.PARALLEL_REASONING_THREADS = 4;
+	}
+
+	@After
+	public void restoreOptions()
+	{
+		PelletOptions.USE_PARALLEL_MODULE_EXTRACTION = _useParallelExtraction;
+		PelletOptions.PARALLEL_REASONING_THREADS = _threads;
+		OntologyUtils.clearOWLOntologyManager();
+	}
+
+	private static Map<OWLEntity, Set<OWLEntity>> extractModules(final OWLOntology ontology, final boolean parallel)
+	{
+		PelletOptions.USE_PARALLEL_MODULE_EXTRACTION = parallel;
+
+		final ModuleExtractor extractor = new GraphBasedModuleExtractor();
+		extractor.addAxioms(ontology.getAxioms());
+
+		// copy the modules since modules of the sequential extraction may be views of other modules
+		final Map<OWLEntity, Set<OWLEntity>> modules = new HashMap<>();
+		for (final Entry<OWLEntity, Set<OWLEntity>> entry : extractor.extractModules().entrySet())
+			modules.put(entry.getKey(), new HashSet<>(entry.getValue()));
+
+		return modules;
+	}
+
+	private static void testModules(final String file)
+	{
+		final OWLOntology ontology = OntologyUtils.loadOntology("file:" + file, false);
+		try
+		{
+			assertEquals(extractModules(ontology, false), extractModules(ontology, true));
+		}
+		finally
+		{
+			OWL.manager.removeOntology(ontology);
+		}
+	}
+
+	@Test
+	public void testGalen()
+	{
+		testModules("test/data/modularity/galen.owl");
+	}
+
+	@Test
+	public void testWine()
+	{
+		testModules("test/data/modularity/wine.owl");
+	}
+}
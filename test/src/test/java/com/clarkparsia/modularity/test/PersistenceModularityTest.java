@@ -6,24 +6,47 @@
 
 package com.clarkparsia.modularity.test;
 
+import static com.clarkparsia.owlapi.OWL.DataProperty;
+import static com.clarkparsia.owlapi.OWL.Datatype;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import com.clarkparsia.modularity.AxiomBasedModuleExtractor;
 import com.clarkparsia.modularity.IncrementalClassifier;
 import com.clarkparsia.modularity.ModuleExtractor;
 import com.clarkparsia.modularity.PelletIncremantalReasonerFactory;
+import com.clarkparsia.modularity.io.BinaryClassifierPersistence;
 import com.clarkparsia.modularity.io.IncrementalClassifierPersistence;
 import com.clarkparsia.owlapi.OWL;
 import com.clarkparsia.owlapi.OntologyUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mindswap.pellet.taxonomy.Taxonomy;
 import org.mindswap.pellet.utils.MultiValueMap;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
 
 /**
  * <p>
@@ -55,7 +78,7 @@ public class PersistenceModularityTest extends AbstractModularityTest
 		return new AxiomBasedModuleExtractor();
 	}
 
-	private void testPersistence(final OWLOntology ontology) throws IOException
+	private void testPersistence(final OWLOntology ontology, final boolean zip) throws IOException
 	{
 		final File testFile = new File(TEST_FILE);
 		final ModuleExtractor moduleExtractor = createModuleExtractor();
@@ -67,7 +90,10 @@ public class PersistenceModularityTest extends AbstractModularityTest
 
 		try (FileOutputStream fos = new FileOutputStream(testFile))
 		{
-			IncrementalClassifierPersistence.save(modular, fos);
+			if (zip)
+				IncrementalClassifierPersistence.saveZip(modular, fos);
+			else
+				IncrementalClassifierPersistence.save(modular, fos);
 		}
 
 		modular.dispose();
@@ -86,12 +112,12 @@ public class PersistenceModularityTest extends AbstractModularityTest
 		assertTrue(testFile.delete());
 	}
 
-	private void testPersistence(final String file) throws IOException
+	private void testPersistence(final String file, final boolean zip) throws IOException
 	{
 		final OWLOntology ontology = OntologyUtils.loadOntology("file:" + file, false);
 		try
 		{
-			testPersistence(ontology);
+			testPersistence(ontology, zip);
 		}
 		finally
 		{
@@ -102,11 +128,88 @@ public class PersistenceModularityTest extends AbstractModularityTest
 	@Test
 	public void testGalen() throws IOException
 	{
-		testPersistence("test/data/modularity/galen.owl");
+		testPersistence("test/data/modularity/galen.owl", false);
+	}
+
+	@Test
+	public void testGalenZip() throws IOException
+	{
+		testPersistence("test/data/modularity/galen.owl", true);
+	}
+
+	@Test
+	public void testAxiomEncoding() throws IOException
+	{
+		final OWLDataFactory factory = OWL.factory;
+		final OWLDataProperty dp = DataProperty("dp");
+		final OWLDataProperty dq = DataProperty("dq");
+		final OWLDatatype dt = Datatype("dt");
+		final OWLAnnotationProperty ap = factory.getOWLAnnotationProperty(IRI.create("ap"));
+		final OWLAnonymousIndividual anon = factory.getOWLAnonymousIndividual("_:anon");
+		final OWLLiteral plain = factory.getOWLLiteral("label", "en");
+		final OWLLiteral typed = factory.getOWLLiteral(5);
+		final OWLAnnotation annotation = factory.getOWLAnnotation(ap, plain,
+				Collections.singleton(factory.getOWLAnnotation(ap, IRI.create("http://example.org/source"))));
+		final SWRLVariable x = factory.getSWRLVariable(IRI.create("urn:swrl#x"));
+		final SWRLVariable y = factory.getSWRLVariable(IRI.create("urn:swrl#y"));
+
+		final OWLAxiom[] axioms = { OWL.declaration(A), OWL.subClassOf(A, OWL.and(B, OWL.not(C))), OWL.subClassOf(B, OWL.or(C, factory.getOWLObjectOneOf(Arrays.asList(a, b)))),
+				OWL.subClassOf(C, factory.getOWLObjectSomeValuesFrom(p, D)), OWL.subClassOf(D, factory.getOWLObjectAllValuesFrom(OWL.inverse(p), E)),
+				OWL.subClassOf(E, factory.getOWLObjectHasValue(q, c)), OWL.subClassOf(E, OWL.self(p)), OWL.subClassOf(F, factory.getOWLObjectMinCardinality(2, q, G)),
+				OWL.subClassOf(F, factory.getOWLObjectMaxCardinality(3, q)), OWL.subClassOf(F, factory.getOWLObjectExactCardinality(1, p, H)),
+				OWL.subClassOf(G, OWL.some(dp, OWL.restrict(OWL.Datatype(XSDVocabulary.INTEGER.getIRI()), OWL.minInclusive(1), OWL.maxExclusive(10)))),
+				OWL.subClassOf(G, OWL.all(dp, OWL.dataOr(OWL.dataNot(dt), OWL.dataAnd(dt, OWL.oneOf(typed, plain))))), OWL.subClassOf(H, OWL.value(dq, typed)),
+				OWL.subClassOf(H, factory.getOWLDataMinCardinality(1, dq, dt)), OWL.subClassOf(H, factory.getOWLDataMaxCardinality(2, dq)),
+				OWL.subClassOf(H, factory.getOWLDataExactCardinality(1, dp, dt)), OWL.equivalentClasses(A, B), OWL.disjointClasses(C, D),
+				factory.getOWLDisjointUnionAxiom(A, Arrays.asList(G, H)), factory.getOWLHasKeyAxiom(A, Arrays.asList(p, dp)), OWL.classAssertion(a, A),
+				OWL.sameAs(a, b), OWL.differentFrom(c, d), factory.getOWLObjectPropertyAssertionAxiom(p, a, b),
+				factory.getOWLNegativeObjectPropertyAssertionAxiom(q, a, c), OWL.propertyAssertion(a, dp, typed),
+				factory.getOWLNegativeDataPropertyAssertionAxiom(dq, a, plain), factory.getOWLSubObjectPropertyOfAxiom(p, q),
+				OWL.equivalentProperties(p, q), factory.getOWLDisjointObjectPropertiesAxiom(Arrays.asList(p, q)), OWL.inverseProperties(p, q),
+				factory.getOWLSubPropertyChainOfAxiom(Arrays.asList(p, q), p), factory.getOWLObjectPropertyDomainAxiom(p, A),
+				factory.getOWLObjectPropertyRangeAxiom(p, B), factory.getOWLFunctionalObjectPropertyAxiom(q), OWL.inverseFunctional(q), OWL.reflexive(p),
+				OWL.irreflexive(q), OWL.symmetric(p), OWL.asymmetric(q), OWL.transitive(p), OWL.subPropertyOf(dp, dq), OWL.equivalentDataProperties(dp, dq),
+				OWL.disjointProperties(dp, dq), OWL.domain(dp, A), OWL.range(dp, dt), OWL.functional(dq), OWL.datatypeDefinition(dt, OWL.Datatype(XSDVocabulary.INT.getIRI())),
+				factory.getOWLAnnotationAssertionAxiom(A.getIRI(), annotation), factory.getOWLAnnotationAssertionAxiom(ap, anon, IRI.create("http://example.org/")),
+				factory.getOWLSubAnnotationPropertyOfAxiom(ap, factory.getRDFSLabel()), factory.getOWLAnnotationPropertyDomainAxiom(ap, A.getIRI()),
+				factory.getOWLAnnotationPropertyRangeAxiom(ap, dt.getIRI()), OWL.subClassOf(B, C).getAnnotatedAxiom(Collections.singleton(annotation)),
+				factory.getSWRLRule(
+						Arrays.asList(factory.getSWRLClassAtom(A, x), factory.getSWRLObjectPropertyAtom(p, x, y), factory.getSWRLDataRangeAtom(dt, y),
+								factory.getSWRLDataPropertyAtom(dp, x, factory.getSWRLLiteralArgument(typed)),
+								factory.getSWRLBuiltInAtom(IRI.create("http://www.w3.org/2003/11/swrlb#equal"), Arrays.asList(y, factory.getSWRLLiteralArgument(plain))),
+								factory.getSWRLDifferentIndividualsAtom(x, factory.getSWRLIndividualArgument(c))),
+						Arrays.asList(factory.getSWRLSameIndividualAtom(x, factory.getSWRLIndividualArgument(a)))) };
+
+		modExtractor.addAxioms(Arrays.asList(axioms));
+		modExtractor.extractModules();
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryClassifierPersistence.save(new IncrementalClassifier.PersistedState(modExtractor, new Taxonomy<OWLClass>(null, OWL.Thing, OWL.Nothing), false),
+				bytes);
+
+		final IncrementalClassifier.PersistedState state = BinaryClassifierPersistence.load(new ByteArrayInputStream(bytes.toByteArray()));
+
+		assertEquals(new HashSet<>(Arrays.asList(axioms)), state.getModuleExtractor().getAxioms());
+		assertEquals(modExtractor.getModules(), state.getModuleExtractor().getModules());
+	}
+
+	@Test
+	public void testUnsupportedVersion()
+	{
+		final byte[] bytes = { 0x50, 0x49, 0x43, 0x42, 1 };
+		try
+		{
+			BinaryClassifierPersistence.load(new ByteArrayInputStream(bytes));
+			fail("Loaded an unsupported version of the binary format");
+		}
+		catch (final IOException e)
+		{
+			assertTrue(e.getMessage().contains("version"));
+		}
 	}
 
 	public static void main(final String[] args) throws IOException
 	{
-		new PersistenceModularityTest().testPersistence("test/data/modularity/galen.owl");
+		new PersistenceModularityTest().testPersistence("test/data/modularity/galen.owl", false);
 	}
 }
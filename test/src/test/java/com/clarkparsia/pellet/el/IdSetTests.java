@@ -0,0 +1,316 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.el;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import aterm.ATermAppl;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import junit.framework.JUnit4TestAdapter;
+import org.junit.Test;
+import org.mindswap.pellet.utils.ATermUtils;
+import org.mindswap.pellet.utils.intset.IntIterator;
+
+/**
+ * Tests the id sets, role concept maps and concept tables used by the EL classifier.
+ */
+public class IdSetTests
+{
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(IdSetTests.class);
+	}
+
+	private static Set<Integer> values(final IdSet ids)
+	{
+		final Set<Integer> values = new HashSet<>();
+		final IntIterator i = ids.iterator();
+		while (i.hasNext())
+			assertTrue("Duplicate id", values.add(i.next()));
+		return values;
+	}
+
+	private static void assertSameIds(final Set<Integer> expected, final IdSet actual)
+	{
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, values(actual));
+		for (final int id : expected)
+			assertTrue(actual.contains(id));
+	}
+
+	private static void testAddContains(final IdSet ids)
+	{
+		assertEquals(0, ids.size());
+		assertFalse(ids.iterator().hasNext());
+		assertFalse(ids.contains(0));
+		assertFalse(ids.contains(-1));
+
+		assertTrue(ids.add(0));
+		assertTrue(ids.add(5));
+		assertTrue(ids.add(3));
+		assertFalse(ids.add(5));
+		assertFalse(ids.add(0));
+
+		final Set<Integer> expected = new HashSet<>();
+		expected.add(0);
+		expected.add(3);
+		expected.add(5);
+		assertSameIds(expected, ids);
+
+		assertFalse(ids.contains(1));
+		assertFalse(ids.contains(4));
+	}
+
+	private static void testGrowth(final IdSet ids)
+	{
+		final Random random = new Random(42);
+		final Set<Integer> expected = new HashSet<>();
+		for (int i = 0; i < 5000; i++)
+		{
+			final int id = i % 3 == 0 ? i : random.nextInt(100000);
+			assertEquals(expected.add(id), ids.add(id));
+			if (i % 500 == 0)
+				assertSameIds(expected, ids);
+		}
+
+		assertSameIds(expected, ids);
+		for (int id = 0; id < 100000; id++)
+			assertEquals(expected.contains(id), ids.contains(id));
+	}
+
+	private static void testIteratorEnd(final IdSet ids)
+	{
+		ids.add(7);
+		final IntIterator i = ids.iterator();
+		assertEquals(7, i.next());
+		assertFalse(i.hasNext());
+		try
+		{
+			i.next();
+			throw new AssertionError("Expected NoSuchElementException");
+		}
+		catch (final NoSuchElementException e)
+		{
+			// expected
+		}
+	}
+
+	@Test
+	public void hashAddContains()
+	{
+		testAddContains(new HashIdSet());
+	}
+
+	@Test
+	public void concurrentHashAddContains()
+	{
+		testAddContains(new ConcurrentHashIdSet());
+	}
+
+	@Test
+	public void hashGrowth()
+	{
+		testGrowth(new HashIdSet());
+	}
+
+	@Test
+	public void concurrentHashGrowth()
+	{
+		testGrowth(new ConcurrentHashIdSet());
+	}
+
+	@Test
+	public void hashIteratorEnd()
+	{
+		testIteratorEnd(new HashIdSet());
+	}
+
+	@Test
+	public void concurrentHashIteratorEnd()
+	{
+		testIteratorEnd(new ConcurrentHashIdSet());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void hashNegativeId()
+	{
+		new HashIdSet().add(-1);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void concurrentHashNegativeId()
+	{
+		new ConcurrentHashIdSet().add(-1);
+	}
+
+	@Test
+	public void concurrentInserts() throws Exception
+	{
+		final int threads = 8;
+		final int idsPerThread = 20000;
+		final ConcurrentHashIdSet ids = new ConcurrentHashIdSet();
+		final CountDownLatch start = new CountDownLatch(1);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try
+		{
+			final List<Future<Integer>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++)
+			{
+				final int thread = t;
+				results.add(executor.submit(new Callable<Integer>()
+				{
+					@Override
+					public Integer call() throws Exception
+					{
+						start.await();
+						int added = 0;
+						// every id is added by two threads and looked up while the set grows
+						for (int i = 0; i < idsPerThread; i++)
+						{
+							final int id = (thread / 2) * idsPerThread + i;
+							if (ids.add(id))
+								added++;
+							if (!ids.contains(id))
+								throw new AssertionError("Missing id " + id);
+						}
+						return added;
+					}
+				}));
+			}
+
+			start.countDown();
+
+			int added = 0;
+			for (final Future<Integer> result : results)
+				added += result.get();
+
+			final int expectedSize = threads / 2 * idsPerThread;
+			assertEquals(expectedSize, added);
+			assertEquals(expectedSize, ids.size());
+
+			final Set<Integer> expected = new HashSet<>();
+			for (int id = 0; id < expectedSize; id++)
+				expected.add(id);
+			assertSameIds(expected, ids);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	private static void testRoleConceptMap(final boolean concurrent)
+	{
+		final ConceptTable table = new ConceptTable();
+		final ConceptInfo a = new ConceptInfo(ATermUtils.makeTermAppl("A"), table, false, false);
+		final ConceptInfo b = new ConceptInfo(ATermUtils.makeTermAppl("B"), table, false, false);
+		final ConceptInfo c = new ConceptInfo(ATermUtils.makeTermAppl("C"), table, false, false);
+
+		final ATermAppl p = ATermUtils.makeTermAppl("p");
+		final ATermAppl q = ATermUtils.makeTermAppl("q");
+		final ATermAppl r = ATermUtils.makeTermAppl("r");
+
+		final RoleConceptMap map = new RoleConceptMap(concurrent);
+		assertTrue(map.isEmpty());
+		assertNull(map.get(p));
+		assertFalse(map.contains(p, a.getId()));
+
+		assertTrue(map.add(p, a.getId()));
+		assertTrue(map.add(p, b.getId()));
+		assertFalse(map.add(p, a.getId()));
+		assertTrue(map.add(q, c.getId()));
+		assertFalse(map.isEmpty());
+
+		assertEquals(concurrent, map.get(p) instanceof ConcurrentHashIdSet);
+		assertTrue(map.contains(p, a.getId()));
+		assertTrue(map.contains(p, b.getId()));
+		assertFalse(map.contains(p, c.getId()));
+		assertTrue(map.contains(q, c.getId()));
+		assertFalse(map.contains(r, a.getId()));
+
+		final Map<ATermAppl, Set<ConceptInfo>> asMap = map.asMap(table);
+		assertEquals(2, asMap.size());
+		assertEquals(new HashSet<>(Arrays.asList(a, b)), asMap.get(p));
+		assertEquals(new HashSet<>(Arrays.asList(c)), asMap.get(q));
+		assertNull(asMap.get(r));
+		assertTrue(asMap.get(p).contains(a));
+		assertFalse(asMap.get(p).contains(c));
+
+		final Set<ConceptInfo> flattened = new HashSet<>();
+		final Iterator<ConceptInfo> i = map.flattenedValues(table);
+		while (i.hasNext())
+			flattened.add(i.next());
+		assertEquals(new HashSet<>(Arrays.asList(a, b, c)), flattened);
+	}
+
+	@Test
+	public void roleConceptMap()
+	{
+		testRoleConceptMap(false);
+	}
+
+	@Test
+	public void concurrentRoleConceptMap()
+	{
+		testRoleConceptMap(true);
+	}
+
+	@Test
+	public void conceptTable()
+	{
+		final ConceptTable table = new ConceptTable();
+		assertEquals(0, table.size());
+
+		// register more concepts than the initial capacity of the table
+		final List<ConceptInfo> concepts = new ArrayList<>();
+		for (int i = 0; i < 3000; i++)
+		{
+			final ConceptInfo ci = new ConceptInfo(ATermUtils.makeTermAppl("C" + i), table, false, true);
+			assertEquals(i, ci.getId());
+			concepts.add(ci);
+		}
+
+		assertEquals(concepts.size(), table.size());
+		for (final ConceptInfo ci : concepts)
+			assertSame(ci, table.get(ci.getId()));
+
+		final IdSet ids = new HashIdSet();
+		for (int i = 0; i < concepts.size(); i += 7)
+			ids.add(i);
+
+		final Set<ConceptInfo> set = table.asSet(ids);
+		assertEquals(ids.size(), set.size());
+		for (final ConceptInfo ci : concepts)
+			assertEquals(ci.getId() % 7 == 0, set.contains(ci));
+		assertFalse(set.contains("C0"));
+
+		final Set<ConceptInfo> iterated = new HashSet<>();
+		for (final ConceptInfo ci : set)
+			iterated.add(ci);
+		assertEquals(ids.size(), iterated.size());
+		for (final ConceptInfo ci : iterated)
+			assertTrue(ids.contains(ci.getId()));
+	}
+}
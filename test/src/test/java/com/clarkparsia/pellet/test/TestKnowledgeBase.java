@@ -12,17 +12,27 @@ import static com.clarkparsia.pellet.utils.TermFactory.some;
 import static com.clarkparsia.pellet.utils.TermFactory.term;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import aterm.ATermAppl;
 import com.clarkparsia.pellet.utils.TermFactory;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import junit.framework.JUnit4TestAdapter;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mindswap.pellet.KnowledgeBase;
 import org.mindswap.pellet.PelletOptions;
+import org.mindswap.pellet.PelletOptions.InstanceRetrievalMethod;
+import org.mindswap.pellet.exceptions.PelletRuntimeException;
 import org.mindswap.pellet.utils.progress.AbstractProgressMonitor;
 
 /**
@@ -385,6 +395,256 @@ public class TestKnowledgeBase
 		assertFalse(progressMonitor.isProgressLengthExceeded());
 	}
 
+	@Test
+	public void testFrozenConcurrentQueries() throws Exception
+	{
+		final KnowledgeBase kb = new KnowledgeBase();
+
+		final ATermAppl A = term("A");
+		final ATermAppl B = term("B");
+		final ATermAppl C = term("C");
+		final ATermAppl D = term("D");
+		final ATermAppl p = term("p");
+
+		kb.addClass(A);
+		kb.addClass(B);
+		kb.addClass(C);
+		kb.addClass(D);
+		kb.addObjectProperty(p);
+
+		kb.addSubClass(B, A);
+		kb.addSubClass(C, B);
+		kb.addEquivalentClass(D, some(p, B));
+
+		final List<ATermAppl> subjects = new ArrayList<>();
+		final List<ATermAppl> objects = new ArrayList<>();
+		for (int k = 0; k < 20; k++)
+		{
+			final ATermAppl s = term("s" + k);
+			final ATermAppl o = term("o" + k);
+			kb.addIndividual(s);
+			kb.addIndividual(o);
+			kb.addType(o, k % 2 == 0 ? C : A);
+			kb.addPropertyValue(p, s, o);
+			subjects.add(s);
+			objects.add(o);
+		}
+
+		kb.freeze();
+
+		assertTrue(kb.isFrozen());
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 40; t++)
+			{
+				final int k = t % subjects.size();
+				futures.add(executor.submit(() ->
+				{
+					final ATermAppl s = subjects.get(k);
+					final ATermAppl o = objects.get(k);
+
+					assertEquals(k % 2 == 0, kb.isType(s, D));
+					assertEquals(k % 2 == 0, kb.isType(s, some(p, C)));
+					assertTrue(kb.isType(s, some(p, A)));
+					assertTrue(kb.hasPropertyValue(s, p, o));
+					assertTrue(kb.isSubClassOf(some(p, C), D));
+					assertFalse(kb.isSubClassOf(some(p, A), D));
+					assertEquals(subjects.size() / 2, kb.getInstances(some(p, C)).size());
+					assertEquals(subjects.size() / 2, kb.getInstances(D).size());
+					assertEquals(Collections.singletonList(o), kb.getObjectPropertyValues(p, s));
+				}));
+			}
+
+			for (final Future<?> future : futures)
+				future.get();
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+
+		kb.unfreeze();
+
+		assertFalse(kb.isFrozen());
+	}
+
+	@Test
+	public void testFrozenUpdate()
+	{
+		final KnowledgeBase kb = new KnowledgeBase();
+
+		final ATermAppl A = term("A");
+		final ATermAppl B = term("B");
+		final ATermAppl i = term("i");
+
+		kb.addClass(A);
+		kb.addClass(B);
+		kb.addIndividual(i);
+		kb.addType(i, A);
+
+		kb.freeze();
+
+		try
+		{
+			kb.addType(i, B);
+			fail("Frozen KB should not be updated");
+		}
+		catch (final PelletRuntimeException e)
+		{
+			// expected
+		}
+
+		assertFalse(kb.isType(i, B));
+
+		kb.unfreeze();
+
+		kb.addType(i, B);
+		assertTrue(kb.isType(i, B));
+	}
+
+	@Test
+	public void testFrozenTaxonomy()
+	{
+		final KnowledgeBase kb = new KnowledgeBase();
+
+		final ATermAppl A = term("A");
+		final ATermAppl B = term("B");
+		final ATermAppl i = term("i");
+
+		kb.addClass(A);
+		kb.addClass(B);
+		kb.addIndividual(i);
+		kb.addType(i, A);
+		kb.addType(i, B);
+
+		kb.freeze();
+
+		// classes in the taxonomy can be queried
+		assertEquals(Collections.singleton(i), kb.getInstances(A, true));
+		assertFalse(kb.getSuperClasses(A, true).isEmpty());
+
+		// class expressions that are not in the taxonomy cannot be added to it
+		try
+		{
+			kb.getInstances(and(A, B), true);
+			fail("Frozen KB should not extend the taxonomy");
+		}
+		catch (final PelletRuntimeException e)
+		{
+			// expected
+		}
+
+		try
+		{
+			kb.getSuperClasses(and(A, B), true);
+			fail("Frozen KB should not extend the taxonomy");
+		}
+		catch (final PelletRuntimeException e)
+		{
+			// expected
+		}
+
+		kb.unfreeze();
+
+		assertEquals(Collections.singleton(i), kb.getInstances(and(A, B), true));
+	}
+
+	@Test
+	public void testParallelInstanceRetrieval()
+	{
+		final InstanceRetrievalMethod savedMethod = PelletOptions.INSTANCE_RETRIEVAL;
+		final int savedThreads = PelletOptions.PARALLEL_REASONING_THREADS;
+
+		try
+		{
+			PelletOptions.INSTANCE_RETRIEVAL = InstanceRetrievalMethod.BINARY;
+			final Set<ATermAppl> expected = createRetrievalKB().getInstances(some(term("p"), term("B")));
+
+			PelletOptions.INSTANCE_RETRIEVAL = InstanceRetrievalMethod.PARALLEL;
+			PelletOptions.PARALLEL_REASONING_THREADS = 4;
+			final Set<ATermAppl> actual = createRetrievalKB().getInstances(some(term("p"), term("B")));
+
+			assertEquals(100 / 3 + 1, expected.size());
+			assertEquals(expected, actual);
+		}
+		finally
+		{
+			PelletOptions.INSTANCE_RETRIEVAL = savedMethod;
+			PelletOptions.PARALLEL_REASONING_THREADS = savedThreads;
+		}
+	}
+
+	@Test
+	public void testParallelRealization()
+	{
+		final boolean savedRealization = PelletOptions.USE_PARALLEL_REALIZATION;
+		final boolean savedIndividualAtATime = PelletOptions.REALIZE_INDIVIDUAL_AT_A_TIME;
+		final int savedThreads = PelletOptions.PARALLEL_REASONING_THREADS;
+
+		try
+		{
+			for (final boolean individualAtATime : new boolean[] { true, false })
+			{
+				PelletOptions.REALIZE_INDIVIDUAL_AT_A_TIME = individualAtATime;
+
+				PelletOptions.USE_PARALLEL_REALIZATION = false;
+				final KnowledgeBase expected = createRetrievalKB();
+				expected.realize();
+
+				PelletOptions.USE_PARALLEL_REALIZATION = true;
+				PelletOptions.PARALLEL_REASONING_THREADS = 4;
+				final KnowledgeBase actual = createRetrievalKB();
+				actual.realize();
+
+				for (final ATermAppl x : expected.getIndividuals())
+					assertEquals(expected.getTypes(x, true), actual.getTypes(x, true));
+			}
+		}
+		finally
+		{
+			PelletOptions.USE_PARALLEL_REALIZATION = savedRealization;
+			PelletOptions.REALIZE_INDIVIDUAL_AT_A_TIME = savedIndividualAtATime;
+			PelletOptions.PARALLEL_REASONING_THREADS = savedThreads;
+		}
+	}
+
+	private static KnowledgeBase createRetrievalKB()
+	{
+		final KnowledgeBase kb = new KnowledgeBase();
+
+		final ATermAppl A = term("A");
+		final ATermAppl B = term("B");
+		final ATermAppl C = term("C");
+		final ATermAppl D = term("D");
+		final ATermAppl p = term("p");
+
+		kb.addClass(A);
+		kb.addClass(B);
+		kb.addClass(C);
+		kb.addClass(D);
+		kb.addObjectProperty(p);
+
+		kb.addSubClass(C, B);
+		kb.addSubClass(D, B);
+		kb.addSubClass(B, A);
+
+		for (int k = 0; k < 100; k++)
+		{
+			final ATermAppl s = term("s" + k);
+			final ATermAppl o = term("o" + k);
+			kb.addIndividual(s);
+			kb.addIndividual(o);
+			// the disjunction makes the types of the subjects unknown in the pseudo model
+			kb.addType(o, k % 3 == 0 ? or(C, D) : A);
+			kb.addPropertyValue(p, s, o);
+		}
+
+		return kb;
+	}
+
 	private static class TestProgressMonitor extends AbstractProgressMonitor
 	{
 		private boolean progressLengthExceeded;
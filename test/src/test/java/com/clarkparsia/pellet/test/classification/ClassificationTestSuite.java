@@ -16,7 +16,7 @@ import org.junit.runners.Suite.SuiteClasses;
  */
 
 @RunWith(Suite.class)
-@SuiteClasses({ SimpleClassificationTests.class, JenaClassificationTest.class, OWLAPIClassificationTest.class })
+@SuiteClasses({ SimpleClassificationTests.class, JenaClassificationTest.class, OWLAPIClassificationTest.class, ParallelClassificationTest.class })
 public class ClassificationTestSuite
 {
 	public static junit.framework.Test suite()
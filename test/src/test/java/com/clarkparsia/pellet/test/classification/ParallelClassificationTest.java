@@ -0,0 +1,36 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public
+// License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of
+// proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.test.classification;
+
+import com.clarkparsia.pellet.utils.PropertiesBuilder;
+import java.util.Properties;
+import org.junit.After;
+import org.junit.Before;
+import org.mindswap.pellet.PelletOptions;
+
+/**
+ * Runs the classification tests with the parallel taxonomy builder. The results should be identical to the sequential classification.
+ */
+public class ParallelClassificationTest extends JenaClassificationTest
+{
+	private Properties _savedOptions;
+
+	@Before
+	public void enableParallelClassification()
+	{
+		final Properties newOptions = new PropertiesBuilder().set("USE_PARALLEL_CLASSIFICATION", "true").set("PARALLEL_REASONING_THREADS", "4").build();
+		_savedOptions = PelletOptions.setOptions(newOptions);
+	}
+
+	@After
+	public void restoreOptions()
+	{
+		PelletOptions.setOptions(_savedOptions);
+	}
+}
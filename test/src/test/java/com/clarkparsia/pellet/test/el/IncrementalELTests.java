@@ -0,0 +1,245 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.test.el;
+
+import static com.clarkparsia.pellet.utils.TermFactory.and;
+import static com.clarkparsia.pellet.utils.TermFactory.some;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import aterm.ATermAppl;
+import com.clarkparsia.pellet.el.SimplifiedELClassifier;
+import junit.framework.JUnit4TestAdapter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.PelletOptions;
+import org.mindswap.pellet.taxonomy.Taxonomy;
+import org.mindswap.pellet.taxonomy.TaxonomyBuilder;
+import org.mindswap.pellet.test.AbstractKBTests;
+import org.mindswap.pellet.utils.ATermUtils;
+import org.mindswap.pellet.utils.SetUtils;
+import org.mindswap.pellet.utils.progress.SilentProgressMonitor;
+
+/**
+ * Checks that the taxonomy updated by the EL classifier after axioms are added to the KB (see {@link PelletOptions#USE_INCREMENTAL_EL_CLASSIFICATION}) is
+ * the same as the taxonomy computed from scratch.
+ */
+public class IncrementalELTests extends AbstractKBTests
+{
+	private boolean _useIncrementalClassification;
+
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(IncrementalELTests.class);
+	}
+
+	@Before
+	public void saveOptions()
+	{
+		_useIncrementalClassification = PelletOptions.USE_INCREMENTAL_EL_CLASSIFICATION;
+		PelletOptions.USE_INCREMENTAL_EL_CLASSIFICATION = true;
+	}
+
+	@After
+	public void restoreOptions()
+	{
+		PelletOptions.USE_INCREMENTAL_EL_CLASSIFICATION = _useIncrementalClassification;
+	}
+
+	private TaxonomyBuilder classify()
+	{
+		kb.classify();
+
+		final TaxonomyBuilder builder = kb.getTaxonomyBuilder();
+		assertTrue(builder instanceof SimplifiedELClassifier);
+
+		return builder;
+	}
+
+	/**
+	 * Classifies the KB after the changes and compares the result to the taxonomy of a new classifier.
+	 */
+	private void reclassify(final TaxonomyBuilder previous)
+	{
+		final TaxonomyBuilder builder = classify();
+		assertSame("Saturation is not updated", previous, builder);
+
+		final SimplifiedELClassifier classifier = new SimplifiedELClassifier();
+		classifier.setKB(kb);
+		classifier.setProgressMonitor(new SilentProgressMonitor());
+		classifier.classify();
+
+		final Taxonomy<ATermAppl> expected = classifier.getTaxonomy();
+		final Taxonomy<ATermAppl> actual = builder.getTaxonomy();
+
+		assertEquals(expected.getClasses(), actual.getClasses());
+		for (final ATermAppl cls : expected.getClasses())
+		{
+			assertEquals(expected.getEquivalents(cls), actual.getEquivalents(cls));
+			assertEquals(expected.getSupers(cls, true), actual.getSupers(cls, true));
+			assertEquals(expected.getSubs(cls, true), actual.getSubs(cls, true));
+		}
+	}
+
+	@Test
+	public void testSubClass()
+	{
+		classes(A, B, C, D);
+
+		kb.addSubClass(A, B);
+		kb.addSubClass(C, A);
+
+		final TaxonomyBuilder builder = classify();
+
+		kb.addSubClass(B, D);
+
+		reclassify(builder);
+
+		assertTrue(kb.isSubClassOf(C, D));
+	}
+
+	@Test
+	public void testDirectSuperChanged()
+	{
+		classes(A, B, C);
+
+		kb.addSubClass(C, A);
+		kb.addSubClass(C, B);
+
+		final TaxonomyBuilder builder = classify();
+
+		kb.addSubClass(A, B);
+
+		reclassify(builder);
+
+		assertEquals(singletonSets(A), kb.getSuperClasses(C, true));
+	}
+
+	@Test
+	public void testConjunction()
+	{
+		classes(A, B, C, D);
+
+		kb.addSubClass(A, B);
+		kb.addSubClass(A, C);
+
+		final TaxonomyBuilder builder = classify();
+
+		kb.addSubClass(and(B, C), D);
+
+		reclassify(builder);
+
+		assertTrue(kb.isSubClassOf(A, D));
+	}
+
+	@Test
+	public void testExistential()
+	{
+		classes(A, B, C, D);
+		objectProperties(p, q);
+
+		kb.addSubProperty(p, q);
+		kb.addSubClass(A, some(p, B));
+		kb.addSubClass(B, C);
+
+		final TaxonomyBuilder builder = classify();
+
+		kb.addSubClass(some(q, C), D);
+
+		reclassify(builder);
+
+		assertTrue(kb.isSubClassOf(A, D));
+	}
+
+	@Test
+	public void testEquivalence()
+	{
+		classes(A, B, C);
+
+		kb.addSubClass(A, B);
+		kb.addSubClass(C, A);
+
+		final TaxonomyBuilder builder = classify();
+
+		kb.addSubClass(B, A);
+
+		reclassify(builder);
+
+		assertEquals(SetUtils.create(A, B), kb.getAllEquivalentClasses(A));
+		assertEquals(singletonSets(C), kb.getSubClasses(B, true));
+	}
+
+	@Test
+	public void testUnsatisfiable()
+	{
+		classes(A, B, C, D);
+		objectProperties(p);
+
+		kb.addSubClass(A, B);
+		kb.addSubClass(C, some(p, A));
+		kb.addSubClass(D, C);
+
+		final TaxonomyBuilder builder = classify();
+
+		kb.addDisjointClass(B, A);
+
+		reclassify(builder);
+
+		assertTrue(kb.isSubClassOf(D, ATermUtils.BOTTOM));
+	}
+
+	@Test
+	public void testNewClasses()
+	{
+		classes(A, B);
+
+		kb.addSubClass(A, B);
+
+		final TaxonomyBuilder builder = classify();
+
+		classes(C, D);
+		kb.addSubClass(C, A);
+		kb.addSubClass(B, D);
+
+		reclassify(builder);
+
+		assertEquals(singletonSets(A), kb.getSuperClasses(C, true));
+		assertEquals(singletonSets(D), kb.getSuperClasses(B, true));
+	}
+
+	@Test
+	public void testRemoval()
+	{
+		// TBox axioms can only be removed with tracing
+		final boolean useTracing = PelletOptions.USE_TRACING;
+		PelletOptions.USE_TRACING = true;
+		try
+		{
+			kb = new KnowledgeBase();
+			classes(A, B, C);
+
+			kb.addSubClass(A, B);
+			kb.addSubClass(B, C);
+
+			final TaxonomyBuilder builder = classify();
+
+			assertTrue(kb.removeAxiom(ATermUtils.makeSub(B, C)));
+
+			kb.classify();
+			assertNotSame(builder, kb.getTaxonomyBuilder());
+			assertEquals(singletonSets(ATermUtils.TOP), kb.getSuperClasses(B, true));
+		}
+		finally
+		{
+			PelletOptions.USE_TRACING = useTracing;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package com.clarkparsia.pellet.test.el;
+
+import junit.framework.JUnit4TestAdapter;
+import org.junit.After;
+import org.junit.Before;
+import org.mindswap.pellet.PelletOptions;
+
+/**
+ * Runs the EL tests with the saturation done by several threads (see {@link PelletOptions#USE_PARALLEL_EL_CLASSIFICATION}).
+ */
+public class ParallelELTests extends ELTests
+{
+	private boolean _useParallelClassification;
+
+	private int _threads;
+
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(ParallelELTests.class);
+	}
+
+	@Before
+	public void saveOptions()
+	{
+		_useParallelClassification = PelletOptions.USE_PARALLEL_EL_CLASSIFICATION;
+		_threads = PelletOptions.PARALLEL_REASONING_THREADS;
+		PelletOptions.USE_PARALLEL_EL_CLASSIFICATION = true;
+		PelletOptions.PARALLEL_REASONING_THREADS = 4;
+	}
+
+	@After
+	public void restoreOptions()
+	{
+		PelletOptions.USE_PARALLEL_EL_CLASSIFICATION = _useParallelClassification;
+		PelletOptions.PARALLEL_REASONING_THREADS = _threads;
+	}
+}
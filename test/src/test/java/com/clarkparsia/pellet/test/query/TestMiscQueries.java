@@ -6,6 +6,7 @@ import static com.clarkparsia.pellet.sparqldl.model.QueryAtomFactory.InverseOfAt
 import static com.clarkparsia.pellet.sparqldl.model.QueryAtomFactory.ObjectPropertyAtom;
 import static com.clarkparsia.pellet.sparqldl.model.QueryAtomFactory.PropertyValueAtom;
 import static com.clarkparsia.pellet.sparqldl.model.QueryAtomFactory.RangeAtom;
+import static com.clarkparsia.pellet.sparqldl.model.QueryAtomFactory.TypeAtom;
 import static com.clarkparsia.pellet.utils.TermFactory.BOTTOM;
 import static com.clarkparsia.pellet.utils.TermFactory.BOTTOM_DATA_PROPERTY;
 import static com.clarkparsia.pellet.utils.TermFactory.BOTTOM_OBJECT_PROPERTY;
@@ -14,13 +15,26 @@ import static com.clarkparsia.pellet.utils.TermFactory.TOP_DATA_PROPERTY;
 import static com.clarkparsia.pellet.utils.TermFactory.TOP_OBJECT_PROPERTY;
 import static com.clarkparsia.pellet.utils.TermFactory.literal;
 import static com.clarkparsia.pellet.utils.TermFactory.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import aterm.ATermAppl;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import com.clarkparsia.pellet.datatypes.Datatypes;
+import com.clarkparsia.pellet.sparqldl.engine.PreparedQuery;
+import com.clarkparsia.pellet.sparqldl.engine.QueryEngine;
 import com.clarkparsia.pellet.sparqldl.model.Query;
+import com.clarkparsia.pellet.sparqldl.model.QueryResult;
+import com.clarkparsia.pellet.sparqldl.model.ResultBinding;
+import com.clarkparsia.pellet.sparqldl.model.ResultBindingImpl;
 import com.clarkparsia.pellet.sparqldl.parser.ARQParser;
 import org.junit.Test;
+import org.mindswap.pellet.PelletOptions;
 import org.mindswap.pellet.utils.Namespaces;
+import org.mindswap.pellet.utils.SetUtils;
+import org.mindswap.pellet.utils.SizeEstimate;
 
 public class TestMiscQueries extends AbstractQueryTest
 {
@@ -180,4 +194,149 @@ public class TestMiscQueries extends AbstractQueryTest
 		testQuery(query, new ATermAppl[][] { { r }, { TOP_OBJECT_PROPERTY }, { BOTTOM_OBJECT_PROPERTY } });
 
 	}
+
+	@Test
+	public void limitQuery()
+	{
+		classes(A);
+		individuals(a, b, c, d);
+
+		kb.addType(a, A);
+		kb.addType(b, A);
+		kb.addType(c, A);
+		kb.addType(d, A);
+
+		final Query query1 = query(select(x), where(TypeAtom(x, A)));
+		query1.setLimit(2);
+
+		final QueryResult result1 = QueryEngine.exec(query1);
+		assertEquals(2, result1.size());
+		for (final ResultBinding binding : result1)
+			assertTrue(kb.isType(binding.getValue(x), A));
+
+		// disconnected parts are limited separately
+		final Query query2 = query(select(x, y), where(TypeAtom(x, A), TypeAtom(y, A)));
+		query2.setLimit(3);
+
+		final QueryResult result2 = QueryEngine.exec(query2);
+		assertTrue(result2.size() >= 3);
+		assertTrue(result2.size() < 16);
+	}
+
+	@Test
+	public void parallelComponentsQuery()
+	{
+		final boolean savedParallel = PelletOptions.USE_PARALLEL_QUERY_COMPONENTS;
+		final int savedThreads = PelletOptions.PARALLEL_REASONING_THREADS;
+		try
+		{
+			PelletOptions.USE_PARALLEL_QUERY_COMPONENTS = true;
+			PelletOptions.PARALLEL_REASONING_THREADS = 4;
+
+			classes(A, B, C);
+			objectProperties(p);
+			individuals(a, b, c, d);
+
+			kb.addType(a, A);
+			kb.addType(b, B);
+			kb.addType(c, C);
+			kb.addPropertyValue(p, c, d);
+
+			kb.freeze();
+
+			final Query query1 = query(select(x, y, z), where(TypeAtom(x, A), TypeAtom(y, B), PropertyValueAtom(z, p, d)));
+			testQuery(query1, new ATermAppl[][] { { a, b, c } });
+
+			final Query query2 = query(select(x, y), where(TypeAtom(x, A), TypeAtom(y, C), TypeAtom(d, C)));
+			testQuery(query2, new ATermAppl[0][]);
+		}
+		finally
+		{
+			kb.unfreeze();
+
+			PelletOptions.USE_PARALLEL_QUERY_COMPONENTS = savedParallel;
+			PelletOptions.PARALLEL_REASONING_THREADS = savedThreads;
+		}
+	}
+
+	@Test
+	public void preparedQuery()
+	{
+		objectProperties(p);
+		individuals(a, b, c, d);
+
+		kb.addPropertyValue(p, a, b);
+		kb.addPropertyValue(p, a, c);
+		kb.addPropertyValue(p, d, b);
+
+		final Query query = query(select(x, y), where(PropertyValueAtom(x, p, y)));
+		final PreparedQuery prepared = QueryEngine.prepare(query, Collections.singleton(x));
+
+		assertEquals(SetUtils.create(b, c), values(prepared, a));
+		assertEquals(SetUtils.create(b), values(prepared, d));
+		assertTrue(values(prepared, b).isEmpty());
+
+		// the plan is recomputed after the KB changes
+		kb.addPropertyValue(p, d, c);
+
+		assertEquals(SetUtils.create(b, c), values(prepared, d));
+	}
+
+	@Test
+	public void aboxStatisticsEstimate()
+	{
+		final boolean savedStatistics = PelletOptions.USE_ABOX_STATISTICS;
+		try
+		{
+			PelletOptions.USE_ABOX_STATISTICS = true;
+
+			classes(A, B);
+			objectProperties(p);
+			individuals(a, b, c, d);
+
+			kb.addSubClass(B, A);
+			kb.addType(a, A);
+			kb.addType(b, B);
+			kb.addType(c, B);
+			kb.addPropertyValue(p, a, b);
+			kb.addPropertyValue(p, a, c);
+			kb.addPropertyValue(p, a, d);
+			kb.addPropertyValue(p, b, d);
+
+			kb.isConsistent();
+
+			final SizeEstimate estimate = kb.getSizeEstimate();
+			assertEquals(3, estimate.size(A));
+			assertEquals(2, estimate.size(B));
+			assertEquals(4, estimate.size(p));
+			assertEquals(2.0, estimate.avg(p), 0);
+			assertEquals(3.0, estimate.valuesPerSubject(p, a), 0);
+			assertEquals(2.0, estimate.subjectsPerValue(p, d), 0);
+
+			final Query query = query(select(x, y), where(TypeAtom(x, B), PropertyValueAtom(a, p, x), PropertyValueAtom(x, p, y)));
+			testQuery(query, new ATermAppl[][] { { b, d } });
+
+			kb.removePropertyValue(p, a, c);
+			assertEquals(2, kb.getABoxStatistics().getFanOut(p, a));
+			assertEquals(2, kb.getABoxStatistics().getSubjectCount(p));
+		}
+		finally
+		{
+			PelletOptions.USE_ABOX_STATISTICS = savedStatistics;
+		}
+	}
+
+	private static Set<ATermAppl> values(final PreparedQuery prepared, final ATermAppl value)
+	{
+		final ResultBinding parameters = new ResultBindingImpl();
+		parameters.setValue(x, value);
+
+		final Set<ATermAppl> values = new HashSet<>();
+		for (final ResultBinding binding : prepared.exec(parameters))
+		{
+			assertEquals(value, binding.getValue(x));
+			values.add(binding.getValue(y));
+		}
+		return values;
+	}
 }
@@ -5,15 +5,28 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import com.clarkparsia.pellet.sparqldl.jena.SparqlDLExecutionFactory;
+import com.clarkparsia.pellet.sparqldl.jena.SparqlDLExecutionFactory.QueryEngineType;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 import org.apache.jena.query.ARQ;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.QueryExecution;
 import org.apache.jena.query.QueryExecutionFactory;
 import org.apache.jena.query.QueryFactory;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.InfModel;
+import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.sparql.core.Var;
 import org.apache.jena.sparql.engine.binding.Binding;
 import org.junit.Ignore;
@@ -307,4 +320,145 @@ public class TestMiscSPARQL
 
 		assertTrue(results.getRowNumber() == 4);
 	}
+
+	private static final String NS = "http://example.org/stage#";
+
+	/**
+	 * Creates a model where the individual i<n> has the value v<n> for the property p if n is even.
+	 */
+	private static InfModel createStageModel(final int individuals)
+	{
+		final Model model = ModelFactory.createDefaultModel();
+		final Property p = model.createProperty(NS + "p");
+		model.add(p, RDF.type, OWL.ObjectProperty);
+		for (int n = 0; n < individuals; n++)
+		{
+			final Resource i = model.createResource(NS + "i" + n);
+			model.add(i, RDF.type, OWL.Thing);
+			if (n % 2 == 0)
+			{
+				final Resource v = model.createResource(NS + "v" + n);
+				model.add(v, RDF.type, OWL.Thing);
+				model.add(i, p, v);
+			}
+		}
+
+		return ModelFactory.createInfModel(PelletReasonerFactory.theInstance().create(), model);
+	}
+
+	/**
+	 * Evaluates a query where the SPARQL-DL stage of the pattern gets one input binding for each row of the given individual numbers, the value of the
+	 * variable ?row differs in every input binding but is not used in the pattern. Returns the number of times the stage reused cached results.
+	 */
+	private static int execStageQuery(final InfModel model, final int[] rows)
+	{
+		final StringBuilder values = new StringBuilder();
+		for (int row = 0; row < rows.length; row++)
+			values.append("(<" + NS + "i" + rows[row] + "> " + row + ") ");
+
+		final String query = "PREFIX : <" + NS + ">\n" + "SELECT ?row ?x ?y WHERE { VALUES (?x ?row) { " + values + "} ?x :p ?y }";
+
+		final Logger log = Logger.getLogger("com.clarkparsia.pellet.sparqldl.jena.SparqlDLStage");
+		final Level level = log.getLevel();
+		final List<LogRecord> reused = new ArrayList<>();
+		final Handler handler = new Handler()
+		{
+			@Override
+			public void publish(final LogRecord record)
+			{
+				if (record.getMessage().startsWith("Reusing results"))
+					reused.add(record);
+			}
+
+			@Override
+			public void flush()
+			{
+			}
+
+			@Override
+			public void close()
+			{
+			}
+		};
+
+		log.setLevel(Level.FINER);
+		log.addHandler(handler);
+		try
+		{
+			final QueryExecution qe = SparqlDLExecutionFactory.create(QueryFactory.create(query), DatasetFactory.create(model), null, QueryEngineType.MIXED);
+			// the values are only fed to the stage one binding at a time when the algebra is optimized, which the strict mode of the DAWG tests turns off
+			qe.getContext().set(ARQ.optimization, true);
+			final ResultSet results = qe.execSelect();
+
+			final boolean[] seen = new boolean[rows.length];
+			while (results.hasNext())
+			{
+				final QuerySolution solution = results.next();
+				final int row = solution.getLiteral("row").getInt();
+				final int n = rows[row];
+				assertEquals(NS + "i" + n, solution.getResource("x").getURI());
+
+				assertEquals(NS + "v" + n, solution.getResource("y").getURI());
+
+				assertFalse(seen[row]);
+				seen[row] = true;
+			}
+
+			for (int row = 0; row < rows.length; row++)
+				assertEquals(rows[row] % 2 == 0, seen[row]);
+		}
+		finally
+		{
+			log.removeHandler(handler);
+			log.setLevel(level);
+		}
+
+		return reused.size();
+	}
+
+	@Test
+	public void stageCacheRepeatedBindings()
+	{
+		final InfModel model = createStageModel(10);
+
+		// every individual appears three times
+		final int[] rows = new int[30];
+		for (int row = 0; row < rows.length; row++)
+			rows[row] = row % 10;
+
+		assertEquals(20, execStageQuery(model, rows));
+	}
+
+	@Test
+	public void stageCacheNonProjectedVariables()
+	{
+		final InfModel model = createStageModel(2);
+
+		// the input bindings only differ in the value of ?row
+		assertEquals(3, execStageQuery(model, new int[] { 0, 0, 0, 0 }));
+		assertEquals(3, execStageQuery(model, new int[] { 1, 1, 1, 1 }));
+	}
+
+	@Test
+	public void stageCacheEviction()
+	{
+		final InfModel model = createStageModel(200);
+
+		// the second pass needs the results of the first pass after more
+		// than 128 other values have been cached
+		final int[] rows = new int[400];
+		for (int row = 0; row < rows.length; row++)
+			rows[row] = row % 200;
+
+		assertEquals(0, execStageQuery(model, rows));
+
+		// recently used values are still cached
+		final int[] recent = new int[300];
+		for (int row = 0; row < 200; row++)
+			recent[row] = row;
+		for (int row = 200; row < recent.length; row++)
+			recent[row] = row - 100;
+
+		assertEquals(100, execStageQuery(model, recent));
+	}
 }
@@ -31,6 +31,9 @@ import com.clarkparsia.pellet.datatypes.DNF;
 import com.clarkparsia.pellet.datatypes.Datatypes;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import junit.framework.JUnit4TestAdapter;
 import org.junit.Test;
 import org.mindswap.pellet.utils.ATermUtils;
@@ -184,6 +187,40 @@ public class ATermTests
 			return term;
 	}
 
+	@Test
+	public void testConcurrentConstruction() throws Exception
+	{
+		final int threads = 4;
+		final int terms = 1000;
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final List<Future<List<ATermAppl>>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++)
+			futures.add(executor.submit(() ->
+			{
+				final List<ATermAppl> result = new ArrayList<>();
+				for (int i = 0; i < terms; i++)
+				{
+					final ATermAppl c = term("C" + i);
+					result.add(and(some(p, c), all(q, not(c))));
+				}
+				return result;
+			}));
+		executor.shutdown();
+
+		final List<ATermAppl> expected = futures.get(0).get();
+		for (final Future<List<ATermAppl>> future : futures)
+		{
+			final List<ATermAppl> result = future.get();
+			for (int i = 0; i < terms; i++)
+				assertTrue(expected.get(i) == result.get(i));
+		}
+
+		final ATermAppl c = term("C0");
+		assertTrue(some(p, c) == ATermUtils.getFactory().makeAppl(ATermUtils.SOMEFUN, p, c));
+		assertTrue(expected.get(0) == ATermUtils.getFactory().makeAppl(ATermUtils.ANDFUN, ATermUtils.makeList(some(p, c), ATermUtils.makeList(all(q, not(c))))));
+	}
+
 	@Test
 	public void testFindPrimitives()
 	{
@@ -0,0 +1,219 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.test;
+
+import static com.clarkparsia.pellet.utils.TermFactory.term;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import aterm.ATermAppl;
+import junit.framework.JUnit4TestAdapter;
+import org.junit.Test;
+import org.mindswap.pellet.DefaultEdge;
+import org.mindswap.pellet.DependencySet;
+import org.mindswap.pellet.Edge;
+import org.mindswap.pellet.EdgeList;
+import org.mindswap.pellet.Individual;
+import org.mindswap.pellet.Role;
+
+/**
+ * Checks that the role index of {@link EdgeList} gives the same answers as scanning the edges.
+ */
+public class EdgeListTests extends AbstractKBTests
+{
+	private static final int SIZE = 60;
+
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(EdgeListTests.class);
+	}
+
+	private ATermAppl ind(final int i)
+	{
+		return term("ind" + i);
+	}
+
+	private void createKB()
+	{
+		objectProperties(p, q, r, s);
+		kb.addSubProperty(q, p);
+		kb.addSubProperty(r, q);
+
+		individuals(a);
+		for (int i = 0; i < SIZE; i++)
+		{
+			kb.addIndividual(ind(i));
+			kb.addPropertyValue(i % 3 == 0 ? p : i % 3 == 1 ? q : r, a, ind(i));
+		}
+
+		assertTrue(kb.isConsistent());
+	}
+
+	private static int count(final EdgeList edges, final Role role)
+	{
+		int count = 0;
+		for (final Edge edge : edges)
+			if (edge.getRole().isSubRoleOf(role))
+				count++;
+		return count;
+	}
+
+	@Test
+	public void testSubRoles()
+	{
+		createKB();
+
+		final Individual ind = kb.getABox().getIndividual(a);
+		final EdgeList edges = ind.getOutEdges();
+
+		for (final ATermAppl pred : new ATermAppl[] { p, q, r, s })
+		{
+			final Role role = kb.getRole(pred);
+			final EdgeList matches = edges.getEdges(role);
+
+			assertEquals(count(edges, role), matches.size());
+			for (final Edge edge : matches)
+				assertTrue(edge.getRole().isSubRoleOf(role));
+
+			assertEquals(matches.size() > 0, edges.hasEdge(role));
+			assertEquals(matches.size(), edges.getEdgesFrom(ind, role).size());
+		}
+
+		assertEquals(SIZE, edges.getEdges(kb.getRole(p)).size());
+		assertFalse(edges.hasEdge(kb.getRole(s)));
+		assertEquals(3, edges.getRoles().size());
+
+		final Individual first = kb.getABox().getIndividual(ind(0));
+		assertEquals(1, edges.getEdgesTo(kb.getRole(p), first).size());
+		assertEquals(0, edges.getEdgesTo(kb.getRole(q), first).size());
+		assertNotNull(edges.getExactEdge(ind, kb.getRole(p), first));
+		assertNull(edges.getExactEdge(ind, kb.getRole(q), first));
+	}
+
+	@Test
+	public void testOrder()
+	{
+		createKB();
+
+		final Individual ind = kb.getABox().getIndividual(a);
+		final EdgeList edges = ind.getOutEdges();
+
+		// the matching edges are returned in list order
+		for (final ATermAppl pred : new ATermAppl[] { p, q, r })
+		{
+			final Role role = kb.getRole(pred);
+			final EdgeList matches = edges.getEdges(role);
+			final EdgeList from = edges.getEdgesFrom(ind, role);
+
+			int j = 0;
+			for (int i = 0; i < edges.size(); i++)
+				if (edges.edgeAt(i).getRole().isSubRoleOf(role))
+				{
+					assertTrue(edges.edgeAt(i) == matches.edgeAt(j));
+					assertTrue(edges.edgeAt(i) == from.edgeAt(j));
+					j++;
+				}
+			assertEquals(j, matches.size());
+		}
+	}
+
+	@Test
+	public void testViews()
+	{
+		createKB();
+
+		final Individual ind = kb.getABox().getIndividual(a);
+		final Role role = kb.getRole(p);
+		final EdgeList edges = new EdgeList(ind.getOutEdges());
+		final int size = edges.size();
+
+		final EdgeList view = edges.getEdges(role);
+		final int viewSize = view.size();
+		final Edge first = view.edgeAt(0);
+
+		// changes to the list are not visible in the view
+		assertTrue(edges.removeEdge(first));
+		assertEquals(size - 1, edges.size());
+		assertEquals(viewSize - 1, edges.getEdges(role).size());
+		assertEquals(viewSize, view.size());
+		assertTrue(view.hasEdge(first));
+
+		edges.addEdge(new DefaultEdge(role, ind, ind, DependencySet.INDEPENDENT));
+		assertEquals(viewSize, view.size());
+		assertEquals(viewSize, edges.getEdges(role).size());
+
+		// changes to the view are not visible in the list
+		final EdgeList other = edges.getEdges(role);
+		other.removeEdge(other.edgeAt(0));
+		other.addEdge(first);
+		other.addEdge(first);
+		assertEquals(viewSize, edges.getEdges(role).size());
+		assertEquals(size, edges.size());
+	}
+
+	@Test
+	public void testReset()
+	{
+		createKB();
+
+		final Individual ind = kb.getABox().getIndividual(a);
+		final Role role = kb.getRole(p);
+		final EdgeList edges = new EdgeList(ind.getOutEdges());
+		final EdgeList view = edges.getEdges(role);
+
+		for (int i = 0; i < SIZE; i++)
+			edges.addEdge(new DefaultEdge(role, ind, ind, DependencySet.INDEPENDENT.copy(1)));
+		assertEquals(2 * SIZE, edges.getEdges(role).size());
+
+		edges.reset();
+		assertEquals(SIZE, edges.size());
+		assertEquals(SIZE, edges.getEdges(role).size());
+		assertEquals(SIZE, view.size());
+	}
+
+	@Test
+	public void testEmptyLists()
+	{
+		createKB();
+
+		final Individual ind = kb.getABox().getIndividual(a);
+		final Role role = kb.getRole(p);
+		final Edge edge = new DefaultEdge(role, ind, ind, DependencySet.INDEPENDENT);
+
+		assertTrue(ind.getInEdges().isEmpty());
+
+		// lists created without a capacity share one empty array until their first edge
+		final EdgeList first = new EdgeList();
+		final EdgeList second = new EdgeList();
+		first.addEdge(edge);
+		assertEquals(1, first.size());
+		assertTrue(second.isEmpty());
+		assertFalse(second.iterator().hasNext());
+
+		second.addEdge(new DefaultEdge(role, ind, ind, DependencySet.INDEPENDENT));
+		assertEquals(1, second.size());
+		assertTrue(first.edgeAt(0) == edge);
+
+		// copies and views of an empty list get their own array
+		final EdgeList empty = new EdgeList();
+		new EdgeList(empty).addEdge(edge);
+		empty.getEdges(role).addEdge(edge);
+		assertTrue(empty.isEmpty());
+
+		// a list that is reset to its asserted edges keeps its own array
+		final EdgeList restored = new EdgeList();
+		restored.addEdge(new DefaultEdge(role, ind, ind, DependencySet.INDEPENDENT.copy(1)));
+		restored.reset();
+		assertTrue(restored.isEmpty());
+
+		assertTrue(new EdgeList().isEmpty());
+		assertFalse(new EdgeList().iterator().hasNext());
+	}
+}
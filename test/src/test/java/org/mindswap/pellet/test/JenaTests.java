@@ -21,7 +21,9 @@ import aterm.ATermAppl;
 import com.clarkparsia.pellet.datatypes.DatatypeReasoner;
 import com.clarkparsia.pellet.datatypes.DatatypeReasonerImpl;
 import com.clarkparsia.pellet.utils.PropertiesBuilder;
+import java.io.ByteArrayInputStream;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
@@ -53,6 +55,7 @@ import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.rdf.model.StmtIterator;
 import org.apache.jena.rdf.model.impl.StatementImpl;
 import org.apache.jena.reasoner.Reasoner;
+import org.apache.jena.riot.Lang;
 import org.apache.jena.vocabulary.OWL;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
@@ -66,6 +69,7 @@ import org.mindswap.pellet.jena.ModelExtractor;
 import org.mindswap.pellet.jena.PelletInfGraph;
 import org.mindswap.pellet.jena.PelletReasoner;
 import org.mindswap.pellet.jena.PelletReasonerFactory;
+import org.mindswap.pellet.jena.graph.loader.StreamingGraphLoader;
 import org.mindswap.pellet.jena.vocabulary.OWL2;
 import org.mindswap.pellet.utils.ATermUtils;
 
@@ -3367,4 +3371,44 @@ public class JenaTests
 		assertTrue(graph.isClassified());
 	}
 
+	@Test
+	public void testStreamingLoader()
+	{
+		final String ns = "http://www.example.org/test#";
+
+		// assertions come before the declarations of the properties and classes they use
+		final String data = "@prefix : <" + ns + "> .\n" //
+				+ "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n" //
+				+ "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n" //
+				+ ":a :p :b ; :age 30 ; a :A .\n" //
+				+ ":b :q :c .\n" //
+				+ ":p a owl:ObjectProperty ; rdfs:range :B .\n" //
+				+ ":q a owl:ObjectProperty ; owl:inverseOf :r .\n" //
+				+ ":age a owl:DatatypeProperty .\n" //
+				+ ":A a owl:Class ; rdfs:subClassOf [ a owl:Restriction ; owl:onProperty :p ; owl:someValuesFrom :C ] .\n" //
+				+ ":B a owl:Class .\n" //
+				+ ":C a owl:Class .\n";
+
+		final KnowledgeBase kb = new KnowledgeBase();
+		final StreamingGraphLoader loader = new StreamingGraphLoader();
+		loader.setKB(kb);
+		loader.setThreads(2);
+		loader.load(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), Lang.TURTLE);
+
+		assertEquals(4, loader.getDeferredCount());
+
+		final ATermAppl a = ATermUtils.makeTermAppl(ns + "a");
+		final ATermAppl b = ATermUtils.makeTermAppl(ns + "b");
+		final ATermAppl c = ATermUtils.makeTermAppl(ns + "c");
+		final ATermAppl r = ATermUtils.makeTermAppl(ns + "r");
+		final ATermAppl age = ATermUtils.makeTermAppl(ns + "age");
+
+		assertTrue(kb.isConsistent());
+		assertTrue(kb.isDatatypeProperty(age));
+		assertTrue(kb.isType(a, ATermUtils.makeTermAppl(ns + "A")));
+		assertTrue(kb.isType(b, ATermUtils.makeTermAppl(ns + "B")));
+		assertTrue(kb.hasPropertyValue(c, r, b));
+		assertTrue(kb.hasPropertyValue(a, age, ATermUtils.makeTypedLiteral("30", XSD.integer.getURI())));
+	}
+
 }
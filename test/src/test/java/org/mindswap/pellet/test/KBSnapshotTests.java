@@ -0,0 +1,184 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.test;
+
+import static com.clarkparsia.pellet.utils.TermFactory.and;
+import static com.clarkparsia.pellet.utils.TermFactory.literal;
+import static com.clarkparsia.pellet.utils.TermFactory.min;
+import static com.clarkparsia.pellet.utils.TermFactory.not;
+import static com.clarkparsia.pellet.utils.TermFactory.some;
+import static com.clarkparsia.pellet.utils.TermFactory.term;
+import static com.clarkparsia.pellet.utils.TermFactory.value;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import aterm.ATermAppl;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import junit.framework.JUnit4TestAdapter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mindswap.pellet.KBSnapshot;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.exceptions.PelletRuntimeException;
+import org.mindswap.pellet.utils.ATermUtils;
+
+/**
+ * Checks that a KB loaded from a snapshot (see {@link KBSnapshot}) gives the same answers as the KB that was saved without classifying or realizing it again.
+ */
+public class KBSnapshotTests extends AbstractKBTests
+{
+	private static final ATermAppl d2 = term("d2");
+
+	private File _file;
+
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(KBSnapshotTests.class);
+	}
+
+	@Before
+	public void createFile() throws IOException
+	{
+		_file = Files.createTempFile("pellet", ".kb").toFile();
+	}
+
+	@After
+	public void deleteFile()
+	{
+		_file.delete();
+	}
+
+	private void createKB()
+	{
+		classes(A, B, C, D, E);
+		objectProperties(p, q, r);
+		dataProperties(s);
+		individuals(a, b, c, d, d2);
+
+		kb.addSubClass(A, B);
+		kb.addEquivalentClass(C, some(p, B));
+		kb.addDisjointClasses(Arrays.asList(A, E));
+		kb.addSubClass(E, some(q, A));
+		kb.addSubClass(B, min(s, 1, ATermUtils.TOP_LIT));
+
+		kb.addInverseProperty(p, r);
+		kb.addTransitiveProperty(q);
+		kb.addSubProperty(q, p);
+		kb.addDomain(s, D);
+
+		kb.addType(a, A);
+		kb.addType(c, not(A));
+		kb.addPropertyValue(p, b, a);
+		kb.addPropertyValue(q, c, b);
+		kb.addPropertyValue(s, d, literal("x"));
+		kb.addSame(d, d2);
+		kb.addDifferent(a, b);
+	}
+
+	private KnowledgeBase reload() throws IOException
+	{
+		kb.saveSnapshot(_file);
+		return KnowledgeBase.loadSnapshot(_file);
+	}
+
+	@Test
+	public void testClassified() throws IOException
+	{
+		createKB();
+		kb.classify();
+
+		final KnowledgeBase copy = reload();
+
+		assertTrue(copy.isClassified());
+		assertFalse(copy.isRealized());
+		assertEquals(kb.getTaxonomy().getClasses(), copy.getTaxonomy().getClasses());
+		for (final ATermAppl cls : kb.getClasses())
+		{
+			assertEquals(kb.getSuperClasses(cls, true), copy.getSuperClasses(cls, true));
+			assertEquals(kb.getEquivalentClasses(cls), copy.getEquivalentClasses(cls));
+		}
+
+		assertTrue(copy.isSubClassOf(E, C));
+		assertFalse(copy.isSatisfiable(and(A, E)));
+		assertTrue(copy.isSubPropertyOf(q, p));
+		assertTrue(copy.isTransitiveProperty(q));
+	}
+
+	@Test
+	public void testRealized() throws IOException
+	{
+		createKB();
+		kb.realize();
+
+		final KnowledgeBase copy = reload();
+
+		assertTrue(copy.isRealized());
+		for (final ATermAppl ind : kb.getIndividuals())
+			assertEquals(kb.getTypes(ind, true), copy.getTypes(ind, true));
+		for (final ATermAppl cls : kb.getClasses())
+			assertEquals(kb.getInstances(cls), copy.getInstances(cls));
+
+		assertTrue(copy.hasPropertyValue(a, r, b));
+		assertTrue(copy.hasPropertyValue(c, p, b));
+		assertTrue(copy.isSameAs(d, d2));
+		assertTrue(copy.isDifferentFrom(a, b));
+		assertTrue(copy.isType(c, some(p, value(b))));
+	}
+
+	@Test
+	public void testNotClassified() throws IOException
+	{
+		createKB();
+
+		final KnowledgeBase copy = reload();
+
+		assertFalse(copy.isClassified());
+		assertTrue(copy.isConsistent());
+		assertTrue(copy.isType(d, D));
+		assertEquals(kb.getIndividuals(), copy.getIndividuals());
+	}
+
+	@Test
+	public void testReadOnly() throws IOException
+	{
+		createKB();
+		kb.realize();
+
+		final KnowledgeBase copy = reload();
+
+		// the inferred type B of a is loaded as an assertion so removing the assertion it follows from cannot be allowed
+		assertTrue(copy.isType(a, B));
+		try
+		{
+			copy.removeType(a, A);
+			fail("KB loaded from a snapshot should not be updated");
+		}
+		catch (final PelletRuntimeException e)
+		{
+			// expected
+		}
+
+		try
+		{
+			copy.addType(a, C);
+			fail("KB loaded from a snapshot should not be updated");
+		}
+		catch (final PelletRuntimeException e)
+		{
+			// expected
+		}
+
+		assertTrue(copy.isType(a, A));
+		assertFalse(copy.isType(a, C));
+	}
+}
@@ -0,0 +1,153 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import aterm.ATermAppl;
+import java.util.Collections;
+import junit.framework.JUnit4TestAdapter;
+import org.junit.Test;
+import org.mindswap.pellet.ABox;
+import org.mindswap.pellet.DependencySet;
+import org.mindswap.pellet.Individual;
+import org.mindswap.pellet.Node;
+import org.mindswap.pellet.utils.ATermUtils;
+
+/**
+ * Checks that the type lists and the different individuals of the ABox _nodes start out as the shared empty collections, that the first modification
+ * allocates a collection of the _node and that copies and restores never write into the shared collections.
+ */
+public class NodeTests extends AbstractKBTests
+{
+	private static final ATermAppl ALL = ATermUtils.makeAllValues(p, B);
+
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(NodeTests.class);
+	}
+
+	private ABox createKB()
+	{
+		classes(A, B);
+		objectProperties(p);
+		individuals(a, b, c);
+		kb.addType(a, A);
+
+		assertTrue(kb.isConsistent());
+
+		return kb.getABox();
+	}
+
+	private static void assertSharedEmpty(final Individual ind)
+	{
+		assertSame(Collections.emptyList(), ind.getTypes(Node.ALL));
+		assertTrue(Collections.emptyList().isEmpty());
+	}
+
+	@Test
+	public void testTypes()
+	{
+		final ABox abox = createKB();
+		final Individual ind = abox.getIndividual(a);
+		final Individual other = abox.getIndividual(b);
+
+		assertSharedEmpty(ind);
+		assertSharedEmpty(other);
+
+		ind.addType(ALL, DependencySet.INDEPENDENT);
+		assertEquals(Collections.singletonList(ALL), ind.getTypes(Node.ALL));
+		assertNotSame(Collections.emptyList(), ind.getTypes(Node.ALL));
+		assertSharedEmpty(other);
+
+		// removing a type that is not there leaves the shared list alone
+		other.removeType(ALL);
+		assertSharedEmpty(other);
+	}
+
+	@Test
+	public void testCopiedTypes()
+	{
+		final ABox abox = createKB();
+		abox.getIndividual(a).addType(ALL, DependencySet.INDEPENDENT);
+
+		final ABox copy = abox.copy();
+		final Individual ind = copy.getIndividual(a);
+		final Individual other = copy.getIndividual(b);
+
+		// the copy gets its own lists only for the kinds that have types
+		assertEquals(abox.getIndividual(a).getTypes(Node.ALL), ind.getTypes(Node.ALL));
+		assertNotSame(abox.getIndividual(a).getTypes(Node.ALL), ind.getTypes(Node.ALL));
+		assertSharedEmpty(other);
+
+		other.addType(ALL, DependencySet.INDEPENDENT);
+		ind.removeType(ALL);
+
+		assertEquals(Collections.singletonList(ALL), abox.getIndividual(a).getTypes(Node.ALL));
+		assertSharedEmpty(abox.getIndividual(b));
+	}
+
+	@Test
+	public void testRestoredTypes()
+	{
+		final ABox abox = createKB();
+		final Individual ind = abox.getIndividual(a);
+		final Individual other = abox.getIndividual(b);
+
+		abox.setBranch(2);
+		ind.addType(ALL, new DependencySet(2));
+		assertEquals(Collections.singletonList(ALL), ind.getTypes(Node.ALL));
+
+		ind.restore(1);
+		other.restore(1);
+		other.reset(false);
+
+		assertTrue(ind.getTypes(Node.ALL).isEmpty());
+		assertTrue(ind.hasType(A));
+		assertSharedEmpty(other);
+	}
+
+	@Test
+	public void testDifferents()
+	{
+		final ABox abox = createKB();
+		final Individual ind = abox.getIndividual(a);
+		final Individual other = abox.getIndividual(b);
+		final Individual third = abox.getIndividual(c);
+
+		assertTrue(ind.getDifferents().isEmpty());
+		assertTrue(other.getDifferents().isEmpty());
+
+		abox.setBranch(2);
+		ind.setDifferent(third, new DependencySet(2));
+		assertTrue(ind.isDifferent(third));
+		assertTrue(third.isDifferent(ind));
+		assertTrue(other.getDifferents().isEmpty());
+		assertTrue(Collections.emptyMap().isEmpty());
+
+		// a copy never writes into the maps of the original
+		final ABox copy = abox.copy();
+		copy.getIndividual(b).setDifferent(copy.getIndividual(a), DependencySet.INDEPENDENT);
+		assertTrue(copy.getIndividual(a).isDifferent(copy.getIndividual(c)));
+		assertFalse(ind.isDifferent(other));
+		assertTrue(other.getDifferents().isEmpty());
+
+		// restoring removes the difference from the map of the node only
+		ind.restore(1);
+		third.restore(1);
+		other.restore(1);
+		assertFalse(ind.isDifferent(third));
+		assertFalse(third.isDifferent(ind));
+		assertTrue(other.getDifferents().isEmpty());
+		assertTrue(copy.getIndividual(a).isDifferent(copy.getIndividual(c)));
+		assertTrue(Collections.emptyMap().isEmpty());
+	}
+}
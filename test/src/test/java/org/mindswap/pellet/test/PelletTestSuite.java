@@ -10,12 +10,15 @@ import com.clarkparsia.TestATermManchesterSyntaxRenderer;
 import com.clarkparsia.explanation.test.ExplanationTestSuite;
 import com.clarkparsia.modularity.test.ModularityTestSuite;
 import com.clarkparsia.pellet.datatypes.test.DatatypesSuite;
+import com.clarkparsia.pellet.el.IdSetTests;
 import com.clarkparsia.pellet.test.BlockingTests;
 import com.clarkparsia.pellet.test.CacheSafetyTests;
 import com.clarkparsia.pellet.test.TestKnowledgeBase;
 import com.clarkparsia.pellet.test.annotations.AnnotationsTestSuite;
 import com.clarkparsia.pellet.test.classification.ClassificationTestSuite;
 import com.clarkparsia.pellet.test.el.ELTests;
+import com.clarkparsia.pellet.test.el.IncrementalELTests;
+import com.clarkparsia.pellet.test.el.ParallelELTests;
 import com.clarkparsia.pellet.test.owlapi.OWLAPITests;
 import com.clarkparsia.pellet.test.owlapi.OWLPrimerTests;
 import com.clarkparsia.pellet.test.query.QueryTestSuite;
@@ -29,9 +32,11 @@ import org.junit.runners.Suite.SuiteClasses;
 import org.mindswap.pellet.test.inctest.IncConsistencyTests;
 import org.mindswap.pellet.test.inctest.IncJenaConsistencyTests;
 import org.mindswap.pellet.test.rules.RulesTestSuite;
+import org.mindswap.pellet.test.utils.ConceptCacheTest;
+import org.mindswap.pellet.test.utils.IntSetTest;
 
 @RunWith(Suite.class)
-@SuiteClasses({ ATermTests.class, PellintTestSuite.class, TracingTests.class, MiscTests.class, MergeTests.class, RBoxTestSuite.class, BlockingTests.class, CacheSafetyTests.class, JenaTests.class, OWLAPITests.class, OWLPrimerTests.class, OWLAPIObjectConversionTests.class, OWLAPIAxiomConversionTests.class, IncConsistencyTests.class, IncJenaConsistencyTests.class, RulesTestSuite.class, TBoxTests.class, DatatypesSuite.class, ELTests.class, ExplanationTestSuite.class, TestIsClass.class, TestKnowledgeBase.class, TestATermManchesterSyntaxRenderer.class, AnnotationsTestSuite.class, TransTreeTestSuite.class, LiebigTestSuite.class, QueryTestSuite.class, WebOntTestSuite.class, DLTestSuite.class, ClassificationTestSuite.class, ModularityTestSuite.class,
+@SuiteClasses({ ATermTests.class, PellintTestSuite.class, TracingTests.class, MiscTests.class, MergeTests.class, IntSetTest.class, ConceptCacheTest.class, EdgeListTests.class, NodeTests.class, PersistentSatCacheTests.class, RuleWorklistTests.class, KBSnapshotTests.class, RBoxTestSuite.class, BlockingTests.class, CacheSafetyTests.class, JenaTests.class, OWLAPITests.class, OWLPrimerTests.class, OWLAPIObjectConversionTests.class, OWLAPIAxiomConversionTests.class, IncConsistencyTests.class, IncJenaConsistencyTests.class, RulesTestSuite.class, TBoxTests.class, DatatypesSuite.class, ELTests.class, IncrementalELTests.class, ParallelELTests.class, IdSetTests.class, ExplanationTestSuite.class, TestIsClass.class, TestKnowledgeBase.class, TestATermManchesterSyntaxRenderer.class, AnnotationsTestSuite.class, TransTreeTestSuite.class, LiebigTestSuite.class, QueryTestSuite.class, WebOntTestSuite.class, DLTestSuite.class, ClassificationTestSuite.class, ModularityTestSuite.class,
 
 // CLI Tests must go last, since some of them muck with PelletOptions!
 		pellet.test.CLITests.class })
@@ -0,0 +1,173 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.test;
+
+import static com.clarkparsia.pellet.utils.TermFactory.and;
+import static com.clarkparsia.pellet.utils.TermFactory.literal;
+import static com.clarkparsia.pellet.utils.TermFactory.minInclusive;
+import static com.clarkparsia.pellet.utils.TermFactory.not;
+import static com.clarkparsia.pellet.utils.TermFactory.restrict;
+import static com.clarkparsia.pellet.utils.TermFactory.some;
+import static com.clarkparsia.pellet.utils.TermFactory.term;
+import static com.clarkparsia.pellet.utils.TermFactory.value;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import aterm.ATermAppl;
+import com.clarkparsia.pellet.datatypes.Datatypes;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Properties;
+import junit.framework.JUnit4TestAdapter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mindswap.pellet.KnowledgeBase;
+import org.mindswap.pellet.PelletOptions;
+import org.mindswap.pellet.tableau.cache.PersistentSatCache;
+import org.mindswap.pellet.utils.ATermUtils;
+import org.mindswap.pellet.utils.Bool;
+
+/**
+ * Checks that satisfiability results stored by {@link PersistentSatCache} are reused by a KB with the same TBox and RBox.
+ */
+public class PersistentSatCacheTests extends AbstractKBTests
+{
+	private File _dir;
+
+	private Properties _oldOptions;
+
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(PersistentSatCacheTests.class);
+	}
+
+	@Before
+	public void createDirectory() throws IOException
+	{
+		_dir = Files.createTempDirectory("pellet-sat").toFile();
+
+		final Properties options = new Properties();
+		options.setProperty("PERSISTENT_CACHE_DIRECTORY", _dir.getAbsolutePath());
+		_oldOptions = PelletOptions.setOptions(options);
+	}
+
+	@After
+	public void deleteDirectory()
+	{
+		PelletOptions.setOptions(_oldOptions);
+
+		final File[] files = _dir.listFiles();
+		if (files != null)
+			for (final File file : files)
+				file.delete();
+		_dir.delete();
+	}
+
+	private void createKB(final KnowledgeBase kb)
+	{
+		kb.addClass(A);
+		kb.addClass(B);
+		kb.addClass(C);
+		kb.addClass(D);
+		kb.addObjectProperty(p);
+
+		kb.addSubClass(A, B);
+		kb.addSubClass(B, some(p, C));
+		kb.addSubClass(D, and(A, not(B)));
+	}
+
+	@Test
+	public void testReuse() throws IOException
+	{
+		createKB(kb);
+		kb.classify();
+
+		final PersistentSatCache cache = kb.getPersistentCache();
+		assertNotNull(cache);
+		assertTrue(cache.size() > 0);
+		assertEquals(Bool.FALSE, cache.getSat(D));
+		cache.close();
+
+		final KnowledgeBase other = new KnowledgeBase();
+		createKB(other);
+		other.prepare();
+
+		assertEquals(cache.getHash(), other.getPersistentCache().getHash());
+		assertEquals(cache.size(), other.getPersistentCache().size());
+
+		other.classify();
+		assertTrue(other.isSubClassOf(A, some(p, C)));
+		assertFalse(other.isSatisfiable(D));
+		assertEquals(kb.getTaxonomy().getFlattenedSubs(B, false), other.getTaxonomy().getFlattenedSubs(B, false));
+	}
+
+	@Test
+	public void testChangedTBox()
+	{
+		createKB(kb);
+		kb.classify();
+		final String hash = kb.getPersistentCache().getHash();
+
+		kb.addSubClass(C, A);
+		kb.classify();
+
+		assertNotEquals(hash, kb.getPersistentCache().getHash());
+		assertTrue(kb.isSubClassOf(C, B));
+	}
+
+	@Test
+	public void testDispose()
+	{
+		createKB(kb);
+		kb.classify();
+
+		final int size = kb.getPersistentCache().size();
+		kb.dispose();
+		assertNull(kb.getPersistentCache());
+
+		// the results buffered before the KB was disposed are on disk
+		final KnowledgeBase other = new KnowledgeBase();
+		createKB(other);
+		other.prepare();
+		assertEquals(size, other.getPersistentCache().size());
+	}
+
+	@Test
+	public void testNominals()
+	{
+		createKB(kb);
+		kb.addIndividual(a);
+		kb.classify();
+
+		final ATermAppl c = some(p, value(a));
+		assertTrue(kb.isSatisfiable(c));
+		assertEquals(Bool.UNKNOWN, kb.getPersistentCache().getSat(ATermUtils.normalize(c)));
+	}
+
+	@Test
+	public void testDatatypeDefinition()
+	{
+		final ATermAppl dt = term("dt");
+
+		createKB(kb);
+		kb.classify();
+		final String hash = kb.getPersistentCache().getHash();
+
+		final KnowledgeBase other = new KnowledgeBase();
+		createKB(other);
+		other.addDatatypeDefinition(dt, restrict(Datatypes.INTEGER, minInclusive(literal(10))));
+		other.classify();
+
+		assertNotEquals(hash, other.getPersistentCache().getHash());
+	}
+}
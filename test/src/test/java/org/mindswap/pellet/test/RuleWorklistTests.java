@@ -0,0 +1,109 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.test;
+
+import static com.clarkparsia.pellet.utils.TermFactory.TOP_OBJECT_PROPERTY;
+import static com.clarkparsia.pellet.utils.TermFactory.all;
+import static com.clarkparsia.pellet.utils.TermFactory.and;
+import static com.clarkparsia.pellet.utils.TermFactory.not;
+import static com.clarkparsia.pellet.utils.TermFactory.or;
+import static com.clarkparsia.pellet.utils.TermFactory.some;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import aterm.ATermAppl;
+import com.clarkparsia.pellet.datatypes.Datatypes;
+import junit.framework.JUnit4TestAdapter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mindswap.pellet.PelletOptions;
+
+/**
+ * Checks that the rules skipping unchanged individuals (see {@link PelletOptions#USE_RULE_WORKLIST}) still apply to the individuals affected by other
+ * individuals, new individuals and backtracking.
+ */
+public class RuleWorklistTests extends AbstractKBTests
+{
+	private boolean _useRuleWorklist;
+
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(RuleWorklistTests.class);
+	}
+
+	@Before
+	public void enableWorklist()
+	{
+		_useRuleWorklist = PelletOptions.USE_RULE_WORKLIST;
+		PelletOptions.USE_RULE_WORKLIST = true;
+	}
+
+	@After
+	public void restoreWorklist()
+	{
+		PelletOptions.USE_RULE_WORKLIST = _useRuleWorklist;
+	}
+
+	@Test
+	public void testAllValuesTopRole()
+	{
+		classes(A, B);
+		objectProperties(p, q);
+
+		kb.addSubClass(A, all(TOP_OBJECT_PROPERTY, B));
+
+		assertFalse(kb.isSatisfiable(and(A, some(p, some(q, not(B))))));
+		assertTrue(kb.isSatisfiable(and(A, some(p, some(q, B)))));
+	}
+
+	@Test
+	public void testBacktracking()
+	{
+		classes(A, B, C);
+		objectProperties(p);
+
+		final ATermAppl x = and(some(p, A), or(all(p, not(A)), all(p, B)), all(p, or(not(B), C)));
+
+		assertTrue(kb.isSatisfiable(x));
+		assertTrue(kb.isSubClassOf(x, some(p, C)));
+		assertFalse(kb.isSatisfiable(and(x, all(p, not(C)))));
+	}
+
+	@Test
+	public void testDataRanges()
+	{
+		classes(A, B);
+		dataProperties(s);
+
+		kb.addSubClass(A, some(s, Datatypes.INTEGER));
+		kb.addSubClass(B, all(s, Datatypes.STRING));
+
+		assertTrue(kb.isSatisfiable(A));
+		assertTrue(kb.isSatisfiable(B));
+		assertFalse(kb.isSatisfiable(and(A, B)));
+	}
+
+	@Test
+	public void testPropagation()
+	{
+		classes(A, B, C);
+		objectProperties(p);
+		individuals(a, b, c);
+
+		kb.addSubClass(A, all(p, B));
+		kb.addSubClass(B, all(p, C));
+		kb.addType(a, A);
+		kb.addPropertyValue(p, a, b);
+		kb.addPropertyValue(p, b, c);
+
+		assertTrue(kb.isConsistent());
+		assertTrue(kb.isType(b, B));
+		assertTrue(kb.isType(c, C));
+		assertFalse(kb.isType(b, C));
+	}
+}
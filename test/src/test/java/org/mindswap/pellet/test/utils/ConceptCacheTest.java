@@ -7,12 +7,15 @@
 package org.mindswap.pellet.test.utils;
 
 import aterm.ATermAppl;
+import java.util.ArrayList;
+import java.util.List;
 import junit.framework.TestCase;
 import org.mindswap.pellet.KnowledgeBase;
 import org.mindswap.pellet.tableau.cache.CachedNode;
 import org.mindswap.pellet.tableau.cache.CachedNodeFactory;
 import org.mindswap.pellet.tableau.cache.ConceptCache;
 import org.mindswap.pellet.tableau.cache.ConceptCacheLRU;
+import org.mindswap.pellet.tableau.cache.ConcurrentConceptCache;
 import org.mindswap.pellet.utils.ATermUtils;
 
 public class ConceptCacheTest extends TestCase
@@ -58,4 +61,98 @@ public class ConceptCacheTest extends TestCase
 		assertTrue(cache.containsKey(np4));
 
 	}
+
+	public void testConcurrentPut()
+	{
+		final ConcurrentConceptCache cache = new ConcurrentConceptCache(new KnowledgeBase(), 3);
+
+		cache.put(p1, DUMMY);
+		cache.put(p2, DUMMY);
+		cache.put(p3, DUMMY);
+		cache.put(p4, DUMMY);
+		cache.put(np1, DUMMY);
+		cache.put(np2, DUMMY);
+		cache.put(np3, DUMMY);
+
+		assertEquals(7, cache.size());
+
+		cache.put(np4, DUMMY);
+
+		assertEquals(7, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		assertTrue(cache.containsKey(p1));
+		assertTrue(cache.containsKey(p4));
+	}
+
+	public void testConcurrentWeight()
+	{
+		final ConcurrentConceptCache cache = new ConcurrentConceptCache(new KnowledgeBase(), Integer.MAX_VALUE, 5);
+
+		cache.put(np1, DUMMY);
+		cache.put(np2, DUMMY);
+		cache.put(np3, DUMMY);
+		cache.put(np4, DUMMY);
+		assertEquals(4, cache.getWeight());
+
+		cache.setMaxWeight(2);
+		cache.put(np1, CachedNodeFactory.createBottomNode());
+
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getWeight());
+		assertEquals(2, cache.getEvictionCount());
+
+		cache.clear();
+		assertEquals(0, cache.getWeight());
+	}
+
+	public void testConcurrentStatistics()
+	{
+		final ConcurrentConceptCache cache = new ConcurrentConceptCache(new KnowledgeBase());
+
+		cache.put(p1, DUMMY);
+		cache.put(np1, DUMMY);
+
+		assertNotNull(cache.get(p1));
+		assertNotNull(cache.get(np1));
+		assertNull(cache.get(np2));
+
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		cache.resetStatistics();
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+	}
+
+	public void testConcurrentAccess() throws InterruptedException
+	{
+		final ConcurrentConceptCache cache = new ConcurrentConceptCache(new KnowledgeBase(), 50);
+		final List<ATermAppl> keys = new ArrayList<>();
+		for (int i = 0; i < 200; i++)
+			keys.add(ATermUtils.makeAnd(p1, ATermUtils.makeTermAppl("c" + i)));
+
+		final List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++)
+		{
+			final int offset = t;
+			final Thread thread = new Thread(() ->
+			{
+				for (int i = 0; i < 10000; i++)
+				{
+					final ATermAppl key = keys.get((i * 7 + offset) % keys.size());
+					if (cache.get(key) == null)
+						cache.put(key, DUMMY);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (final Thread thread : threads)
+			thread.join();
+
+		assertTrue(cache.size() <= 50);
+		assertEquals(cache.size(), cache.keySet().size());
+		assertEquals(cache.size(), cache.getWeight());
+		assertEquals(40000, cache.getHitCount() + cache.getMissCount());
+	}
 }
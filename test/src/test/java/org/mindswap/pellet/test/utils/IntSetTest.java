@@ -0,0 +1,161 @@
+// Copyright (c) 2006 - 2008, Clark & Parsia, LLC. <http://www.clarkparsia.com>
+// This source code is available under the terms of the Affero General Public License v3.
+//
+// Please see LICENSE.txt for full license terms, including the availability of proprietary exceptions.
+// Questions, comments, or requests for clarification: licensing@clarkparsia.com
+
+package org.mindswap.pellet.test.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Random;
+import java.util.TreeSet;
+import junit.framework.JUnit4TestAdapter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.mindswap.pellet.PelletOptions.IntSetType;
+import org.mindswap.pellet.utils.intset.IntIterator;
+import org.mindswap.pellet.utils.intset.IntSet;
+import org.mindswap.pellet.utils.intset.IntSetFactory;
+
+/**
+ * Compares the IntSet implementations against a {@link TreeSet}.
+ */
+@RunWith(Parameterized.class)
+public class IntSetTest
+{
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(IntSetTest.class);
+	}
+
+	@Parameters
+	public static Collection<Object[]> getTypes()
+	{
+		final Collection<Object[]> types = new ArrayList<>();
+		for (final IntSetType type : IntSetType.values())
+			types.add(new Object[] { type });
+		return types;
+	}
+
+	private final IntSetType _type;
+
+	public IntSetTest(final IntSetType type)
+	{
+		_type = type;
+	}
+
+	private static void assertSame(final TreeSet<Integer> expected, final IntSet actual)
+	{
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected.isEmpty(), actual.isEmpty());
+
+		final TreeSet<Integer> values = new TreeSet<>();
+		final IntIterator i = actual.iterator();
+		while (i.hasNext())
+			values.add(i.next());
+		assertEquals(expected, values);
+
+		if (!expected.isEmpty())
+		{
+			assertEquals(expected.first().intValue(), actual.min());
+			assertEquals(expected.last().intValue(), actual.max());
+		}
+	}
+
+	@Test
+	public void testAddRemove()
+	{
+		final IntSet set = IntSetFactory.create(_type);
+		final TreeSet<Integer> expected = new TreeSet<>();
+
+		for (int i = 0; i < 200; i += 3)
+		{
+			set.add(i);
+			expected.add(i);
+		}
+		assertSame(expected, set);
+		assertTrue(set.contains(99));
+		assertFalse(set.contains(100));
+
+		for (int i = 0; i < 200; i += 6)
+		{
+			set.remove(i);
+			expected.remove(i);
+		}
+		assertSame(expected, set);
+		assertFalse(set.contains(0));
+	}
+
+	@Test
+	public void testUnion()
+	{
+		final Random random = new Random(42);
+
+		for (int round = 0; round < 50; round++)
+		{
+			final int range = 1 + random.nextInt(round % 2 == 0 ? 100 : 10000);
+			final IntSet set1 = IntSetFactory.create(_type);
+			final IntSet set2 = IntSetFactory.create(_type);
+			final TreeSet<Integer> expected1 = new TreeSet<>();
+			final TreeSet<Integer> expected2 = new TreeSet<>();
+
+			for (int i = random.nextInt(500); i > 0; i--)
+			{
+				final int value = random.nextInt(range);
+				set1.add(value);
+				expected1.add(value);
+			}
+			for (int i = random.nextInt(500); i > 0; i--)
+			{
+				final int value = random.nextInt(range);
+				set2.add(value);
+				expected2.add(value);
+			}
+
+			final TreeSet<Integer> expected = new TreeSet<>(expected1);
+			expected.addAll(expected2);
+
+			assertSame(expected, set1.union(set2));
+			// union should not change its arguments
+			assertSame(expected1, set1);
+			assertSame(expected2, set2);
+
+			final IntSet copy = set1.copy();
+			copy.addAll(set2);
+			assertSame(expected, copy);
+			assertSame(expected1, set1);
+		}
+	}
+
+	@Test
+	public void testMixedUnion()
+	{
+		final IntSet set = IntSetFactory.create(_type);
+		final TreeSet<Integer> expected = new TreeSet<>();
+		for (int i = 0; i < 100; i++)
+		{
+			set.add(i * 2);
+			expected.add(i * 2);
+		}
+
+		for (final IntSetType otherType : IntSetType.values())
+		{
+			final IntSet other = IntSetFactory.create(otherType);
+			other.add(1);
+			other.add(1000);
+
+			final TreeSet<Integer> union = new TreeSet<>(expected);
+			union.add(1);
+			union.add(1000);
+
+			assertSame(union, set.union(other));
+		}
+	}
+}